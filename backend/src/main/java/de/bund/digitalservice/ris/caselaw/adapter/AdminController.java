@@ -1,10 +1,12 @@
 package de.bund.digitalservice.ris.caselaw.adapter;
 
+import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.MailTrackingService;
 import jakarta.validation.Valid;
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,15 +23,18 @@ public class AdminController {
   private final MailTrackingService mailTrackingService;
   private final EnvironmentService environmentService;
   private final LdmlExporterService ldmlExporterService;
+  private final DuplicateCheckService duplicateCheckService;
 
   @Autowired
   public AdminController(
       MailTrackingService mailTrackingService,
       EnvironmentService environmentService,
-      LdmlExporterService ldmlExporterService) {
+      LdmlExporterService ldmlExporterService,
+      DuplicateCheckService duplicateCheckService) {
     this.mailTrackingService = mailTrackingService;
     this.environmentService = environmentService;
     this.ldmlExporterService = ldmlExporterService;
+    this.duplicateCheckService = duplicateCheckService;
   }
 
   @PostMapping("/webhook")
@@ -67,6 +72,22 @@ public class AdminController {
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * Start the rebuild of all duplicate relations in the background, the nightly job only updates
+   * the changed doc units.
+   *
+   * @return 202 if the rebuild is started, 409 if another update of the duplicate relations is
+   *     running
+   */
+  @PostMapping("/duplicate-check")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<Void> checkAllDuplicates() {
+    if (!duplicateCheckService.startCheckAllDuplicates()) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+    return ResponseEntity.accepted().build();
+  }
+
   @GetMapping("/accountManagementUrl")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<String> getAccountManagementUrl() {
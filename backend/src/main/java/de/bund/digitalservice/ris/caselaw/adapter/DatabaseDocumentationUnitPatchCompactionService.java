@@ -0,0 +1,110 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gravity9.jsonpatch.JsonPatch;
+import com.gravity9.jsonpatch.JsonPatchOperation;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitPatchRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchVersionDTO;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Compaction of the patches saved by every update of a documentation unit. Without it the patch
+ * table grows with every autosave and a client with an old version has to load and parse all
+ * patches since its version.
+ *
+ * <p>Only the patches of the last versions are kept. A client with an older version gets a full
+ * reload of the documentation unit (see {@link DatabasePatchMapperService#requiresFullReload}).
+ * Patches of the same version are merged to one patch. Patches of different versions can't be
+ * merged, because a client between these versions would get operations it already knows.
+ *
+ * <p>The job isn't one transaction: the old patches are deleted in batches and the patches of
+ * every version are merged in own transactions, so that the saves of the documentation units
+ * aren't blocked by long held locks.
+ */
+@Service
+@Slf4j
+public class DatabaseDocumentationUnitPatchCompactionService {
+  private final DatabaseDocumentationUnitPatchRepository repository;
+  private final ObjectMapper objectMapper;
+
+  @Value(
+      "${documentation-unit.patch.retained-versions:"
+          + DatabasePatchMapperService.DEFAULT_RETAINED_VERSIONS
+          + "}")
+  private long retainedVersions = DatabasePatchMapperService.DEFAULT_RETAINED_VERSIONS;
+
+  @Value("${documentation-unit.patch.compaction.delete-batch-size:1000}")
+  private int deleteBatchSize = 1000;
+
+  public DatabaseDocumentationUnitPatchCompactionService(
+      DatabaseDocumentationUnitPatchRepository repository, ObjectMapper objectMapper) {
+    this.repository = repository;
+    this.objectMapper = objectMapper;
+  }
+
+  // Runs every night at 04:05:10
+  @Scheduled(cron = "10 5 4 * * *")
+  @SchedulerLock(name = "documentation-unit-patch-compaction-job", lockAtMostFor = "PT15M")
+  public void compactPatches() {
+    int deletedPatches = 0;
+    int deletedBatch;
+    do {
+      deletedBatch = repository.deleteNotRetainedPatches(retainedVersions, deleteBatchSize);
+      deletedPatches += deletedBatch;
+    } while (deletedBatch >= deleteBatchSize);
+
+    int mergedVersions = 0;
+    for (DocumentationUnitPatchVersionDTO version : repository.findVersionsWithMultiplePatches()) {
+      if (mergePatches(version)) {
+        mergedVersions++;
+      }
+    }
+
+    log.info(
+        "Compacted documentation unit patches: {} deleted, {} versions merged",
+        deletedPatches,
+        mergedVersions);
+  }
+
+  private boolean mergePatches(DocumentationUnitPatchVersionDTO version) {
+    List<DocumentationUnitPatchDTO> patches =
+        repository.findByDocumentationUnitIdAndDocumentationUnitVersion(
+            version.documentationUnitId(), version.documentationUnitVersion());
+    if (patches.size() < 2) {
+      return false;
+    }
+
+    try {
+      List<JsonPatchOperation> operations = new ArrayList<>();
+      for (DocumentationUnitPatchDTO patch : patches) {
+        JsonPatch jsonPatch = objectMapper.readValue(patch.getPatch(), JsonPatch.class);
+        operations.addAll(jsonPatch.getOperations());
+      }
+
+      repository.replacePatches(
+          patches,
+          DocumentationUnitPatchDTO.builder()
+              .documentationUnitId(version.documentationUnitId())
+              .documentationUnitVersion(version.documentationUnitVersion())
+              .patch(objectMapper.writeValueAsString(new JsonPatch(operations)))
+              .build());
+      return true;
+    } catch (JsonProcessingException e) {
+      // No rethrow: the other patches should still be compacted.
+      log.error(
+          "Couldn't merge patches of version {} of documentation unit {}",
+          version.documentationUnitVersion(),
+          version.documentationUnitId(),
+          e);
+      return false;
+    }
+  }
+}
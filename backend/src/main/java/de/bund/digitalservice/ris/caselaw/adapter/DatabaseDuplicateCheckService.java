@@ -1,92 +1,166 @@
 package de.bund.digitalservice.ris.caselaw.adapter;
 
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseCourtRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDuplicateCheckRepository;
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DeviatingDateDTO;
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitIdDuplicateCheckDTO;
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateRelationDTO;
-import de.bund.digitalservice.ris.caselaw.adapter.transformer.CourtTransformer;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDuplicateCheckQueueRepository;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateRelationStatus;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
-import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 public class DatabaseDuplicateCheckService implements DuplicateCheckService {
-  private final DatabaseDuplicateCheckRepository repository;
+  private static final String DUPLICATE_CHECK_LOCK = "duplicate-check-job";
+  private static final Duration FULL_CHECK_LOCK_AT_MOST_FOR = Duration.ofHours(1);
+
   private final DuplicateRelationService duplicateRelationService;
   private final DatabaseDocumentationUnitRepository documentationUnitRepository;
-  private final DatabaseCourtRepository databaseCourtRepository;
+  private final DatabaseDuplicateCheckQueueRepository queueRepository;
+  private final Duration queueDelay;
+  private final LockProvider lockProvider;
+  private final TaskExecutor executor;
 
   public DatabaseDuplicateCheckService(
-      DatabaseDuplicateCheckRepository duplicateCheckRepository,
       DuplicateRelationService duplicateRelationService,
       DatabaseDocumentationUnitRepository documentationUnitRepository,
-      DatabaseCourtRepository databaseCourtRepository) {
-    this.repository = duplicateCheckRepository;
+      DatabaseDuplicateCheckQueueRepository queueRepository,
+      @Value("${duplicate-check.queue.delay:PT5S}") Duration queueDelay,
+      LockProvider lockProvider,
+      @Qualifier("duplicateCheckExecutor") TaskExecutor executor) {
     this.duplicateRelationService = duplicateRelationService;
     this.documentationUnitRepository = documentationUnitRepository;
-    this.databaseCourtRepository = databaseCourtRepository;
+    this.queueRepository = queueRepository;
+    this.queueDelay = queueDelay;
+    this.lockProvider = lockProvider;
+    this.executor = executor;
   }
 
+  /**
+   * Update the duplicate relations of the decision with set-based statements in the database: The
+   * relations, which are no duplicates anymore, are deleted and the missing relations are inserted.
+   * No entities are loaded. The update runs in its own transaction: a surrounding transaction
+   * would be marked as rollback-only by a failed update, even though the failure is caught.
+   */
   @Override
-  @Transactional
   public void checkDuplicates(String docNumber) {
     try {
-      var documentationUnit =
-          documentationUnitRepository.findByDocumentNumber(docNumber).orElseThrow();
-
-      if (documentationUnit instanceof DecisionDTO decisionDTO) {
-        List<DocumentationUnitIdDuplicateCheckDTO> duplicates =
-            findPotentialDuplicates(decisionDTO);
-        processDuplicates(decisionDTO, duplicates);
-        removeObsoleteDuplicates(decisionDTO, duplicates);
-      }
-
+      duplicateRelationService.updateDuplicates(docNumber);
     } catch (Exception e) {
       var errorMessage = String.format("Could not check duplicates for doc unit %s", docNumber);
       log.error(errorMessage, e);
     }
   }
 
+  /**
+   * Add the documentation unit to the duplicate check queue, which is drained by the {@link
+   * DuplicateCheckQueueWorker}. The check is delayed, so that the autosaves of an editor within
+   * the delay lead to one check. Runs in an own transaction, so that a failed enqueue doesn't roll
+   * back the transaction of the calling save.
+   */
+  @Override
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  public void enqueueDuplicateCheck(String docNumber) {
+    queueRepository.enqueue(docNumber, queueDelay.toMillis());
+  }
+
+  /**
+   * Update the duplicate relations of the documentation units, whose identifying fields changed
+   * since the last run. The changes are logged by database triggers. Every documentation unit is
+   * updated in its own transaction, the changes of a failed documentation unit are kept for the
+   * next run. Afterwards the file number frequencies appended by the triggers are compacted.
+   */
   // Runs every night at 05:05:10
   @Scheduled(cron = "10 5 5 * * *")
-  @SchedulerLock(name = "duplicate-check-job", lockAtMostFor = "PT15M")
-  @Transactional
+  @SchedulerLock(name = DUPLICATE_CHECK_LOCK, lockAtMostFor = "PT15M")
+  @Override
+  public void checkChangedDuplicates() {
+    var start = Instant.now();
+    var lastChange = duplicateRelationService.findLastChange();
+    if (lastChange.isEmpty()) {
+      log.info("Updating duplicate relations skipped: no changed doc units");
+      return;
+    }
+
+    var documentNumbers = duplicateRelationService.findChangedDocumentNumbers(lastChange.get());
+    int failed = 0;
+    for (String documentNumber : documentNumbers) {
+      try {
+        duplicateRelationService.updateChangedDuplicates(documentNumber, lastChange.get());
+      } catch (Exception e) {
+        failed++;
+        log.error("Could not update duplicate relations for doc unit {}", documentNumber, e);
+      }
+    }
+    duplicateRelationService.deleteChangesOfDeletedDocumentationUnits(lastChange.get());
+    duplicateRelationService.compactFileNumberFrequencies();
+
+    log.info(
+        "Updating duplicate relations of {} changed doc units finished in {} ms, {} failed",
+        documentNumbers.size(),
+        Duration.between(start, Instant.now()).toMillis(),
+        failed);
+  }
+
+  /**
+   * Rebuild all duplicate relations. Expensive, as it compares the identifying fields of all
+   * documentation units. Runs weekly to correct the relations of the documentation units, which
+   * aren't changed themselves, but whose identifiers crossed the frequency threshold by changes of
+   * other documentation units. Shares the lock with the nightly update.
+   */
+  // Runs every sunday at 03:05:10
+  @Scheduled(cron = "10 5 3 * * SUN")
+  @SchedulerLock(name = DUPLICATE_CHECK_LOCK, lockAtMostFor = "PT1H")
   @Override
   public void checkAllDuplicates() {
     this.duplicateRelationService.updateAllDuplicates();
   }
 
-  private List<DocumentationUnitIdDuplicateCheckDTO> findPotentialDuplicates(
-      DecisionDTO decisionDTO) {
-    var allFileNumbers = collectFileNumbers(decisionDTO);
-    var allEclis = collectEclis(decisionDTO);
-
-    if (allFileNumbers.isEmpty() && allEclis.isEmpty()) {
-      // As duplicates depend on either fileNumber/ECLI, without these attributes -> no duplicates
-      return List.of();
+  /**
+   * Start the rebuild of all duplicate relations in the background, if no other update of the
+   * duplicate relations holds the lock. The lock is released after the rebuild.
+   */
+  @Override
+  public boolean startCheckAllDuplicates() {
+    Optional<SimpleLock> lock =
+        lockProvider.lock(
+            new LockConfiguration(
+                Instant.now(), DUPLICATE_CHECK_LOCK, FULL_CHECK_LOCK_AT_MOST_FOR, Duration.ZERO));
+    if (lock.isEmpty()) {
+      log.info("Updating all duplicate relations skipped: another update is running");
+      return false;
     }
 
-    var allDates = collectDecisionDates(decisionDTO);
-    var allCourtIds = collectCourtIds(decisionDTO);
-    var allDeviatingCourts = collectDeviatingCourts(decisionDTO);
+    try {
+      executor.execute(
+          () -> {
+            try {
+              duplicateRelationService.updateAllDuplicates();
+            } catch (Exception e) {
+              log.error("Could not update all duplicate relations", e);
+            } finally {
+              lock.get().unlock();
+            }
+          });
+    } catch (RuntimeException e) {
+      lock.get().unlock();
+      throw e;
+    }
 
-    return findPotentialDuplicates(
-        decisionDTO, allFileNumbers, allDates, allCourtIds, allDeviatingCourts, allEclis);
+    return true;
   }
 
   @Override
@@ -108,169 +182,4 @@ public class DatabaseDuplicateCheckService implements DuplicateCheckService {
     duplicateRelationService.setStatus(duplicateRelation, status);
     return "The duplicate status has been successfully updated to " + status;
   }
-
-  private List<String> collectFileNumbers(DecisionDTO decisionDTO) {
-    var fileNumbers = decisionDTO.getFileNumbers();
-    var deviatingFileNumbers = decisionDTO.getDeviatingFileNumbers();
-    List<String> allFileNumbers = new ArrayList<>();
-    if (fileNumbers != null) {
-      allFileNumbers.addAll(
-          fileNumbers.stream()
-              .map(fileNumberDTO -> fileNumberDTO.getValue().toUpperCase())
-              .toList());
-    }
-    if (deviatingFileNumbers != null) {
-      allFileNumbers.addAll(
-          deviatingFileNumbers.stream()
-              .map(deviatingFileNumberDTO -> deviatingFileNumberDTO.getValue().toUpperCase())
-              .toList());
-    }
-    return allFileNumbers;
-  }
-
-  private List<String> collectEclis(DecisionDTO decisionDTO) {
-    var ecli = decisionDTO.getEcli();
-    var deviatingEclis = decisionDTO.getDeviatingEclis();
-    List<String> allEclis = new ArrayList<>();
-    if (ecli != null) {
-      allEclis.add(ecli.toUpperCase());
-    }
-    if (deviatingEclis != null) {
-      allEclis.addAll(
-          deviatingEclis.stream()
-              .map(deviatingEcliDTO -> deviatingEcliDTO.getValue().toUpperCase())
-              .toList());
-    }
-    return allEclis;
-  }
-
-  private List<LocalDate> collectDecisionDates(DecisionDTO decisionDTO) {
-    var decisionDate = decisionDTO.getDate();
-    var deviatingDecisionDates = decisionDTO.getDeviatingDates();
-    List<LocalDate> allDates = new ArrayList<>();
-    if (decisionDate != null) {
-      allDates.add(decisionDate);
-    }
-    if (!deviatingDecisionDates.isEmpty()) {
-      allDates.addAll(deviatingDecisionDates.stream().map(DeviatingDateDTO::getValue).toList());
-    }
-    return allDates;
-  }
-
-  private List<UUID> collectCourtIds(DecisionDTO decisionDTO) {
-    List<UUID> allCourtIds = new ArrayList<>();
-    var court = decisionDTO.getCourt();
-    if (court != null) {
-      allCourtIds.add(court.getId());
-    }
-    for (var deviatingCourt : decisionDTO.getDeviatingCourts()) {
-      var courtDTOs = databaseCourtRepository.findBySearchStr(deviatingCourt.getValue(), 2);
-      // The label of the deviating court must be unique to be considered
-      if (courtDTOs.size() == 1) {
-        allCourtIds.add(courtDTOs.getFirst().getId());
-      }
-    }
-    return allCourtIds;
-  }
-
-  private List<String> collectDeviatingCourts(DecisionDTO decisionDTO) {
-    List<String> allDeviatingCourts = new ArrayList<>();
-    var deviatingCourts = decisionDTO.getDeviatingCourts();
-    if (deviatingCourts != null) {
-      allDeviatingCourts.addAll(
-          deviatingCourts.stream()
-              .map(deviatingCourtDTO -> deviatingCourtDTO.getValue().toUpperCase())
-              .toList());
-    }
-    // If doc unit A has deviating court "AG Aachen" (string)
-    // and doc unit B court "AG Aachen" (object) -> should still lead to a duplicate warning.
-    var court = decisionDTO.getCourt();
-    if (court != null) {
-      allDeviatingCourts.add(
-          CourtTransformer.generateLabel(court.getType(), court.getLocation()).toUpperCase());
-    }
-    return allDeviatingCourts;
-  }
-
-  private List<DocumentationUnitIdDuplicateCheckDTO> findPotentialDuplicates(
-      DecisionDTO decisionDTO,
-      List<String> allFileNumbers,
-      List<LocalDate> allDates,
-      List<UUID> allCourtIds,
-      List<String> allDeviatingCourts,
-      List<String> allEclis) {
-    return repository
-        .findDuplicates(allFileNumbers, allDates, allCourtIds, allDeviatingCourts, allEclis)
-        .stream()
-        // Should not contain itself
-        .filter(dup -> !decisionDTO.getId().equals(dup.getId()))
-        .toList();
-  }
-
-  private void processDuplicates(
-      DecisionDTO decisionDTO, List<DocumentationUnitIdDuplicateCheckDTO> duplicates) {
-    for (var dup : duplicates) {
-      Optional<DuplicateRelationDTO> existingRelation =
-          duplicateRelationService.findByDocUnitIds(decisionDTO.getId(), dup.getId());
-
-      var isJDVDuplicateCheckActive =
-          !Boolean.FALSE.equals(dup.getIsJdvDuplicateCheckActive())
-              && !Boolean.FALSE.equals(decisionDTO.getIsJdvDuplicateCheckActive());
-
-      var status =
-          isJDVDuplicateCheckActive
-              ? DuplicateRelationStatus.PENDING
-              : DuplicateRelationStatus.IGNORED;
-
-      if (existingRelation.isEmpty()) {
-        createDuplicateRelation(decisionDTO, dup, status);
-      } else if (shouldUpdateRelationStatus(isJDVDuplicateCheckActive, existingRelation)) {
-        duplicateRelationService.setStatus(existingRelation.get(), status);
-      }
-    }
-  }
-
-  private void createDuplicateRelation(
-      DecisionDTO decisionDTO,
-      DocumentationUnitIdDuplicateCheckDTO dup,
-      DuplicateRelationStatus status) {
-    var identifiedDuplicate = documentationUnitRepository.findById(dup.getId());
-    var currentDocUnit = documentationUnitRepository.findById(decisionDTO.getId());
-
-    if (identifiedDuplicate.isPresent()
-        && currentDocUnit.isPresent()
-        && currentDocUnit.get() instanceof DecisionDTO currentDecision
-        && identifiedDuplicate.get() instanceof DecisionDTO duplicateDecision) {
-      duplicateRelationService.create(currentDecision, duplicateDecision, status);
-    }
-  }
-
-  /**
-   * If the relationship is PENDING and the legacy jdv "dup-code ausschalten" applies, the status
-   * must be set to IGNORED.
-   */
-  private boolean shouldUpdateRelationStatus(
-      boolean isJDVDuplicateCheckActive, Optional<DuplicateRelationDTO> existingRelation) {
-    return !isJDVDuplicateCheckActive
-        && existingRelation.isPresent()
-        && DuplicateRelationStatus.PENDING.equals(existingRelation.get().getRelationStatus());
-  }
-
-  private void removeObsoleteDuplicates(
-      DecisionDTO decisionDTO, List<DocumentationUnitIdDuplicateCheckDTO> duplicates) {
-    var existingDuplicates = duplicateRelationService.findAllByDocUnitId(decisionDTO.getId());
-    for (var existingDuplicate : existingDuplicates) {
-      var isDuplicate =
-          duplicates.stream()
-              .map(
-                  dup ->
-                      new DuplicateRelationDTO.DuplicateRelationId(
-                          decisionDTO.getId(), dup.getId()))
-              .anyMatch(dupId -> dupId.equals(existingDuplicate.getId()));
-
-      if (!isDuplicate) {
-        duplicateRelationService.delete(existingDuplicate);
-      }
-    }
-  }
 }
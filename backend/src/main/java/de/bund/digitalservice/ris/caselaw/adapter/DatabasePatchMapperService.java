@@ -4,59 +4,203 @@ import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.gravity9.jsonpatch.AddOperation;
 import com.gravity9.jsonpatch.JsonPatch;
 import com.gravity9.jsonpatch.JsonPatchException;
 import com.gravity9.jsonpatch.JsonPatchOperation;
 import com.gravity9.jsonpatch.RemoveOperation;
+import com.gravity9.jsonpatch.ReplaceOperation;
+import com.gravity9.jsonpatch.TestOperation;
 import com.gravity9.jsonpatch.diff.JsonDiff;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitPatchCache.VersionPatch;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitPatchRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchDTO;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
 import de.bund.digitalservice.ris.caselaw.domain.RisJsonPatch;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitPatchException;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Patch mapper working on the top level properties of the {@link DocumentationUnit}.
+ *
+ * <p>The patch operations of the frontend only touch a few properties (e.g. one field of the core
+ * data), but the long texts can contain megabytes of html. So only the touched properties are
+ * converted to json, patched and converted back. The texts are only converted for the diff, if
+ * they are changed by the save.
+ */
 @Service
 @Slf4j
 public class DatabasePatchMapperService implements PatchMapperService {
+  private static final Map<String, RecordComponent> PROPERTIES =
+      Arrays.stream(DocumentationUnit.class.getRecordComponents())
+          .collect(
+              Collectors.toMap(
+                  RecordComponent::getName,
+                  Function.identity(),
+                  (first, second) -> first,
+                  LinkedHashMap::new));
+
+  /**
+   * Properties with a value based equality. If they are equal, they don't need to be converted for
+   * the diff. The equality of other properties can ignore values set by the save (e.g. the ids of
+   * new single norms), so they are always compared as json.
+   */
+  private static final Set<String> VALUE_PROPERTIES =
+      Set.of("uuid", "version", "documentNumber", "shortTexts", "longTexts", "note");
+
+  /**
+   * Number of versions before the current version of a documentation unit, for which the patches
+   * are kept by the {@link DatabaseDocumentationUnitPatchCompactionService}.
+   */
+  static final long DEFAULT_RETAINED_VERSIONS = 100;
+
   private final ObjectMapper objectMapper;
   private final DatabaseDocumentationUnitPatchRepository repository;
+  private final DocumentationUnitPatchCache patchCache;
+
+  @Value("${documentation-unit.patch.retained-versions:" + DEFAULT_RETAINED_VERSIONS + "}")
+  private long retainedVersions = DEFAULT_RETAINED_VERSIONS;
 
   public DatabasePatchMapperService(
-      ObjectMapper objectMapper, DatabaseDocumentationUnitPatchRepository repository) {
+      ObjectMapper objectMapper,
+      DatabaseDocumentationUnitPatchRepository repository,
+      DocumentationUnitPatchCache patchCache) {
     this.objectMapper = objectMapper;
     this.repository = repository;
+    this.patchCache = patchCache;
   }
 
   @Override
   public DocumentationUnit applyPatchToEntity(JsonPatch patch, DocumentationUnit targetEntity) {
-    DocumentationUnit documentationUnit;
+    Optional<Set<String>> touchedProperties = getTouchedProperties(patch);
+    if (touchedProperties.isEmpty()) {
+      return applyPatchToWholeEntity(patch, targetEntity);
+    }
+
+    try {
+      ObjectNode node = objectMapper.createObjectNode();
+      touchedProperties.get().forEach(name -> node.set(name, toJsonNode(targetEntity, name)));
+      JsonNode updatedNode = patch.apply(node);
+      DocumentationUnit patchedProperties =
+          objectMapper.treeToValue(updatedNode, DocumentationUnit.class);
+      return merge(targetEntity, patchedProperties, touchedProperties.get());
+    } catch (JsonProcessingException | JsonPatchException e) {
+      throw new DocumentationUnitPatchException("Couldn't apply patch", e);
+    }
+  }
 
+  private DocumentationUnit applyPatchToWholeEntity(
+      JsonPatch patch, DocumentationUnit targetEntity) {
     try {
       JsonNode jsonNode = objectMapper.convertValue(targetEntity, JsonNode.class);
       JsonNode updatedNode = patch.apply(jsonNode);
-      documentationUnit = objectMapper.treeToValue(updatedNode, DocumentationUnit.class);
+      return objectMapper.treeToValue(updatedNode, DocumentationUnit.class);
     } catch (JsonProcessingException | JsonPatchException e) {
       throw new DocumentationUnitPatchException("Couldn't apply patch", e);
     }
-
-    return documentationUnit;
   }
 
   @Override
   public JsonPatch getDiffPatch(DocumentationUnit existed, DocumentationUnit updated) {
-    return JsonDiff.asJsonPatch(
-        objectMapper.convertValue(existed, JsonNode.class),
-        objectMapper.convertValue(updated, JsonNode.class));
+    ObjectNode existedNode = objectMapper.createObjectNode();
+    ObjectNode updatedNode = objectMapper.createObjectNode();
+
+    for (String name : PROPERTIES.keySet()) {
+      if (VALUE_PROPERTIES.contains(name)
+          && Objects.equals(getProperty(existed, name), getProperty(updated, name))) {
+        continue;
+      }
+      existedNode.set(name, toJsonNode(existed, name));
+      updatedNode.set(name, toJsonNode(updated, name));
+    }
+
+    return JsonDiff.asJsonPatch(existedNode, updatedNode);
+  }
+
+  /**
+   * Get the names of the top level properties which are read or changed by the operations of the
+   * patch.
+   *
+   * @param patch the patch to check
+   * @return the names of the touched properties or an empty optional, if the patch contains an
+   *     operation which can't be applied to single properties (e.g. on the root or with a source
+   *     path)
+   */
+  private static Optional<Set<String>> getTouchedProperties(JsonPatch patch) {
+    Set<String> touchedProperties = new HashSet<>();
+    for (JsonPatchOperation operation : patch.getOperations()) {
+      if (!(operation instanceof AddOperation
+          || operation instanceof RemoveOperation
+          || operation instanceof ReplaceOperation
+          || operation instanceof TestOperation)) {
+        return Optional.empty();
+      }
+
+      String name = JsonPointer.compile(operation.getPath()).getMatchingProperty();
+      if (name == null || !PROPERTIES.containsKey(name)) {
+        return Optional.empty();
+      }
+      touchedProperties.add(name);
+    }
+    return Optional.of(touchedProperties);
+  }
+
+  private JsonNode toJsonNode(DocumentationUnit documentationUnit, String name) {
+    Object value = getProperty(documentationUnit, name);
+    if (value == null) {
+      return NullNode.getInstance();
+    }
+    return objectMapper.valueToTree(value);
+  }
+
+  private static Object getProperty(DocumentationUnit documentationUnit, String name) {
+    try {
+      return PROPERTIES.get(name).getAccessor().invoke(documentationUnit);
+    } catch (ReflectiveOperationException e) {
+      throw new DocumentationUnitPatchException("Couldn't read property " + name, e);
+    }
+  }
+
+  private static DocumentationUnit merge(
+      DocumentationUnit targetEntity,
+      DocumentationUnit patchedProperties,
+      Set<String> touchedProperties) {
+    Object[] values =
+        PROPERTIES.keySet().stream()
+            .map(
+                name ->
+                    getProperty(
+                        touchedProperties.contains(name) ? patchedProperties : targetEntity, name))
+            .toArray();
+    Class<?>[] types =
+        PROPERTIES.values().stream().map(RecordComponent::getType).toArray(Class<?>[]::new);
+
+    try {
+      return DocumentationUnit.class.getDeclaredConstructor(types).newInstance(values);
+    } catch (ReflectiveOperationException e) {
+      throw new DocumentationUnitPatchException("Couldn't apply patch", e);
+    }
   }
 
   @Override
@@ -103,29 +247,65 @@ public class DatabasePatchMapperService implements PatchMapperService {
               .patch(patchJson)
               .build();
       repository.save(dto);
+      patchCache.invalidate(documentationUnitId);
     } catch (JsonProcessingException e) {
       throw new DocumentationUnitPatchException("Couldn't save patch", e);
     }
   }
 
   @Override
-  public JsonPatch calculatePatch(UUID documentationUnitId, Long frontendDocumentationUnitVersion) {
-    List<JsonPatchOperation> operations = new ArrayList<>();
+  public JsonPatch calculatePatch(
+      UUID documentationUnitId, Long frontendDocumentationUnitVersion, Long currentVersion) {
+    if (frontendDocumentationUnitVersion != null) {
+      Optional<List<JsonPatchOperation>> cachedOperations =
+          patchCache.get(documentationUnitId, frontendDocumentationUnitVersion, currentVersion);
+      if (cachedOperations.isPresent()) {
+        return new JsonPatch(cachedOperations.get());
+      }
+    }
 
-    repository
-        .findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(
-            documentationUnitId, frontendDocumentationUnitVersion)
-        .forEach(
-            patch -> {
-              try {
-                JsonPatch jsonPatch = objectMapper.readValue(patch.getPatch(), JsonPatch.class);
-                operations.addAll(jsonPatch.getOperations());
-              } catch (JsonProcessingException e) {
-                throw new DocumentationUnitPatchException(
-                    "Couldn't read patch information from database", e);
-              }
-            });
+    long stamp = patchCache.startLoading();
+    List<VersionPatch> patches =
+        repository
+            .findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(
+                documentationUnitId, frontendDocumentationUnitVersion)
+            .stream()
+            .map(this::toVersionPatch)
+            .sorted(Comparator.comparingLong(VersionPatch::version))
+            .toList();
+
+    if (frontendDocumentationUnitVersion != null) {
+      patchCache.put(documentationUnitId, frontendDocumentationUnitVersion, patches, stamp);
+    }
+
+    return new JsonPatch(patches.stream().flatMap(patch -> patch.operations().stream()).toList());
+  }
 
+  private VersionPatch toVersionPatch(DocumentationUnitPatchDTO patch) {
+    try {
+      JsonPatch jsonPatch = objectMapper.readValue(patch.getPatch(), JsonPatch.class);
+      return new VersionPatch(patch.getDocumentationUnitVersion(), jsonPatch.getOperations());
+    } catch (JsonProcessingException e) {
+      throw new DocumentationUnitPatchException(
+          "Couldn't read patch information from database", e);
+    }
+  }
+
+  @Override
+  public boolean requiresFullReload(Long documentationUnitVersion, Long currentVersion) {
+    if (documentationUnitVersion == null || currentVersion == null) {
+      return false;
+    }
+
+    return documentationUnitVersion < currentVersion - retainedVersions;
+  }
+
+  @Override
+  public JsonPatch getFullReloadPatch(DocumentationUnit existingDocumentationUnit) {
+    List<JsonPatchOperation> operations = new ArrayList<>();
+    for (String name : PROPERTIES.keySet()) {
+      operations.add(new AddOperation("/" + name, toJsonNode(existingDocumentationUnit, name)));
+    }
     return new JsonPatch(operations);
   }
 
@@ -141,6 +321,7 @@ public class DatabasePatchMapperService implements PatchMapperService {
         patch3.getOperations().stream().collect(Collectors.groupingBy(JsonPatchOperation::getPath));
 
     List<String> errorPaths = new ArrayList<>();
+    Map<String, JsonNode> existingProperties = new HashMap<>();
     List<JsonPatchOperation> operations = new ArrayList<>(patch1.getOperations());
     for (Entry<String, List<JsonPatchOperation>> entry : pathList3.entrySet()) {
       if (pathList2.containsKey(entry.getKey())) {
@@ -151,9 +332,8 @@ public class DatabasePatchMapperService implements PatchMapperService {
               if (patch instanceof AddOperation) {
                 operations.add(new RemoveOperation(entry.getKey()));
               } else if (patch instanceof RemoveOperation) {
-                JsonNode node =
-                    objectMapper.convertValue(existingDocumentationUnit, JsonNode.class);
-                JsonNode value = node.at(JsonPointer.valueOf(entry.getKey()));
+                JsonNode value =
+                    getExistingValue(existingDocumentationUnit, entry.getKey(), existingProperties);
                 operations.add(new AddOperation(entry.getKey(), value));
               }
             });
@@ -167,4 +347,19 @@ public class DatabasePatchMapperService implements PatchMapperService {
 
     return new RisJsonPatch(0L, new JsonPatch(operations), errorPaths);
   }
+
+  private JsonNode getExistingValue(
+      DocumentationUnit existingDocumentationUnit,
+      String path,
+      Map<String, JsonNode> existingProperties) {
+    JsonPointer pointer = JsonPointer.valueOf(path);
+    String name = pointer.getMatchingProperty();
+    if (name == null || !PROPERTIES.containsKey(name)) {
+      return objectMapper.convertValue(existingDocumentationUnit, JsonNode.class).at(pointer);
+    }
+
+    return existingProperties
+        .computeIfAbsent(name, key -> toJsonNode(existingDocumentationUnit, key))
+        .at(pointer.tail());
+  }
 }
@@ -8,6 +8,7 @@ import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitCreationParameters;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitDocxMetadataInitializationService;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitSearchCursor;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateRelationStatusRequest;
@@ -57,11 +58,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("api/v1/caselaw/documentunits")
 @Slf4j
 public class DocumentationUnitController {
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final DocumentationUnitService service;
   private final UserService userService;
   private final AttachmentService attachmentService;
@@ -173,7 +177,7 @@ public class DocumentationUnitController {
       Documentable documentable = service.getByUuid(uuid);
       if (documentable instanceof DocumentationUnit docUnit) {
         documentationUnitDocxMetadataInitializationService.initializeCoreData(docUnit, docx2html);
-        checkDuplicates(docUnit.documentNumber());
+        enqueueDuplicateCheck(docUnit.documentNumber());
       } else {
         log.info("Documentable type not supported: {}", documentable.getClass().getName());
       }
@@ -184,11 +188,12 @@ public class DocumentationUnitController {
     }
   }
 
-  private void checkDuplicates(String documentNumber) {
+  private void enqueueDuplicateCheck(String documentNumber) {
     try {
-      duplicateCheckService.checkDuplicates(documentNumber);
+      duplicateCheckService.enqueueDuplicateCheck(documentNumber);
     } catch (Exception e) {
-      // Error in duplicate check should not affect program flow, logging in service
+      // Error in duplicate check should not affect program flow
+      log.error("Could not enqueue duplicate check for doc unit {}", documentNumber, e);
     }
   }
 
@@ -208,11 +213,15 @@ public class DocumentationUnitController {
     }
   }
 
+  /**
+   * Search for documentation units. The result can be paged by page number or, for "load more", by
+   * the cursor returned in the {@value #NEXT_CURSOR_HEADER} header of the previous response.
+   */
   @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
   @PreAuthorize("isAuthenticated()")
   // Access rights are being enforced through SQL filtering
-  public Slice<DocumentationUnitListItem> searchByDocumentationUnitListEntry(
-      @RequestParam("pg") int page,
+  public ResponseEntity<Slice<DocumentationUnitListItem>> searchByDocumentationUnitListEntry(
+      @RequestParam(value = "pg", defaultValue = "0") int page,
       @RequestParam("sz") int size,
       @RequestParam(value = "documentNumber") Optional<String> documentNumber,
       @RequestParam(value = "fileNumber") Optional<String> fileNumber,
@@ -226,23 +235,43 @@ public class DocumentationUnitController {
       @RequestParam(value = "withError") Optional<Boolean> withError,
       @RequestParam(value = "myDocOfficeOnly") Optional<Boolean> myDocOfficeOnly,
       @RequestParam(value = "withDuplicateWarning") Optional<Boolean> withDuplicateWarning,
+      @RequestParam(value = "cursor") Optional<String> cursor,
       @AuthenticationPrincipal OidcUser oidcUser) {
 
-    return service.searchByDocumentationUnitSearchInput(
-        PageRequest.of(page, size),
-        oidcUser,
-        documentNumber,
-        fileNumber,
-        courtType,
-        courtLocation,
-        decisionDate,
-        decisionDateEnd,
-        publicationDate,
-        scheduledOnly,
-        publicationStatus,
-        withError,
-        myDocOfficeOnly,
-        withDuplicateWarning);
+    Optional<DocumentationUnitSearchCursor> searchCursor;
+    try {
+      searchCursor = cursor.map(DocumentationUnitSearchCursor::decode);
+    } catch (IllegalArgumentException e) {
+      log.debug("Invalid search cursor: {}", cursor.get(), e);
+      return ResponseEntity.badRequest().build();
+    }
+
+    // with a cursor the page number is ignored
+    Slice<DocumentationUnitListItem> result =
+        service.searchByDocumentationUnitSearchInput(
+            PageRequest.of(page, size),
+            oidcUser,
+            documentNumber,
+            fileNumber,
+            courtType,
+            courtLocation,
+            decisionDate,
+            decisionDateEnd,
+            publicationDate,
+            scheduledOnly,
+            publicationStatus,
+            withError,
+            myDocOfficeOnly,
+            withDuplicateWarning,
+            searchCursor);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (result.hasNext() && result.hasContent()) {
+      response.header(
+          NEXT_CURSOR_HEADER,
+          DocumentationUnitSearchCursor.of(result.getContent().getLast()).encode());
+    }
+    return response.body(result);
   }
 
   @GetMapping(value = "/{documentNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -256,7 +285,6 @@ public class DocumentationUnitController {
 
     try {
       Documentable documentable = service.getByDocumentNumberWithUser(documentNumber, oidcUser);
-      checkDuplicates(documentNumber);
       return ResponseEntity.ok((DocumentationUnit) documentable);
 
     } catch (DocumentationUnitNotExistsException e) {
@@ -420,9 +448,22 @@ public class DocumentationUnitController {
         PageRequest.of(page, size));
   }
 
+  /**
+   * Get the converted docx file. By default the images are embedded as base64 in the html. With
+   * {@code imageUrls} the html references the images by url, the images are loaded by {@link
+   * #getImage(UUID, String, String, WebRequest)}.
+   *
+   * @param uuid id of the documentation unit
+   * @param s3Path path of the docx file in the bucket
+   * @param imageUrls true to reference the images by url instead of embedding them
+   * @return the converted docx file
+   */
   @GetMapping(value = "/{uuid}/docx/{s3Path}", produces = MediaType.APPLICATION_JSON_VALUE)
   @PreAuthorize("@userHasReadAccessByDocumentationUnitId.apply(#uuid)")
-  public ResponseEntity<Docx2Html> getHtml(@PathVariable UUID uuid, @PathVariable String s3Path) {
+  public ResponseEntity<Docx2Html> getHtml(
+      @PathVariable UUID uuid,
+      @PathVariable String s3Path,
+      @RequestParam(value = "imageUrls", defaultValue = "false") boolean imageUrls) {
 
     try {
       service.getByUuid(uuid);
@@ -431,7 +472,10 @@ public class DocumentationUnitController {
     }
 
     try {
-      var docx2Html = converterService.getConvertedObject(s3Path);
+      var docx2Html =
+          imageUrls
+              ? converterService.getConvertedObject(s3Path, getImageUrlPrefix(uuid, s3Path))
+              : converterService.getConvertedObject(s3Path);
       return ResponseEntity.ok()
           .cacheControl(CacheControl.maxAge(Duration.ofDays(1))) // Set cache duration
           .body(docx2Html);
@@ -441,6 +485,54 @@ public class DocumentationUnitController {
     }
   }
 
+  /**
+   * Get an image of a docx file converted with image urls. The image of a docx file doesn't change,
+   * so the response could be cached by the client and is validated by the ETag.
+   *
+   * @param uuid id of the documentation unit
+   * @param s3Path path of the docx file in the bucket
+   * @param imageName name of the image in the converted html
+   * @param webRequest request with the ETag of the image cached by the client
+   * @return the image, not modified if the ETag matches or not found
+   */
+  @GetMapping(value = "/{uuid}/docx/{s3Path}/images/{imageName}")
+  @PreAuthorize("@userHasReadAccessByDocumentationUnitId.apply(#uuid)")
+  public ResponseEntity<byte[]> getImage(
+      @PathVariable UUID uuid,
+      @PathVariable String s3Path,
+      @PathVariable String imageName,
+      WebRequest webRequest) {
+
+    try {
+      var image = converterService.getImage(s3Path, getImageUrlPrefix(uuid, s3Path), imageName);
+      if (image.isEmpty()) {
+        return ResponseEntity.notFound().build();
+      }
+
+      String eTag = image.get().eTag();
+      CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate();
+      if (webRequest.checkNotModified(eTag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(eTag)
+            .cacheControl(cacheControl)
+            .build();
+      }
+
+      return ResponseEntity.ok()
+          .eTag(eTag)
+          .cacheControl(cacheControl)
+          .contentType(MediaType.parseMediaType(image.get().contentType()))
+          .body(image.get().bytes());
+    } catch (Exception ex) {
+      log.error("Error by getting docx image for documentation unit {}", uuid, ex);
+      return ResponseEntity.internalServerError().build();
+    }
+  }
+
+  private static String getImageUrlPrefix(UUID uuid, String s3Path) {
+    return "/api/v1/caselaw/documentunits/" + uuid + "/docx/" + s3Path + "/images/";
+  }
+
   @PostMapping(value = "/validateSingleNorm")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<String> validateSingleNorm(
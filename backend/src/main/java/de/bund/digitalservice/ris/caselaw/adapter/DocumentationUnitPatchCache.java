@@ -0,0 +1,227 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import com.gravity9.jsonpatch.JsonPatchOperation;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process cache of the last parsed patches per documentation unit. Editors of the same
+ * documentation unit poll for the changes of the others with every autosave. Without the cache
+ * every poll loads and parses the patches since the version of the client from the database.
+ *
+ * <p>For every documentation unit all patches from a version on are cached, but only the last
+ * patches up to the configured maximum (ring buffer). The documentation units are evicted in least
+ * recently used order. A saved patch invalidates the cache entry of the documentation unit. The
+ * invalidation is published via redis to the other instances, so that they don't answer with
+ * outdated patches.
+ *
+ * <p>The invalidation via redis is best effort. Cached patches are therefore only used if they
+ * reach the current version of the documentation unit, otherwise the patches are loaded from the
+ * database again. Entries expire after the configured time to live as a backstop.
+ */
+@Component
+@Slf4j
+public class DocumentationUnitPatchCache implements MessageListener {
+  public static final String INVALIDATION_CHANNEL = "documentation-unit-patch-invalidation";
+
+  private final int maxPatchesPerDocumentationUnit;
+  private final long timeToLiveNanos;
+  private final StringRedisTemplate redisTemplate;
+  private final Map<UUID, CachedPatches> entries;
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public DocumentationUnitPatchCache(
+      @Value("${documentation-unit.patch.cache.max-documentation-units:500}")
+          int maxDocumentationUnits,
+      @Value("${documentation-unit.patch.cache.max-patches-per-documentation-unit:10}")
+          int maxPatchesPerDocumentationUnit,
+      @Value("${documentation-unit.patch.cache.time-to-live-seconds:60}") long timeToLiveSeconds,
+      StringRedisTemplate redisTemplate) {
+    this.maxPatchesPerDocumentationUnit = maxPatchesPerDocumentationUnit;
+    this.timeToLiveNanos = Duration.ofSeconds(timeToLiveSeconds).toNanos();
+    this.redisTemplate = redisTemplate;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<UUID, CachedPatches> eldest) {
+            return size() > maxDocumentationUnits;
+          }
+        };
+  }
+
+  /**
+   * Start the loading of patches from the database. Pass the returned stamp to {@link #put}, so
+   * that patches loaded before an invalidation aren't cached.
+   *
+   * @return stamp of the current invalidation state
+   */
+  public long startLoading() {
+    return invalidations.get();
+  }
+
+  /**
+   * Get the cached operations of all patches since the given version.
+   *
+   * @param documentationUnitId id of the documentation unit
+   * @param documentationUnitVersion version of the documentation unit in the client
+   * @param currentVersion current version of the documentation unit in the database
+   * @return the operations in version order or an empty optional, if not all patches since the
+   *     version up to the current version are cached
+   */
+  public Optional<List<JsonPatchOperation>> get(
+      UUID documentationUnitId, long documentationUnitVersion, Long currentVersion) {
+    if (currentVersion == null) {
+      return Optional.empty();
+    }
+
+    CachedPatches cachedPatches;
+    synchronized (entries) {
+      cachedPatches = entries.get(documentationUnitId);
+    }
+
+    if (cachedPatches == null
+        || cachedPatches.fromVersion() == null
+        || documentationUnitVersion < cachedPatches.fromVersion()
+        || System.nanoTime() - cachedPatches.loadedAt() >= timeToLiveNanos) {
+      return Optional.empty();
+    }
+
+    // a lost invalidation must not hide the patches of newer versions
+    List<VersionPatch> patches = cachedPatches.patches();
+    if (patches.isEmpty() || patches.getLast().version() != currentVersion - 1) {
+      return Optional.empty();
+    }
+
+    List<JsonPatchOperation> operations = new ArrayList<>();
+    for (VersionPatch patch : cachedPatches.patches()) {
+      if (patch.version() >= documentationUnitVersion) {
+        operations.addAll(patch.operations());
+      }
+    }
+    return Optional.of(operations);
+  }
+
+  /**
+   * Cache the patches loaded from the database. Only the last patches are kept.
+   *
+   * @param documentationUnitId id of the documentation unit
+   * @param fromVersion version from which on all patches are loaded
+   * @param patches all patches since the version
+   * @param stamp stamp of {@link #startLoading()} before the patches were loaded
+   */
+  public void put(
+      UUID documentationUnitId, long fromVersion, List<VersionPatch> patches, long stamp) {
+    List<VersionPatch> sortedPatches =
+        patches.stream().sorted(Comparator.comparingLong(VersionPatch::version)).toList();
+
+    long cachedFromVersion = fromVersion;
+    if (sortedPatches.size() > maxPatchesPerDocumentationUnit) {
+      VersionPatch lastDropped =
+          sortedPatches.get(sortedPatches.size() - maxPatchesPerDocumentationUnit - 1);
+      cachedFromVersion = Math.max(fromVersion, lastDropped.version() + 1);
+    }
+
+    long finalFromVersion = cachedFromVersion;
+    List<VersionPatch> cachedPatches =
+        sortedPatches.stream().filter(patch -> patch.version() >= finalFromVersion).toList();
+
+    synchronized (entries) {
+      CachedPatches existing = entries.get(documentationUnitId);
+      if (existing != null && existing.stamp() > stamp) {
+        // invalidated while the patches were loaded
+        return;
+      }
+      entries.put(
+          documentationUnitId,
+          new CachedPatches(stamp, System.nanoTime(), cachedFromVersion, cachedPatches));
+    }
+  }
+
+  /**
+   * Invalidate the cached patches of the documentation unit in this and all other instances. If a
+   * transaction is active, the invalidation is repeated after the commit, so that no instance
+   * caches the patches of the database state before the commit.
+   *
+   * @param documentationUnitId id of the documentation unit
+   */
+  public void invalidate(UUID documentationUnitId) {
+    invalidateLocal(documentationUnitId);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              invalidateLocal(documentationUnitId);
+              publishInvalidation(documentationUnitId);
+            }
+          });
+    } else {
+      publishInvalidation(documentationUnitId);
+    }
+  }
+
+  /** Invalidation published by an instance via redis. */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      invalidateLocal(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignore invalid documentation unit patch invalidation", e);
+    }
+  }
+
+  private void invalidateLocal(UUID documentationUnitId) {
+    long stamp = invalidations.incrementAndGet();
+    synchronized (entries) {
+      // keep an entry without patches, so that patches loaded before aren't cached
+      entries.put(
+          documentationUnitId, new CachedPatches(stamp, System.nanoTime(), null, List.of()));
+    }
+  }
+
+  private void publishInvalidation(UUID documentationUnitId) {
+    try {
+      redisTemplate.convertAndSend(INVALIDATION_CHANNEL, documentationUnitId.toString());
+    } catch (RuntimeException e) {
+      // No rethrow: the patch is saved. Other instances don't use their cached patches, because
+      // they don't reach the new version.
+      log.error("Couldn't publish invalidation of patches of {}", documentationUnitId, e);
+    }
+  }
+
+  /**
+   * Parsed patch of a documentation unit version
+   *
+   * @param version version of the documentation unit, on which the patch was applied
+   * @param operations the operations of the patch
+   */
+  public record VersionPatch(long version, List<JsonPatchOperation> operations) {}
+
+  /**
+   * Cached patches of a documentation unit
+   *
+   * @param stamp invalidation stamp at the time the patches were loaded or invalidated
+   * @param loadedAt {@link System#nanoTime()} of the caching
+   * @param fromVersion version from which on all patches are cached, null if invalidated
+   * @param patches the cached patches in version order
+   */
+  private record CachedPatches(
+      long stamp, long loadedAt, Long fromVersion, List<VersionPatch> patches) {}
+}
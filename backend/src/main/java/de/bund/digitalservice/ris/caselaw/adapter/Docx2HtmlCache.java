@@ -0,0 +1,253 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bund.digitalservice.ris.caselaw.domain.docx.Docx2Html;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the converted docx files. An attachment doesn't change after the upload, but every
+ * opening of the attachment downloads and converts the docx file again.
+ *
+ * <p>The entries are keyed by the path of the docx file in the bucket and its ETag, so a changed
+ * object is never answered from the cache. The first tier is in-process and evicts the least
+ * recently used entries if the estimated size of all entries exceeds the configured maximum. If
+ * redis is available, the converted files are also cached there for the other instances.
+ *
+ * <p>Converted files with images referenced by url are cached separately from converted files with
+ * embedded images and per url prefix of the images, as the prefix contains the documentation unit.
+ * In redis the converted files with image urls of a docx file are the fields of one hash, so that
+ * all of them are removed together.
+ */
+@Component
+@Slf4j
+public class Docx2HtmlCache {
+  private static final String REDIS_KEY_PREFIX = "docx2html:";
+  private static final String IMAGE_URLS_KEY_SUFFIX = ":image-urls";
+
+  private final long maxSize;
+  private final Duration redisTimeToLive;
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final LinkedHashMap<String, CachedDocx2Html> entries =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  public Docx2HtmlCache(
+      @Value("${docx.conversion.cache.max-size:67108864}") long maxSize,
+      @Value("${docx.conversion.cache.redis-time-to-live-hours:24}") long redisTimeToLiveHours,
+      Optional<StringRedisTemplate> redisTemplate,
+      ObjectMapper objectMapper) {
+    this.maxSize = maxSize;
+    this.redisTimeToLive = Duration.ofHours(redisTimeToLiveHours);
+    this.redisTemplate = redisTemplate.orElse(null);
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Get the converted docx file.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket
+   * @return the converted docx file or an empty optional, if it isn't cached for the ETag
+   */
+  public Optional<Docx2Html> get(String s3Path, String eTag) {
+    return get(s3Path, eTag, null);
+  }
+
+  /**
+   * Get the converted docx file.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket
+   * @param imageUrlPrefix url prefix of the images, null if the images are embedded
+   * @return the converted docx file or an empty optional, if it isn't cached for the ETag
+   */
+  public Optional<Docx2Html> get(String s3Path, String eTag, String imageUrlPrefix) {
+    if (eTag == null) {
+      return Optional.empty();
+    }
+
+    String key = buildKey(s3Path, imageUrlPrefix);
+    CachedDocx2Html cachedDocx2Html;
+    synchronized (entries) {
+      cachedDocx2Html = entries.get(key);
+    }
+
+    if (cachedDocx2Html == null) {
+      cachedDocx2Html = getFromRedis(s3Path, imageUrlPrefix);
+      if (cachedDocx2Html != null && eTag.equals(cachedDocx2Html.eTag())) {
+        putLocal(key, cachedDocx2Html);
+      }
+    }
+
+    if (cachedDocx2Html == null || !eTag.equals(cachedDocx2Html.eTag())) {
+      return Optional.empty();
+    }
+
+    return Optional.of(cachedDocx2Html.docx2Html());
+  }
+
+  /**
+   * Cache the converted docx file. Without ETag the docx file isn't cached.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket
+   * @param docx2Html the converted docx file
+   */
+  public void put(String s3Path, String eTag, Docx2Html docx2Html) {
+    put(s3Path, eTag, null, docx2Html);
+  }
+
+  /**
+   * Cache the converted docx file. Without ETag the docx file isn't cached.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket
+   * @param imageUrlPrefix url prefix of the images, null if the images are embedded
+   * @param docx2Html the converted docx file
+   */
+  public void put(String s3Path, String eTag, String imageUrlPrefix, Docx2Html docx2Html) {
+    if (eTag == null || docx2Html == null) {
+      return;
+    }
+
+    CachedDocx2Html cachedDocx2Html = new CachedDocx2Html(eTag, docx2Html);
+    putLocal(buildKey(s3Path, imageUrlPrefix), cachedDocx2Html);
+    putToRedis(s3Path, imageUrlPrefix, cachedDocx2Html);
+  }
+
+  /**
+   * Remove the converted docx file from the cache, e.g. if the attachment is deleted.
+   *
+   * @param s3Path path of the docx file in the bucket
+   */
+  public void invalidate(String s3Path) {
+    String imageUrlsKeyPrefix = s3Path + IMAGE_URLS_KEY_SUFFIX;
+    synchronized (entries) {
+      var iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<String, CachedDocx2Html> entry = iterator.next();
+        if (entry.getKey().equals(s3Path) || entry.getKey().startsWith(imageUrlsKeyPrefix)) {
+          size -= estimateSize(entry.getValue());
+          iterator.remove();
+        }
+      }
+    }
+
+    if (redisTemplate == null) {
+      return;
+    }
+
+    try {
+      redisTemplate.delete(REDIS_KEY_PREFIX + s3Path);
+      redisTemplate.delete(REDIS_KEY_PREFIX + imageUrlsKeyPrefix);
+    } catch (RuntimeException e) {
+      // No rethrow: the entry is keyed by the ETag. A deleted attachment isn't found in the bucket.
+      log.error("Couldn't remove converted docx file {} from redis", s3Path, e);
+    }
+  }
+
+  private static String buildKey(String s3Path, String imageUrlPrefix) {
+    return imageUrlPrefix == null ? s3Path : s3Path + IMAGE_URLS_KEY_SUFFIX + imageUrlPrefix;
+  }
+
+  private void putLocal(String key, CachedDocx2Html cachedDocx2Html) {
+    long entrySize = estimateSize(cachedDocx2Html);
+    if (entrySize > maxSize) {
+      return;
+    }
+
+    synchronized (entries) {
+      CachedDocx2Html replaced = entries.put(key, cachedDocx2Html);
+      if (replaced != null) {
+        size -= estimateSize(replaced);
+      }
+      size += entrySize;
+
+      var iterator = entries.entrySet().iterator();
+      while (size > maxSize && iterator.hasNext()) {
+        Map.Entry<String, CachedDocx2Html> eldest = iterator.next();
+        size -= estimateSize(eldest.getValue());
+        iterator.remove();
+      }
+    }
+  }
+
+  private CachedDocx2Html getFromRedis(String s3Path, String imageUrlPrefix) {
+    if (redisTemplate == null) {
+      return null;
+    }
+
+    try {
+      String json;
+      if (imageUrlPrefix == null) {
+        json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + s3Path);
+      } else {
+        json =
+            redisTemplate
+                .<String, String>opsForHash()
+                .get(REDIS_KEY_PREFIX + s3Path + IMAGE_URLS_KEY_SUFFIX, imageUrlPrefix);
+      }
+      if (json == null) {
+        return null;
+      }
+      return objectMapper.readValue(json, CachedDocx2Html.class);
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Couldn't read converted docx file {} from redis", s3Path, e);
+      return null;
+    }
+  }
+
+  private void putToRedis(String s3Path, String imageUrlPrefix, CachedDocx2Html cachedDocx2Html) {
+    if (redisTemplate == null) {
+      return;
+    }
+
+    try {
+      String json = objectMapper.writeValueAsString(cachedDocx2Html);
+      if (imageUrlPrefix == null) {
+        redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + s3Path, json, redisTimeToLive);
+      } else {
+        String key = REDIS_KEY_PREFIX + s3Path + IMAGE_URLS_KEY_SUFFIX;
+        redisTemplate.<String, String>opsForHash().put(key, imageUrlPrefix, json);
+        redisTemplate.expire(key, redisTimeToLive);
+      }
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Couldn't write converted docx file {} to redis", s3Path, e);
+    }
+  }
+
+  /** Estimated heap size of the strings of the converted docx file in bytes */
+  private static long estimateSize(CachedDocx2Html cachedDocx2Html) {
+    Docx2Html docx2Html = cachedDocx2Html.docx2Html();
+    long length = length(docx2Html.html());
+    if (docx2Html.ecliList() != null) {
+      length += docx2Html.ecliList().stream().mapToLong(Docx2HtmlCache::length).sum();
+    }
+    if (docx2Html.properties() != null) {
+      length += docx2Html.properties().values().stream().mapToLong(Docx2HtmlCache::length).sum();
+    }
+    return 2 * length;
+  }
+
+  private static long length(String value) {
+    return Objects.isNull(value) ? 0 : value.length();
+  }
+
+  /**
+   * Converted docx file with the ETag of the docx file
+   *
+   * @param eTag ETag of the docx file in the bucket
+   * @param docx2Html the converted docx file
+   */
+  record CachedDocx2Html(String eTag, Docx2Html docx2Html) {}
+}
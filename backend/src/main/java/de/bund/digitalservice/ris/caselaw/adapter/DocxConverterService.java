@@ -15,22 +15,33 @@ import de.bund.digitalservice.ris.caselaw.domain.docx.MetadataProperty;
 import de.bund.digitalservice.ris.caselaw.domain.docx.ParagraphElement;
 import de.bund.digitalservice.ris.caselaw.domain.docx.UnhandledElement;
 import de.bund.digitalservice.ris.caselaw.domain.docx.UnhandledElementType;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -48,7 +59,9 @@ import org.docx4j.openpackaging.parts.WordprocessingML.BinaryPartAbstractImage;
 import org.docx4j.openpackaging.parts.WordprocessingML.ImageJpegPart;
 import org.docx4j.openpackaging.parts.WordprocessingML.ImagePngPart;
 import org.docx4j.openpackaging.parts.WordprocessingML.MetafileEmfPart;
+import org.docx4j.openpackaging.parts.WordprocessingML.MetafileWmfPart;
 import org.docx4j.wml.Style;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -56,11 +69,11 @@ import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 
 @Service
 @Slf4j
@@ -79,21 +92,39 @@ public class DocxConverterService implements ConverterService {
           // new UnhandledElement("paragraph", "org.docx4j.wml.ProofErr",
           // UnhandledElementType.OBJECT)
           );
+  private static final Pattern ECLI_ORDINAL_NUMBER_PATTERN = Pattern.compile("[\\w.]{1,25}");
 
   private final S3Client client;
   private final DocumentBuilderFactory documentBuilderFactory;
-  private final DocxConverter converter;
+  private final ObjectProvider<DocxConverter> converterProvider;
+  private final Semaphore conversionPermits;
+  private final Docx2HtmlCache docx2HtmlCache;
+  private final DocxImageCache docxImageCache;
+
+  /** Running conversions for images by the path of the docx file, completed with the ETag */
+  private final ConcurrentHashMap<String, CompletableFuture<String>> runningImageConversions =
+      new ConcurrentHashMap<>();
 
   @Value("${otc.obs.bucket-name}")
   private String bucketName;
 
+  /** Maximum uncompressed size of a docx file to convert in bytes, default 256 MB */
+  @Value("${docx.conversion.max-uncompressed-size:268435456}")
+  private long maxUncompressedSize;
+
   public DocxConverterService(
       @Qualifier("docxS3Client") S3Client client,
       DocumentBuilderFactory documentBuilderFactory,
-      DocxConverter converter) {
+      ObjectProvider<DocxConverter> converterProvider,
+      Docx2HtmlCache docx2HtmlCache,
+      DocxImageCache docxImageCache,
+      @Value("${docx.conversion.max-parallel-conversions:4}") int maxParallelConversions) {
     this.client = client;
     this.documentBuilderFactory = documentBuilderFactory;
-    this.converter = converter;
+    this.converterProvider = converterProvider;
+    this.docx2HtmlCache = docx2HtmlCache;
+    this.docxImageCache = docxImageCache;
+    this.conversionPermits = new Semaphore(maxParallelConversions);
   }
 
   public String getOriginalText(WordprocessingMLPackage mlPackage) {
@@ -129,24 +160,122 @@ public class DocxConverterService implements ConverterService {
 
   /**
    * Convert docx file to a object with the html content of the word file and some metadata
-   * extracted of the docx file.
+   * extracted of the docx file. The file is streamed from the bucket into a temporary file, so
+   * that the compressed object isn't held on the heap during the conversion. Converted files are
+   * cached by their ETag, for a cached file only the headers of the object are requested.
    *
    * @param fileName name of the file in the bucket
    * @return the generated object with html content and metadata, if the file name is null a empty
    *     mono is returned
    */
   public Docx2Html getConvertedObject(String fileName) {
+    return getConvertedObject(fileName, null);
+  }
+
+  /**
+   * Convert docx file to a object with the html content of the word file and some metadata
+   * extracted of the docx file. If an image url prefix is given, the images aren't embedded as
+   * base64 in the html, but referenced by the prefix and their name. The images are then served by
+   * {@link #getImage(String, String, String)}.
+   *
+   * @param fileName name of the file in the bucket
+   * @param imageUrlPrefix url prefix of the images, null to embed the images
+   * @return the generated object with html content and metadata, if the file name is null a empty
+   *     mono is returned
+   */
+  public Docx2Html getConvertedObject(String fileName, String imageUrlPrefix) {
     if (fileName == null) {
       return null;
     }
 
-    GetObjectRequest request = GetObjectRequest.builder().bucket(bucketName).key(fileName).build();
+    // only the headers of the object are requested to check the cache
+    String eTag = getETag(fileName);
+    Optional<Docx2Html> cachedDocx2Html = docx2HtmlCache.get(fileName, eTag, imageUrlPrefix);
+    if (cachedDocx2Html.isPresent()
+        && (imageUrlPrefix == null || docxImageCache.contains(fileName, eTag))) {
+      return cachedDocx2Html.get();
+    }
+
+    return convert(fileName, imageUrlPrefix).docx2Html();
+  }
+
+  /**
+   * Get an image of a docx file converted with image urls. If the images aren't cached anymore for
+   * the ETag of the docx file, the docx file is converted again. Concurrent requests for the
+   * images of the same docx file wait for one conversion.
+   *
+   * @param fileName name of the file in the bucket
+   * @param imageUrlPrefix url prefix of the images used for the conversion
+   * @param imageName name of the image in the converted html
+   * @return the image or an empty optional, if the docx file has no image with the name
+   */
+  public Optional<DocxImagePart> getImage(
+      String fileName, String imageUrlPrefix, String imageName) {
+    Optional<DocxImagePart> image = docxImageCache.get(fileName, getETag(fileName), imageName);
+    if (image.isPresent()) {
+      return image;
+    }
+
+    CompletableFuture<String> conversion = new CompletableFuture<>();
+    CompletableFuture<String> runningConversion =
+        runningImageConversions.putIfAbsent(fileName, conversion);
+    if (runningConversion == null) {
+      try {
+        conversion.complete(convert(fileName, imageUrlPrefix).eTag());
+      } catch (RuntimeException e) {
+        conversion.completeExceptionally(e);
+      } finally {
+        runningImageConversions.remove(fileName, conversion);
+      }
+      runningConversion = conversion;
+    }
 
-    ResponseBytes<GetObjectResponse> response =
-        client.getObject(request, ResponseTransformer.toBytes());
+    String convertedETag;
+    try {
+      convertedETag = runningConversion.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return docxImageCache.get(fileName, convertedETag, imageName);
+  }
 
+  private String getETag(String fileName) {
+    return client
+        .headObject(HeadObjectRequest.builder().bucket(bucketName).key(fileName).build())
+        .eTag();
+  }
+
+  /**
+   * Download and convert the docx file and cache the result. The images are cached if the image
+   * url prefix is given.
+   */
+  private ConvertedDocx convert(String fileName, String imageUrlPrefix) {
+    String eTag;
+    GetObjectRequest request = GetObjectRequest.builder().bucket(bucketName).key(fileName).build();
+    Path tempFile = null;
+    DocxConverter converter = converterProvider.getObject();
+    converter.setImageUrlPrefix(imageUrlPrefix);
     List<DocumentationUnitDocx> documentationUnitDocxList;
-    documentationUnitDocxList = parseAsDocumentationUnitDocxList(response.asInputStream());
+    try (ResponseInputStream<GetObjectResponse> response = client.getObject(request)) {
+      // the images and the html are cached for the ETag of the downloaded object
+      eTag = response.response().eTag();
+
+      tempFile = Files.createTempFile("docx-conversion-", ".docx");
+      Files.copy(response, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      checkUncompressedSize(tempFile);
+
+      File docxFile = tempFile.toFile();
+      documentationUnitDocxList =
+          parseAsDocumentationUnitDocxList(() -> WordprocessingMLPackage.load(docxFile), converter);
+    } catch (IOException e) {
+      throw new DocxConverterException("Couldn't load docx file!", e);
+    } finally {
+      deleteTempFile(tempFile);
+    }
+
     List<DocumentationUnitDocx> packedList =
         DocumentationUnitDocxListUtils.packList(documentationUnitDocxList);
     List<String> ecliList =
@@ -170,13 +299,64 @@ public class DocxConverterService implements ConverterService {
             .map(MetadataProperty.class::cast)
             .collect(Collectors.toMap(MetadataProperty::getKey, MetadataProperty::getValue));
 
-    return new Docx2Html(content, ecliList, properties);
+    Docx2Html docx2Html = new Docx2Html(content, ecliList, properties);
+    if (imageUrlPrefix != null) {
+      docxImageCache.put(fileName, eTag, converter.getExtractedImages());
+    }
+    docx2HtmlCache.put(fileName, eTag, imageUrlPrefix, docx2Html);
+    return new ConvertedDocx(eTag, docx2Html);
+  }
+
+  /**
+   * Check the uncompressed size of all entries of the docx file. docx4j holds all parts of the
+   * package uncompressed in memory, so the size caps the memory of a conversion. The sizes in the
+   * zip directory can be missing or wrong, so the entries are inflated and the bytes are counted
+   * up to the maximum.
+   *
+   * @param docxFile path of the docx file
+   * @throws IOException if the docx file isn't a readable zip file
+   */
+  private void checkUncompressedSize(Path docxFile) throws IOException {
+    long uncompressedSize = 0;
+    byte[] buffer = new byte[8192];
+    try (ZipFile zipFile = new ZipFile(docxFile.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        try (InputStream inputStream = zipFile.getInputStream(entries.nextElement())) {
+          int read;
+          while ((read = inputStream.read(buffer)) != -1) {
+            uncompressedSize += read;
+            if (uncompressedSize > maxUncompressedSize) {
+              throw new DocxConverterException(
+                  "Docx file is too large to convert: more than "
+                      + maxUncompressedSize
+                      + " bytes uncompressed");
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private void deleteTempFile(Path tempFile) {
+    if (tempFile == null) {
+      return;
+    }
+
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (IOException e) {
+      log.warn("Couldn't delete temporary docx file {}", tempFile, e);
+    }
   }
 
   /**
    * Convert the content file (docx) into a list of DocumentationUnitDocx elements. Read the styles,
    * images, footers and numbering definitions from the docx file.
    *
+   * <p>Every conversion uses its own converter. The number of parallel conversions is limited,
+   * because every conversion holds the whole docx package in memory.
+   *
    * @param inputStream input stream of the content file
    * @return list of DocumentationUnitDocx elements
    */
@@ -185,9 +365,31 @@ public class DocxConverterService implements ConverterService {
       return Collections.emptyList();
     }
 
+    return parseAsDocumentationUnitDocxList(
+        () -> WordprocessingMLPackage.load(inputStream), converterProvider.getObject());
+  }
+
+  private List<DocumentationUnitDocx> parseAsDocumentationUnitDocxList(
+      PackageLoader packageLoader, DocxConverter converter) {
+    try {
+      conversionPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DocxConverterException("Interrupted while waiting for the docx conversion", e);
+    }
+
+    try {
+      return convertDocx(packageLoader, converter);
+    } finally {
+      conversionPermits.release();
+    }
+  }
+
+  private List<DocumentationUnitDocx> convertDocx(
+      PackageLoader packageLoader, DocxConverter converter) {
     WordprocessingMLPackage mlPackage;
     try {
-      mlPackage = WordprocessingMLPackage.load(inputStream);
+      mlPackage = packageLoader.load();
     } catch (Docx4JException e) {
       throw new DocxConverterException("Couldn't load docx file!", e);
     }
@@ -204,8 +406,9 @@ public class DocxConverterService implements ConverterService {
             .map(element -> converter.convert(element, unhandledElements))
             .filter(Objects::nonNull)
             .collect(Collectors.toList());
+    converter.awaitImages();
 
-    Set<FooterElement> footerElements = parseFooterAndIdentifyECLI();
+    Set<FooterElement> footerElements = parseFooterAndIdentifyECLI(converter);
     documentationUnitDocxList.addAll(
         0, footerElements.stream().filter(ECLIElement.class::isInstance).toList());
     documentationUnitDocxList.addAll(
@@ -269,7 +472,7 @@ public class DocxConverterService implements ConverterService {
     return props;
   }
 
-  private Set<FooterElement> parseFooterAndIdentifyECLI() {
+  private Set<FooterElement> parseFooterAndIdentifyECLI(DocxConverter converter) {
     Set<FooterElement> footerElements = new HashSet<>();
 
     // Check if footers are null
@@ -332,10 +535,7 @@ public class DocxConverterService implements ConverterService {
       return false;
     }
 
-    Pattern pattern = Pattern.compile("[\\w.]{1,25}");
-    Matcher matcher = pattern.matcher(parts[4]);
-
-    return matcher.matches();
+    return ECLI_ORDINAL_NUMBER_PATTERN.matcher(parts[4]).matches();
   }
 
   private List<ParagraphElement> readFooters(
@@ -451,6 +651,15 @@ public class DocxConverterService implements ConverterService {
                             images.put(
                                 relationship.getId(),
                                 new DocxImagePart(pngPart.getContentType(), pngPart.getBytes())));
+              } else if (part instanceof MetafileWmfPart) {
+                // TODO render wmf images as png like the emf images, freehep has no wmf renderer
+                part.getSourceRelationships()
+                    .forEach(
+                        relationship ->
+                            images.put(
+                                relationship.getId(),
+                                new DocxImagePart("image/unknown", new byte[] {})));
+                log.warn("wmf images aren't rendered yet, use placeholder");
               } else if (part instanceof BinaryPartAbstractImage imagePart) {
                 part.getSourceRelationships()
                     .forEach(
@@ -464,4 +673,18 @@ public class DocxConverterService implements ConverterService {
 
     return images;
   }
+
+  /** Loads the docx package from a file or a stream. */
+  @FunctionalInterface
+  private interface PackageLoader {
+    WordprocessingMLPackage load() throws Docx4JException;
+  }
+
+  /**
+   * Converted docx file with the ETag of the downloaded docx file
+   *
+   * @param eTag ETag of the docx file in the bucket
+   * @param docx2Html the converted docx file
+   */
+  private record ConvertedDocx(String eTag, Docx2Html docx2Html) {}
 }
@@ -0,0 +1,124 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocxImagePart;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the images extracted from converted docx files. If the converted html references the
+ * images by url instead of embedding them as base64, the images are served from this cache.
+ *
+ * <p>The entries hold all images of a docx file and are keyed by the path of the docx file in the
+ * bucket. The cache is in-process only and evicts the least recently used docx files if the size of
+ * all images exceeds the configured maximum. An evicted docx file is converted again on request.
+ */
+@Component
+public class DocxImageCache {
+  private final long maxSize;
+  private final LinkedHashMap<String, CachedImages> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  public DocxImageCache(@Value("${docx.conversion.image-cache.max-size:134217728}") long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Check if the images of the docx file with the ETag are cached.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket
+   * @return true, if the images are cached for the ETag
+   */
+  public boolean contains(String s3Path, String eTag) {
+    if (eTag == null) {
+      return false;
+    }
+
+    synchronized (entries) {
+      CachedImages cachedImages = entries.get(s3Path);
+      return cachedImages != null && eTag.equals(cachedImages.eTag());
+    }
+  }
+
+  /**
+   * Get an image of the docx file.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket
+   * @param name name of the image in the converted html
+   * @return the image or an empty optional, if the images of the docx file aren't cached for the
+   *     ETag
+   */
+  public Optional<DocxImagePart> get(String s3Path, String eTag, String name) {
+    if (eTag == null) {
+      return Optional.empty();
+    }
+
+    synchronized (entries) {
+      CachedImages cachedImages = entries.get(s3Path);
+      if (cachedImages == null || !eTag.equals(cachedImages.eTag())) {
+        return Optional.empty();
+      }
+      return Optional.ofNullable(cachedImages.images().get(name));
+    }
+  }
+
+  /**
+   * Cache the images of the docx file.
+   *
+   * @param s3Path path of the docx file in the bucket
+   * @param eTag ETag of the docx file in the bucket, could be null
+   * @param images images of the docx file by their name in the converted html
+   */
+  public void put(String s3Path, String eTag, Map<String, DocxImagePart> images) {
+    CachedImages cachedImages = new CachedImages(eTag, Map.copyOf(images));
+    long entrySize = estimateSize(cachedImages);
+    if (entrySize > maxSize) {
+      return;
+    }
+
+    synchronized (entries) {
+      CachedImages replaced = entries.put(s3Path, cachedImages);
+      if (replaced != null) {
+        size -= estimateSize(replaced);
+      }
+      size += entrySize;
+
+      var iterator = entries.entrySet().iterator();
+      while (size > maxSize && iterator.hasNext()) {
+        Map.Entry<String, CachedImages> eldest = iterator.next();
+        size -= estimateSize(eldest.getValue());
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Remove the images of the docx file from the cache, e.g. if the attachment is deleted.
+   *
+   * @param s3Path path of the docx file in the bucket
+   */
+  public void invalidate(String s3Path) {
+    synchronized (entries) {
+      CachedImages removed = entries.remove(s3Path);
+      if (removed != null) {
+        size -= estimateSize(removed);
+      }
+    }
+  }
+
+  /** Size of the image bytes of the docx file */
+  private static long estimateSize(CachedImages cachedImages) {
+    return cachedImages.images().values().stream()
+        .map(DocxImagePart::bytes)
+        .filter(Objects::nonNull)
+        .mapToLong(bytes -> bytes.length)
+        .sum();
+  }
+
+  private record CachedImages(String eTag, Map<String, DocxImagePart> images) {}
+}
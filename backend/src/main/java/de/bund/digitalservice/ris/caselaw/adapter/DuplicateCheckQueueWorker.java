@@ -0,0 +1,140 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDuplicateCheckQueueRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateCheckQueueDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the queue of the requested duplicate checks. Every instance polls the queue and claims
+ * the due requests, as long as one of its workers is free. A failed check isn't removed from the
+ * queue and is repeated after the claim expired. After the maximal number of attempts the request
+ * is logged and dropped, the nightly check of the changed documentation units covers it.
+ *
+ * <p>Exported metrics: the depth of the queue, the duration of the checks, the latency from the
+ * request to the finished check and the number of dropped requests.
+ */
+@Component
+@Slf4j
+public class DuplicateCheckQueueWorker {
+  private final DatabaseDuplicateCheckQueueRepository queueRepository;
+  private final DuplicateRelationService duplicateRelationService;
+  private final TaskExecutor executor;
+  private final Semaphore workers;
+  private final long claimTimeoutMillis;
+  private final int maxAttempts;
+  private final AtomicLong queueDepth = new AtomicLong();
+  private final Timer checkTimer;
+  private final Timer latencyTimer;
+  private final Counter droppedCounter;
+
+  public DuplicateCheckQueueWorker(
+      DatabaseDuplicateCheckQueueRepository queueRepository,
+      DuplicateRelationService duplicateRelationService,
+      @Qualifier("duplicateCheckExecutor") TaskExecutor executor,
+      MeterRegistry meterRegistry,
+      @Value("${duplicate-check.queue.workers:2}") int workers,
+      @Value("${duplicate-check.queue.claim-timeout:PT5M}") Duration claimTimeout,
+      @Value("${duplicate-check.queue.max-attempts:5}") int maxAttempts) {
+    this.queueRepository = queueRepository;
+    this.duplicateRelationService = duplicateRelationService;
+    this.executor = executor;
+    this.workers = new Semaphore(workers);
+    this.claimTimeoutMillis = claimTimeout.toMillis();
+    this.maxAttempts = maxAttempts;
+
+    Gauge.builder("duplicate_check.queue.depth", queueDepth, AtomicLong::get)
+        .description("Number of requested duplicate checks")
+        .register(meterRegistry);
+    this.checkTimer =
+        Timer.builder("duplicate_check.duration")
+            .description("Duration of the duplicate check of a documentation unit")
+            .register(meterRegistry);
+    this.latencyTimer =
+        Timer.builder("duplicate_check.latency")
+            .description("Time from the request to the finished duplicate check")
+            .register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder("duplicate_check.dropped")
+            .description("Requested duplicate checks dropped after the maximal number of attempts")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${duplicate-check.queue.poll-interval-ms:1000}")
+  public void drainQueue() {
+    queueDepth.set(queueRepository.count());
+
+    int freeWorkers = workers.drainPermits();
+    if (freeWorkers == 0) {
+      return;
+    }
+
+    List<DuplicateCheckQueueDTO> requests = List.of();
+    try {
+      requests = queueRepository.claimDueRequests(freeWorkers, claimTimeoutMillis);
+    } finally {
+      workers.release(freeWorkers - requests.size());
+    }
+
+    for (DuplicateCheckQueueDTO request : requests) {
+      executor.execute(
+          () -> {
+            try {
+              check(request);
+            } finally {
+              workers.release();
+            }
+          });
+    }
+  }
+
+  void check(DuplicateCheckQueueDTO request) {
+    try {
+      checkTimer.record(
+          () -> duplicateRelationService.updateDuplicates(request.getDocumentNumber()));
+      queueRepository.deleteCheckedRequest(request.getDocumentNumber(), request.getEnqueueCount());
+      latencyTimer.record(Duration.between(request.getEnqueuedAt(), Instant.now()));
+    } catch (Exception e) {
+      if (request.getAttempts() < maxAttempts) {
+        log.error(
+            "Could not check duplicates for doc unit {} in attempt {} of {}, retry after the claim "
+                + "expired",
+            request.getDocumentNumber(),
+            request.getAttempts(),
+            maxAttempts,
+            e);
+        return;
+      }
+
+      log.error(
+          "Could not check duplicates for doc unit {} in {} attempts, drop the request",
+          request.getDocumentNumber(),
+          request.getAttempts(),
+          e);
+      drop(request);
+    }
+  }
+
+  private void drop(DuplicateCheckQueueDTO request) {
+    try {
+      queueRepository.deleteCheckedRequest(request.getDocumentNumber(), request.getEnqueueCount());
+      droppedCounter.increment();
+    } catch (Exception e) {
+      log.error(
+          "Could not drop the duplicate check of doc unit {}", request.getDocumentNumber(), e);
+    }
+  }
+}
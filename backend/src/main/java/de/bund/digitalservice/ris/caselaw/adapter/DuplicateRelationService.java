@@ -1,15 +1,16 @@
 package de.bund.digitalservice.ris.caselaw.adapter;
 
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateRelationDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateRelationRepository;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateRelationStatus;
-import jakarta.validation.ConstraintViolationException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
@@ -28,57 +29,67 @@ public class DuplicateRelationService {
     return relationRepository.findById(duplicateRelationId);
   }
 
-  List<DuplicateRelationDTO> findAllByDocUnitId(UUID docUnitId) {
-    return relationRepository.findAllByDocUnitId(docUnitId);
+  void setStatus(DuplicateRelationDTO duplicateRelation, DuplicateRelationStatus status) {
+    duplicateRelation.setRelationStatus(status);
+    relationRepository.save(duplicateRelation);
   }
 
-  void create(DecisionDTO docUnitA, DecisionDTO docUnitB, DuplicateRelationStatus status) {
-    DuplicateRelationDTO.DuplicateRelationId duplicateRelationId =
-        new DuplicateRelationDTO.DuplicateRelationId(docUnitA.getId(), docUnitB.getId());
+  @Transactional(transactionManager = "jpaTransactionManager")
+  void updateDuplicates(String documentNumber) {
+    var removedRelations = relationRepository.removeObsoleteDuplicateRelations(documentNumber);
+    var upsertedRelations = relationRepository.addMissingDuplicateRelations(documentNumber);
+    log.debug(
+        "Updated duplicate relations of {}: {} duplicates added or set to ignored, {} duplicates removed",
+        documentNumber,
+        upsertedRelations,
+        removedRelations);
+  }
 
-    DecisionDTO docUnit1;
-    DecisionDTO docUnit2;
-    // duplicateRelationId determines the order of the two docUnits
-    if (docUnitA.getId().equals(duplicateRelationId.getDocumentationUnitId1())) {
-      docUnit1 = docUnitA;
-      docUnit2 = docUnitB;
-    } else {
-      docUnit1 = docUnitB;
-      docUnit2 = docUnitA;
-    }
+  /**
+   * Update the duplicate relations of the documentation unit and delete its logged changes, which
+   * are covered by the update.
+   *
+   * @param documentNumber the document number of the changed documentation unit
+   * @param lastChange the id of the last change covered by the update
+   */
+  @Transactional(transactionManager = "jpaTransactionManager")
+  void updateChangedDuplicates(String documentNumber, long lastChange) {
+    updateDuplicates(documentNumber);
+    relationRepository.deleteDuplicateCheckChanges(documentNumber, lastChange);
+  }
 
-    var newRelation =
-        DuplicateRelationDTO.builder()
-            .relationStatus(status)
-            .documentationUnit1(docUnit1)
-            .documentationUnit2(docUnit2)
-            .id(duplicateRelationId)
-            .build();
-    try {
-      relationRepository.save(newRelation);
-    } catch (ConstraintViolationException e) {
-      // Duplicate relations might be created multiple times in parallel or while a deletion of a
-      // doc unit is in progress (e2e tests). Instead of locking we choose to ignore this.
-    }
+  Optional<Long> findLastChange() {
+    return Optional.ofNullable(relationRepository.findLastDuplicateCheckChange());
   }
 
-  void setStatus(DuplicateRelationDTO duplicateRelation, DuplicateRelationStatus status) {
-    duplicateRelation.setRelationStatus(status);
-    relationRepository.save(duplicateRelation);
+  List<String> findChangedDocumentNumbers(long lastChange) {
+    return relationRepository.findDocumentNumbersWithDuplicateCheckChanges(lastChange);
+  }
+
+  @Transactional(transactionManager = "jpaTransactionManager")
+  int deleteChangesOfDeletedDocumentationUnits(long lastChange) {
+    return relationRepository.deleteDuplicateCheckChangesOfDeletedDocumentationUnits(lastChange);
   }
 
-  void delete(DuplicateRelationDTO duplicateRelation) {
-    relationRepository.delete(duplicateRelation);
+  @Transactional(transactionManager = "jpaTransactionManager")
+  int compactFileNumberFrequencies() {
+    return relationRepository.compactFileNumberFrequencies();
   }
 
+  @Transactional(transactionManager = "jpaTransactionManager")
   void updateAllDuplicates() {
     log.info("Updating all duplicate relations");
+    var start = Instant.now();
+    var lastChange = findLastChange();
     var removedRelations = this.relationRepository.removeObsoleteDuplicateRelations();
     var insertedRelations = this.relationRepository.addMissingDuplicateRelations();
     var ignoredRelations =
         this.relationRepository.ignoreDuplicateRelationsWhenJdvDupCheckDisabled();
+    // the logged changes are covered by the full update
+    lastChange.ifPresent(relationRepository::deleteDuplicateCheckChanges);
     log.info(
-        "Updating duplicate relations finished: {} duplicates added, {} duplicates removed, {} duplicates set to ignored.",
+        "Updating duplicate relations finished in {} ms: {} duplicates added, {} duplicates removed, {} duplicates set to ignored.",
+        Duration.between(start, Instant.now()).toMillis(),
         insertedRelations,
         removedRelations,
         ignoredRelations);
@@ -10,7 +10,9 @@ import de.bund.digitalservice.ris.caselaw.domain.Documentable;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitRepository;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
-import jakarta.xml.bind.JAXB;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -22,12 +24,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mapping.MappingException;
@@ -38,13 +44,18 @@ import org.xml.sax.SAXException;
 @Service
 @Slf4j
 public class LdmlExporterService {
+  /** Maximum number of idle marshallers, transformers and validators kept for the next export */
+  private static final int MAX_POOLED_SERIALIZERS = 4;
 
   private final DocumentationUnitRepository documentationUnitRepository;
   private final DocumentBuilderFactory documentBuilderFactory;
   private final LdmlBucket ldmlBucket;
   private final ObjectMapper objectMapper;
+  private final JAXBContext jaxbContext;
   private final Templates htmlToAknHtml;
   private final Schema schema;
+  private final ArrayBlockingQueue<LdmlSerializer> serializers =
+      new ArrayBlockingQueue<>(MAX_POOLED_SERIALIZERS);
 
   @Autowired
   public LdmlExporterService(
@@ -58,8 +69,14 @@ public class LdmlExporterService {
     this.documentBuilderFactory = documentBuilderFactory;
     this.ldmlBucket = ldmlBucket;
     this.objectMapper = objectMapper;
+
     this.htmlToAknHtml = xmlUtilService.getTemplates("caselawhandover/htmlToAknHtml.xslt");
     this.schema = xmlUtilService.getSchema("caselawhandover/shared/akomantoso30.xsd");
+    try {
+      this.jaxbContext = JAXBContext.newInstance(CaseLawLdml.class);
+    } catch (JAXBException e) {
+      throw new LdmlTransformationException("Couldn't create the JAXB context of the LDML", e);
+    }
   }
 
   public void exportMultipleRandomDocumentationUnits() {
@@ -328,11 +345,34 @@ public class LdmlExporterService {
   }
 
   public Optional<String> ldmlToString(CaseLawLdml ldml) {
+    // marshaller, transformer and validator aren't thread safe. An export takes an idle instance
+    // from the pool or creates a new one and returns it afterwards, if the pool isn't full.
+    LdmlSerializer serializer = serializers.poll();
+    if (serializer == null) {
+      serializer = createSerializer();
+    }
+
+    Optional<String> fileContent = ldmlToString(ldml, serializer);
+    if (fileContent.isPresent()) {
+      // the state of a serializer of a failed export is unknown, so it isn't reused
+      serializer.htmlToAknHtml().reset();
+      serializer.validator().reset();
+      serializers.offer(serializer);
+    }
+    return fileContent;
+  }
+
+  private Optional<String> ldmlToString(CaseLawLdml ldml, LdmlSerializer serializer) {
     StringWriter jaxbOutput = new StringWriter();
-    JAXB.marshal(ldml, jaxbOutput);
+    try {
+      serializer.marshaller().marshal(ldml, jaxbOutput);
+    } catch (JAXBException e) {
+      throw new LdmlTransformationException("Couldn't marshal the LDML", e);
+    }
 
     try {
-      String ldmlAsXmlString = XmlUtilService.xsltTransform(htmlToAknHtml, jaxbOutput.toString());
+      String ldmlAsXmlString =
+          XmlUtilService.xsltTransform(serializer.htmlToAknHtml(), jaxbOutput.toString());
       if (ldmlAsXmlString.contains("akn:unknownUseCaseDiscovered")) {
         int hintStart = Math.max(0, ldmlAsXmlString.indexOf("akn:unknownUseCaseDiscovered") - 10);
         int hintEnd = Math.min(ldmlAsXmlString.length(), hintStart + 60);
@@ -346,7 +386,7 @@ public class LdmlExporterService {
         return Optional.empty();
       }
 
-      schema.newValidator().validate(new StreamSource(new StringReader(ldmlAsXmlString)));
+      serializer.validator().validate(new StreamSource(new StringReader(ldmlAsXmlString)));
       return Optional.of(ldmlAsXmlString);
     } catch (SAXException | MappingException | IOException e) {
       logXsdError(ldml.getUniqueId(), jaxbOutput.toString(), e);
@@ -354,6 +394,26 @@ public class LdmlExporterService {
     }
   }
 
+  private LdmlSerializer createSerializer() {
+    Marshaller marshaller;
+    try {
+      marshaller = jaxbContext.createMarshaller();
+      // same output as JAXB.marshal
+      marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    } catch (JAXBException e) {
+      throw new LdmlTransformationException("Couldn't create the JAXB marshaller of the LDML", e);
+    }
+
+    Transformer transformer;
+    try {
+      transformer = htmlToAknHtml.newTransformer();
+    } catch (TransformerConfigurationException e) {
+      throw new LdmlTransformationException("Couldn't create the transformer of the LDML", e);
+    }
+
+    return new LdmlSerializer(marshaller, transformer, schema.newValidator());
+  }
+
   private void logXsdError(String caseLawId, String beforeXslt, Exception e) {
     String hint = "";
     if (beforeXslt.contains("<akn:judgmentBody/>")) {
@@ -369,4 +429,14 @@ public class LdmlExporterService {
     }
     log.error("Error: {} Case Law {} does not match akomantoso30.xsd. {}", hint, caseLawId, e);
   }
+
+  /**
+   * Not thread safe instances of one export
+   *
+   * @param marshaller JAXB marshaller of the LDML
+   * @param htmlToAknHtml transformer of the marshalled LDML
+   * @param validator validator of the transformed LDML against the schema
+   */
+  private record LdmlSerializer(
+      Marshaller marshaller, Transformer htmlToAknHtml, Validator validator) {}
 }
@@ -8,9 +8,10 @@ import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOffi
 import de.bund.digitalservice.ris.caselaw.adapter.transformer.ApiKeyTransformer;
 import de.bund.digitalservice.ris.caselaw.domain.ApiKey;
 import de.bund.digitalservice.ris.caselaw.domain.AuthService;
-import de.bund.digitalservice.ris.caselaw.domain.Documentable;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationOffice;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitAccessMetadata;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
 import de.bund.digitalservice.ris.caselaw.domain.Procedure;
 import de.bund.digitalservice.ris.caselaw.domain.ProcedureService;
@@ -19,14 +20,17 @@ import de.bund.digitalservice.ris.caselaw.domain.RisJsonPatch;
 import de.bund.digitalservice.ris.caselaw.domain.Status;
 import de.bund.digitalservice.ris.caselaw.domain.UserGroup;
 import de.bund.digitalservice.ris.caselaw.domain.UserService;
-import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.ImportApiKeyException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.RandomStringGenerator;
 import org.springframework.context.annotation.Bean;
@@ -34,6 +38,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Service responsible for handling authorization checks for users.
@@ -70,6 +76,10 @@ public class OAuthService implements AuthService {
   private final ProcedureService procedureService;
   private final DatabaseApiKeyRepository keyRepository;
   private final DatabaseDocumentationOfficeRepository officeRepository;
+  private static final String ACCESS_METADATA_BY_UUID =
+      OAuthService.class.getName() + ".accessMetadata.uuid.";
+  private static final String ACCESS_METADATA_BY_DOCUMENT_NUMBER =
+      OAuthService.class.getName() + ".accessMetadata.documentNumber.";
   private static final List<String> allowedPaths =
       List.of(
           "/previousDecisions",
@@ -109,7 +119,7 @@ public class OAuthService implements AuthService {
    * Creates a Spring bean that checks if a user has read access to a {@link DocumentationUnit} by
    * its {@link DocumentationUnit#documentNumber() documentNumber}.
    *
-   * <p>The function retrieves the {@link DocumentationUnit} using the {@link
+   * <p>The function retrieves the {@link DocumentationUnitAccessMetadata} using the {@link
    * DocumentationUnit#documentNumber() documentNumber} and checks if the user has read access.
    * Returns {@link Boolean#FALSE false} if the {@link DocumentationUnit} is not found.
    *
@@ -119,38 +129,26 @@ public class OAuthService implements AuthService {
    */
   @Bean
   public Function<String, Boolean> userHasReadAccessByDocumentNumber() {
-    return documentNumber -> {
-      try {
-        return Optional.ofNullable(documentationUnitService.getByDocumentNumber(documentNumber))
+    return documentNumber ->
+        getAccessMetadataByDocumentNumber(documentNumber)
             .map(this::userHasReadAccess)
             .orElse(false);
-      } catch (DocumentationUnitNotExistsException ex) {
-        return false;
-      }
-    };
   }
 
   /**
    * Creates a Spring bean that checks if a user has read access to a {@link DocumentationUnit} by
    * its {@link UUID}.
    *
-   * <p>The function retrieves the {@link DocumentationUnit} and checks if the user has read access.
-   * Returns {@link Boolean#FALSE false} if the {@link DocumentationUnit} is not found.
+   * <p>The function retrieves the {@link DocumentationUnitAccessMetadata} and checks if the user
+   * has read access. Returns {@link Boolean#FALSE false} if the {@link DocumentationUnit} is not
+   * found.
    *
    * @return a {@link Function} that accepts a {@link UUID} and returns {@link Boolean#TRUE true} if
    *     the user has read access, otherwise {@link Boolean#FALSE false}.
    */
   @Bean
   public Function<UUID, Boolean> userHasReadAccessByDocumentationUnitId() {
-    return uuid -> {
-      try {
-        return Optional.ofNullable(documentationUnitService.getByUuid(uuid))
-            .map(this::userHasReadAccess)
-            .orElse(false);
-      } catch (DocumentationUnitNotExistsException ex) {
-        return false;
-      }
-    };
+    return uuid -> getAccessMetadataByUuid(uuid).map(this::userHasReadAccess).orElse(false);
   }
 
   /**
@@ -191,24 +189,16 @@ public class OAuthService implements AuthService {
    * Creates a Spring bean that checks if a user has the same {@link DocumentationOffice} as the
    * {@link DocumentationUnit} by its {@link UUID}.
    *
-   * <p>The function retrieves the {@link DocumentationUnit} by its {@link UUID} and verifies if the
-   * user has the same {@link DocumentationOffice}. Returns {@link Boolean#FALSE false} if the
-   * {@link DocumentationUnit} is not found.
+   * <p>The function retrieves the {@link DocumentationUnitAccessMetadata} by its {@link UUID} and
+   * verifies if the user has the same {@link DocumentationOffice}. Returns {@link Boolean#FALSE
+   * false} if the {@link DocumentationUnit} is not found.
    *
    * @return a {@link Function} that accepts a {@link UUID} and returns {@link Boolean#TRUE true} if
    *     the user has the same {@link DocumentationOffice}, otherwise {@link Boolean#FALSE false}.
    */
   @Bean
   public Function<UUID, Boolean> userHasWriteAccess() {
-    return uuid -> {
-      try {
-        return Optional.ofNullable(documentationUnitService.getByUuid(uuid))
-            .map(this::userHasWriteAccess)
-            .orElse(false);
-      } catch (DocumentationUnitNotExistsException e) {
-        return false;
-      }
-    };
+    return uuid -> getAccessMetadataByUuid(uuid).map(this::userHasWriteAccess).orElse(false);
   }
 
   @Bean
@@ -216,19 +206,12 @@ public class OAuthService implements AuthService {
     return documentNumber ->
         getUserDocumentationOffice()
             .flatMap(
-                userOffice -> {
-                  try {
-                    return Optional.ofNullable(
-                            documentationUnitService.getByDocumentNumber(documentNumber))
+                userOffice ->
+                    getAccessMetadataByDocumentNumber(documentNumber)
                         .map(
-                            documentationUnit ->
+                            accessMetadata ->
                                 userHasSameDocOfficeAsDocument(
-                                    userOffice,
-                                    documentationUnit.coreData().documentationOffice()));
-                  } catch (DocumentationUnitNotExistsException e) {
-                    return Optional.of(false);
-                  }
-                })
+                                    userOffice, accessMetadata.documentationOffice())))
             .orElse(false);
   }
 
@@ -236,9 +219,10 @@ public class OAuthService implements AuthService {
    * Creates a Spring bean that checks if a {@link Procedure} associated with a {@link
    * DocumentationUnit} is assigned to the current {@link OidcUser}.
    *
-   * <p>The function retrieves the {@link Procedure} of the {@link DocumentationUnit} by the given
-   * {@link UUID} and verifies if it is assigned to the current {@link OidcUser}. Returns {@link
-   * Boolean#FALSE false} if no {@link DocumentationUnit} or {@link Procedure} is found.
+   * <p>The function retrieves the user group of the {@link Procedure} of the {@link
+   * DocumentationUnit} by the given {@link UUID} and verifies if it is assigned to the current
+   * {@link OidcUser}. Returns {@link Boolean#FALSE false} if no {@link DocumentationUnit} or {@link
+   * Procedure} is found.
    *
    * @return a {@link Function} that accepts a {@link UUID} and returns {@link Boolean#TRUE true} if
    *     the {@link Procedure} is assigned to the current user, otherwise {@link Boolean#FALSE
@@ -247,19 +231,13 @@ public class OAuthService implements AuthService {
   @Bean
   public Function<UUID, Boolean> isAssignedViaProcedure() {
     return uuid -> {
-      try {
-        var documentationUnit = Optional.ofNullable(documentationUnitService.getByUuid(uuid));
-        Optional<OidcUser> oidcUser = getOidcUser();
-        if (documentationUnit.isPresent() && oidcUser.isPresent()) {
-          var procedure = documentationUnit.get().coreData().procedure();
-          if (procedure != null) {
-            return isProcedureAssignedToUser(procedure, oidcUser.get());
-          }
-        }
-        return false;
-      } catch (DocumentationUnitNotExistsException ex) {
-        return false;
+      var accessMetadata = getAccessMetadataByUuid(uuid);
+      Optional<OidcUser> oidcUser = getOidcUser();
+      if (accessMetadata.isPresent() && oidcUser.isPresent()) {
+        return isProcedureAssignedToUser(
+            accessMetadata.get().procedureUserGroupId(), oidcUser.get());
       }
+      return false;
     };
   }
 
@@ -283,21 +261,23 @@ public class OAuthService implements AuthService {
             .allMatch(allowedPaths::contains);
   }
 
-  private boolean isProcedureAssignedToUser(Procedure procedure, OidcUser oidcUser) {
+  private boolean isProcedureAssignedToUser(UUID procedureUserGroupId, OidcUser oidcUser) {
+    if (procedureUserGroupId == null) {
+      return false;
+    }
     var userGroupIdOfUser = userService.getUserGroup(oidcUser).map(UserGroup::id).orElse(null);
-    return procedure.userGroupId() != null && procedure.userGroupId().equals(userGroupIdOfUser);
+    return procedureUserGroupId.equals(userGroupIdOfUser);
   }
 
-  private boolean userHasWriteAccess(Documentable documentationUnit) {
+  private boolean userHasWriteAccess(DocumentationUnitAccessMetadata accessMetadata) {
     return getUserDocumentationOffice()
         .map(
             userOffice ->
-                userHasSameDocOfficeAsDocument(
-                        userOffice, documentationUnit.coreData().documentationOffice())
-                    || (documentationUnit.status() != null
-                        && isPendingStatus(documentationUnit.status())
-                        && userHasSameDocOfficeAsDocumentCreator(
-                            userOffice, documentationUnit.coreData().creatingDocOffice())))
+                userHasWriteAccess(
+                    userOffice,
+                    accessMetadata.creatingDocumentationOffice(),
+                    accessMetadata.documentationOffice(),
+                    accessMetadata.status()))
         .orElse(false);
   }
 
@@ -307,7 +287,65 @@ public class OAuthService implements AuthService {
       DocumentationOffice creatingDocOffice,
       DocumentationOffice documentationOffice,
       Status status) {
+    return userHasWriteAccess(
+        userService.getDocumentationOffice(oidcUser),
+        creatingDocOffice,
+        documentationOffice,
+        status);
+  }
+
+  @Override
+  public List<DocumentationUnitListItem> addPermissions(
+      OidcUser oidcUser, List<DocumentationUnitListItem> listItems) {
+    if (listItems.isEmpty()) {
+      return listItems;
+    }
+
     DocumentationOffice userDocumentationOffice = userService.getDocumentationOffice(oidcUser);
+    boolean isInternalUser = Boolean.TRUE.equals(userService.isInternal(oidcUser));
+
+    Set<UUID> writableIds =
+        listItems.stream()
+            .filter(
+                listItem ->
+                    userHasWriteAccess(
+                        userDocumentationOffice,
+                        listItem.creatingDocumentationOffice(),
+                        listItem.documentationOffice(),
+                        listItem.status()))
+            .map(DocumentationUnitListItem::uuid)
+            .collect(Collectors.toSet());
+
+    // external users can only edit documentation units assigned to their user group
+    Set<UUID> assignedIds =
+        isInternalUser || writableIds.isEmpty()
+            ? Collections.emptySet()
+            : userService
+                .getUserGroup(oidcUser)
+                .map(
+                    userGroup ->
+                        documentationUnitService.getIdsAssignedToUserGroup(
+                            writableIds, userGroup.id()))
+                .orElse(Collections.emptySet());
+
+    return listItems.stream()
+        .map(
+            listItem -> {
+              boolean hasWriteAccess = writableIds.contains(listItem.uuid());
+              return listItem.toBuilder()
+                  .isDeletable(hasWriteAccess && isInternalUser)
+                  .isEditable(
+                      hasWriteAccess && (isInternalUser || assignedIds.contains(listItem.uuid())))
+                  .build();
+            })
+        .toList();
+  }
+
+  private boolean userHasWriteAccess(
+      DocumentationOffice userDocumentationOffice,
+      DocumentationOffice creatingDocOffice,
+      DocumentationOffice documentationOffice,
+      Status status) {
     return userHasSameDocOfficeAsDocument(userDocumentationOffice, documentationOffice)
         || (status != null
             && isPendingStatus(status)
@@ -327,10 +365,10 @@ public class OAuthService implements AuthService {
         || isPublishedStatus(status);
   }
 
-  private boolean userHasReadAccess(Documentable documentationUnit) {
-    return documentationUnit.status() == null
-        || isPublishedStatus(documentationUnit.status())
-        || userHasWriteAccess(documentationUnit);
+  private boolean userHasReadAccess(DocumentationUnitAccessMetadata accessMetadata) {
+    return accessMetadata.status() == null
+        || isPublishedStatus(accessMetadata.status())
+        || userHasWriteAccess(accessMetadata);
   }
 
   private boolean isPublishedStatus(Status status) {
@@ -376,6 +414,52 @@ public class OAuthService implements AuthService {
     return getOidcUser().map(userService::getDocumentationOffice);
   }
 
+  private Optional<DocumentationUnitAccessMetadata> getAccessMetadataByUuid(UUID uuid) {
+    return getCachedAccessMetadata(
+        ACCESS_METADATA_BY_UUID + uuid,
+        () -> documentationUnitService.getAccessMetadataByUuid(uuid));
+  }
+
+  private Optional<DocumentationUnitAccessMetadata> getAccessMetadataByDocumentNumber(
+      String documentNumber) {
+    return getCachedAccessMetadata(
+        ACCESS_METADATA_BY_DOCUMENT_NUMBER + documentNumber,
+        () -> documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber));
+  }
+
+  /**
+   * The access checks of one request (e.g. several security expressions of one endpoint) often
+   * need the same documentation unit. The loaded access metadata is kept as request attribute
+   * under its UUID and its document number, so it is loaded once per request. Outside of a request
+   * nothing is cached.
+   */
+  private Optional<DocumentationUnitAccessMetadata> getCachedAccessMetadata(
+      String attributeName, Supplier<Optional<DocumentationUnitAccessMetadata>> loader) {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return loader.get();
+    }
+
+    if (requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST)
+        instanceof DocumentationUnitAccessMetadata cachedAccessMetadata) {
+      return Optional.of(cachedAccessMetadata);
+    }
+
+    Optional<DocumentationUnitAccessMetadata> accessMetadata = loader.get();
+    accessMetadata.ifPresent(
+        loadedAccessMetadata -> {
+          requestAttributes.setAttribute(
+              ACCESS_METADATA_BY_UUID + loadedAccessMetadata.uuid(),
+              loadedAccessMetadata,
+              RequestAttributes.SCOPE_REQUEST);
+          requestAttributes.setAttribute(
+              ACCESS_METADATA_BY_DOCUMENT_NUMBER + loadedAccessMetadata.documentNumber(),
+              loadedAccessMetadata,
+              RequestAttributes.SCOPE_REQUEST);
+        });
+    return accessMetadata;
+  }
+
   /**
    * Generate an api key for the importer and for the user if the user doesn't have a valid one.
    * <br>
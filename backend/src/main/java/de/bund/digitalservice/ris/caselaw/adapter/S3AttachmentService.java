@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.caselaw.adapter;
 
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.AttachmentDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.AttachmentRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
@@ -8,7 +9,6 @@ import de.bund.digitalservice.ris.caselaw.domain.Attachment;
 import de.bund.digitalservice.ris.caselaw.domain.AttachmentException;
 import de.bund.digitalservice.ris.caselaw.domain.AttachmentService;
 import de.bund.digitalservice.ris.caselaw.domain.StringUtils;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Instant;
@@ -37,6 +37,8 @@ public class S3AttachmentService implements AttachmentService {
   private final AttachmentRepository repository;
   private final S3Client s3Client;
   private final DatabaseDocumentationUnitRepository documentationUnitRepository;
+  private final Docx2HtmlCache docx2HtmlCache;
+  private final DocxImageCache docxImageCache;
 
   @Value("${otc.obs.bucket-name}")
   private String bucketName;
@@ -44,10 +46,14 @@ public class S3AttachmentService implements AttachmentService {
   public S3AttachmentService(
       AttachmentRepository repository,
       @Qualifier("docxS3Client") S3Client s3Client,
-      DatabaseDocumentationUnitRepository documentationUnitRepository) {
+      DatabaseDocumentationUnitRepository documentationUnitRepository,
+      Docx2HtmlCache docx2HtmlCache,
+      DocxImageCache docxImageCache) {
     this.repository = repository;
     this.s3Client = s3Client;
     this.documentationUnitRepository = documentationUnitRepository;
+    this.docx2HtmlCache = docx2HtmlCache;
+    this.docxImageCache = docxImageCache;
   }
 
   public Attachment attachFileToDocumentationUnit(
@@ -82,6 +88,8 @@ public class S3AttachmentService implements AttachmentService {
   @Transactional(transactionManager = "jpaTransactionManager")
   public void deleteByS3Path(String s3Path) {
     deleteObjectFromBucket(s3Path);
+    docx2HtmlCache.invalidate(s3Path);
+    docxImageCache.invalidate(s3Path);
     repository.deleteByS3ObjectPath(s3Path);
   }
 
@@ -91,8 +99,14 @@ public class S3AttachmentService implements AttachmentService {
         .forEach(this::deleteObjectFromBucket);
   }
 
+  /**
+   * Check that the uploaded file is a zip file with a word document. The entries are read from a
+   * view of the buffer, so that the upload isn't copied.
+   *
+   * @param byteBuffer the uploaded file
+   */
   void checkDocx(ByteBuffer byteBuffer) {
-    var zip = new ZipInputStream(new ByteArrayInputStream(byteBufferToArray(byteBuffer)));
+    var zip = new ZipInputStream(new ByteBufferBackedInputStream(byteBuffer.duplicate().rewind()));
     ZipEntry entry;
     try {
       while ((entry = zip.getNextEntry()) != null) {
@@ -106,14 +120,6 @@ public class S3AttachmentService implements AttachmentService {
     throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
   }
 
-  private byte[] byteBufferToArray(ByteBuffer byteBuffer) {
-    byteBuffer.rewind();
-    byte[] byteBufferArray = new byte[byteBuffer.remaining()];
-    byteBuffer.get(byteBufferArray);
-    byteBuffer.rewind();
-    return byteBufferArray;
-  }
-
   private void putObjectIntoBucket(
       String fileUuid, ByteBuffer byteBuffer, HttpHeaders httpHeaders) {
 
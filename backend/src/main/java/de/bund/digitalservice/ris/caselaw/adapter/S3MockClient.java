@@ -14,9 +14,9 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
@@ -97,21 +97,24 @@ public class S3MockClient implements S3Client {
       GetObjectRequest getObjectRequest,
       ResponseTransformer<GetObjectResponse, T> responseTransformer) {
 
-    byte[] bytes = new byte[] {};
-
     String fileName = getObjectRequest.key();
     File file = localStorageDirectory.resolve(fileName).toFile();
-    try (FileInputStream fl = new FileInputStream(file)) {
-      bytes = new byte[(int) file.length()];
-      int readBytes = fl.read(bytes);
-      if (readBytes != file.length()) {
-        LOGGER.warn("different size between file length and read bytes");
-      }
+    InputStream inputStream;
+    try {
+      inputStream = new FileInputStream(file);
     } catch (IOException ex) {
       LOGGER.error("Couldn't get object from local storage.");
+      inputStream = InputStream.nullInputStream();
     }
 
-    return (T) ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), bytes);
+    // the transformer closes the stream or hands it over to the caller
+    try {
+      return responseTransformer.transform(
+          GetObjectResponse.builder().contentLength(file.length()).build(),
+          AbortableInputStream.create(inputStream));
+    } catch (Exception ex) {
+      throw new IllegalStateException("Couldn't transform object from local storage.", ex);
+    }
   }
 
   @Override
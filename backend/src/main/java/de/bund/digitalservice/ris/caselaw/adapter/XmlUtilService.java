@@ -72,9 +72,25 @@ public class XmlUtilService {
   }
 
   public static String xsltTransform(Templates templates, String content) {
+    try {
+      return xsltTransform(templates.newTransformer(), content);
+    } catch (TransformerConfigurationException e) {
+      log.error("Xslt transformation error.", e);
+      throw new MappingException(e.getMessage());
+    }
+  }
+
+  /**
+   * Transform the content with a transformer, which could be reused. The caller has to reset the
+   * transformer before the next transformation.
+   *
+   * @param transformer the transformer of the xslt
+   * @param content the xml content to transform
+   * @return the transformed content
+   */
+  public static String xsltTransform(Transformer transformer, String content) {
     try {
       StringWriter xsltOutput = new StringWriter();
-      Transformer transformer = templates.newTransformer();
       transformer.transform(
           new StreamSource(new StringReader(content.strip())), new StreamResult(xsltOutput));
       return xsltOutput.toString();
@@ -8,13 +8,14 @@ import de.bund.digitalservice.ris.caselaw.domain.docx.ParagraphElement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DocumentationUnitDocxListUtils {
   private static final Logger LOGGER =
       LoggerFactory.getLogger(DocumentationUnitDocxListUtils.class);
+  private static final Pattern ROMAN_NUMERAL_HEADING_PATTERN = Pattern.compile("^[IVX]+\\.$");
 
   private DocumentationUnitDocxListUtils() {}
 
@@ -44,29 +45,20 @@ public class DocumentationUnitDocxListUtils {
     }
   }
 
-  public static List<DocumentationUnitDocx> packList(List<DocumentationUnitDocx> unpackedList) {
-    if (unpackedList == null) {
-      return Collections.emptyList();
-    }
-
-    AtomicReference<BorderNumber> finalBorderNumber = new AtomicReference<>();
-
-    List<DocumentationUnitDocx> mergedList = firstRun(unpackedList, finalBorderNumber);
-    return secondRun(mergedList, finalBorderNumber);
-  }
-
   /**
-   * first run through: - pack consecutive NumberingListEntry's into one NumberingList element per
-   * block, build a new list --> mergedList - identify last BorderNumber
+   * Pack the list in one pass: consecutive NumberingListEntry's are packed into one NumberingList
+   * element per block and the elements between BorderNumber's are attached to the BorderNumber on
+   * top.
    *
    * @param unpackedList list of unpacked elements
-   * @return merged list of document unit docx objects
+   * @return packed list of documentation unit docx objects
    */
-  private static List<DocumentationUnitDocx> firstRun(
-      List<DocumentationUnitDocx> unpackedList, AtomicReference<BorderNumber> finalBorderNumber) {
-
-    List<DocumentationUnitDocx> mergedList = new ArrayList<>();
+  public static List<DocumentationUnitDocx> packList(List<DocumentationUnitDocx> unpackedList) {
+    if (unpackedList == null) {
+      return Collections.emptyList();
+    }
 
+    ListPacker packer = new ListPacker(findFinalBorderNumber(unpackedList));
     NumberingList currentNumberingList = null;
 
     for (DocumentationUnitDocx element : unpackedList) {
@@ -77,68 +69,77 @@ public class DocumentationUnitDocxListUtils {
         currentNumberingList.addNumberingListEntry(numberingListEntry);
       } else {
         if (currentNumberingList != null) {
-          mergedList.add(currentNumberingList);
+          packer.add(currentNumberingList);
         }
         currentNumberingList = null;
-        mergedList.add(element);
-      }
-      if (element instanceof BorderNumber borderNumber) {
-        finalBorderNumber.set(borderNumber);
+        packer.add(element);
       }
     }
     if (currentNumberingList != null) {
-      mergedList.add(currentNumberingList);
+      packer.add(currentNumberingList);
     }
 
-    return mergedList;
+    return packer.packedList;
+  }
+
+  private static BorderNumber findFinalBorderNumber(List<DocumentationUnitDocx> unpackedList) {
+    for (int i = unpackedList.size() - 1; i >= 0; i--) {
+      if (unpackedList.get(i) instanceof BorderNumber borderNumber) {
+        return borderNumber;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isRomanNumeralHeading(ParagraphElement paragraphElement) {
+    return ROMAN_NUMERAL_HEADING_PATTERN.matcher(paragraphElement.getText().trim()).matches();
   }
 
   /**
-   * second run through: - All elements between BorderNumber's get attached to the BorderNumber on
-   * top. Two conditions can break this rule: a paragraph that is centered or if it's the last
-   * BorderNumber in the document. - If no BorderNumber is active as current parent, the element
-   * goes into the packedList without a parent.
-   *
-   * @param mergedList - result of the first run
-   * @return packed list of documentation unit docx objects
+   * Packs the elements with numbering lists already merged: - All elements between BorderNumber's
+   * get attached to the BorderNumber on top. Two conditions can break this rule: a paragraph that
+   * is centered or if it's the last BorderNumber in the document. - If no BorderNumber is active as
+   * current parent, the element goes into the packedList without a parent.
    */
-  @SuppressWarnings("java:S3776")
-  private static List<DocumentationUnitDocx> secondRun(
-      List<DocumentationUnitDocx> mergedList, AtomicReference<BorderNumber> finalBorderNumber) {
+  private static class ListPacker {
+    private final BorderNumber finalBorderNumber;
+    private final List<DocumentationUnitDocx> packedList = new ArrayList<>();
+    private BorderNumber currentBorderNumber;
 
-    List<DocumentationUnitDocx> packedList = new ArrayList<>();
-
-    BorderNumber currentBorderNumber = null;
+    private ListPacker(BorderNumber finalBorderNumber) {
+      this.finalBorderNumber = finalBorderNumber;
+    }
 
-    for (DocumentationUnitDocx element : mergedList) {
+    @SuppressWarnings("java:S3776")
+    private void add(DocumentationUnitDocx element) {
       // if we encounter a BorderNumber, this is the new parent of all following elements
       // until a new BorderNumber or a BorderNumber-block-breaking condition comes along
       if (element instanceof BorderNumber borderNumber) {
         currentBorderNumber = borderNumber;
         packedList.add(element);
-        continue;
+        return;
       }
       // BorderNumber-block-breaking condition 1: centered paragraphs
       if (element instanceof ParagraphElement paragraphElement
-          && paragraphElement.getStyleString().contains("text-align: center;")) {
+          && paragraphElement.containsStyle("text-align", "center")) {
         currentBorderNumber = null;
       }
       // BorderNumber-block-breaking condition 2: the final BorderNumber of the whole
       // document (as scanned for above) only gets one child attached (otherwise
       // the whole rest of the document would get absorbed into the final BorderNumber)
       if (currentBorderNumber != null
-          && currentBorderNumber == finalBorderNumber.get()
+          && currentBorderNumber == finalBorderNumber
           && currentBorderNumber.getChildrenSize() >= 1) {
         currentBorderNumber = null;
       }
       // BorderNumber-block-breaking condition 3: paragraphs with the pattern I. or II. or III.
       if (element instanceof ParagraphElement paragraphElement
-              && paragraphElement.getText().trim().matches("^[IVX]+\\.$")
+              && isRomanNumeralHeading(paragraphElement)
           || element instanceof NumberingList numberingList
               && numberingList.getEntries().size() == 1
               && numberingList.getEntries().get(0).paragraphElement()
                   instanceof ParagraphElement numberingListEntryParagraph
-              && numberingListEntryParagraph.getText().trim().matches("^[IVX]+\\.$")) {
+              && isRomanNumeralHeading(numberingListEntryParagraph)) {
         currentBorderNumber = null;
       }
 
@@ -151,7 +152,5 @@ public class DocumentationUnitDocxListUtils {
         currentBorderNumber.addChild(element);
       }
     }
-
-    return packedList;
   }
 }
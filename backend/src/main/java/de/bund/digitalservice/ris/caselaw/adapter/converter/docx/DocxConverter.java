@@ -7,19 +7,50 @@ import de.bund.digitalservice.ris.caselaw.domain.docx.ErrorElement;
 import de.bund.digitalservice.ris.caselaw.domain.docx.ParagraphElement;
 import de.bund.digitalservice.ris.caselaw.domain.docx.UnhandledElement;
 import de.bund.digitalservice.ris.caselaw.domain.docx.UnhandledElementType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.xml.bind.JAXBElement;
+import java.awt.Dimension;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
 import org.docx4j.model.listnumbering.ListNumberingDefinition;
 import org.docx4j.wml.P;
 import org.docx4j.wml.Style;
 import org.docx4j.wml.Tbl;
+import org.springframework.util.DigestUtils;
 
+@Slf4j
 public class DocxConverter implements Converter<DocumentationUnitDocx> {
+  /**
+   * Renderer without limits, which renders the images directly in the converting thread. The
+   * images are rendered before they are awaited, so the timeout doesn't apply.
+   */
+  private static final EMFImageRenderer DIRECT_EMF_IMAGE_RENDERER =
+      new EMFImageRenderer(
+          Runnable::run,
+          new SimpleMeterRegistry(),
+          Long.MAX_VALUE,
+          Long.MAX_VALUE,
+          0,
+          Duration.ofHours(1));
+
   private Map<String, Style> styles;
   private Map<String, DocxImagePart> images;
   private List<ParagraphElement> footers;
   private Map<String, ListNumberingDefinition> listNumberingDefinitions;
+  private EMFImageRenderer emfImageRenderer = DIRECT_EMF_IMAGE_RENDERER;
+  private final List<CompletableFuture<byte[]>> pendingImages = new ArrayList<>();
+  private final List<CompletableFuture<Void>> pendingImageConsumers = new ArrayList<>();
+  private String imageUrlPrefix;
+  private final Map<String, DocxImagePart> extractedImages = new ConcurrentHashMap<>();
 
   public Map<String, DocxImagePart> getImages() {
     return images;
@@ -54,6 +85,97 @@ public class DocxConverter implements Converter<DocumentationUnitDocx> {
     this.footers = footers;
   }
 
+  public void setEmfImageRenderer(EMFImageRenderer emfImageRenderer) {
+    this.emfImageRenderer = emfImageRenderer;
+  }
+
+  public String getImageUrlPrefix() {
+    return imageUrlPrefix;
+  }
+
+  /**
+   * Set the url prefix of the images. If set, the images aren't embedded as base64 in the html,
+   * but extracted and referenced by the prefix and the name of the image.
+   *
+   * @param imageUrlPrefix url prefix of the images, null to embed the images
+   */
+  public void setImageUrlPrefix(String imageUrlPrefix) {
+    this.imageUrlPrefix = imageUrlPrefix;
+  }
+
+  /**
+   * Extract the image to be referenced by url. Could be called by the threads rendering the images.
+   *
+   * @param name name of the image, unique in the docx file
+   * @param image the image
+   * @return url of the image
+   */
+  public String extractImage(String name, DocxImagePart image) {
+    // the ETag is computed once, the image is served many times from the image cache
+    String eTag = "\"" + DigestUtils.md5DigestAsHex(image.bytes()) + "\"";
+    extractedImages.put(name, new DocxImagePart(image.contentType(), image.bytes(), eTag));
+    return getImageUrl(name);
+  }
+
+  /**
+   * Get the url of the image with the name.
+   *
+   * @param name name of the image, unique in the docx file
+   * @return url of the image
+   */
+  public String getImageUrl(String name) {
+    return imageUrlPrefix + name;
+  }
+
+  /**
+   * Get the extracted images by their name. Complete after {@link #awaitImages()}.
+   *
+   * @return the extracted images
+   */
+  public Map<String, DocxImagePart> getExtractedImages() {
+    return extractedImages;
+  }
+
+  /**
+   * Render the emf image as png. The rendering runs in parallel to the conversion, the png is
+   * passed to the consumer at the latest in {@link #awaitImages()}.
+   *
+   * @param emfBytes bytes of the emf image
+   * @param size displayed size of the image
+   * @param pngConsumer consumer of the png bytes
+   */
+  public void renderEMF(byte[] emfBytes, Dimension size, Consumer<byte[]> pngConsumer) {
+    CompletableFuture<byte[]> png = emfImageRenderer.render(emfBytes, size);
+    pendingImages.add(png);
+    pendingImageConsumers.add(png.thenAccept(pngConsumer));
+  }
+
+  /**
+   * Wait for the rendering of all images of the converted elements. Images which aren't rendered
+   * within the render timeout are replaced by the placeholder.
+   */
+  public void awaitImages() {
+    Duration renderTimeout = emfImageRenderer.getRenderTimeout();
+    try {
+      CompletableFuture.allOf(pendingImages.toArray(CompletableFuture[]::new))
+          .orTimeout(renderTimeout.toMillis(), TimeUnit.MILLISECONDS)
+          .join();
+    } catch (CompletionException e) {
+      if (!(e.getCause() instanceof TimeoutException)) {
+        throw e;
+      }
+
+      log.warn("Emf images aren't rendered within {}, use placeholder", renderTimeout);
+      // cancels the queued and interrupts the running renderings of the not completed images
+      pendingImages.forEach(png -> png.complete(EMFImageRenderer.PLACEHOLDER));
+    }
+
+    // the consumers of images completed by the rendering threads could still be running
+    CompletableFuture.allOf(pendingImageConsumers.toArray(CompletableFuture[]::new)).join();
+    pendingImages.clear();
+    pendingImageConsumers.clear();
+  }
+
   public DocumentationUnitDocx convert(Object part, List<UnhandledElement> unhandledElements) {
     DocxBuilder builder;
 
@@ -3,7 +3,10 @@ package de.bund.digitalservice.ris.caselaw.adapter.converter.docx;
 import java.awt.Dimension;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import lombok.extern.slf4j.Slf4j;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import org.freehep.graphics2d.VectorGraphics;
 import org.freehep.graphicsio.ImageConstants;
 import org.freehep.graphicsio.ImageGraphics2D;
@@ -11,26 +14,38 @@ import org.freehep.graphicsio.emf.EMFInputStream;
 import org.freehep.graphicsio.emf.EMFPanel;
 import org.freehep.graphicsio.emf.EMFRenderer;
 
-@Slf4j
 public class EMF2PNGConverter {
   private EMF2PNGConverter() {}
 
+  /**
+   * Render the emf image as png. The reading of the emf records stops if the thread is
+   * interrupted, the painting of the records can't be interrupted and is bounded by the size of
+   * the emf image and of the png image.
+   *
+   * @param originalBytes bytes of the emf image
+   * @param size size of the png image in pixels
+   * @return bytes of the png image
+   * @throws DocxConverterException if the emf image couldn't be rendered
+   */
   public static byte[] convertEMF2PNG(byte[] originalBytes, Dimension size) {
     try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      EMFInputStream emf = new EMFInputStream(new ByteArrayInputStream(originalBytes));
+      EMFInputStream emf =
+          new EMFInputStream(new InterruptibleInputStream(new ByteArrayInputStream(originalBytes)));
       EMFRenderer renderer = new EMFRenderer(emf);
 
       EMFPanel emfPanel = new EMFPanel();
       emfPanel.setRenderer(renderer);
 
-      size = new Dimension((int) size.getWidth() * 2, (int) size.getHeight() * 2);
-
       double scaleX = size.getWidth() / emfPanel.getWidth();
       double scaleY = size.getHeight() / emfPanel.getHeight();
 
       VectorGraphics g = new ImageGraphics2D(outputStream, size, ImageConstants.PNG);
       g.scale(scaleX, scaleY);
 
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException("Rendering of the emf image is interrupted");
+      }
+
       g.startExport();
       emfPanel.print(g);
       g.endExport();
@@ -39,9 +54,32 @@ public class EMF2PNGConverter {
 
       return outputStream.toByteArray();
     } catch (Exception ex) {
-      log.error("Couldn't convert emf to png", ex);
+      throw new DocxConverterException("Couldn't convert emf to png", ex);
+    }
+  }
+
+  /** Input stream which stops the reading, if the reading thread is interrupted. */
+  private static class InterruptibleInputStream extends FilterInputStream {
+    InterruptibleInputStream(InputStream in) {
+      super(in);
     }
 
-    return originalBytes;
+    @Override
+    public int read() throws IOException {
+      checkInterrupted();
+      return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      checkInterrupted();
+      return super.read(b, off, len);
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException("Reading of the emf image is interrupted");
+      }
+    }
   }
 }
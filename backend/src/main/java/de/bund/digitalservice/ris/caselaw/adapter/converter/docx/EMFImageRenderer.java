@@ -0,0 +1,182 @@
+package de.bund.digitalservice.ris.caselaw.adapter.converter.docx;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.Dimension;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Render emf images of docx files as png. Documents with many emf images (e.g. scanned forms)
+ * spend most of the conversion time in the rendering, so the images are rendered in parallel on
+ * the given executor.
+ *
+ * <p>The rendered images are cached by the hash of the emf bytes and the size, the same images
+ * (e.g. logos) occur in many documents. The cache evicts the least recently used images if the
+ * size of all cached png images exceeds the configured maximum. Emf images above the byte limit and
+ * images which can't be rendered are replaced by a placeholder. Images above the pixel limit are
+ * rendered in a smaller resolution.
+ *
+ * <p>Images are replaced by the placeholder as well, if the executor rejects the rendering (e.g.
+ * because its queue is full) or if the rendering is cancelled after the render timeout.
+ */
+@Slf4j
+public class EMFImageRenderer {
+  static final byte[] PLACEHOLDER =
+      Base64.getDecoder().decode(RunElementConverter.UNKNOWN_IMAGE_BASE64);
+
+  private final Executor executor;
+  private final Timer renderTimer;
+  private final long maxBytes;
+  private final long maxPixels;
+  private final long maxCacheSize;
+  private final Duration renderTimeout;
+  private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private long cacheSize;
+
+  /**
+   * @param executor executor of the rendering
+   * @param meterRegistry registry of the render timer
+   * @param maxBytes maximum size of an emf image in bytes
+   * @param maxPixels maximum number of pixels of a rendered image
+   * @param maxCacheSize maximum size of all cached png images in bytes
+   * @param renderTimeout maximum time to wait for the images of a conversion
+   */
+  public EMFImageRenderer(
+      Executor executor,
+      MeterRegistry meterRegistry,
+      long maxBytes,
+      long maxPixels,
+      long maxCacheSize,
+      Duration renderTimeout) {
+    this.executor = executor;
+    this.renderTimer =
+        Timer.builder("docx_conversion.emf_render.duration")
+            .description("Duration of the rendering of an emf image as png")
+            .register(meterRegistry);
+    this.maxBytes = maxBytes;
+    this.maxPixels = maxPixels;
+    this.maxCacheSize = maxCacheSize;
+    this.renderTimeout = renderTimeout;
+  }
+
+  /**
+   * @return maximum time to wait for the images of a conversion, images which aren't rendered in
+   *     time are replaced by the placeholder
+   */
+  public Duration getRenderTimeout() {
+    return renderTimeout;
+  }
+
+  /**
+   * Render the emf image as png with the double resolution of the displayed size.
+   *
+   * @param emfBytes bytes of the emf image
+   * @param size displayed size of the image
+   * @return future of the png bytes, the placeholder if the image can't be rendered
+   */
+  public CompletableFuture<byte[]> render(byte[] emfBytes, Dimension size) {
+    if (emfBytes.length > maxBytes) {
+      log.warn("Emf image with {} bytes is too large to render", emfBytes.length);
+      return CompletableFuture.completedFuture(PLACEHOLDER);
+    }
+
+    Dimension pixelSize = limitPixels(new Dimension(size.width * 2, size.height * 2));
+    String cacheKey = hash(emfBytes) + ":" + pixelSize.width + "x" + pixelSize.height;
+    byte[] cached;
+    synchronized (cache) {
+      cached = cache.get(cacheKey);
+    }
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    CompletableFuture<byte[]> png = new CompletableFuture<>();
+    FutureTask<byte[]> task =
+        new FutureTask<>(() -> renderAndCache(emfBytes, pixelSize, cacheKey)) {
+          @Override
+          protected void done() {
+            png.complete(state() == State.SUCCESS ? resultNow() : PLACEHOLDER);
+          }
+        };
+    // a queued rendering is removed and a running rendering is interrupted, if the png is
+    // completed before, e.g. with the placeholder after the render timeout
+    png.whenComplete((result, throwable) -> task.cancel(true));
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      log.warn("Render queue of the emf images is full, use placeholder");
+      png.complete(PLACEHOLDER);
+    }
+
+    return png;
+  }
+
+  private byte[] renderAndCache(byte[] emfBytes, Dimension pixelSize, String cacheKey) {
+    byte[] png;
+    try {
+      png = renderTimer.recordCallable(() -> EMF2PNGConverter.convertEMF2PNG(emfBytes, pixelSize));
+    } catch (Exception e) {
+      if (Thread.currentThread().isInterrupted()) {
+        log.info("Rendering of the emf image is cancelled");
+      } else {
+        log.error("Couldn't render emf image, use placeholder", e);
+      }
+      return PLACEHOLDER;
+    }
+
+    putToCache(cacheKey, png);
+    return png;
+  }
+
+  private void putToCache(String cacheKey, byte[] png) {
+    if (png.length > maxCacheSize) {
+      return;
+    }
+
+    synchronized (cache) {
+      byte[] replaced = cache.put(cacheKey, png);
+      if (replaced != null) {
+        cacheSize -= replaced.length;
+      }
+      cacheSize += png.length;
+
+      var iterator = cache.entrySet().iterator();
+      while (cacheSize > maxCacheSize && iterator.hasNext()) {
+        Map.Entry<String, byte[]> eldest = iterator.next();
+        cacheSize -= eldest.getValue().length;
+        iterator.remove();
+      }
+    }
+  }
+
+  private Dimension limitPixels(Dimension pixelSize) {
+    long pixels = (long) pixelSize.width * pixelSize.height;
+    if (pixels <= maxPixels) {
+      return pixelSize;
+    }
+
+    double scale = Math.sqrt((double) maxPixels / pixels);
+    return new Dimension((int) (pixelSize.width * scale), (int) (pixelSize.height * scale));
+  }
+
+  private static String hash(byte[] bytes) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 isn't available", e);
+    }
+  }
+}
@@ -47,6 +47,10 @@ import org.slf4j.LoggerFactory;
 public class RunElementConverter {
   private static final Logger LOGGER = LoggerFactory.getLogger(RunElementConverter.class);
 
+  /** base64 representation of the material design icon for unknown files */
+  static final String UNKNOWN_IMAGE_BASE64 =
+      "iVBORw0KGgoAAAANSUhEUgAAAGAAAABgCAYAAADimHc4AAAAAXNSR0IArs4c6QAACD1JREFUeF7tnV2M3FYVx//Hk027PCwIRINQIz6UNCXQVmpaitRGbRFCtMATkAq2Hc+Op1rPovSFAkIBNZUA8ZGXdsWOdzKetWeTVg3krRRVINGPSIDaRuoH0CgBpJYvgaj6gkqXzD3g2V11tJmZe6/HY48n14/r/znX9//z9fX1nLUJZsvUAcq0ddM4DICMTwIDwADI2IGMmzcjwADI2IGMmzcjIO8AiuXqbbDEbcTWHoCvAbAjyz4x4/5W0zuc5THotD3UCLAr7jEwZnUaTEObJwixAdiOy2mYGbeNvECIBcCuuPeA8UBcc9KKywMEbQC2494I4FRaJg7bzrhD0AZQdNwfEbAwrDFpxo8zBG0AtuP+EsAtaRqYRFvjCiEOgH8AeHcSpqSdYxwhxAEw8O4n9D3tnMOA0L0bGzcI2mbJOjzuACLY4wThogQwThAuWgDjAuGiBjAOEC56AFlDMAA2bsGympgNgK574CwgGABbFiFpQzAAeqwC04RgAPRZhqcFwQAY8BwkDQgGgORB1KghGAAKTwJHCcEAUAAwysWaAaAIYFQQDAANAJE06cftBoABoOnAFrnsB6Lhsl8YbUaAATC4Ii7pMyTpM1iWTzaiku5f7ucAmaG6+w0AXccS1hsACRuqm84A0HUsYf3s7MGZ6WnMtNtrM23C2wn0Qbb4BoutjzL4BjMHJGy4TrpipXp1q1F7QSdGpjWTsMyhEe83AEZssCy9ASBzaMT7DYARGyxLbwDIHBrxfgNgxAbL0qcOQLbQkR3w1v2iIN63Wq+/ohtXLlf3tMHXMbCLLOwmpl0M3h3lIdBZJj7HAmcJOFcAPdts1s7otqGizzUAwWL/arOu/A+DpdLCe0SBP0MQNkA3qRj0loZPMazQatOjQbD0d73Y/urcAvj/WTob+LWHVIwoVar7wewy0QEwb1OJ6ashOk/MJ0DkBY3a00Pl6ow2zU12CZEt1WXxKodDhG8EDe97Klrbmb8XoO8A2K6i19CsAXwo9JePaMRcIM0jgKdC37tZpdO24/4EwOdUtENoToa+9/m48bkDwBY+2zrqPSrrsO24rwK4XKZLaP+fQ9/bGSdXvgAwHg6b3pdkHbUd90UAH5HpEt7/Uuh7V+nmzBWAdkG891i9/rdBnbQr7iEwvq1rRCJ6wjfDhhfNN8pb6gCUjyyGsORUv8DgE5qhz4GoTufbv9q+Ha8IIS79r7CuAdHVAH0ZwPt18hHoQODXfqwaMzEASncvXM8sngRjWrnzhO8GDe/QwBHluN8H8DXVnCC8QWTdHBxdekYlZmIA2BX3ETAOqHQ60hDQDHzPUdGXytWDTPygirajIZwIG94dKvqJADA3t7BTWOJPAAoqnQbor+1C+7ru+cSuVPcRR69cE6+112Z+vrp65N/duWzHfRbAPrX8aFvC+sDKylJ0JzZwmwgAtuNGl4joUqG0bS03L5XdEhNW3grm15npge53zxUd1yegrNTAuujroe/9QKafDADl+WgivVbW2c39BDwPZn/tP9ax6G9T03y612TLU7i85Xl/iTR2xf0KGOqrXubTYXNZOmJyD+CuysKHLBa/UzV/i+6PzGgRoedbFolwa9DwnohiShX3FmZE70pS3gRZe1cbS78fFJB7AHbZnQWhcyYnvD0R+t6tmzlLjltmwNdqg3Fn2PSOjxUA3YdxbSH2HVupR5eInlux7B4mwn1axiiIiTEXNL1gUxrnVW0q/9qU+gjQBYCC2BXW63/o59ko3l261bi5ufm9wqLoUqT3pjDC8bDh3ZnrEWCJqctWVhb/2a8TJaf666hiTeGkVpL0Nt86AfCHlRJ0iQj0m8CvfSzXAGbeNnXp4uLim31HgOP+C8A7dc3ppU/S/I38r4W+9y4DQIEOA4+1fO/T3dKi4/6UgNsVwvtJ8g9ATGHHqudFb2rsuSV1Ceq+5YwaSmJyn4hLEG3jK4Ll5bOjnoS3ArCd6hmArxji7I+eCeV/Ei4wX99sLkfPYfrdht7XbyGlY96wi64+c8rhVtO7f6zmAB1TVLRJLcSiCbi7vUTWFuO4EFMxVUfTKbAiflknJi1tgelKWUFX6guxUXTeduaf1i+06nkkm+sNvQVXz1R8KvSX98v6OxEAik61QuCjss4OvBYzVyHeXH/0YF1SYqLaMPkYdHfLrzVkOSYCQFRyyNv41bhVbwycafneld1mFR33ZQL2yAzsuT+qnjtPO1VKGCcCQGRCyXGPMyAtWelzt3LBh3+GWQcQ8FDge0rf1pkcAJXqfmb+RbwSRPottd+4KQiC1zswS6V3cGH6VJznPwDWiOgTqnWjEwMgMm6jDvSHsS4bQMAWTkaxJDrljKV4efirOvWicQBEpdmZfCtMrGHH6mr/xxLrEFKpB+3HRrtONAaA6uMAfzLe2TF0VC30Pen3a1KuC93sVKz6UG0Axcr8g8R0cGgrYyZgtj7eai5Jf5tNuT40Vl1o53Kn60P06UIifkw3Lik9ER4PGt6nVPKlUicaox60+9i1AXSus5l/wpC+Ffo1pQLcTr0ocahTsqgCt1OCyGTr1IH2yhsLwMZkl+mnDInpnqBZW1Qxa6Nu9F5w5+5GsXqub+Y2CCeJrCOq9Z+DjjE2gI2RkOknDZnp9laz9jMVCJFmo4Txi2C+Q6eQq5Of+TSIHrGE9bBKyaHqMQ0FYGMk3BitQAnYCyD64TqBB1mqhw9sg7Xb95fOqUesKzsFXUJcy8BusrCrz7+pniPgrLCs07ICK932N/VDA4jbsIlbd8AAyPhMMAAMgIwdyLh5MwIMgIwdyLh5MwIMgIwdyLj5/wFIBmud0o4yjAAAAABJRU5ErkJggg==";
+
   private RunElementConverter() {}
 
   /**
@@ -191,8 +195,12 @@ public class RunElementConverter {
     DocxImagePart image = converter.getImages().get(imageData.getId());
     AnchorImageElement imageElement = new AnchorImageElement();
     imageElement.setContentType(image.contentType());
-    var base64 = Base64.getEncoder().encodeToString(image.bytes());
-    imageElement.setBase64Representation(base64);
+    if (converter.getImageUrlPrefix() != null) {
+      imageElement.setUrl(converter.extractImage(imageData.getId(), image));
+    } else {
+      var base64 = Base64.getEncoder().encodeToString(image.bytes());
+      imageElement.setBase64Representation(base64);
+    }
     StyleConverter.getListFromString(style).forEach(imageElement::addStyle);
     parent.addRunElement(imageElement);
   }
@@ -324,7 +332,7 @@ public class RunElementConverter {
       var image = converter.getImages().get(embed);
 
       if (image != null) {
-        addImageContent(imageElement, image, size);
+        addImageContent(imageElement, embed, image, size, converter);
       }
     } else {
       LOGGER.error("no picture");
@@ -339,22 +347,38 @@ public class RunElementConverter {
   }
 
   private static void addImageContent(
-      InlineImageElement element, DocxImagePart image, Dimension size) {
+      InlineImageElement element,
+      String name,
+      DocxImagePart image,
+      Dimension size,
+      DocxConverter converter) {
     element.setContentType(image.contentType());
+    boolean extractImage = converter.getImageUrlPrefix() != null;
 
-    byte[] bytes = image.bytes();
     if (image.contentType().equals("image/x-emf")) {
-      bytes = EMF2PNGConverter.convertEMF2PNG(bytes, size);
       element.setContentType("image/png");
-    }
-
-    if (image.contentType().equals("image/unknown")) {
+      if (extractImage) {
+        // the png depends on the displayed size
+        String pngName = size != null ? name + "-" + size.width + "x" + size.height : name;
+        element.setUrl(converter.getImageUrl(pngName));
+        converter.renderEMF(
+            image.bytes(),
+            size,
+            png -> converter.extractImage(pngName, new DocxImagePart("image/png", png)));
+      } else {
+        // rendered in parallel, set before the converted elements are returned
+        converter.renderEMF(
+            image.bytes(),
+            size,
+            png -> element.setBase64Representation(Base64.getEncoder().encodeToString(png)));
+      }
+    } else if (image.contentType().equals("image/unknown")) {
       element.setContentType("image/png");
-      // base64 representation of the material design icon for unknown files
-      element.setBase64Representation(
-          "iVBORw0KGgoAAAANSUhEUgAAAGAAAABgCAYAAADimHc4AAAAAXNSR0IArs4c6QAACD1JREFUeF7tnV2M3FYVx//Hk027PCwIRINQIz6UNCXQVmpaitRGbRFCtMATkAq2Hc+Op1rPovSFAkIBNZUA8ZGXdsWOdzKetWeTVg3krRRVINGPSIDaRuoH0CgBpJYvgaj6gkqXzD3g2V11tJmZe6/HY48n14/r/znX9//z9fX1nLUJZsvUAcq0ddM4DICMTwIDwADI2IGMmzcjwADI2IGMmzcjIO8AiuXqbbDEbcTWHoCvAbAjyz4x4/5W0zuc5THotD3UCLAr7jEwZnUaTEObJwixAdiOy2mYGbeNvECIBcCuuPeA8UBcc9KKywMEbQC2494I4FRaJg7bzrhD0AZQdNwfEbAwrDFpxo8zBG0AtuP+EsAtaRqYRFvjCiEOgH8AeHcSpqSdYxwhxAEw8O4n9D3tnMOA0L0bGzcI2mbJOjzuACLY4wThogQwThAuWgDjAuGiBjAOEC56AFlDMAA2bsGympgNgK574CwgGABbFiFpQzAAeqwC04RgAPRZhqcFwQAY8BwkDQgGgORB1KghGAAKTwJHCcEAUAAwysWaAaAIYFQQDAANAJE06cftBoABoOnAFrnsB6Lhsl8YbUaAATC4Ii7pMyTpM1iWTzaiku5f7ucAmaG6+w0AXccS1hsACRuqm84A0HUsYf3s7MGZ6WnMtNtrM23C2wn0Qbb4BoutjzL4BjMHJGy4TrpipXp1q1F7QSdGpjWTsMyhEe83AEZssCy9ASBzaMT7DYARGyxLbwDIHBrxfgNgxAbL0qcOQLbQkR3w1v2iIN63Wq+/ohtXLlf3tMHXMbCLLOwmpl0M3h3lIdBZJj7HAmcJOFcAPdts1s7otqGizzUAwWL/arOu/A+DpdLCe0SBP0MQNkA3qRj0loZPMazQatOjQbD0d73Y/urcAvj/WTob+LWHVIwoVar7wewy0QEwb1OJ6ashOk/MJ0DkBY3a00Pl6ow2zU12CZEt1WXxKodDhG8EDe97Klrbmb8XoO8A2K6i19CsAXwo9JePaMRcIM0jgKdC37tZpdO24/4EwOdUtENoToa+9/m48bkDwBY+2zrqPSrrsO24rwK4XKZLaP+fQ9/bGSdXvgAwHg6b3pdkHbUd90UAH5HpEt7/Uuh7V+nmzBWAdkG891i9/rdBnbQr7iEwvq1rRCJ6wjfDhhfNN8pb6gCUjyyGsORUv8DgE5qhz4GoTufbv9q+Ha8IIS79r7CuAdHVAH0ZwPt18hHoQODXfqwaMzEASncvXM8sngRjWrnzhO8GDe/QwBHluN8H8DXVnCC8QWTdHBxdekYlZmIA2BX3ETAOqHQ60hDQDHzPUdGXytWDTPygirajIZwIG94dKvqJADA3t7BTWOJPAAoqnQbor+1C+7ru+cSuVPcRR69cE6+112Z+vrp65N/duWzHfRbAPrX8aFvC+sDKylJ0JzZwmwgAtuNGl4joUqG0bS03L5XdEhNW3grm15npge53zxUd1yegrNTAuujroe/9QKafDADl+WgivVbW2c39BDwPZn/tP9ax6G9T03y612TLU7i85Xl/iTR2xf0KGOqrXubTYXNZOmJyD+CuysKHLBa/UzV/i+6PzGgRoedbFolwa9DwnohiShX3FmZE70pS3gRZe1cbS78fFJB7AHbZnQWhcyYnvD0R+t6tmzlLjltmwNdqg3Fn2PSOjxUA3YdxbSH2HVupR5eInlux7B4mwn1axiiIiTEXNL1gUxrnVW0q/9qU+gjQBYCC2BXW63/o59ko3l261bi5ufm9wqLoUqT3pjDC8bDh3ZnrEWCJqctWVhb/2a8TJaf666hiTeGkVpL0Nt86AfCHlRJ0iQj0m8CvfSzXAGbeNnXp4uLim31HgOP+C8A7dc3ppU/S/I38r4W+9y4DQIEOA4+1fO/T3dKi4/6UgNsVwvtJ8g9ATGHHqudFb2rsuSV1Ceq+5YwaSmJyn4hLEG3jK4Ll5bOjnoS3ArCd6hmArxji7I+eCeV/Ei4wX99sLkfPYfrdht7XbyGlY96wi64+c8rhVtO7f6zmAB1TVLRJLcSiCbi7vUTWFuO4EFMxVUfTKbAiflknJi1tgelKWUFX6guxUXTeduaf1i+06nkkm+sNvQVXz1R8KvSX98v6OxEAik61QuCjss4OvBYzVyHeXH/0YF1SYqLaMPkYdHfLrzVkOSYCQFRyyNv41bhVbwycafneld1mFR33ZQL2yAzsuT+qnjtPO1VKGCcCQGRCyXGPMyAtWelzt3LBh3+GWQcQ8FDge0rf1pkcAJXqfmb+RbwSRPottd+4KQiC1zswS6V3cGH6VJznPwDWiOgTqnWjEwMgMm6jDvSHsS4bQMAWTkaxJDrljKV4efirOvWicQBEpdmZfCtMrGHH6mr/xxLrEFKpB+3HRrtONAaA6uMAfzLe2TF0VC30Pen3a1KuC93sVKz6UG0Axcr8g8R0cGgrYyZgtj7eai5Jf5tNuT40Vl1o53Kn60P06UIifkw3Lik9ER4PGt6nVPKlUicaox60+9i1AXSus5l/wpC+Ffo1pQLcTr0ocahTsqgCt1OCyGTr1IH2yhsLwMZkl+mnDInpnqBZW1Qxa6Nu9F5w5+5GsXqub+Y2CCeJrCOq9Z+DjjE2gI2RkOknDZnp9laz9jMVCJFmo4Txi2C+Q6eQq5Of+TSIHrGE9bBKyaHqMQ0FYGMk3BitQAnYCyD64TqBB1mqhw9sg7Xb95fOqUesKzsFXUJcy8BusrCrz7+pniPgrLCs07ICK932N/VDA4jbsIlbd8AAyPhMMAAMgIwdyLh5MwIMgIwdyLh5MwIMgIwdyLj5/wFIBmud0o4yjAAAAABJRU5ErkJggg==");
+      element.setBase64Representation(UNKNOWN_IMAGE_BASE64);
+    } else if (extractImage) {
+      element.setUrl(converter.extractImage(name, image));
     } else {
-      element.setBase64Representation(Base64.getEncoder().encodeToString(bytes));
+      element.setBase64Representation(Base64.getEncoder().encodeToString(image.bytes()));
     }
 
     element.setSize(size);
@@ -2,7 +2,7 @@
  * This package contains all classes for convert the word attachments to HTML.
  *
  * <p>The conversion of docx attachments the @see <a
- * href="https://www.docx4java.org/trac/docx4j">docx4j library</a> is used. Also there is a simple
- * try to convert EMF attachments to PNG.
+ * href="https://www.docx4java.org/trac/docx4j">docx4j library</a> is used. EMF images are rendered
+ * as PNG in parallel by the {@link EMFImageRenderer}.
  */
 package de.bund.digitalservice.ris.caselaw.adapter.converter.docx;
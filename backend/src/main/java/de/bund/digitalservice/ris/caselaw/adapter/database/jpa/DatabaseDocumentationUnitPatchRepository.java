@@ -1,8 +1,12 @@
 package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
 
+import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +16,68 @@ public interface DatabaseDocumentationUnitPatchRepository
   List<DocumentationUnitPatchDTO>
       findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(
           UUID uuid, Long documentationUnitVersion);
+
+  List<DocumentationUnitPatchDTO> findByDocumentationUnitIdAndDocumentationUnitVersion(
+      UUID uuid, Long documentationUnitVersion);
+
+  /**
+   * Delete a batch of the patches, which are older than the retained versions of their
+   * documentation unit, and of the patches of deleted documentation units. Clients with such an
+   * old version get a full reload of the documentation unit instead of the patches. Every batch is
+   * deleted in its own transaction, so that the deleted rows aren't locked until all batches are
+   * deleted.
+   *
+   * @param retainedVersions number of versions before the current version of the documentation
+   *     unit, for which the patches are kept
+   * @param batchSize maximal number of deleted patches
+   * @return the number of deleted patches, less than the batch size if no patches are left
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+          DELETE FROM incremental_migration.documentation_unit_patch
+          WHERE id IN (
+              SELECT patch.id
+              FROM incremental_migration.documentation_unit_patch patch
+              WHERE NOT EXISTS (
+                  SELECT 1 FROM incremental_migration.documentation_unit documentation_unit
+                  WHERE documentation_unit.id = patch.documentation_unit_id
+                    AND COALESCE(documentation_unit.version, 0) - :retainedVersions
+                        <= patch.documentation_unit_version)
+              LIMIT :batchSize)
+          """,
+      nativeQuery = true)
+  int deleteNotRetainedPatches(
+      @Param("retainedVersions") long retainedVersions, @Param("batchSize") int batchSize);
+
+  /**
+   * Replace the patches of a documentation unit version by their merged patch in one transaction.
+   *
+   * @param patches the patches of the version
+   * @param mergedPatch the patch with the operations of all patches
+   */
+  @Transactional
+  default void replacePatches(
+      List<DocumentationUnitPatchDTO> patches, DocumentationUnitPatchDTO mergedPatch) {
+    deleteAll(patches);
+    save(mergedPatch);
+  }
+
+  /**
+   * Find the documentation unit versions with more than one patch, e.g. by parallel saves of the
+   * same version.
+   *
+   * @return the documentation unit id and version of every version with more than one patch
+   */
+  @Query(
+      """
+      SELECT new de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchVersionDTO(
+          patch.documentationUnitId, patch.documentationUnitVersion)
+      FROM DocumentationUnitPatchDTO patch
+      GROUP BY patch.documentationUnitId, patch.documentationUnitVersion
+      HAVING COUNT(patch) > 1
+      """)
+  List<DocumentationUnitPatchVersionDTO> findVersionsWithMultiplePatches();
 }
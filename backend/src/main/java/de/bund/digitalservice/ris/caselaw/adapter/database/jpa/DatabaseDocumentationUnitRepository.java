@@ -2,12 +2,16 @@ package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
 
 import de.bund.digitalservice.ris.caselaw.domain.PublicationStatus;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,7 +22,7 @@ public interface DatabaseDocumentationUnitRepository
   Optional<DocumentationUnitListItemDTO> findDocumentationUnitListItemByDocumentNumber(
       String documentNumber);
 
-  String BASE_QUERY =
+  String BASE_FILTER =
       """
   (:documentNumber IS NULL OR upper(documentationUnit.documentNumber) like concat('%', upper(cast(:documentNumber as text)), '%'))
    AND (:courtType IS NULL OR upper(court.type) like upper(cast(:courtType as text)))
@@ -56,24 +60,125 @@ public interface DatabaseDocumentationUnitRepository
       OR EXISTS (SELECT 1 FROM DuplicateRelationDTO duplicateRelation2
               WHERE documentationUnit.id = duplicateRelation2.documentationUnit2.id
               AND duplicateRelation2.relationStatus = 'PENDING'))))
+""";
+
+  String SCHEDULED_PUBLICATION_SORT =
+      """
+  (CASE WHEN (:scheduledOnly = TRUE OR CAST(:publicationDate AS DATE) IS NOT NULL) THEN documentationUnit.scheduledPublicationDateTime END)
+""";
+
+  String LAST_PUBLICATION_SORT =
+      """
+  (CASE WHEN (:scheduledOnly = TRUE OR CAST(:publicationDate AS DATE) IS NOT NULL) THEN documentationUnit.lastPublicationDateTime END)
+""";
+
+  /**
+   * Decision date of the sort order with null dates sorted last. The expression matches the index
+   * documentation_unit_search_sort_idx, which serves the order and the keyset condition.
+   */
+  String SORT_DATE =
+      """
+  COALESCE(documentationUnit.date, cast('0001-01-01' as date))
+""";
+
+  String ORDER_BY =
+      """
    ORDER BY
-     (CASE WHEN (:scheduledOnly = TRUE OR CAST(:publicationDate AS DATE) IS NOT NULL) THEN documentationUnit.scheduledPublicationDateTime END) DESC NULLS LAST,
-     (CASE WHEN (:scheduledOnly = TRUE OR CAST(:publicationDate AS DATE) IS NOT NULL) THEN documentationUnit.lastPublicationDateTime END) DESC NULLS LAST,
-     documentationUnit.date DESC NULLS LAST
+"""
+          + SCHEDULED_PUBLICATION_SORT
+          + """
+     DESC NULLS LAST,
+"""
+          + LAST_PUBLICATION_SORT
+          + """
+     DESC NULLS LAST,
+"""
+          + SORT_DATE
+          + """
+     DESC,
+     documentationUnit.id DESC
 """;
 
-  @Query(
-      value =
-          """
-  SELECT documentationUnit FROM DocumentationUnitDTO documentationUnit
+  String BASE_QUERY = BASE_FILTER + ORDER_BY;
+
+  /**
+   * Select of the search result list items. Collections are only aggregated by subselects, so one
+   * statement loads a complete page. Decision only values are read from the left joined decision.
+   */
+  String SEARCH_RESULT_SELECT =
+      """
+  SELECT new de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitSearchResultDTO(
+    documentationUnit.id,
+    documentationUnit.documentNumber,
+    documentationUnit.date,
+    documentationUnit.scheduledPublicationDateTime,
+    documentationUnit.lastPublicationDateTime,
+    documentationUnit.judicialBody,
+    decision.note,
+    CASE WHEN length(decision.headnote) > 0 OR length(decision.guidingPrinciple) > 0 THEN true ELSE false END,
+    CASE WHEN EXISTS (SELECT 1 FROM AttachmentDTO attachment WHERE attachment.documentationUnit = documentationUnit) THEN true ELSE false END,
+    (SELECT firstFileNumber.value FROM DocumentationUnitDTO firstFileNumberUnit
+      JOIN firstFileNumberUnit.fileNumbers firstFileNumber
+      WHERE firstFileNumberUnit = documentationUnit
+      ORDER BY firstFileNumber.rank
+      LIMIT 1),
+    (SELECT listagg(
+        CASE WHEN reference.id IS NOT NULL
+          THEN concat(reference.legalPeriodicalRawValue, ' ', reference.citation)
+          ELSE cast(source.value AS String) END, ', ') WITHIN GROUP (ORDER BY source.rank)
+      FROM DecisionDTO sourceDecision
+      JOIN sourceDecision.source source
+      LEFT JOIN source.reference reference
+      WHERE sourceDecision = decision),
+    court,
+    documentType,
+    status,
+    documentationOffice,
+    creatingDocumentationOffice)
+  FROM DocumentationUnitDTO documentationUnit
+  LEFT JOIN DecisionDTO decision ON decision.id = documentationUnit.id
   LEFT JOIN documentationUnit.court court
+  LEFT JOIN documentationUnit.documentType documentType
   LEFT JOIN documentationUnit.status status
+  LEFT JOIN documentationUnit.documentationOffice documentationOffice
+  LEFT JOIN decision.creatingDocumentationOffice creatingDocumentationOffice
   WHERE
-  """
-              + BASE_QUERY)
+""";
+
+  /**
+   * Keyset condition to load the entries after a given cursor. The sort values are compared with
+   * null replaced by the lowest possible value, which gives the same order as DESC NULLS LAST. If
+   * not sorted by publication, the publication values are constant and the condition is a row
+   * comparison of the decision date and the id, which is served by the sort index.
+   */
+  String KEYSET_FILTER =
+      """
+   AND (COALESCE("""
+          + SCHEDULED_PUBLICATION_SORT
+          + """
+     , :minDateTime) < :cursorScheduledPublicationDateTime
+     OR (COALESCE("""
+          + SCHEDULED_PUBLICATION_SORT
+          + """
+     , :minDateTime) = :cursorScheduledPublicationDateTime
+       AND (COALESCE("""
+          + LAST_PUBLICATION_SORT
+          + """
+     , :minDateTime) < :cursorLastPublicationDateTime
+         OR (COALESCE("""
+          + LAST_PUBLICATION_SORT
+          + """
+     , :minDateTime) = :cursorLastPublicationDateTime
+           AND ("""
+          + SORT_DATE
+          + """
+     , documentationUnit.id) < (:cursorDate, :cursorId)))))
+""";
+
+  @Query(value = SEARCH_RESULT_SELECT + BASE_QUERY)
   @SuppressWarnings("java:S107")
   // We use JPA repository interface magic, so reducing parameter count is not possible.
-  Slice<DocumentationUnitListItemDTO> searchByDocumentationUnitSearchInput(
+  Slice<DocumentationUnitSearchResultDTO> searchByDocumentationUnitSearchInput(
       @Param("documentationOfficeId") UUID documentationOfficeId,
       @Param("documentNumber") String documentNumber,
       @Param("courtType") String courtType,
@@ -88,19 +193,56 @@ public interface DatabaseDocumentationUnitRepository
       @Param("withDuplicateWarning") Boolean withDuplicateWarning,
       @Param("pageable") Pageable pageable);
 
-  @Query(
-      value =
-          """
-  SELECT documentationUnit FROM DocumentationUnitDTO documentationUnit
-  LEFT JOIN documentationUnit.court court
-  LEFT JOIN documentationUnit.fileNumbers fileNumber
-  WHERE (upper(fileNumber.value) like upper(concat(:fileNumber,'%')))
+  /**
+   * Same search as {@link #searchByDocumentationUnitSearchInput}, but with keyset pagination. The
+   * result starts after the entry with the given sort values, so deep pages don't have to skip all
+   * previous entries like with an offset.
+   */
+  @Query(value = SEARCH_RESULT_SELECT + BASE_FILTER + KEYSET_FILTER + ORDER_BY)
+  @SuppressWarnings("java:S107")
+  // We use JPA repository interface magic, so reducing parameter count is not possible.
+  Slice<DocumentationUnitSearchResultDTO> searchByDocumentationUnitSearchInputAfter(
+      @Param("documentationOfficeId") UUID documentationOfficeId,
+      @Param("documentNumber") String documentNumber,
+      @Param("courtType") String courtType,
+      @Param("courtLocation") String courtLocation,
+      @Param("decisionDate") LocalDate decisionDate,
+      @Param("decisionDateEnd") LocalDate decisionDateEnd,
+      @Param("publicationDate") LocalDate publicationDate,
+      @Param("scheduledOnly") Boolean scheduledOnly,
+      @Param("status") PublicationStatus status,
+      @Param("withErrorOnly") Boolean withErrorOnly,
+      @Param("myDocOfficeOnly") Boolean myDocOfficeOnly,
+      @Param("withDuplicateWarning") Boolean withDuplicateWarning,
+      @Param("minDateTime") LocalDateTime minDateTime,
+      @Param("cursorScheduledPublicationDateTime") LocalDateTime cursorScheduledPublicationDateTime,
+      @Param("cursorLastPublicationDateTime") LocalDateTime cursorLastPublicationDateTime,
+      @Param("cursorDate") LocalDate cursorDate,
+      @Param("cursorId") UUID cursorId,
+      @Param("pageable") Pageable pageable);
+
+  /**
+   * Documentation units with a file number or a deviating file number starting with the given
+   * value. The union removes duplicates, if both match. The prefix search on upper(value) is
+   * supported by the text_pattern_ops indexes on both tables.
+   */
+  String FILE_NUMBER_FILTER =
+      """
+  documentationUnit.id IN (
+    SELECT fileNumberUnit.id FROM DocumentationUnitDTO fileNumberUnit
+    JOIN fileNumberUnit.fileNumbers fileNumber
+    WHERE upper(fileNumber.value) LIKE concat(upper(:fileNumber), '%')
+    UNION
+    SELECT deviatingFileNumberUnit.id FROM DocumentationUnitDTO deviatingFileNumberUnit
+    JOIN deviatingFileNumberUnit.deviatingFileNumbers deviatingFileNumber
+    WHERE upper(deviatingFileNumber.value) LIKE concat(upper(:fileNumber), '%'))
   AND
-  """
-              + BASE_QUERY)
+""";
+
+  @Query(value = SEARCH_RESULT_SELECT + FILE_NUMBER_FILTER + BASE_QUERY)
   @SuppressWarnings("java:S107")
   // We use JPA repository interface magic, so reducing parameter count is not possible.
-  Slice<DocumentationUnitListItemDTO> searchByDocumentationUnitSearchInputFileNumber(
+  Slice<DocumentationUnitSearchResultDTO> searchByDocumentationUnitSearchInputFileNumber(
       @Param("documentationOfficeId") UUID documentationOfficeId,
       @Param("documentNumber") String documentNumber,
       @Param("fileNumber") String fileNumber,
@@ -116,33 +258,71 @@ public interface DatabaseDocumentationUnitRepository
       @Param("withDuplicateWarning") Boolean withDuplicateWarning,
       @Param("pageable") Pageable pageable);
 
+  /**
+   * Same search as {@link #searchByDocumentationUnitSearchInputFileNumber}, but with keyset
+   * pagination like {@link #searchByDocumentationUnitSearchInputAfter}.
+   */
   @Query(
       value =
-          """
-  SELECT documentationUnit FROM DocumentationUnitDTO documentationUnit
-  LEFT JOIN documentationUnit.court court
-  LEFT JOIN documentationUnit.deviatingFileNumbers deviatingFileNumber
-  WHERE (upper(deviatingFileNumber.value) like upper(concat(:fileNumber,'%')))
-  AND
-  """
-              + BASE_QUERY)
+          SEARCH_RESULT_SELECT + FILE_NUMBER_FILTER + BASE_FILTER + KEYSET_FILTER + ORDER_BY)
   @SuppressWarnings("java:S107")
   // We use JPA repository interface magic, so reducing parameter count is not possible.
-  Slice<DocumentationUnitListItemDTO> searchByDocumentationUnitSearchInputDeviatingFileNumber(
-      UUID documentationOfficeId,
-      String documentNumber,
-      String fileNumber,
-      String courtType,
-      String courtLocation,
-      LocalDate decisionDate,
-      LocalDate decisionDateEnd,
-      LocalDate publicationDate,
-      Boolean scheduledOnly,
-      PublicationStatus status,
-      Boolean withErrorOnly,
-      Boolean myDocOfficeOnly,
-      Boolean withDuplicateWarning,
-      Pageable pageable);
+  Slice<DocumentationUnitSearchResultDTO> searchByDocumentationUnitSearchInputFileNumberAfter(
+      @Param("documentationOfficeId") UUID documentationOfficeId,
+      @Param("documentNumber") String documentNumber,
+      @Param("fileNumber") String fileNumber,
+      @Param("courtType") String courtType,
+      @Param("courtLocation") String courtLocation,
+      @Param("decisionDate") LocalDate decisionDate,
+      @Param("decisionDateEnd") LocalDate decisionDateEnd,
+      @Param("publicationDate") LocalDate publicationDate,
+      @Param("scheduledOnly") Boolean scheduledOnly,
+      @Param("status") PublicationStatus status,
+      @Param("withErrorOnly") Boolean withErrorOnly,
+      @Param("myDocOfficeOnly") Boolean myDocOfficeOnly,
+      @Param("withDuplicateWarning") Boolean withDuplicateWarning,
+      @Param("minDateTime") LocalDateTime minDateTime,
+      @Param("cursorScheduledPublicationDateTime") LocalDateTime cursorScheduledPublicationDateTime,
+      @Param("cursorLastPublicationDateTime") LocalDateTime cursorLastPublicationDateTime,
+      @Param("cursorDate") LocalDate cursorDate,
+      @Param("cursorId") UUID cursorId,
+      @Param("pageable") Pageable pageable);
+
+  @Query(
+      """
+  SELECT decision.id FROM DecisionDTO decision
+  WHERE decision.id IN :documentationUnitIds
+  AND decision.procedure.userGroupDTO.id = :userGroupId
+""")
+  Set<UUID> findIdsAssignedToUserGroup(
+      @Param("documentationUnitIds") Collection<UUID> documentationUnitIds,
+      @Param("userGroupId") UUID userGroupId);
+
+  String ACCESS_METADATA_SELECT =
+      """
+  SELECT new de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAccessMetadataDTO(
+    documentationUnit.id,
+    documentationUnit.documentNumber,
+    documentationOffice,
+    creatingDocumentationOffice,
+    status.publicationStatus,
+    status.withError,
+    userGroup.id)
+  FROM DocumentationUnitDTO documentationUnit
+  LEFT JOIN DecisionDTO decision ON decision.id = documentationUnit.id
+  LEFT JOIN documentationUnit.documentationOffice documentationOffice
+  LEFT JOIN decision.creatingDocumentationOffice creatingDocumentationOffice
+  LEFT JOIN documentationUnit.status status
+  LEFT JOIN decision.procedure procedure
+  LEFT JOIN procedure.userGroupDTO userGroup
+""";
+
+  @Query(ACCESS_METADATA_SELECT + "WHERE documentationUnit.id = :id")
+  Optional<DocumentationUnitAccessMetadataDTO> findAccessMetadataById(@Param("id") UUID id);
+
+  @Query(ACCESS_METADATA_SELECT + "WHERE documentationUnit.documentNumber = :documentNumber")
+  Optional<DocumentationUnitAccessMetadataDTO> findAccessMetadataByDocumentNumber(
+      @Param("documentNumber") String documentNumber);
 
   // temporarily needed for the ldml handover phase, can be removed once we integrate ldml
   // generation into the doc-unit lifecycle
@@ -164,4 +344,29 @@ public interface DatabaseDocumentationUnitRepository
   WHERE documentationUnit.scheduledPublicationDateTime <= CURRENT_TIMESTAMP
 """)
   List<DocumentationUnitDTO> getScheduledDocumentationUnitsDueNow();
+
+  /**
+   * Set the version of the documentation unit, if the stored version is the expected version
+   * (optimistic lock). The row stays locked until the end of the transaction, so that parallel
+   * updates of the same version fail.
+   *
+   * @param id the id of the documentation unit
+   * @param expectedVersion the version the update is based on, 0 for a documentation unit without
+   *     version
+   * @param newVersion the version after the update
+   * @return the number of updated rows, 0 if the version was changed in the meantime
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+          UPDATE incremental_migration.documentation_unit
+          SET version = :newVersion
+          WHERE id = :id AND COALESCE(version, 0) = :expectedVersion
+          """,
+      nativeQuery = true)
+  int updateVersion(
+      @Param("id") UUID id,
+      @Param("expectedVersion") long expectedVersion,
+      @Param("newVersion") long newVersion);
 }
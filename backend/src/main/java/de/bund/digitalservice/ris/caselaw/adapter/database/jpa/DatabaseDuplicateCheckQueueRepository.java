@@ -0,0 +1,62 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DatabaseDuplicateCheckQueueRepository
+    extends JpaRepository<DuplicateCheckQueueDTO, String>, DuplicateCheckQueueClaimRepository {
+
+  /**
+   * Request a duplicate check of the documentation unit. A pending request is kept as it is, so
+   * that repeated requests are collapsed into one check. If the check is already running, the
+   * claim is kept, so that no other worker checks the documentation unit at the same time. The
+   * request is released by {@link #deleteCheckedRequest(String, long)} after the running check to
+   * check the changes of the running save too.
+   *
+   * @param documentNumber the document number of the documentation unit
+   * @param delayMillis delay before the check is due
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+INSERT INTO public.duplicate_check_queue (document_number, enqueued_at, due_at)
+VALUES (:documentNumber, now(), now() + CAST(:delayMillis AS bigint) * INTERVAL '1 millisecond')
+ON CONFLICT (document_number) DO UPDATE
+SET enqueue_count = duplicate_check_queue.enqueue_count + 1,
+    due_at = EXCLUDED.due_at
+WHERE duplicate_check_queue.claimed_until IS NOT NULL
+""",
+      nativeQuery = true)
+  void enqueue(String documentNumber, long delayMillis);
+
+  /**
+   * Delete the checked request. A request repeated while the check was running is kept and
+   * released for the next check with reset attempts.
+   *
+   * @param documentNumber the document number of the documentation unit
+   * @param enqueueCount the enqueue count of the claimed request
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+WITH deleted AS (
+    DELETE FROM public.duplicate_check_queue
+    WHERE document_number = :documentNumber AND enqueue_count = :enqueueCount
+    RETURNING document_number)
+UPDATE public.duplicate_check_queue
+SET claimed_until = NULL,
+    attempts = 0
+WHERE document_number = :documentNumber
+  AND NOT EXISTS (SELECT 1 FROM deleted)
+""",
+      nativeQuery = true)
+  void deleteCheckedRequest(String documentNumber, long enqueueCount);
+}
@@ -1,12 +1,39 @@
 package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
 
-import java.util.Optional;
+import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DatabaseKeywordRepository extends JpaRepository<KeywordDTO, UUID> {
 
-  Optional<KeywordDTO> findByValue(String value);
+  List<KeywordDTO> findAllByValueIn(Collection<String> values);
+
+  /**
+   * Insert all given keyword values, which don't exist yet, with one statement.
+   *
+   * @param values the normalized keyword values
+   * @return the number of inserted keywords
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+          INSERT INTO incremental_migration.keyword (id, value)
+          SELECT gen_random_uuid(), new_keyword.value
+          FROM (SELECT DISTINCT unnest(ARRAY[:values]) AS value) AS new_keyword
+          WHERE NOT EXISTS (
+              SELECT 1 FROM incremental_migration.keyword existing
+              WHERE existing.value = new_keyword.value)
+          ON CONFLICT DO NOTHING
+          """,
+      nativeQuery = true)
+  int insertMissingValues(@Param("values") Collection<String> values);
 }
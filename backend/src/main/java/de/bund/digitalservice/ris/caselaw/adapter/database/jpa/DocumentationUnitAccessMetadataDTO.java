@@ -0,0 +1,25 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import de.bund.digitalservice.ris.caselaw.domain.PublicationStatus;
+import java.util.UUID;
+
+/**
+ * Values of a documentation unit needed for the access checks, loaded with one statement by a
+ * constructor expression.
+ *
+ * @param id the id of the documentation unit
+ * @param documentNumber the document number
+ * @param documentationOffice the responsible documentation office
+ * @param creatingDocumentationOffice the documentation office which created the decision
+ * @param publicationStatus the publication status of the current status
+ * @param withError the error flag of the current status
+ * @param procedureUserGroupId the id of the user group of the current procedure
+ */
+public record DocumentationUnitAccessMetadataDTO(
+    UUID id,
+    String documentNumber,
+    DocumentationOfficeDTO documentationOffice,
+    DocumentationOfficeDTO creatingDocumentationOffice,
+    PublicationStatus publicationStatus,
+    Boolean withError,
+    UUID procedureUserGroupId) {}
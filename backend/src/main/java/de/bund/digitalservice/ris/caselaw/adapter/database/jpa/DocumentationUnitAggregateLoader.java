@@ -0,0 +1,289 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Loads a complete documentation unit aggregate (the unit with all collections needed by the
+ * domain transformers) with a fixed number of statements.
+ *
+ * <p>The root entity is loaded together with all its to-one associations. Every collection is
+ * then initialized by a fetch join query on the already managed entity, which also fetches the
+ * to-one associations of the collection elements. List collections (bags) can't be fetched
+ * together in one statement, set collections are fetched together. The number of statements
+ * doesn't depend on the number of rows in the collections.
+ *
+ * <p>Must be called inside a transaction, the fetched collections are attached to the entity of
+ * the current persistence context. An aggregate loaded by id is loaded once per transaction: as
+ * long as it is attached to the persistence context, it is returned again without statements.
+ */
+@Repository
+public class DocumentationUnitAggregateLoader {
+
+  private static final String ROOT_QUERY =
+      """
+      SELECT d FROM DecisionDTO d
+      LEFT JOIN FETCH d.court court
+      LEFT JOIN FETCH court.region
+      LEFT JOIN FETCH court.jurisdictionType
+      LEFT JOIN FETCH d.documentType documentType
+      LEFT JOIN FETCH documentType.category
+      LEFT JOIN FETCH d.documentationOffice
+      LEFT JOIN FETCH d.creatingDocumentationOffice
+      LEFT JOIN FETCH d.status
+      LEFT JOIN FETCH d.procedure currentProcedure
+      LEFT JOIN FETCH currentProcedure.userGroupDTO
+      WHERE d.%s = :value
+      """;
+
+  /** Collections of all documentation unit types, used with the entity name as parameter. */
+  private static final List<String> DOCUMENTATION_UNIT_COLLECTION_QUERIES =
+      List.of(
+          "SELECT d FROM %s d LEFT JOIN FETCH d.fileNumbers WHERE d.id = :id",
+          "SELECT d FROM %s d LEFT JOIN FETCH d.deviatingFileNumbers WHERE d.id = :id",
+          "SELECT d FROM %s d LEFT JOIN FETCH d.deviatingDates WHERE d.id = :id",
+          "SELECT d FROM %s d LEFT JOIN FETCH d.deviatingCourts WHERE d.id = :id",
+          "SELECT d FROM %s d LEFT JOIN FETCH d.attachments WHERE d.id = :id",
+          """
+          SELECT d FROM %s d
+          LEFT JOIN FETCH d.normReferences normReference
+          LEFT JOIN FETCH normReference.normAbbreviation
+          LEFT JOIN FETCH normReference.legalForce legalForce
+          LEFT JOIN FETCH legalForce.legalForceType
+          LEFT JOIN FETCH legalForce.region
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM %s d
+          LEFT JOIN FETCH d.documentationUnitFieldsOfLaw documentationUnitFieldOfLaw
+          LEFT JOIN FETCH documentationUnitFieldOfLaw.fieldOfLaw fieldOfLaw
+          LEFT JOIN FETCH fieldOfLaw.parent
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM %s d
+          LEFT JOIN FETCH d.documentationUnitKeywordDTOs documentationUnitKeyword
+          LEFT JOIN FETCH documentationUnitKeyword.keyword
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM %s d
+          LEFT JOIN FETCH d.previousDecisions previousDecision
+          LEFT JOIN FETCH previousDecision.court
+          LEFT JOIN FETCH previousDecision.documentType
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM %s d
+          LEFT JOIN FETCH d.caselawReferences caselawReference
+          LEFT JOIN FETCH caselawReference.legalPeriodical
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM %s d
+          LEFT JOIN FETCH d.literatureReferences literatureReference
+          LEFT JOIN FETCH literatureReference.legalPeriodical
+          LEFT JOIN FETCH literatureReference.documentType
+          WHERE d.id = :id
+          """);
+
+  /**
+   * The set-valued collections (duplicate relations and for decisions the years of dispute) are
+   * fetched together in one statement, because sets can be fetched together without duplicated
+   * elements. The file numbers of the duplicates are bags, which can't be fetched in the same
+   * statement, they are batch loaded on access.
+   */
+  private static final String SET_COLLECTIONS_QUERY =
+      """
+      SELECT d FROM %s d
+      %s
+      LEFT JOIN FETCH d.duplicateRelations1 duplicateRelation1
+      LEFT JOIN FETCH duplicateRelation1.documentationUnit2 duplicate2
+      LEFT JOIN FETCH duplicate2.court
+      LEFT JOIN FETCH duplicate2.documentType
+      LEFT JOIN FETCH duplicate2.status
+      LEFT JOIN FETCH d.duplicateRelations2 duplicateRelation2
+      LEFT JOIN FETCH duplicateRelation2.documentationUnit1 duplicate1
+      LEFT JOIN FETCH duplicate1.court
+      LEFT JOIN FETCH duplicate1.documentType
+      LEFT JOIN FETCH duplicate1.status
+      WHERE d.id = :id
+      """;
+
+  /** Collections only available for decisions. */
+  private static final List<String> DECISION_COLLECTION_QUERIES =
+      List.of(
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.decisionNames WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.inputTypes WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.procedureHistory WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.deviatingEclis WHERE d.id = :id",
+          """
+          SELECT d FROM DecisionDTO d
+          LEFT JOIN FETCH d.leadingDecisionNormReferences
+          WHERE d.id = :id
+          """,
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.jobProfiles WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.dismissalGrounds WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.dismissalTypes WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.collectiveAgreements WHERE d.id = :id",
+          "SELECT d FROM DecisionDTO d LEFT JOIN FETCH d.participatingJudges WHERE d.id = :id",
+          """
+          SELECT d FROM DecisionDTO d
+          LEFT JOIN FETCH d.source sourceEntry
+          LEFT JOIN FETCH sourceEntry.reference sourceReference
+          LEFT JOIN FETCH sourceReference.legalPeriodical
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM DecisionDTO d
+          LEFT JOIN FETCH d.activeCitations activeCitation
+          LEFT JOIN FETCH activeCitation.court
+          LEFT JOIN FETCH activeCitation.documentType
+          LEFT JOIN FETCH activeCitation.citationType
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM DecisionDTO d
+          LEFT JOIN FETCH d.ensuingDecisions ensuingDecision
+          LEFT JOIN FETCH ensuingDecision.court
+          LEFT JOIN FETCH ensuingDecision.documentType
+          WHERE d.id = :id
+          """,
+          """
+          SELECT d FROM DecisionDTO d
+          LEFT JOIN FETCH d.pendingDecisions pendingDecision
+          LEFT JOIN FETCH pendingDecision.court
+          LEFT JOIN FETCH pendingDecision.documentType
+          WHERE d.id = :id
+          """);
+
+  private final EntityManager entityManager;
+
+  public DocumentationUnitAggregateLoader(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Load the documentation unit with the given id and initialize all its collections.
+   *
+   * @param id the UUID of the documentation unit
+   * @return the fully initialized documentation unit or an empty optional if no documentation unit
+   *     with this id exists
+   */
+  public Optional<DocumentationUnitDTO> loadById(UUID id) {
+    Map<UUID, DocumentationUnitDTO> loadedAggregates = getLoadedAggregates();
+    DocumentationUnitDTO loadedAggregate = loadedAggregates.get(id);
+    if (loadedAggregate != null && entityManager.contains(loadedAggregate)) {
+      return Optional.of(loadedAggregate);
+    }
+
+    Optional<DocumentationUnitDTO> aggregate =
+        loadRoot("id", id, () -> entityManager.find(DocumentationUnitDTO.class, id))
+            .map(this::initializeCollections);
+    aggregate.ifPresent(documentationUnitDTO -> loadedAggregates.put(id, documentationUnitDTO));
+    return aggregate;
+  }
+
+  /**
+   * Load the documentation unit with the given document number and initialize all its
+   * collections.
+   *
+   * @param documentNumber the document number of the documentation unit
+   * @return the fully initialized documentation unit or an empty optional if no documentation unit
+   *     with this document number exists
+   */
+  public Optional<DocumentationUnitDTO> loadByDocumentNumber(String documentNumber) {
+    return loadRoot(
+            "documentNumber",
+            documentNumber,
+            () ->
+                entityManager
+                    .createQuery(
+                        "SELECT d FROM DocumentationUnitDTO d WHERE d.documentNumber = :value",
+                        DocumentationUnitDTO.class)
+                    .setParameter("value", documentNumber)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null))
+        .map(this::initializeCollections);
+  }
+
+  /**
+   * The aggregates loaded in the current transaction. They are bound to the transaction and
+   * removed after its completion. Without an active transaction nothing is remembered.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<UUID, DocumentationUnitDTO> getLoadedAggregates() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return new HashMap<>();
+    }
+
+    var loadedAggregates =
+        (Map<UUID, DocumentationUnitDTO>) TransactionSynchronizationManager.getResource(this);
+    if (loadedAggregates == null) {
+      loadedAggregates = new HashMap<>();
+      TransactionSynchronizationManager.bindResource(this, loadedAggregates);
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              TransactionSynchronizationManager.unbindResourceIfPossible(
+                  DocumentationUnitAggregateLoader.this);
+            }
+          });
+    }
+    return loadedAggregates;
+  }
+
+  private Optional<DocumentationUnitDTO> loadRoot(
+      String attribute, Object value, Supplier<DocumentationUnitDTO> fallbackLoader) {
+    Optional<DocumentationUnitDTO> decision =
+        entityManager
+            .createQuery(ROOT_QUERY.formatted(attribute), DecisionDTO.class)
+            .setParameter("value", value)
+            .getResultStream()
+            .findFirst()
+            .map(DocumentationUnitDTO.class::cast);
+
+    if (decision.isPresent()) {
+      return decision;
+    }
+
+    // pending proceedings are rare, so we don't spend an extra statement to find out the type
+    // first
+    return Optional.ofNullable(fallbackLoader.get());
+  }
+
+  private DocumentationUnitDTO initializeCollections(DocumentationUnitDTO documentationUnitDTO) {
+    boolean isDecision = documentationUnitDTO instanceof DecisionDTO;
+    String entityName = isDecision ? "DecisionDTO" : "DocumentationUnitDTO";
+
+    DOCUMENTATION_UNIT_COLLECTION_QUERIES.forEach(
+        query -> fetch(query.formatted(entityName), documentationUnitDTO.getId()));
+    fetch(
+        SET_COLLECTIONS_QUERY.formatted(
+            entityName, isDecision ? "LEFT JOIN FETCH d.yearsOfDispute" : ""),
+        documentationUnitDTO.getId());
+
+    if (isDecision) {
+      DECISION_COLLECTION_QUERIES.forEach(query -> fetch(query, documentationUnitDTO.getId()));
+    }
+
+    return documentationUnitDTO;
+  }
+
+  private void fetch(String query, UUID id) {
+    entityManager
+        .createQuery(query, DocumentationUnitDTO.class)
+        .setParameter("id", id)
+        .getResultList();
+  }
+}
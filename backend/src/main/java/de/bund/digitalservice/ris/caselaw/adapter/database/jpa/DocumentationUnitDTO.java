@@ -35,6 +35,7 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.ToString.Include;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 @Getter
 @Setter
@@ -71,6 +72,7 @@ public abstract class DocumentationUnitDTO implements DocumentationUnitListItemD
   @JoinColumn(name = "documentation_unit_id", nullable = false)
   @Builder.Default
   @OrderBy("rank")
+  @BatchSize(size = 50) // file numbers of the duplicates in the duplicate relations
   private List<FileNumberDTO> fileNumbers = new ArrayList<>();
 
   // Titelzeile
@@ -0,0 +1,12 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import java.util.UUID;
+
+/**
+ * Version of a documentation unit, for which patches are saved.
+ *
+ * @param documentationUnitId the id of the documentation unit
+ * @param documentationUnitVersion the version of the documentation unit
+ */
+public record DocumentationUnitPatchVersionDTO(
+    UUID documentationUnitId, Long documentationUnitVersion) {}
@@ -0,0 +1,46 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model of a documentation unit in the search result list. It's created by a constructor
+ * expression in the search queries, so all values of one page are loaded in one statement. The
+ * values of collections (attachments, file numbers, sources) are aggregated by subselects in the
+ * query instead of loading the collections.
+ *
+ * @param id the id of the documentation unit
+ * @param documentNumber the document number
+ * @param date the decision date
+ * @param scheduledPublicationDateTime the date of the scheduled publication
+ * @param lastPublicationDateTime the date of the last publication
+ * @param judicialBody the judicial body (Spruchkörper)
+ * @param note the note of a decision
+ * @param hasHeadnoteOrPrinciple true, if the decision has a headnote or a guiding principle
+ * @param hasAttachments true, if the documentation unit has at least one attachment
+ * @param fileNumber the first file number
+ * @param source all sources, separated by comma
+ * @param court the court
+ * @param documentType the document type
+ * @param status the current status
+ * @param documentationOffice the responsible documentation office
+ * @param creatingDocumentationOffice the documentation office which created the decision
+ */
+public record DocumentationUnitSearchResultDTO(
+    UUID id,
+    String documentNumber,
+    LocalDate date,
+    LocalDateTime scheduledPublicationDateTime,
+    LocalDateTime lastPublicationDateTime,
+    String judicialBody,
+    String note,
+    Boolean hasHeadnoteOrPrinciple,
+    Boolean hasAttachments,
+    String fileNumber,
+    String source,
+    CourtDTO court,
+    DocumentTypeDTO documentType,
+    StatusDTO status,
+    DocumentationOfficeDTO documentationOffice,
+    DocumentationOfficeDTO creatingDocumentationOffice) {}
@@ -0,0 +1,18 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import java.util.List;
+
+/** Claim of the due requests in the duplicate check queue */
+public interface DuplicateCheckQueueClaimRepository {
+
+  /**
+   * Claim the due requests for a worker. Requests claimed by other workers are skipped. The claim
+   * expires after the timeout, so that the requests of a crashed worker are checked again. Every
+   * claim counts as an attempt.
+   *
+   * @param limit maximal number of claimed requests
+   * @param claimTimeoutMillis duration of the claim
+   * @return the claimed requests
+   */
+  List<DuplicateCheckQueueDTO> claimDueRequests(int limit, long claimTimeoutMillis);
+}
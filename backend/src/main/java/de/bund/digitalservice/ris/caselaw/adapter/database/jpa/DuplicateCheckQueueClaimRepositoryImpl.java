@@ -0,0 +1,44 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import java.util.List;
+
+/**
+ * Claims the due requests with one {@code UPDATE ... RETURNING} statement. Spring Data only
+ * executes modifying queries with an update count as result, so the statement is executed as a
+ * native query in a writing transaction.
+ */
+public class DuplicateCheckQueueClaimRepositoryImpl implements DuplicateCheckQueueClaimRepository {
+  private static final String CLAIM_DUE_REQUESTS =
+      """
+UPDATE public.duplicate_check_queue
+SET claimed_until = now() + CAST(:claimTimeoutMillis AS bigint) * INTERVAL '1 millisecond',
+    attempts = attempts + 1
+WHERE document_number IN (
+    SELECT document_number
+    FROM public.duplicate_check_queue
+    WHERE due_at <= now() AND (claimed_until IS NULL OR claimed_until < now())
+    ORDER BY due_at
+    LIMIT :limit
+    FOR UPDATE SKIP LOCKED)
+RETURNING *
+""";
+
+  private final EntityManager entityManager;
+
+  public DuplicateCheckQueueClaimRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  @Transactional
+  @SuppressWarnings("unchecked")
+  public List<DuplicateCheckQueueDTO> claimDueRequests(int limit, long claimTimeoutMillis) {
+    return entityManager
+        .createNativeQuery(CLAIM_DUE_REQUESTS, DuplicateCheckQueueDTO.class)
+        .setParameter("limit", limit)
+        .setParameter("claimTimeoutMillis", claimTimeoutMillis)
+        .getResultList();
+  }
+}
@@ -0,0 +1,42 @@
+package de.bund.digitalservice.ris.caselaw.adapter.database.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Requested duplicate check of a documentation unit */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "duplicate_check_queue", schema = "public")
+public class DuplicateCheckQueueDTO {
+
+  @Id
+  @Column(name = "document_number")
+  private String documentNumber;
+
+  /** Incremented with every request while the check is running */
+  @Column(name = "enqueue_count")
+  private long enqueueCount;
+
+  @Column(name = "enqueued_at")
+  private Instant enqueuedAt;
+
+  @Column(name = "due_at")
+  private Instant dueAt;
+
+  @Column(name = "claimed_until")
+  private Instant claimedUntil;
+
+  /** Number of claims since the last finished check */
+  @Column(name = "attempts")
+  private int attempts;
+}
@@ -11,93 +11,128 @@ import org.springframework.stereotype.Repository;
 public interface DuplicateRelationRepository
     extends JpaRepository<DuplicateRelationDTO, DuplicateRelationDTO.DuplicateRelationId> {
 
-  @Query(
-      value =
-          """
-SELECT duplicateRelation
-FROM DuplicateRelationDTO duplicateRelation
-WHERE duplicateRelation.id.documentationUnitId1 = :docUnitId
-      OR duplicateRelation.id.documentationUnitId2 = :docUnitId
-""")
-  List<DuplicateRelationDTO> findAllByDocUnitId(UUID docUnitId);
-
-  @Modifying
-  @Query(
-      value =
-          """
+  /**
+   * Duplicates of the decision with the document number {@code :documentNumber}. Computed from
+   * the normalized identifiers of the decision: file numbers combined with the decision date or
+   * the court, and the ECLIs.
+   */
+  String DUPLICATES_OF_DOCUMENTATION_UNIT =
+      """
 WITH
-    all_dates as(
-        SELECT documentation_unit_id as id, value
-        FROM incremental_migration.deviating_date
-        UNION ALL
-        SELECT id, date as value
-        FROM incremental_migration.documentation_unit),
-     all_courts as(
-        SELECT documentation_unit_id as id, court.id as value
-        FROM incremental_migration.deviating_court
-        INNER JOIN incremental_migration.court
-            ON UPPER(value) = (
-                CASE
-                    WHEN court.is_superior_court = true THEN UPPER( type )
-                    ELSE UPPER( CONCAT( type, ' ', location ))
-                END
-            )
-        UNION ALL
-        SELECT id, court_id as value
+    checked_unit AS (
+        SELECT documentation_unit.id, documentation_unit.duplicate_check
         FROM incremental_migration.documentation_unit
-        WHERE court_id IS NOT NULL),
-     all_file_numbers as (
-        SELECT documentation_unit_id as id, UPPER(value) as value
+        JOIN incremental_migration.decision ON decision.id = documentation_unit.id
+        WHERE documentation_unit.document_number = :documentNumber),
+    checked_identifiers AS (
+        SELECT kind, value
+        FROM incremental_migration.duplicate_check_identifier
+        WHERE documentation_unit_id = (SELECT id FROM checked_unit)),
+    -- File numbers as "XX" lead to explosion of duplicate relationships
+    filtered_file_numbers AS (
+        SELECT UPPER(TRIM(value)) AS value
+        FROM incremental_migration.duplicate_check_file_number_frequency
+        WHERE UPPER(TRIM(value)) IN (SELECT value
+                                     FROM checked_identifiers
+                                     WHERE kind IN ('FILE_NUMBER', 'DEVIATING_FILE_NUMBER'))
+        GROUP BY UPPER(TRIM(value))
+        HAVING SUM(count) <= 50),
+    file_number_candidates AS (
+        SELECT DISTINCT identifier.documentation_unit_id AS id
+        FROM filtered_file_numbers
+        JOIN incremental_migration.duplicate_check_identifier identifier
+            ON identifier.kind IN ('FILE_NUMBER', 'DEVIATING_FILE_NUMBER')
+                AND identifier.value = filtered_file_numbers.value),
+    candidates AS (
+        SELECT candidate.id
+        FROM file_number_candidates candidate
+        WHERE EXISTS (SELECT 1
+                      FROM incremental_migration.duplicate_check_identifier identifier
+                      JOIN checked_identifiers checked ON checked.value = identifier.value
+                      WHERE identifier.documentation_unit_id = candidate.id
+                        AND (identifier.kind = 'DATE' AND checked.kind = 'DATE'
+                          OR identifier.kind = 'COURT'
+                              AND checked.kind IN ('COURT', 'SEARCHED_DEVIATING_COURT')
+                          OR identifier.kind = 'DEVIATING_COURT_LABEL'
+                              AND checked.kind IN ('DEVIATING_COURT_LABEL', 'COURT_LABEL')))
+        UNION
+        SELECT identifier.documentation_unit_id
+        FROM checked_identifiers checked
+        JOIN incremental_migration.duplicate_check_identifier identifier
+            ON identifier.kind = checked.kind AND identifier.value = checked.value
+        WHERE checked.kind = 'ECLI' AND identifier.value != ''),
+    duplicates AS (
+        SELECT documentation_unit.id, documentation_unit.duplicate_check
+        FROM candidates
+        JOIN incremental_migration.documentation_unit ON documentation_unit.id = candidates.id
+        JOIN incremental_migration.decision ON decision.id = candidates.id
+        -- Should not contain itself
+        WHERE candidates.id != (SELECT id FROM checked_unit))
+""";
+
+  /** All duplicate pairs (id_a < id_b) computed from the normalized identifiers. */
+  String ALL_DUPLICATES =
+      """
+WITH
+    all_file_numbers AS (
+        SELECT documentation_unit_id AS id, UPPER(value) AS value
         FROM incremental_migration.file_number
         -- File numbers as "XX" lead to explosion of duplicate relationships
         WHERE value NOT IN (SELECT value
-                            FROM incremental_migration.file_number
+                            FROM incremental_migration.duplicate_check_file_number_frequency
                             GROUP BY value
-                            HAVING count(*) > 50)
+                            HAVING SUM(count) > 50)
         UNION ALL
-        SELECT documentation_unit_id as id, UPPER(value) as value
-        FROM incremental_migration.deviating_file_number),
-     file_number_matches as (
+        SELECT documentation_unit_id AS id, value
+        FROM incremental_migration.duplicate_check_identifier
+        WHERE kind = 'DEVIATING_FILE_NUMBER'),
+    file_number_matches AS (
         SELECT DISTINCT t1.id AS id_a, t2.id AS id_b
         FROM all_file_numbers t1
         JOIN all_file_numbers t2 ON t1.value = t2.value
         WHERE t1.id < t2.id),
-     date_file_number_matches as (
+    date_or_court_file_number_matches AS (
         SELECT id_a, id_b
         FROM file_number_matches
-        JOIN all_dates d1 ON d1.id = id_a
-        JOIN all_dates d2 ON d2.id = id_b
-        WHERE d1.value = d2.value),
-     court_file_number_matches as (
-        SELECT fnm.id_a, fnm.id_b
-        FROM file_number_matches fnm
-        JOIN all_courts d1 ON d1.id = fnm.id_a
-        JOIN all_courts d2 ON d2.id = fnm.id_b
-        WHERE d1.value = d2.value),
-     all_eclis as (
-        SELECT documentation_unit_id as id, UPPER(value) as value
-        FROM incremental_migration.deviating_ecli
-        UNION ALL
-        SELECT id, UPPER(ecli) as value
-        FROM incremental_migration.decision),
-     ecli_matches as (
-        SELECT t1.id AS id_a, t2.id AS id_b
-        FROM all_eclis t1
-        JOIN all_eclis t2 ON t1.value = t2.value
-        WHERE t1.id < t2.id),
-     duplicate_relations_view as (
-        SELECT id_a, id_b, STRING_AGG(DISTINCT reason, ', ') as reason
-        FROM (
-            SELECT *, 'Entscheidungsdatum + Aktenzeichen' as reason
-            FROM date_file_number_matches
-            UNION ALL
-            SELECT *, 'Gericht + Aktenzeichen' as reason
-            FROM court_file_number_matches
-            UNION ALL
-            SELECT *, 'ECLI' as reason
-            FROM ecli_matches
-        ) as all_matches
-      GROUP BY id_a, id_b)
+        WHERE EXISTS (SELECT 1
+                      FROM incremental_migration.duplicate_check_identifier t1
+                      JOIN incremental_migration.duplicate_check_identifier t2
+                          ON t2.value = t1.value
+                      WHERE t1.documentation_unit_id = id_a
+                        AND t2.documentation_unit_id = id_b
+                        AND (t1.kind = 'DATE' AND t2.kind = 'DATE'
+                          OR t1.kind IN ('COURT', 'MATCHED_DEVIATING_COURT')
+                              AND t2.kind IN ('COURT', 'MATCHED_DEVIATING_COURT')))),
+    ecli_matches AS (
+        SELECT DISTINCT t1.documentation_unit_id AS id_a, t2.documentation_unit_id AS id_b
+        FROM incremental_migration.duplicate_check_identifier t1
+        JOIN incremental_migration.duplicate_check_identifier t2
+            ON t2.kind = t1.kind AND t2.value = t1.value
+        WHERE t1.kind = 'ECLI'
+          AND t1.documentation_unit_id < t2.documentation_unit_id),
+    duplicate_relations_view AS (
+        SELECT id_a, id_b
+        FROM date_or_court_file_number_matches
+        UNION
+        SELECT id_a, id_b
+        FROM ecli_matches)
+""";
+
+  @Query(
+      value =
+          """
+SELECT duplicateRelation
+FROM DuplicateRelationDTO duplicateRelation
+WHERE duplicateRelation.id.documentationUnitId1 = :docUnitId
+      OR duplicateRelation.id.documentationUnitId2 = :docUnitId
+""")
+  List<DuplicateRelationDTO> findAllByDocUnitId(UUID docUnitId);
+
+  @Modifying
+  @Query(
+      value =
+          ALL_DUPLICATES
+              + """
 DELETE
 FROM incremental_migration.duplicate_relation
 WHERE (documentation_unit_id1, documentation_unit_id2) NOT IN
@@ -110,80 +145,8 @@ WHERE (documentation_unit_id1, documentation_unit_id2) NOT IN
   @Modifying
   @Query(
       value =
-          """
-WITH
-    all_dates as(
-        SELECT documentation_unit_id as id, value
-        FROM incremental_migration.deviating_date
-        UNION ALL
-        SELECT id, date as value
-        FROM incremental_migration.documentation_unit),
-     all_courts as(
-        SELECT documentation_unit_id as id, court.id as value
-        FROM incremental_migration.deviating_court
-        INNER JOIN incremental_migration.court
-            ON UPPER(value) = (
-                CASE
-                    WHEN court.is_superior_court = true THEN UPPER( type )
-                    ELSE UPPER( CONCAT( type, ' ', location ))
-                END
-            )
-        UNION ALL
-        SELECT id, court_id as value
-        FROM incremental_migration.documentation_unit
-        WHERE court_id IS NOT NULL),
-     all_file_numbers as (
-        SELECT documentation_unit_id as id, UPPER(value) as value
-        FROM incremental_migration.file_number
-        -- File numbers as "XX" lead to explosion of duplicate relationships
-        WHERE value NOT IN (SELECT value
-                            FROM incremental_migration.file_number
-                            GROUP BY value
-                            HAVING count(*) > 50)
-        UNION ALL
-        SELECT documentation_unit_id as id, UPPER(value) as value
-        FROM incremental_migration.deviating_file_number),
-     file_number_matches as (
-        SELECT DISTINCT t1.id AS id_a, t2.id AS id_b
-        FROM all_file_numbers t1
-        JOIN all_file_numbers t2 ON t1.value = t2.value
-        WHERE t1.id < t2.id),
-     date_file_number_matches as (
-        SELECT id_a, id_b
-        FROM file_number_matches
-        JOIN all_dates d1 ON d1.id = id_a
-        JOIN all_dates d2 ON d2.id = id_b
-        WHERE d1.value = d2.value),
-     court_file_number_matches as (
-        SELECT fnm.id_a, fnm.id_b
-        FROM file_number_matches fnm
-        JOIN all_courts d1 ON d1.id = fnm.id_a
-        JOIN all_courts d2 ON d2.id = fnm.id_b
-        WHERE d1.value = d2.value),
-     all_eclis as (
-        SELECT documentation_unit_id as id, UPPER(value) as value
-        FROM incremental_migration.deviating_ecli
-        UNION ALL
-        SELECT id, UPPER(ecli) as value
-        FROM incremental_migration.decision),
-     ecli_matches as (
-        SELECT t1.id AS id_a, t2.id AS id_b
-        FROM all_eclis t1
-        JOIN all_eclis t2 ON t1.value = t2.value
-        WHERE t1.id < t2.id),
-     duplicate_relations_view as (
-        SELECT id_a, id_b, STRING_AGG(DISTINCT reason, ', ') as reason
-        FROM (
-            SELECT *, 'Entscheidungsdatum + Aktenzeichen' as reason
-            FROM date_file_number_matches
-            UNION ALL
-            SELECT *, 'Gericht + Aktenzeichen' as reason
-            FROM court_file_number_matches
-            UNION ALL
-            SELECT *, 'ECLI' as reason
-            FROM ecli_matches
-        ) as all_matches
-      GROUP BY id_a, id_b)
+          ALL_DUPLICATES
+              + """
 INSERT INTO incremental_migration.duplicate_relation (documentation_unit_id1, documentation_unit_id2, status)
 SELECT drel.id_a, drel.id_b,
        CAST(CASE
@@ -212,4 +175,159 @@ WHERE drel.status = 'PENDING'
 """,
       nativeQuery = true)
   int ignoreDuplicateRelationsWhenJdvDupCheckDisabled();
+
+  /**
+   * Delete the duplicate relations of the decision, which are no duplicates anymore.
+   *
+   * @param documentNumber the document number of the decision
+   * @return number of deleted relations
+   */
+  @Modifying
+  @Query(
+      value =
+          DUPLICATES_OF_DOCUMENTATION_UNIT
+              + """
+DELETE
+FROM incremental_migration.duplicate_relation
+WHERE (documentation_unit_id1 = (SELECT id FROM checked_unit)
+          AND documentation_unit_id2 NOT IN (SELECT id FROM duplicates))
+   OR (documentation_unit_id2 = (SELECT id FROM checked_unit)
+          AND documentation_unit_id1 NOT IN (SELECT id FROM duplicates));
+""",
+      nativeQuery = true)
+  int removeObsoleteDuplicateRelations(String documentNumber);
+
+  /**
+   * Insert the missing duplicate relations of the decision. If the relation is PENDING and the
+   * legacy jdv "dup-code ausschalten" applies to one of the decisions, the status is set to
+   * IGNORED.
+   *
+   * @param documentNumber the document number of the decision
+   * @return number of inserted or updated relations
+   */
+  @Modifying
+  @Query(
+      value =
+          DUPLICATES_OF_DOCUMENTATION_UNIT
+              + """
+INSERT INTO incremental_migration.duplicate_relation (documentation_unit_id1, documentation_unit_id2, status)
+SELECT CASE WHEN checked_unit.id < duplicates.id THEN checked_unit.id ELSE duplicates.id END,
+       CASE WHEN checked_unit.id < duplicates.id THEN duplicates.id ELSE checked_unit.id END,
+       CAST(CASE
+                WHEN checked_unit.duplicate_check = FALSE OR duplicates.duplicate_check = FALSE
+                    THEN 'IGNORED'
+                ELSE 'PENDING' END AS incremental_migration.duplicate_relation_status)
+FROM checked_unit
+CROSS JOIN duplicates
+ON CONFLICT (documentation_unit_id1, documentation_unit_id2) DO UPDATE
+SET status = EXCLUDED.status
+WHERE duplicate_relation.status = 'PENDING' AND EXCLUDED.status = 'IGNORED';
+""",
+      nativeQuery = true)
+  int addMissingDuplicateRelations(String documentNumber);
+
+  /**
+   * Get the id of the last logged change of the identifying fields of the duplicate check.
+   *
+   * @return the id of the last change or null, if no change is logged
+   */
+  @Query(
+      value = "SELECT MAX(id) FROM incremental_migration.duplicate_check_change",
+      nativeQuery = true)
+  Long findLastDuplicateCheckChange();
+
+  /**
+   * Get the document numbers of the documentation units with logged changes of the identifying
+   * fields of the duplicate check.
+   *
+   * @param lastChange the id of the last change to consider
+   * @return the document numbers of the changed documentation units
+   */
+  @Query(
+      value =
+          """
+SELECT DISTINCT documentation_unit.document_number
+FROM incremental_migration.duplicate_check_change
+JOIN incremental_migration.documentation_unit
+    ON documentation_unit.id = duplicate_check_change.documentation_unit_id
+WHERE duplicate_check_change.id <= :lastChange
+""",
+      nativeQuery = true)
+  List<String> findDocumentNumbersWithDuplicateCheckChanges(long lastChange);
+
+  /**
+   * Delete the logged changes of the documentation unit up to the given change.
+   *
+   * @param documentNumber the document number of the documentation unit
+   * @param lastChange the id of the last change to delete
+   * @return number of deleted changes
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+DELETE
+FROM incremental_migration.duplicate_check_change
+WHERE id <= :lastChange
+  AND documentation_unit_id = (SELECT id
+                               FROM incremental_migration.documentation_unit
+                               WHERE document_number = :documentNumber)
+""",
+      nativeQuery = true)
+  int deleteDuplicateCheckChanges(String documentNumber, long lastChange);
+
+  /**
+   * Delete the logged changes of deleted documentation units up to the given change.
+   *
+   * @param lastChange the id of the last change to delete
+   * @return number of deleted changes
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+DELETE
+FROM incremental_migration.duplicate_check_change
+WHERE id <= :lastChange
+  AND NOT EXISTS (SELECT 1
+                  FROM incremental_migration.documentation_unit
+                  WHERE documentation_unit.id = duplicate_check_change.documentation_unit_id)
+""",
+      nativeQuery = true)
+  int deleteDuplicateCheckChangesOfDeletedDocumentationUnits(long lastChange);
+
+  /**
+   * Delete all logged changes up to the given change.
+   *
+   * @param lastChange the id of the last change to delete
+   * @return number of deleted changes
+   */
+  @Modifying
+  @Query(
+      value = "DELETE FROM incremental_migration.duplicate_check_change WHERE id <= :lastChange",
+      nativeQuery = true)
+  int deleteDuplicateCheckChanges(long lastChange);
+
+  /**
+   * Merge the rows of the file number frequencies, which are appended by the triggers, into one
+   * row per value. Values without any file number are removed.
+   *
+   * @return number of values
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+WITH deleted AS (
+    DELETE FROM incremental_migration.duplicate_check_file_number_frequency
+    RETURNING value, count)
+INSERT
+INTO incremental_migration.duplicate_check_file_number_frequency (value, count)
+SELECT value, SUM(count)
+FROM deleted
+GROUP BY value
+HAVING SUM(count) <> 0
+""",
+      nativeQuery = true)
+  int compactFileNumberFrequencies();
 }
@@ -11,8 +11,10 @@ import de.bund.digitalservice.ris.caselaw.domain.ContentRelatedIndexing;
 import de.bund.digitalservice.ris.caselaw.domain.Documentable;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationOffice;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitAccessMetadata;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitSearchCursor;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitSearchInput;
 import de.bund.digitalservice.ris.caselaw.domain.Procedure;
 import de.bund.digitalservice.ris.caselaw.domain.PublicationStatus;
@@ -26,6 +28,7 @@ import de.bund.digitalservice.ris.caselaw.domain.UserService;
 import de.bund.digitalservice.ris.caselaw.domain.court.Court;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
+import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitVersionConflictException;
 import de.bund.digitalservice.ris.caselaw.domain.lookuptable.documenttype.DocumentType;
 import de.bund.digitalservice.ris.caselaw.domain.lookuptable.fieldoflaw.FieldOfLaw;
 import jakarta.persistence.EntityManager;
@@ -40,12 +43,16 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -65,6 +72,11 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 @Primary
 public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUnitRepository {
+  /** Lowest sort values, used instead of null for the keyset pagination of the search */
+  private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+
+  private static final LocalDateTime MIN_DATE_TIME = MIN_DATE.atStartOfDay();
+
   private final DatabaseDocumentationUnitRepository repository;
   private final DatabaseCourtRepository databaseCourtRepository;
   private final DatabaseDocumentationOfficeRepository documentationOfficeRepository;
@@ -72,6 +84,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
   private final DatabaseFieldOfLawRepository fieldOfLawRepository;
   private final DatabaseProcedureRepository procedureRepository;
   private final DatabaseRelatedDocumentationRepository relatedDocumentationRepository;
+  private final DocumentationUnitAggregateLoader aggregateLoader;
   private final UserService userService;
   private final EntityManager entityManager;
 
@@ -83,6 +96,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
       DatabaseKeywordRepository keywordRepository,
       DatabaseProcedureRepository procedureRepository,
       DatabaseFieldOfLawRepository fieldOfLawRepository,
+      DocumentationUnitAggregateLoader aggregateLoader,
       UserService userService,
       EntityManager entityManager) {
 
@@ -93,6 +107,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
     this.relatedDocumentationRepository = relatedDocumentationRepository;
     this.fieldOfLawRepository = fieldOfLawRepository;
     this.procedureRepository = procedureRepository;
+    this.aggregateLoader = aggregateLoader;
     this.userService = userService;
     this.entityManager = entityManager;
   }
@@ -102,8 +117,8 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
   public Documentable findByDocumentNumber(String documentNumber)
       throws DocumentationUnitNotExistsException {
     var documentationUnit =
-        repository
-            .findByDocumentNumber(documentNumber)
+        aggregateLoader
+            .loadByDocumentNumber(documentNumber)
             .orElseThrow(() -> new DocumentationUnitNotExistsException(documentNumber));
     return getDocumentationUnit(documentationUnit);
   }
@@ -134,7 +149,9 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
   @Transactional(transactionManager = "jpaTransactionManager")
   public Documentable findByUuid(UUID uuid) throws DocumentationUnitNotExistsException {
     var documentationUnit =
-        repository.findById(uuid).orElseThrow(() -> new DocumentationUnitNotExistsException(uuid));
+        aggregateLoader
+            .loadById(uuid)
+            .orElseThrow(() -> new DocumentationUnitNotExistsException(uuid));
     return getDocumentationUnit(documentationUnit);
   }
 
@@ -193,6 +210,67 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
       return;
     }
 
+    applyDocumentable(documentationUnitDTO, documentable).ifPresent(repository::save);
+  }
+
+  @Override
+  @Transactional(transactionManager = "jpaTransactionManager")
+  public Documentable update(Documentable documentable)
+      throws DocumentationUnitNotExistsException {
+
+    DocumentationUnitDTO documentationUnitDTO =
+        aggregateLoader
+            .loadById(documentable.uuid())
+            .orElseThrow(() -> new DocumentationUnitNotExistsException(documentable.uuid()));
+
+    Optional<DocumentationUnitDTO> updatedDocumentationUnitDTO =
+        applyDocumentable(documentationUnitDTO, documentable);
+    if (updatedDocumentationUnitDTO.isEmpty()) {
+      return getDocumentationUnit(documentationUnitDTO);
+    }
+
+    // keywords, fields of law and procedures are applied to the transformed (not managed) object,
+    // so that all changes are merged into the loaded entity at once and written with one flush
+    applyKeywords(updatedDocumentationUnitDTO.get(), documentable);
+    applyFieldsOfLaw(updatedDocumentationUnitDTO.get(), documentable);
+    if (updatedDocumentationUnitDTO.get() instanceof DecisionDTO decisionDTO) {
+      applyProcedure(decisionDTO, documentable);
+    }
+
+    return getDocumentationUnit(repository.saveAndFlush(updatedDocumentationUnitDTO.get()));
+  }
+
+  @Override
+  @Transactional(transactionManager = "jpaTransactionManager")
+  public Documentable update(DocumentationUnit documentationUnit, Long expectedVersion)
+      throws DocumentationUnitNotExistsException {
+
+    long expected = expectedVersion == null ? 0 : expectedVersion;
+    long newVersion =
+        documentationUnit.version() == null ? expected + 1 : documentationUnit.version();
+    if (repository.updateVersion(documentationUnit.uuid(), expected, newVersion) == 0) {
+      if (!repository.existsById(documentationUnit.uuid())) {
+        throw new DocumentationUnitNotExistsException(documentationUnit.uuid());
+      }
+      throw new DocumentationUnitVersionConflictException(
+          documentationUnit.uuid(), expectedVersion);
+    }
+
+    return update(documentationUnit.toBuilder().version(newVersion).build());
+  }
+
+  /**
+   * Apply the changes of the documentable to the database object. Keywords, fields of law and
+   * procedures are not part of it and have to be applied separately.
+   *
+   * @param documentationUnitDTO the current database object
+   * @param documentable the updated domain object
+   * @return the transformed database object, which has to be saved or an empty optional if the
+   *     type of the documentable isn't supported yet
+   */
+  private Optional<DocumentationUnitDTO> applyDocumentable(
+      DocumentationUnitDTO documentationUnitDTO, Documentable documentable) {
+
     // ---
     // Doing database-related (pre) transformation
 
@@ -221,11 +299,11 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
 
     // Transform non-database-related properties
     if (documentationUnitDTO instanceof DecisionDTO decisionDTO) {
-      documentationUnitDTO =
-          DecisionTransformer.transformToDTO(decisionDTO, (DocumentationUnit) documentable);
-      repository.save(documentationUnitDTO);
+      return Optional.of(
+          DecisionTransformer.transformToDTO(decisionDTO, (DocumentationUnit) documentable));
     }
     // TODO pending proceeding
+    return Optional.empty();
   }
 
   @Override
@@ -238,44 +316,94 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
         .findById(documentationUnit.uuid())
         .ifPresent(
             documentationUnitDTO -> {
-              ContentRelatedIndexing contentRelatedIndexing =
-                  documentationUnit.contentRelatedIndexing();
-
-              if (contentRelatedIndexing.keywords() != null) {
-                List<DocumentationUnitKeywordDTO> documentationUnitKeywordDTOs = new ArrayList<>();
-
-                List<String> keywords = contentRelatedIndexing.keywords();
-                for (int i = 0; i < keywords.size(); i++) {
-                  String value = StringUtils.normalizeSpace(keywords.get(i));
-
-                  KeywordDTO keywordDTO =
-                      keywordRepository
-                          .findByValue(value)
-                          .orElseGet(
-                              () ->
-                                  keywordRepository.save(
-                                      KeywordDTO.builder().value(value).build()));
-
-                  DocumentationUnitKeywordDTO documentationUnitKeywordDTO =
-                      DocumentationUnitKeywordDTO.builder()
-                          .primaryKey(
-                              new DocumentationUnitKeywordId(
-                                  documentationUnitDTO.getId(), keywordDTO.getId()))
-                          .documentationUnit(documentationUnitDTO)
-                          .keyword(keywordDTO)
-                          .rank(i + 1)
-                          .build();
-
-                  documentationUnitKeywordDTOs.add(documentationUnitKeywordDTO);
-                }
-
-                documentationUnitDTO.setDocumentationUnitKeywordDTOs(documentationUnitKeywordDTOs);
-
+              if (applyKeywords(documentationUnitDTO, documentationUnit)) {
                 repository.save(documentationUnitDTO);
               }
             });
   }
 
+  private boolean applyKeywords(
+      DocumentationUnitDTO documentationUnitDTO, Documentable documentationUnit) {
+    if (documentationUnit == null
+        || documentationUnit.contentRelatedIndexing() == null
+        || documentationUnit.contentRelatedIndexing().keywords() == null) {
+      return false;
+    }
+
+    List<String> keywords =
+        documentationUnit.contentRelatedIndexing().keywords().stream()
+            .map(StringUtils::normalizeSpace)
+            .toList();
+    Map<String, KeywordDTO> keywordDTOs = findOrCreateKeywords(keywords);
+
+    // the links have an assigned id, so merging a new link would select it first to find out if
+    // it exists. New links are persisted instead, so the statements don't depend on their number.
+    DocumentationUnitDTO managedDocumentationUnitDTO =
+        entityManager.getReference(DocumentationUnitDTO.class, documentationUnitDTO.getId());
+    Set<DocumentationUnitKeywordId> existingLinks =
+        managedDocumentationUnitDTO.getDocumentationUnitKeywordDTOs().stream()
+            .map(DocumentationUnitKeywordDTO::getPrimaryKey)
+            .collect(Collectors.toSet());
+    Set<DocumentationUnitKeywordId> appliedLinks = new HashSet<>();
+
+    List<DocumentationUnitKeywordDTO> documentationUnitKeywordDTOs = new ArrayList<>();
+    for (int i = 0; i < keywords.size(); i++) {
+      KeywordDTO keywordDTO = keywordDTOs.get(keywords.get(i));
+      DocumentationUnitKeywordId primaryKey =
+          new DocumentationUnitKeywordId(documentationUnitDTO.getId(), keywordDTO.getId());
+      if (!appliedLinks.add(primaryKey)) {
+        continue;
+      }
+
+      DocumentationUnitKeywordDTO documentationUnitKeywordDTO =
+          DocumentationUnitKeywordDTO.builder()
+              .primaryKey(primaryKey)
+              .documentationUnit(documentationUnitDTO)
+              .keyword(keywordDTO)
+              .rank(i + 1)
+              .build();
+
+      if (!existingLinks.contains(primaryKey)) {
+        documentationUnitKeywordDTO.setDocumentationUnit(managedDocumentationUnitDTO);
+        entityManager.persist(documentationUnitKeywordDTO);
+      }
+
+      documentationUnitKeywordDTOs.add(documentationUnitKeywordDTO);
+    }
+
+    documentationUnitDTO.setDocumentationUnitKeywordDTOs(documentationUnitKeywordDTOs);
+    return true;
+  }
+
+  /**
+   * Resolve the keyword entries of the given values. Missing keywords are inserted with one
+   * statement, so the number of statements doesn't depend on the number of keywords.
+   *
+   * @param values the normalized keyword values
+   * @return map of the keyword value to its database entry
+   */
+  private Map<String, KeywordDTO> findOrCreateKeywords(List<String> values) {
+    if (values.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<String, KeywordDTO> keywordDTOs = new HashMap<>();
+    keywordRepository
+        .findAllByValueIn(values)
+        .forEach(keywordDTO -> keywordDTOs.putIfAbsent(keywordDTO.getValue(), keywordDTO));
+
+    List<String> missingValues =
+        values.stream().filter(value -> !keywordDTOs.containsKey(value)).distinct().toList();
+    if (!missingValues.isEmpty()) {
+      keywordRepository.insertMissingValues(missingValues);
+      keywordRepository
+          .findAllByValueIn(missingValues)
+          .forEach(keywordDTO -> keywordDTOs.putIfAbsent(keywordDTO.getValue(), keywordDTO));
+    }
+
+    return keywordDTOs;
+  }
+
   @Override
   public void saveFieldsOfLaw(Documentable documentationUnit) {
     if (documentationUnit == null || documentationUnit.contentRelatedIndexing() == null) {
@@ -286,47 +414,54 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
         .findById(documentationUnit.uuid())
         .ifPresent(
             documentationUnitDTO -> {
-              ContentRelatedIndexing contentRelatedIndexing =
-                  documentationUnit.contentRelatedIndexing();
-
-              if (contentRelatedIndexing.fieldsOfLaw() != null) {
-                List<DocumentationUnitFieldOfLawDTO> documentationUnitFieldOfLawDTOs =
-                    new ArrayList<>();
-
-                List<FieldOfLaw> fieldsOfLaw = contentRelatedIndexing.fieldsOfLaw();
-                for (int i = 0; i < fieldsOfLaw.size(); i++) {
-                  FieldOfLaw fieldOfLaw = fieldsOfLaw.get(i);
-
-                  Optional<FieldOfLawDTO> fieldOfLawDTOOptional =
-                      fieldOfLawRepository.findById(fieldOfLaw.id());
-
-                  if (fieldOfLawDTOOptional.isPresent()) {
-                    DocumentationUnitFieldOfLawDTO documentationUnitFieldOfLawDTO =
-                        DocumentationUnitFieldOfLawDTO.builder()
-                            .primaryKey(
-                                new DocumentationUnitFieldOfLawId(
-                                    documentationUnitDTO.getId(),
-                                    fieldOfLawDTOOptional.get().getId()))
-                            .rank(i + 1)
-                            .build();
-                    documentationUnitFieldOfLawDTO.setDocumentationUnit(documentationUnitDTO);
-                    documentationUnitFieldOfLawDTO.setFieldOfLaw(fieldOfLawDTOOptional.get());
-
-                    documentationUnitFieldOfLawDTOs.add(documentationUnitFieldOfLawDTO);
-                  } else {
-                    throw new DocumentationUnitException(
-                        "field of law with id: '" + fieldOfLaw.id() + "' not found.");
-                  }
-                }
-
-                documentationUnitDTO.setDocumentationUnitFieldsOfLaw(
-                    documentationUnitFieldOfLawDTOs);
-
+              if (applyFieldsOfLaw(documentationUnitDTO, documentationUnit)) {
                 repository.save(documentationUnitDTO);
               }
             });
   }
 
+  private boolean applyFieldsOfLaw(
+      DocumentationUnitDTO documentationUnitDTO, Documentable documentationUnit) {
+    if (documentationUnit == null
+        || documentationUnit.contentRelatedIndexing() == null
+        || documentationUnit.contentRelatedIndexing().fieldsOfLaw() == null) {
+      return false;
+    }
+
+    List<FieldOfLaw> fieldsOfLaw = documentationUnit.contentRelatedIndexing().fieldsOfLaw();
+    Map<UUID, FieldOfLawDTO> fieldOfLawDTOs =
+        fieldOfLawRepository
+            .findAllById(fieldsOfLaw.stream().map(FieldOfLaw::id).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(FieldOfLawDTO::getId, Function.identity()));
+
+    List<DocumentationUnitFieldOfLawDTO> documentationUnitFieldOfLawDTOs = new ArrayList<>();
+    for (int i = 0; i < fieldsOfLaw.size(); i++) {
+      FieldOfLaw fieldOfLaw = fieldsOfLaw.get(i);
+      FieldOfLawDTO fieldOfLawDTO = fieldOfLawDTOs.get(fieldOfLaw.id());
+
+      if (fieldOfLawDTO == null) {
+        throw new DocumentationUnitException(
+            "field of law with id: '" + fieldOfLaw.id() + "' not found.");
+      }
+
+      DocumentationUnitFieldOfLawDTO documentationUnitFieldOfLawDTO =
+          DocumentationUnitFieldOfLawDTO.builder()
+              .primaryKey(
+                  new DocumentationUnitFieldOfLawId(
+                      documentationUnitDTO.getId(), fieldOfLawDTO.getId()))
+              .rank(i + 1)
+              .build();
+      documentationUnitFieldOfLawDTO.setDocumentationUnit(documentationUnitDTO);
+      documentationUnitFieldOfLawDTO.setFieldOfLaw(fieldOfLawDTO);
+
+      documentationUnitFieldOfLawDTOs.add(documentationUnitFieldOfLawDTO);
+    }
+
+    documentationUnitDTO.setDocumentationUnitFieldsOfLaw(documentationUnitFieldOfLawDTOs);
+    return true;
+  }
+
   @Override
   @Transactional(transactionManager = "jpaTransactionManager")
   public void saveProcedures(Documentable documentationUnit) {
@@ -343,6 +478,20 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
       return; // Pending Proceedings don't have procedures
     }
     DecisionDTO decisionDTO = (DecisionDTO) documentationUnitDTOOptional.get();
+
+    if (applyProcedure(decisionDTO, documentationUnit)) {
+      repository.save(decisionDTO);
+    }
+  }
+
+  private boolean applyProcedure(DecisionDTO decisionDTO, Documentable documentationUnit) {
+    if (documentationUnit == null
+        || documentationUnit.coreData() == null
+        || documentationUnit.coreData().procedure() == null
+        || !(documentationUnit instanceof DocumentationUnit)) {
+      return false;
+    }
+
     Procedure procedure = documentationUnit.coreData().procedure();
 
     ProcedureDTO procedureDTO =
@@ -357,8 +506,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
     }
     // set new procedure
     decisionDTO.setProcedure(procedureDTO);
-
-    repository.save(decisionDTO);
+    return true;
   }
 
   @Override
@@ -377,6 +525,52 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
     repository.save(documentationUnitDTO);
   }
 
+  @Override
+  public Optional<DocumentationUnitAccessMetadata> findAccessMetadataByUuid(UUID uuid) {
+    return repository.findAccessMetadataById(uuid).map(this::transformAccessMetadata);
+  }
+
+  @Override
+  public Optional<DocumentationUnitAccessMetadata> findAccessMetadataByDocumentNumber(
+      String documentNumber) {
+    return repository
+        .findAccessMetadataByDocumentNumber(documentNumber)
+        .map(this::transformAccessMetadata);
+  }
+
+  private DocumentationUnitAccessMetadata transformAccessMetadata(
+      DocumentationUnitAccessMetadataDTO accessMetadataDTO) {
+    return DocumentationUnitAccessMetadata.builder()
+        .uuid(accessMetadataDTO.id())
+        .documentNumber(accessMetadataDTO.documentNumber())
+        .documentationOffice(
+            DocumentationOfficeTransformer.transformToDomain(
+                accessMetadataDTO.documentationOffice()))
+        .creatingDocumentationOffice(
+            DocumentationOfficeTransformer.transformToDomain(
+                accessMetadataDTO.creatingDocumentationOffice()))
+        // without current status, the status columns of the left join are null
+        .status(
+            accessMetadataDTO.withError() == null
+                ? null
+                : Status.builder()
+                    .publicationStatus(accessMetadataDTO.publicationStatus())
+                    .withError(accessMetadataDTO.withError())
+                    .build())
+        .procedureUserGroupId(accessMetadataDTO.procedureUserGroupId())
+        .build();
+  }
+
+  @Override
+  public Set<UUID> findIdsAssignedToUserGroup(
+      Collection<UUID> documentationUnitIds, UUID userGroupId) {
+    if (documentationUnitIds.isEmpty() || userGroupId == null) {
+      return Set.of();
+    }
+
+    return repository.findIdsAssignedToUserGroup(documentationUnitIds, userGroupId);
+  }
+
   private ProcedureDTO getOrCreateProcedure(
       DocumentationOfficeDTO documentationOfficeDTO, Procedure procedure) {
     if (procedure.id() == null) {
@@ -523,7 +717,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
 
   @NotNull
   @SuppressWarnings("java:S107")
-  private Slice<DocumentationUnitListItemDTO> getDocumentationUnitSearchResultDTOS(
+  private Slice<DocumentationUnitSearchResultDTO> getDocumentationUnitSearchResultDTOS(
       Pageable pageable,
       String courtType,
       String courtLocation,
@@ -537,8 +731,70 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
       Boolean withError,
       Boolean myDocOfficeOnly,
       Boolean withDuplicateWarning,
+      DocumentationUnitSearchCursor cursor,
       DocumentationOfficeDTO documentationOfficeDTO) {
-    if ((fileNumber == null || fileNumber.trim().isEmpty())) {
+    String trimmedFileNumber =
+        fileNumber == null || fileNumber.isBlank() ? null : fileNumber.trim();
+
+    if (cursor != null) {
+      // the publication dates are only part of the sort order, if searched by publication
+      boolean sortByPublication = Boolean.TRUE.equals(scheduledOnly) || publicationDate != null;
+      LocalDateTime cursorScheduledPublicationDateTime =
+          sortByPublication
+              ? Objects.requireNonNullElse(cursor.scheduledPublicationDateTime(), MIN_DATE_TIME)
+              : MIN_DATE_TIME;
+      LocalDateTime cursorLastPublicationDateTime =
+          sortByPublication
+              ? Objects.requireNonNullElse(cursor.lastPublicationDateTime(), MIN_DATE_TIME)
+              : MIN_DATE_TIME;
+      LocalDate cursorDate = Objects.requireNonNullElse(cursor.decisionDate(), MIN_DATE);
+      Pageable firstPage = PageRequest.of(0, pageable.getPageSize());
+
+      if (trimmedFileNumber == null) {
+        return repository.searchByDocumentationUnitSearchInputAfter(
+            documentationOfficeDTO.getId(),
+            documentNumber,
+            courtType,
+            courtLocation,
+            decisionDate,
+            decisionDateEnd,
+            publicationDate,
+            scheduledOnly,
+            status,
+            withError,
+            myDocOfficeOnly,
+            withDuplicateWarning,
+            MIN_DATE_TIME,
+            cursorScheduledPublicationDateTime,
+            cursorLastPublicationDateTime,
+            cursorDate,
+            cursor.uuid(),
+            firstPage);
+      }
+
+      return repository.searchByDocumentationUnitSearchInputFileNumberAfter(
+          documentationOfficeDTO.getId(),
+          documentNumber,
+          trimmedFileNumber,
+          courtType,
+          courtLocation,
+          decisionDate,
+          decisionDateEnd,
+          publicationDate,
+          scheduledOnly,
+          status,
+          withError,
+          myDocOfficeOnly,
+          withDuplicateWarning,
+          MIN_DATE_TIME,
+          cursorScheduledPublicationDateTime,
+          cursorLastPublicationDateTime,
+          cursorDate,
+          cursor.uuid(),
+          firstPage);
+    }
+
+    if (trimmedFileNumber == null) {
       return repository.searchByDocumentationUnitSearchInput(
           documentationOfficeDTO.getId(),
           documentNumber,
@@ -555,82 +811,21 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
           pageable);
     }
 
-    // The highest possible number of results - For page 0: 30, for page 1: 60, for page 2: 90, etc.
-    int maxResultsUpToCurrentPage = (pageable.getPageNumber() + 1) * pageable.getPageSize();
-
-    // We need to start with index 0 because we collect 3 results sets, each of the desired size of
-    // the page. Then we sort the full ist and cut it to the page size (possibly leaving 2x page
-    // size results behind). If we don't always start with index 0, we might miss results.
-    // This approach could even be better if we replace the next/previous with a "load more" button
-    Pageable fixedPageRequest = PageRequest.of(0, maxResultsUpToCurrentPage);
-
-    Slice<DocumentationUnitListItemDTO> fileNumberResults = new SliceImpl<>(List.of());
-    Slice<DocumentationUnitListItemDTO> deviatingFileNumberResults = new SliceImpl<>(List.of());
-
-    if (!fileNumber.trim().isEmpty()) {
-      fileNumberResults =
-          repository.searchByDocumentationUnitSearchInputFileNumber(
-              documentationOfficeDTO.getId(),
-              documentNumber,
-              fileNumber.trim(),
-              courtType,
-              courtLocation,
-              decisionDate,
-              decisionDateEnd,
-              publicationDate,
-              scheduledOnly,
-              status,
-              withError,
-              myDocOfficeOnly,
-              withDuplicateWarning,
-              fixedPageRequest);
-
-      deviatingFileNumberResults =
-          repository.searchByDocumentationUnitSearchInputDeviatingFileNumber(
-              documentationOfficeDTO.getId(),
-              documentNumber,
-              fileNumber.trim(),
-              courtType,
-              courtLocation,
-              decisionDate,
-              decisionDateEnd,
-              publicationDate,
-              scheduledOnly,
-              status,
-              withError,
-              myDocOfficeOnly,
-              withDuplicateWarning,
-              fixedPageRequest);
-    }
-
-    Set<DocumentationUnitListItemDTO> allResults = new HashSet<>();
-
-    allResults.addAll(fileNumberResults.getContent());
-    allResults.addAll(deviatingFileNumberResults.getContent());
-
-    // We can provide entries for a next page if ...
-    // A) we already have collected more results than fit on the current page, or
-    // B) at least one of the queries has more results
-    boolean hasNext =
-        allResults.size() >= maxResultsUpToCurrentPage
-            || fileNumberResults.hasNext()
-            || deviatingFileNumberResults.hasNext();
-
-    return new SliceImpl<>(
-        allResults.stream()
-            .sorted(
-                (o1, o2) -> {
-                  if (o1.getDate() != null && o2.getDate() != null) {
-                    return o1.getDocumentNumber().compareTo(o2.getDocumentNumber());
-                  }
-                  return 0;
-                })
-            .toList()
-            .subList(
-                pageable.getPageNumber() * pageable.getPageSize(),
-                Math.min(allResults.size(), maxResultsUpToCurrentPage)),
-        pageable,
-        hasNext);
+    return repository.searchByDocumentationUnitSearchInputFileNumber(
+        documentationOfficeDTO.getId(),
+        documentNumber,
+        trimmedFileNumber,
+        courtType,
+        courtLocation,
+        decisionDate,
+        decisionDateEnd,
+        publicationDate,
+        scheduledOnly,
+        status,
+        withError,
+        myDocOfficeOnly,
+        withDuplicateWarning,
+        pageable);
   }
 
   @Transactional(transactionManager = "jpaTransactionManager")
@@ -648,7 +843,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
     Boolean withError =
         Optional.ofNullable(searchInput.status()).map(Status::withError).orElse(false);
 
-    Slice<DocumentationUnitListItemDTO> allResults =
+    Slice<DocumentationUnitSearchResultDTO> allResults =
         getDocumentationUnitSearchResultDTOS(
             pageable,
             searchInput.courtType(),
@@ -663,6 +858,7 @@ public class PostgresDocumentationUnitRepositoryImpl implements DocumentationUni
             withError,
             searchInput.myDocOfficeOnly(),
             searchInput.withDuplicateWarning(),
+            searchInput.cursor(),
             documentationOfficeDTO);
 
     return allResults.map(DocumentationUnitListItemTransformer::transformToDomain);
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.caselaw.adapter.transformer;
 
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitListItemDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitSearchResultDTO;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
 import de.bund.digitalservice.ris.caselaw.domain.RelatedDocumentationUnit;
 import de.bund.digitalservice.ris.caselaw.domain.RelatedDocumentationUnit.RelatedDocumentationUnitBuilder;
@@ -78,6 +79,45 @@ public class DocumentationUnitListItemTransformer {
     return builder.build();
   }
 
+  /**
+   * Transforms a documentation unit search result, loaded as read model by the search queries, into
+   * a documentation unit list item domain object.
+   *
+   * @param searchResultDTO the database documentation unit search result
+   * @return DocumentationUnitListItem the domain documentation unit search result
+   */
+  public static DocumentationUnitListItem transformToDomain(
+      DocumentationUnitSearchResultDTO searchResultDTO) {
+    if (searchResultDTO == null) {
+      return DocumentationUnitListItem.builder().build();
+    }
+
+    return DocumentationUnitListItem.builder()
+        .uuid(searchResultDTO.id())
+        .documentNumber(searchResultDTO.documentNumber())
+        .decisionDate(searchResultDTO.date())
+        .scheduledPublicationDateTime(searchResultDTO.scheduledPublicationDateTime())
+        .lastPublicationDateTime(searchResultDTO.lastPublicationDateTime())
+        .appraisalBody(searchResultDTO.judicialBody())
+        .hasHeadnoteOrPrinciple(Boolean.TRUE.equals(searchResultDTO.hasHeadnoteOrPrinciple()))
+        .hasAttachments(Boolean.TRUE.equals(searchResultDTO.hasAttachments()))
+        .documentType(DocumentTypeTransformer.transformToDomain(searchResultDTO.documentType()))
+        .court(CourtTransformer.transformToDomain(searchResultDTO.court()))
+        .fileNumber(searchResultDTO.fileNumber())
+        .status(StatusTransformer.transformToDomain(searchResultDTO.status()))
+        .note(searchResultDTO.note())
+        .creatingDocumentationOffice(
+            searchResultDTO.creatingDocumentationOffice() == null
+                ? null
+                : DocumentationOfficeTransformer.transformToDomain(
+                    searchResultDTO.creatingDocumentationOffice()))
+        .documentationOffice(
+            DocumentationOfficeTransformer.transformToDomain(
+                searchResultDTO.documentationOffice()))
+        .source(searchResultDTO.source() == null ? "" : searchResultDTO.source())
+        .build();
+  }
+
   /**
    * Checks if a headnote or a guiding principle is given in a documentation unit, to display the
    * information in a list
@@ -0,0 +1,41 @@
+package de.bund.digitalservice.ris.caselaw.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Data source with two connection pools. Connections of background tasks (scheduled jobs, async
+ * exports) are taken from the background pool, all other connections from the request pool.
+ */
+public class BackgroundAwareDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private enum Pool {
+    REQUEST,
+    BACKGROUND
+  }
+
+  private final HikariDataSource requestPool;
+  private final HikariDataSource backgroundPool;
+
+  public BackgroundAwareDataSource(HikariDataSource requestPool, HikariDataSource backgroundPool) {
+    this.requestPool = requestPool;
+    this.backgroundPool = backgroundPool;
+
+    setTargetDataSources(Map.of(Pool.REQUEST, requestPool, Pool.BACKGROUND, backgroundPool));
+    setDefaultTargetDataSource(requestPool);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return BackgroundTaskDecorator.isBackgroundTask() ? Pool.BACKGROUND : Pool.REQUEST;
+  }
+
+  @Override
+  public void destroy() {
+    requestPool.close();
+    backgroundPool.close();
+  }
+}
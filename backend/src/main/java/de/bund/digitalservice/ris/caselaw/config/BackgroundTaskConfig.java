@@ -0,0 +1,24 @@
+package de.bund.digitalservice.ris.caselaw.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler for the scheduled jobs. All jobs are marked as background tasks and use the background
+ * connection pool of the data source.
+ */
+@Configuration
+public class BackgroundTaskConfig {
+
+  @Bean
+  public ThreadPoolTaskScheduler taskScheduler(
+      @Value("${spring.task.scheduling.pool.size:1}") int poolSize) {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(poolSize);
+    scheduler.setThreadNamePrefix("scheduling-");
+    scheduler.setTaskDecorator(new BackgroundTaskDecorator());
+    return scheduler;
+  }
+}
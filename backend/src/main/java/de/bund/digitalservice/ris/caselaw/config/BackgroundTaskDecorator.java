@@ -0,0 +1,34 @@
+package de.bund.digitalservice.ris.caselaw.config;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Marks tasks of the scheduler and the async executors as background tasks. Database connections
+ * of background tasks are taken from their own pool (see {@link BackgroundAwareDataSource}), so
+ * that scheduled jobs can't starve request threads of connections and vice versa.
+ */
+public class BackgroundTaskDecorator implements TaskDecorator {
+
+  private static final ThreadLocal<Boolean> BACKGROUND_TASK = ThreadLocal.withInitial(() -> false);
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    return () -> {
+      BACKGROUND_TASK.set(true);
+      try {
+        runnable.run();
+      } finally {
+        BACKGROUND_TASK.remove();
+      }
+    };
+  }
+
+  /**
+   * Check if the current thread executes a background task.
+   *
+   * @return true, if the current thread executes a decorated task
+   */
+  public static boolean isBackgroundTask() {
+    return BACKGROUND_TASK.get();
+  }
+}
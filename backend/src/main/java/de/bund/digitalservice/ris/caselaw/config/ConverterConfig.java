@@ -6,22 +6,79 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import de.bund.digitalservice.ris.caselaw.adapter.JurisXmlExporterWrapper;
 import de.bund.digitalservice.ris.caselaw.adapter.MockXmlExporter;
 import de.bund.digitalservice.ris.caselaw.adapter.converter.docx.DocxConverter;
+import de.bund.digitalservice.ris.caselaw.adapter.converter.docx.EMFImageRenderer;
 import de.bund.digitalservice.ris.caselaw.domain.XmlExporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import org.docx4j.org.apache.xalan.processor.TransformerFactoryImpl;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Scope;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class ConverterConfig {
+  /**
+   * The converter holds the styles, images, footers and numbering definitions of the converted
+   * docx file. Every conversion gets its own instance, so that parallel conversions don't share
+   * their state.
+   */
   @Bean
-  public DocxConverter docxConverter() {
-    return new DocxConverter();
+  @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+  public DocxConverter docxConverter(EMFImageRenderer emfImageRenderer) {
+    DocxConverter docxConverter = new DocxConverter();
+    docxConverter.setEmfImageRenderer(emfImageRenderer);
+    return docxConverter;
+  }
+
+  /**
+   * Renderer of the emf images in the docx files. The rendering is CPU bound, so it runs on a
+   * bounded pool shared by all conversions.
+   */
+  @Bean
+  public EMFImageRenderer emfImageRenderer(
+      @Qualifier("emfRenderExecutor") Executor emfRenderExecutor,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${docx.conversion.emf.max-bytes:10485760}") long maxBytes,
+      @Value("${docx.conversion.emf.max-pixels:16000000}") long maxPixels,
+      @Value("${docx.conversion.emf.cache-max-size:33554432}") long cacheMaxSize,
+      @Value("${docx.conversion.emf.render-timeout-seconds:60}") long renderTimeoutSeconds) {
+    return new EMFImageRenderer(
+        emfRenderExecutor,
+        meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+        maxBytes,
+        maxPixels,
+        cacheMaxSize,
+        Duration.ofSeconds(renderTimeoutSeconds));
+  }
+
+  /**
+   * Executor of the emf rendering. The queue is bounded, so a few documents with many images can't
+   * hold the memory of all their images. The executor rejects renderings if the queue is full, the
+   * renderer replaces these images by the placeholder.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor emfRenderExecutor(
+      @Value("${docx.conversion.emf.render-threads:4}") int renderThreads,
+      @Value("${docx.conversion.emf.render-queue-capacity:500}") int renderQueueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(renderThreads);
+    executor.setMaxPoolSize(renderThreads);
+    executor.setQueueCapacity(renderQueueCapacity);
+    executor.setThreadNamePrefix("emf-render-");
+    return executor;
   }
 
   @Bean
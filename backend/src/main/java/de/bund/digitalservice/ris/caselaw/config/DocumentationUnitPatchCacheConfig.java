@@ -0,0 +1,26 @@
+package de.bund.digitalservice.ris.caselaw.config;
+
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitPatchCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscription of the patch cache to the invalidations of the other instances. Uses the redis
+ * connection of the spring session. Like the patch cache, the subscription requires redis.
+ */
+@Configuration
+public class DocumentationUnitPatchCacheConfig {
+
+  @Bean
+  public RedisMessageListenerContainer documentationUnitPatchCacheListenerContainer(
+      RedisConnectionFactory connectionFactory, DocumentationUnitPatchCache patchCache) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(
+        patchCache, new ChannelTopic(DocumentationUnitPatchCache.INVALIDATION_CHANNEL));
+    return container;
+  }
+}
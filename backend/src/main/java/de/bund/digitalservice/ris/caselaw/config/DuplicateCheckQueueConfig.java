@@ -0,0 +1,23 @@
+package de.bund.digitalservice.ris.caselaw.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Executor of the queued duplicate checks. The checks mostly wait for the database, so every check
+ * runs in its own virtual thread. The number of parallel checks is limited by the queue worker.
+ * The checks are background tasks and use the background connection pool of the data source.
+ */
+@Configuration
+public class DuplicateCheckQueueConfig {
+
+  @Bean
+  public TaskExecutor duplicateCheckExecutor() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("duplicate-check-");
+    executor.setVirtualThreads(true);
+    executor.setTaskDecorator(new BackgroundTaskDecorator());
+    return executor;
+  }
+}
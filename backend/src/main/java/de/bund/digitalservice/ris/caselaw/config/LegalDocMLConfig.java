@@ -18,6 +18,7 @@ public class LegalDocMLConfig {
     executor.setMaxPoolSize(2);
     executor.setQueueCapacity(500);
     executor.setThreadNamePrefix("LegalDocML-");
+    executor.setTaskDecorator(new BackgroundTaskDecorator());
     executor.initialize();
     return executor;
   }
@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.caselaw.config;
 
+import java.util.Map;
 import org.flywaydb.core.Flyway;
 import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.stereotype.Component;
@@ -21,9 +22,27 @@ public class MultiSchemaFlywayMigrationStrategy implements FlywayMigrationStrate
             .dataSource(dataSource)
             .load();
 
+    // Indexes and triggers on the incremental_migration tables for this service. They have to be
+    // created after the tables, so they are separated from the public schema migrations. This
+    // service owns these objects, not the migration project (see ADR 0024). The indexes are built
+    // concurrently outside of a transaction, which waits forever for the transactional advisory
+    // lock of Flyway, so a session lock is used instead.
+    Flyway incrementalMigrationIndexModule =
+        Flyway.configure()
+            .schemas("incremental_migration")
+            .table("flyway_schema_history_indexes")
+            .baselineOnMigrate(true)
+            .baselineVersion("0.0")
+            .locations("classpath:incremental-migration-indexes")
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .dataSource(dataSource)
+            .load();
+
     publicModule.repair();
     publicModule.migrate();
     incrementalMigrationModule.repair();
     incrementalMigrationModule.migrate();
+    incrementalMigrationIndexModule.repair();
+    incrementalMigrationIndexModule.migrate();
   }
 }
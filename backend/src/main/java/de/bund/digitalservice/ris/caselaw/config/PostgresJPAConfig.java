@@ -1,7 +1,14 @@
 package de.bund.digitalservice.ris.caselaw.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
 import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
@@ -31,14 +38,89 @@ public class PostgresJPAConfig {
   @Value("${database.database:neuris}")
   private String database;
 
+  @Value("${database.batching.enabled:true}")
+  private boolean batchingEnabled;
+
+  @Value("${database.batching.batch-size:50}")
+  private Integer batchSize;
+
+  @Value("${database.pool.maximum-pool-size:20}")
+  private Integer maximumPoolSize;
+
+  @Value("${database.pool.minimum-idle:5}")
+  private Integer minimumIdle;
+
+  @Value("${database.pool.connection-timeout:30000}")
+  private Long connectionTimeout;
+
+  @Value("${database.pool.leak-detection-threshold:0}")
+  private Long leakDetectionThreshold;
+
+  @Value("${database.pool.prepare-threshold:3}")
+  private Integer prepareThreshold;
+
+  @Value("${database.pool.prepared-statement-cache-queries:256}")
+  private Integer preparedStatementCacheQueries;
+
+  @Value("${database.pool.background.maximum-pool-size:5}")
+  private Integer backgroundMaximumPoolSize;
+
+  @Value("${database.pool.background.leak-detection-threshold:0}")
+  private Long backgroundLeakDetectionThreshold;
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+
+  public PostgresJPAConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Data source with separate connection pools for request threads and background tasks. The
+   * scheduled jobs and async exports use the background pool and can't exhaust the connections of
+   * the request threads.
+   */
   @Bean
   public DataSource dataSource() {
-    return DataSourceBuilder.create()
-        .driverClassName("org.postgresql.Driver")
-        .url("jdbc:postgresql://" + host + ":" + port + "/" + database)
-        .username(user)
-        .password(password)
-        .build();
+    return new BackgroundAwareDataSource(
+        createPool("ris-request-pool", maximumPoolSize, minimumIdle, leakDetectionThreshold),
+        createPool(
+            "ris-background-pool", backgroundMaximumPoolSize, 1, backgroundLeakDetectionThreshold));
+  }
+
+  private HikariDataSource createPool(
+      String poolName, int maximumPoolSize, int minimumIdle, long leakDetectionThreshold) {
+    HikariDataSource pool =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName("org.postgresql.Driver")
+            .url(getUrl())
+            .username(user)
+            .password(password)
+            .build();
+
+    pool.setPoolName(poolName);
+    pool.setMaximumPoolSize(maximumPoolSize);
+    pool.setMinimumIdle(Math.min(minimumIdle, maximumPoolSize));
+    pool.setConnectionTimeout(connectionTimeout);
+    pool.setLeakDetectionThreshold(leakDetectionThreshold);
+
+    // use server-side prepared statements for queries executed repeatedly on a connection
+    pool.addDataSourceProperty("prepareThreshold", prepareThreshold);
+    pool.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+
+    meterRegistry.ifAvailable(
+        registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+    return pool;
+  }
+
+  private String getUrl() {
+    String url = "jdbc:postgresql://" + host + ":" + port + "/" + database;
+    if (batchingEnabled) {
+      // let the driver rewrite batched inserts to multi-value inserts
+      url += "?reWriteBatchedInserts=true";
+    }
+    return url;
   }
 
   @Bean
@@ -57,7 +139,23 @@ public class PostgresJPAConfig {
     entityManagerFactoryBean.setPersistenceProviderClass(HibernatePersistenceProvider.class);
     entityManagerFactoryBean.setPackagesToScan(
         "de.bund.digitalservice.ris.caselaw.adapter.database.jpa");
+    entityManagerFactoryBean.setJpaPropertyMap(getJpaProperties());
 
     return entityManagerFactoryBean;
   }
+
+  /**
+   * Hibernate properties of the persistence unit. If batching is enabled, the inserts, updates and
+   * deletes of child rows are sent in JDBC batches instead of one round trip per row.
+   */
+  private Map<String, Object> getJpaProperties() {
+    Map<String, Object> properties = new HashMap<>();
+    if (batchingEnabled) {
+      properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+      properties.put(AvailableSettings.ORDER_INSERTS, true);
+      properties.put(AvailableSettings.ORDER_UPDATES, true);
+      properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+    }
+    return properties;
+  }
 }
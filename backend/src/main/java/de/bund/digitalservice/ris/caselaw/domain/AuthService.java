@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.caselaw.domain;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
@@ -20,4 +21,16 @@ public interface AuthService {
       DocumentationOffice creatingDocOffice,
       DocumentationOffice documentationOffice,
       Status status);
+
+  /**
+   * Add the permissions of the user (editable, deletable) to the given search result list items.
+   * The documentation office, the role and the user group of the user are resolved once for all
+   * items and the procedure assignments of all items are checked together.
+   *
+   * @param oidcUser the current user
+   * @param listItems the list items to add the permissions to
+   * @return the list items with permissions in the same order
+   */
+  List<DocumentationUnitListItem> addPermissions(
+      OidcUser oidcUser, List<DocumentationUnitListItem> listItems);
 }
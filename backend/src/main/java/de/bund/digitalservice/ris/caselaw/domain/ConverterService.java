@@ -1,7 +1,13 @@
 package de.bund.digitalservice.ris.caselaw.domain;
 
 import de.bund.digitalservice.ris.caselaw.domain.docx.Docx2Html;
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocxImagePart;
+import java.util.Optional;
 
 public interface ConverterService {
   Docx2Html getConvertedObject(String fileName);
+
+  Docx2Html getConvertedObject(String fileName, String imageUrlPrefix);
+
+  Optional<DocxImagePart> getImage(String fileName, String imageUrlPrefix, String imageName);
 }
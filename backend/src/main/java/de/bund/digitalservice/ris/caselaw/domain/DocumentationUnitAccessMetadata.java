@@ -0,0 +1,25 @@
+package de.bund.digitalservice.ris.caselaw.domain;
+
+import java.util.UUID;
+import lombok.Builder;
+
+/**
+ * The values of a documentation unit needed to check the access rights of a user. They can be
+ * loaded without loading and transforming the complete documentation unit.
+ *
+ * @param uuid the id of the documentation unit
+ * @param documentNumber the document number
+ * @param documentationOffice the responsible documentation office
+ * @param creatingDocumentationOffice the documentation office which created the documentation
+ *     unit, if it was created for another documentation office
+ * @param status the current status
+ * @param procedureUserGroupId the id of the user group the current procedure is assigned to
+ */
+@Builder(toBuilder = true)
+public record DocumentationUnitAccessMetadata(
+    UUID uuid,
+    String documentNumber,
+    DocumentationOffice documentationOffice,
+    DocumentationOffice creatingDocumentationOffice,
+    Status status,
+    UUID procedureUserGroupId) {}
@@ -1,8 +1,12 @@
 package de.bund.digitalservice.ris.caselaw.domain;
 
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
+import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitVersionConflictException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -51,6 +55,31 @@ public interface DocumentationUnitRepository {
    */
   void save(Documentable documentationUnit);
 
+  /**
+   * Update a documentation unit including its keywords, fields of law and procedures. The
+   * documentation unit is loaded once and all changes are written in one transaction.
+   *
+   * @param documentationUnit the documentation unit with the changes to save
+   * @return the saved documentation unit
+   * @throws DocumentationUnitNotExistsException if the documentation unit doesn't exist
+   */
+  Documentable update(Documentable documentationUnit) throws DocumentationUnitNotExistsException;
+
+  /**
+   * Update a documentation unit like {@link #update(Documentable)}, but only if it wasn't changed
+   * since the expected version (optimistic lock). The version of the documentation unit is the new
+   * version.
+   *
+   * @param documentationUnit the documentation unit with the changes and the new version
+   * @param expectedVersion the version the changes are based on
+   * @return the saved documentation unit
+   * @throws DocumentationUnitNotExistsException if the documentation unit doesn't exist
+   * @throws DocumentationUnitVersionConflictException if the stored version isn't the expected
+   *     version
+   */
+  Documentable update(DocumentationUnit documentationUnit, Long expectedVersion)
+      throws DocumentationUnitNotExistsException;
+
   /**
    * Save the keywords of a documentation unit
    *
@@ -79,6 +108,32 @@ public interface DocumentationUnitRepository {
    */
   void saveLastPublicationDateTime(UUID uuid);
 
+  /**
+   * Find the values of a documentation unit needed for access checks by its UUID
+   *
+   * @param uuid the UUID of the documentation unit
+   * @return the access metadata or an empty optional, if the documentation unit doesn't exist
+   */
+  Optional<DocumentationUnitAccessMetadata> findAccessMetadataByUuid(UUID uuid);
+
+  /**
+   * Find the values of a documentation unit needed for access checks by its document number
+   *
+   * @param documentNumber the document number of the documentation unit
+   * @return the access metadata or an empty optional, if the documentation unit doesn't exist
+   */
+  Optional<DocumentationUnitAccessMetadata> findAccessMetadataByDocumentNumber(
+      String documentNumber);
+
+  /**
+   * Find the documentation units, whose current procedure is assigned to the given user group
+   *
+   * @param documentationUnitIds the UUIDs of the documentation units to check
+   * @param userGroupId the UUID of the user group
+   * @return the UUIDs of the given documentation units, which are assigned to the user group
+   */
+  Set<UUID> findIdsAssignedToUserGroup(Collection<UUID> documentationUnitIds, UUID userGroupId);
+
   /**
    * Delete a documentation unit
    *
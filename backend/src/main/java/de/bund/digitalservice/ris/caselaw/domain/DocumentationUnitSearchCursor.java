@@ -0,0 +1,92 @@
+package de.bund.digitalservice.ris.caselaw.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position in the result list of the documentation unit search (keyset pagination). Contains the
+ * sort values of the last loaded entry. The next page starts with the entry after it.
+ *
+ * @param scheduledPublicationDateTime the scheduled publication date of the last loaded entry
+ * @param lastPublicationDateTime the last publication date of the last loaded entry
+ * @param decisionDate the decision date of the last loaded entry
+ * @param uuid the id of the last loaded entry
+ */
+public record DocumentationUnitSearchCursor(
+    LocalDateTime scheduledPublicationDateTime,
+    LocalDateTime lastPublicationDateTime,
+    LocalDate decisionDate,
+    UUID uuid) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Create the cursor pointing to the given search result.
+   *
+   * @param listItem the last loaded search result
+   * @return the cursor to load the search results after the given one
+   */
+  public static DocumentationUnitSearchCursor of(DocumentationUnitListItem listItem) {
+    return new DocumentationUnitSearchCursor(
+        listItem.scheduledPublicationDateTime(),
+        listItem.lastPublicationDateTime(),
+        listItem.decisionDate(),
+        listItem.uuid());
+  }
+
+  /**
+   * Encode the cursor to an opaque string, which can be passed to the client.
+   *
+   * @return the url safe encoded cursor
+   */
+  public String encode() {
+    String value =
+        String.join(
+            SEPARATOR,
+            toString(scheduledPublicationDateTime),
+            toString(lastPublicationDateTime),
+            toString(decisionDate),
+            uuid.toString());
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a cursor created by {@link #encode()}.
+   *
+   * @param cursor the encoded cursor
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the given string isn't a valid cursor
+   */
+  public static DocumentationUnitSearchCursor decode(String cursor) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = value.split("\\|", -1);
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+      }
+
+      return new DocumentationUnitSearchCursor(
+          parse(parts[0], LocalDateTime::parse),
+          parse(parts[1], LocalDateTime::parse),
+          parse(parts[2], LocalDate::parse),
+          UUID.fromString(parts[3]));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid search cursor: " + cursor, e);
+    }
+  }
+
+  private static String toString(Object value) {
+    return value == null ? "" : value.toString();
+  }
+
+  private static <T> T parse(String value, Function<String, T> parser) {
+    return value.isEmpty() ? null : parser.apply(value);
+  }
+}
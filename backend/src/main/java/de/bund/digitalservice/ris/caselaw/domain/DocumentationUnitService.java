@@ -8,10 +8,12 @@ import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitDele
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitPatchException;
+import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitVersionConflictException;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +34,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class DocumentationUnitService {
 
+  /** Attempts of a patch update, if the documentation unit is changed in parallel */
+  private static final int MAX_PATCH_UPDATE_ATTEMPTS = 3;
+
   private final DocumentationUnitRepository repository;
   private final DocumentNumberService documentNumberService;
   private final DocumentationUnitStatusService statusService;
@@ -40,6 +46,7 @@ public class DocumentationUnitService {
   private final AuthService authService;
   private final Validator validator;
   private final DuplicateCheckService duplicateCheckService;
+  private final DocumentationUnitService self;
   private static final List<String> pathsForDuplicateCheck =
       List.of(
           "/coreData/ecli",
@@ -60,7 +67,8 @@ public class DocumentationUnitService {
       AttachmentService attachmentService,
       @Lazy AuthService authService,
       PatchMapperService patchMapperService,
-      DuplicateCheckService duplicateCheckService) {
+      DuplicateCheckService duplicateCheckService,
+      @Lazy DocumentationUnitService self) {
 
     this.repository = repository;
     this.documentNumberService = documentNumberService;
@@ -71,6 +79,7 @@ public class DocumentationUnitService {
     this.statusService = statusService;
     this.authService = authService;
     this.duplicateCheckService = duplicateCheckService;
+    this.self = self;
   }
 
   @Transactional(transactionManager = "jpaTransactionManager")
@@ -123,7 +132,7 @@ public class DocumentationUnitService {
     var newDocumentationUnit =
         repository.createNewDocumentationUnit(docUnit, status, params.reference());
 
-    duplicateCheckService.checkDuplicates(docUnit.documentNumber());
+    enqueueDuplicateCheck(docUnit.documentNumber());
     return newDocumentationUnit;
   }
 
@@ -151,6 +160,45 @@ public class DocumentationUnitService {
       Optional<Boolean> myDocOfficeOnly,
       Optional<Boolean> withDuplicateWarning) {
 
+    return searchByDocumentationUnitSearchInput(
+        pageable,
+        oidcUser,
+        documentNumber,
+        fileNumber,
+        courtType,
+        courtLocation,
+        decisionDate,
+        decisionDateEnd,
+        publicationDate,
+        scheduledOnly,
+        publicationStatus,
+        withError,
+        myDocOfficeOnly,
+        withDuplicateWarning,
+        Optional.empty());
+  }
+
+  /**
+   * Search for documentation units. If a cursor is given, the result starts after the entry the
+   * cursor points to (keyset pagination) and the page number of the pageable is ignored.
+   */
+  public Slice<DocumentationUnitListItem> searchByDocumentationUnitSearchInput(
+      Pageable pageable,
+      OidcUser oidcUser,
+      Optional<String> documentNumber,
+      Optional<String> fileNumber,
+      Optional<String> courtType,
+      Optional<String> courtLocation,
+      Optional<LocalDate> decisionDate,
+      Optional<LocalDate> decisionDateEnd,
+      Optional<LocalDate> publicationDate,
+      Optional<Boolean> scheduledOnly,
+      Optional<String> publicationStatus,
+      Optional<Boolean> withError,
+      Optional<Boolean> myDocOfficeOnly,
+      Optional<Boolean> withDuplicateWarning,
+      Optional<DocumentationUnitSearchCursor> cursor) {
+
     DocumentationUnitSearchInput searchInput =
         DocumentationUnitSearchInput.builder()
             .documentNumber(normalizeSpace(documentNumber.orElse(null)))
@@ -171,6 +219,7 @@ public class DocumentationUnitService {
                     : null)
             .myDocOfficeOnly(myDocOfficeOnly.orElse(false))
             .withDuplicateWarning(withDuplicateWarning.orElse(false))
+            .cursor(cursor.orElse(null))
             .build();
 
     Slice<DocumentationUnitListItem> documentationUnitListItems =
@@ -179,7 +228,10 @@ public class DocumentationUnitService {
             oidcUser,
             searchInput);
 
-    return documentationUnitListItems.map(item -> addPermissions(oidcUser, item));
+    return new SliceImpl<>(
+        authService.addPermissions(oidcUser, documentationUnitListItems.getContent()),
+        documentationUnitListItems.getPageable(),
+        documentationUnitListItems.hasNext());
   }
 
   public DocumentationUnitListItem takeOverDocumentationUnit(
@@ -189,31 +241,48 @@ public class DocumentationUnitService {
         documentNumber,
         Status.builder().publicationStatus(PublicationStatus.UNPUBLISHED).withError(false).build());
 
-    return addPermissions(
-        oidcUser, repository.findDocumentationUnitListItemByDocumentNumber(documentNumber));
+    DocumentationUnitListItem listItem =
+        repository.findDocumentationUnitListItemByDocumentNumber(documentNumber);
+    return authService.addPermissions(oidcUser, List.of(listItem)).getFirst();
   }
 
   public void setPublicationDateTime(UUID uuid) {
     repository.saveLastPublicationDateTime(uuid);
   }
 
-  private DocumentationUnitListItem addPermissions(
-      OidcUser oidcUser, DocumentationUnitListItem listItem) {
+  /**
+   * Get the values of a documentation unit needed for access checks, without loading the complete
+   * documentation unit
+   *
+   * @param uuid the UUID of the documentation unit
+   * @return the access metadata or an empty optional, if the documentation unit doesn't exist
+   */
+  public Optional<DocumentationUnitAccessMetadata> getAccessMetadataByUuid(UUID uuid) {
+    return repository.findAccessMetadataByUuid(uuid);
+  }
 
-    boolean hasWriteAccess =
-        authService.userHasWriteAccess(
-            oidcUser,
-            listItem.creatingDocumentationOffice(),
-            listItem.documentationOffice(),
-            listItem.status());
-    boolean isInternalUser = authService.userIsInternal().apply(oidcUser);
-
-    return listItem.toBuilder()
-        .isDeletable(hasWriteAccess && isInternalUser)
-        .isEditable(
-            (hasWriteAccess
-                && (isInternalUser || authService.isAssignedViaProcedure().apply(listItem.uuid()))))
-        .build();
+  /**
+   * Get the values of a documentation unit needed for access checks, without loading the complete
+   * documentation unit
+   *
+   * @param documentNumber the document number of the documentation unit
+   * @return the access metadata or an empty optional, if the documentation unit doesn't exist
+   */
+  public Optional<DocumentationUnitAccessMetadata> getAccessMetadataByDocumentNumber(
+      String documentNumber) {
+    return repository.findAccessMetadataByDocumentNumber(documentNumber);
+  }
+
+  /**
+   * Get the documentation units, whose current procedure is assigned to the given user group
+   *
+   * @param documentationUnitIds the UUIDs of the documentation units to check
+   * @param userGroupId the UUID of the user group
+   * @return the UUIDs of the given documentation units, which are assigned to the user group
+   */
+  public Set<UUID> getIdsAssignedToUserGroup(
+      Collection<UUID> documentationUnitIds, UUID userGroupId) {
+    return repository.findIdsAssignedToUserGroup(documentationUnitIds, userGroupId);
   }
 
   public Documentable getByDocumentNumber(String documentNumber)
@@ -296,6 +365,33 @@ public class DocumentationUnitService {
   public RisJsonPatch updateDocumentationUnit(UUID documentationUnitId, RisJsonPatch patch)
       throws DocumentationUnitNotExistsException, DocumentationUnitPatchException {
 
+    for (int attempt = 1; ; attempt++) {
+      try {
+        // every attempt runs in an own transaction
+        return self.tryUpdateDocumentationUnit(documentationUnitId, patch);
+      } catch (DocumentationUnitVersionConflictException e) {
+        if (attempt >= MAX_PATCH_UPDATE_ATTEMPTS) {
+          throw new DocumentationUnitPatchException("Couldn't update documentation unit", e);
+        }
+        // another update was saved in the meantime: merge again with its stored patch
+        log.debug(
+            "retry update of documentation unit '{}': {}", documentationUnitId, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Merge the patch with the stored documentation unit and its patches and save the result, if
+   * the documentation unit wasn't changed in the meantime. The new version and its patch are
+   * committed together, so every request which loads the new version also finds its patch.
+   *
+   * @throws DocumentationUnitVersionConflictException if the documentation unit was updated by
+   *     another request after it was loaded, nothing of the update is saved then
+   */
+  @Transactional(transactionManager = "jpaTransactionManager")
+  RisJsonPatch tryUpdateDocumentationUnit(UUID documentationUnitId, RisJsonPatch patch)
+      throws DocumentationUnitNotExistsException {
+
     /*
      next iteration:
        * handle add operation with null values (remove of values from two users at the same time)
@@ -314,9 +410,31 @@ public class DocumentationUnitService {
       newVersion = existingDocumentationUnit.version() + 1;
     }
 
+    if (patchMapperService.requiresFullReload(
+        patch.documentationUnitVersion(), existingDocumentationUnit.version())) {
+      // The patches since the version of the client are compacted. The changes of the client are
+      // based on an outdated version, so they are rejected and the client gets the whole unit.
+      log.debug(
+          "documentation unit '{}' with outdated version '{}' gets a full reload",
+          documentationUnitId,
+          patch.documentationUnitVersion());
+      List<String> errorPaths =
+          patch.patch().getOperations().stream()
+              .map(JsonPatchOperation::getPath)
+              .filter(path -> !path.equals("/version"))
+              .distinct()
+              .toList();
+      return new RisJsonPatch(
+          existingDocumentationUnit.version(),
+          patchMapperService.getFullReloadPatch(existingDocumentationUnit),
+          errorPaths);
+    }
+
     JsonPatch newPatch =
         patchMapperService.calculatePatch(
-            existingDocumentationUnit.uuid(), patch.documentationUnitVersion());
+            existingDocumentationUnit.uuid(),
+            patch.documentationUnitVersion(),
+            existingDocumentationUnit.version());
 
     if (!patch.patch().getOperations().isEmpty() || !newPatch.getOperations().isEmpty()) {
       log.debug(
@@ -344,7 +462,10 @@ public class DocumentationUnitService {
         DuplicateCheckStatus duplicateCheckStatus = getDuplicateCheckStatus(patch);
 
         DocumentationUnit updatedDocumentationUnit =
-            updateDocumentationUnit(patchedDocumentationUnit, duplicateCheckStatus);
+            checkDuplicates(
+                patchedDocumentationUnit,
+                repository.update(patchedDocumentationUnit, existingDocumentationUnit.version()),
+                duplicateCheckStatus);
 
         toFrontendJsonPatch =
             patchMapperService.getDiffPatch(patchedDocumentationUnit, updatedDocumentationUnit);
@@ -405,21 +526,29 @@ public class DocumentationUnitService {
   public DocumentationUnit updateDocumentationUnit(
       DocumentationUnit documentationUnit, DuplicateCheckStatus duplicateCheckStatus)
       throws DocumentationUnitNotExistsException {
-    repository.saveKeywords(documentationUnit);
-    repository.saveFieldsOfLaw(documentationUnit);
-    repository.saveProcedures(documentationUnit);
-
-    repository.save(documentationUnit);
+    return checkDuplicates(
+        documentationUnit, repository.update(documentationUnit), duplicateCheckStatus);
+  }
 
+  private DocumentationUnit checkDuplicates(
+      DocumentationUnit documentationUnit,
+      Documentable updatedDocumentationUnit,
+      DuplicateCheckStatus duplicateCheckStatus) {
     if (duplicateCheckStatus == DuplicateCheckStatus.ENABLED) {
-      try {
-        duplicateCheckService.checkDuplicates(documentationUnit.documentNumber());
-      } catch (Exception e) {
-        // Errors in duplicate check should not affect saving, logging in service
-      }
+      // the duplicate relations are updated asynchronously and loaded with the next reload
+      enqueueDuplicateCheck(documentationUnit.documentNumber());
     }
 
-    return (DocumentationUnit) repository.findByUuid(documentationUnit.uuid());
+    return (DocumentationUnit) updatedDocumentationUnit;
+  }
+
+  private void enqueueDuplicateCheck(String documentNumber) {
+    try {
+      duplicateCheckService.enqueueDuplicateCheck(documentNumber);
+    } catch (Exception e) {
+      // Errors in duplicate check should not affect saving
+      log.error("Could not enqueue duplicate check for doc unit {}", documentNumber, e);
+    }
   }
 
   public Slice<RelatedDocumentationUnit> searchLinkableDocumentationUnits(
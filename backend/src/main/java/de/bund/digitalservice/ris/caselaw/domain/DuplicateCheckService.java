@@ -5,8 +5,26 @@ import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotE
 public interface DuplicateCheckService {
   void checkDuplicates(String docNumber);
 
+  /**
+   * Request an asynchronous duplicate check of the documentation unit. Repeated requests within a
+   * short time are collapsed into one check.
+   *
+   * @param docNumber the document number of the documentation unit
+   */
+  void enqueueDuplicateCheck(String docNumber);
+
+  void checkChangedDuplicates();
+
   void checkAllDuplicates();
 
+  /**
+   * Start the rebuild of all duplicate relations in the background.
+   *
+   * @return false, if the rebuild isn't started, because another update of the duplicate relations
+   *     is running
+   */
+  boolean startCheckAllDuplicates();
+
   String updateDuplicateStatus(
       String docNumberOrigin, String docNumberDuplicate, DuplicateRelationStatus status)
       throws DocumentationUnitNotExistsException;
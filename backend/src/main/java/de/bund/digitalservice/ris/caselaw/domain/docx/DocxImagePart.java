@@ -3,7 +3,19 @@ package de.bund.digitalservice.ris.caselaw.domain.docx;
 import java.util.Arrays;
 import java.util.Objects;
 
-public record DocxImagePart(String contentType, byte[] bytes) {
+/**
+ * Image of a docx file.
+ *
+ * @param contentType content type of the image
+ * @param bytes bytes of the image
+ * @param eTag ETag of the bytes, set if the image is extracted to be served by url, else null
+ */
+public record DocxImagePart(String contentType, byte[] bytes, String eTag) {
+  public DocxImagePart(String contentType, byte[] bytes) {
+    this(contentType, bytes, null);
+  }
+
+  /** The ETag is computed from the bytes, so it isn't compared. */
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -31,6 +43,9 @@ public record DocxImagePart(String contentType, byte[] bytes) {
         + '\''
         + ", bytes="
         + Arrays.toString(bytes)
+        + ", eTag='"
+        + eTag
+        + '\''
         + '}';
   }
 }
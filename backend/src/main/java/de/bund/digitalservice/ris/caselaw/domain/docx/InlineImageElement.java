@@ -5,6 +5,7 @@ import java.awt.Dimension;
 public class InlineImageElement extends StyledElement implements RunElement {
   private String contentType;
   private String base64Representation;
+  private String url;
   private String alternateText;
   private Dimension size;
 
@@ -24,6 +25,20 @@ public class InlineImageElement extends StyledElement implements RunElement {
     this.base64Representation = base64Representation;
   }
 
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Set the url of the image. If set, the html references the image by the url instead of
+   * embedding the base64 representation.
+   *
+   * @param url url of the image
+   */
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
   public String getAlternateText() {
     return alternateText;
   }
@@ -42,15 +57,13 @@ public class InlineImageElement extends StyledElement implements RunElement {
 
   @Override
   public String toHtmlString() {
-    if (contentType == null || base64Representation == null) {
+    if (contentType == null || (base64Representation == null && url == null)) {
       return "<span style=\"color: #FF0000;\">no image information</span>";
     }
 
     String html =
-        "<img src=\"data:"
-            + contentType
-            + ";base64, "
-            + base64Representation
+        "<img src=\""
+            + (url != null ? url : "data:" + contentType + ";base64, " + base64Representation)
             + "\""
             + (alternateText != null ? " alt=\"" + alternateText + "\"" : "");
 
@@ -1,11 +1,13 @@
 package de.bund.digitalservice.ris.caselaw.domain.docx;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ParagraphElement extends TextElement {
   private boolean clearfix;
   private List<RunElement> runElements = new ArrayList<>();
+  private String text;
 
   public void setAlignment(String alignment) {
     addStyle("text-align", alignment);
@@ -17,14 +19,20 @@ public class ParagraphElement extends TextElement {
 
   public void addRunElement(RunElement element) {
     this.runElements.add(element);
+    this.text = null;
   }
 
+  /**
+   * @return unmodifiable view of the run elements, change them by {@link
+   *     #addRunElement(RunElement)} or {@link #setRunElements(List)} to reset the text
+   */
   public List<RunElement> getRunElements() {
-    return runElements;
+    return Collections.unmodifiableList(runElements);
   }
 
   public void setRunElements(List<RunElement> runElements) {
-    this.runElements = runElements;
+    this.runElements = new ArrayList<>(runElements);
+    this.text = null;
   }
 
   @Override
@@ -45,13 +53,23 @@ public class ParagraphElement extends TextElement {
     return sb.toString();
   }
 
+  /**
+   * Get the text of all text run elements. The text is computed once and reset if the run elements
+   * are changed.
+   *
+   * @return the text of the paragraph
+   */
   public String getText() {
-    StringBuilder text = new StringBuilder();
-
-    runElements.stream()
-        .filter(RunTextElement.class::isInstance)
-        .forEach(runElement -> text.append(((RunTextElement) runElement).getText()));
+    if (text == null) {
+      StringBuilder sb = new StringBuilder();
+      for (RunElement runElement : runElements) {
+        if (runElement instanceof RunTextElement runTextElement) {
+          sb.append(runTextElement.getText());
+        }
+      }
+      text = sb.toString();
+    }
 
-    return text.toString();
+    return text;
   }
 }
@@ -42,6 +42,11 @@ public abstract class StyledElement implements DocumentationUnitDocx {
     return styles.containsKey(property);
   }
 
+  public boolean containsStyle(String property, String value) {
+    List<String> values = styles.get(property);
+    return values != null && values.contains(value);
+  }
+
   public boolean hasStyle() {
     return !styles.isEmpty();
   }
@@ -0,0 +1,18 @@
+package de.bund.digitalservice.ris.caselaw.domain.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception if a documentation unit couldn't be updated, because it was changed in the meantime by
+ * another update (optimistic lock).
+ */
+public class DocumentationUnitVersionConflictException extends RuntimeException {
+
+  public DocumentationUnitVersionConflictException(UUID documentationUnitId, Long expectedVersion) {
+    super(
+        "Documentation unit "
+            + documentationUnitId
+            + " was changed in the meantime. Expected version: "
+            + expectedVersion);
+  }
+}
@@ -15,9 +15,29 @@ public interface PatchMapperService {
    *
    * @param uuid id of the documentation unit
    * @param documentationUnitVersion version of the documentation in the client (frontend)
+   * @param currentVersion current version of the documentation unit in the database
    * @return a patch with for the client relevant operations
    */
-  JsonPatch calculatePatch(UUID uuid, Long documentationUnitVersion);
+  JsonPatch calculatePatch(UUID uuid, Long documentationUnitVersion, Long currentVersion);
+
+  /**
+   * Check if the patches since the version of the client (frontend) could already be removed by
+   * the compaction of the patches. Then the client has to get the whole documentation unit.
+   *
+   * @param documentationUnitVersion version of the documentation in the client (frontend)
+   * @param currentVersion current version of the documentation unit in the database
+   * @return true if the version of the client is older than the retained patches
+   */
+  boolean requiresFullReload(Long documentationUnitVersion, Long currentVersion);
+
+  /**
+   * Generate a patch which sets every property of the client (frontend) to the value of the
+   * existing documentation unit.
+   *
+   * @param existingDocumentationUnit documentation unit in the database
+   * @return patch with an add operation for every property
+   */
+  JsonPatch getFullReloadPatch(DocumentationUnit existingDocumentationUnit);
 
   /**
    * Handle operations which are in both patch. Remove all operation with the same path from the
@@ -0,0 +1,14 @@
+-- Duplicate checks requested by saves of documentation units. Repeated requests for the same
+-- documentation unit are collapsed into one row, which is deleted after the check.
+CREATE TABLE IF NOT EXISTS duplicate_check_queue
+(
+    document_number VARCHAR(255)             NOT NULL PRIMARY KEY,
+    enqueue_count   BIGINT                   NOT NULL DEFAULT 1,
+    enqueued_at     TIMESTAMP WITH TIME ZONE NOT NULL,
+    due_at          TIMESTAMP WITH TIME ZONE NOT NULL,
+    claimed_until   TIMESTAMP WITH TIME ZONE,
+    attempts        INTEGER                  NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS duplicate_check_queue_due_at_idx
+    ON duplicate_check_queue (due_at);
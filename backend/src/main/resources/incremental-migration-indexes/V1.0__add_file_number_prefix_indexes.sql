@@ -0,0 +1,9 @@
+-- Support the prefix search (upper(value) LIKE 'PREFIX%') of the documentation unit search by
+-- file number and deviating file number. The indexes are built concurrently, so that the saves
+-- aren't blocked while the large tables are indexed. CONCURRENTLY can't run in a transaction, so
+-- the migration is configured with executeInTransaction=false in its .sql.conf file.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS file_number_upper_value_prefix_idx
+    ON incremental_migration.file_number (upper(value) text_pattern_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS deviating_file_number_upper_value_prefix_idx
+    ON incremental_migration.deviating_file_number (upper(value) text_pattern_ops);
@@ -0,0 +1,5 @@
+-- Support the lookup of the patches since the version of a client and the compaction of the
+-- patches per documentation unit version. Built concurrently like the indexes of V1.0.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS documentation_unit_patch_documentation_unit_id_version_idx
+    ON incremental_migration.documentation_unit_patch
+        (documentation_unit_id, documentation_unit_version);
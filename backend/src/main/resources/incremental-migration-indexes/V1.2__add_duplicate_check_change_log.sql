@@ -0,0 +1,198 @@
+-- Change log of the identifying fields of the duplicate check (file numbers, dates, courts, ECLIs
+-- and the jDV duplicate check flag). Written by triggers, so that changes of this service and of
+-- the migration are logged. The nightly duplicate check only updates the duplicate relations of
+-- the logged documentation units.
+CREATE TABLE IF NOT EXISTS incremental_migration.duplicate_check_change
+(
+    id                    BIGSERIAL PRIMARY KEY,
+    documentation_unit_id UUID                     NOT NULL,
+    changed_at            TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS duplicate_check_change_documentation_unit_id_idx
+    ON incremental_migration.duplicate_check_change (documentation_unit_id);
+
+-- Logs one change per distinct documentation unit
+CREATE OR REPLACE FUNCTION incremental_migration.log_duplicate_check_units(unit_ids UUID[])
+    RETURNS VOID AS
+$$
+BEGIN
+    INSERT INTO incremental_migration.duplicate_check_change (documentation_unit_id)
+    SELECT DISTINCT unit_id
+    FROM unnest(unit_ids) AS unit_id
+    WHERE unit_id IS NOT NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement level trigger with the transition tables new_rows and old_rows, so that a statement
+-- with many rows logs every documentation unit once. The first argument is the column with the
+-- id of the documentation unit, the second argument the compared columns of an update. The
+-- transition tables can't be combined with several events or a WHEN condition, so every event
+-- has its own trigger.
+CREATE OR REPLACE FUNCTION incremental_migration.log_duplicate_check_changes()
+    RETURNS TRIGGER AS
+$$
+DECLARE
+    unit_ids UUID[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        EXECUTE format('SELECT ARRAY_AGG(DISTINCT %I) FROM new_rows', TG_ARGV[0]) INTO unit_ids;
+    ELSIF TG_OP = 'DELETE' THEN
+        EXECUTE format('SELECT ARRAY_AGG(DISTINCT %I) FROM old_rows', TG_ARGV[0]) INTO unit_ids;
+    ELSE
+        -- Rows, whose compared columns are unchanged, are in both transition tables
+        EXECUTE format('SELECT ARRAY_AGG(DISTINCT unit_id) '
+                           || 'FROM ((SELECT %1$I AS unit_id, %2$s FROM new_rows '
+                           || 'EXCEPT SELECT %1$I, %2$s FROM old_rows) '
+                           || 'UNION ALL (SELECT %1$I, %2$s FROM old_rows '
+                           || 'EXCEPT SELECT %1$I, %2$s FROM new_rows)) changed_rows',
+                       TG_ARGV[0], TG_ARGV[1]) INTO unit_ids;
+    END IF;
+
+    IF unit_ids IS NOT NULL THEN
+        PERFORM incremental_migration.log_duplicate_check_units(unit_ids);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER documentation_unit_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.documentation_unit
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('id');
+
+CREATE OR REPLACE TRIGGER documentation_unit_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.documentation_unit
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes(
+        'id', 'date, court_id, duplicate_check');
+
+CREATE OR REPLACE TRIGGER decision_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.decision
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('id');
+
+CREATE OR REPLACE TRIGGER decision_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.decision
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('id', 'ecli');
+
+-- The values of the documentation unit, which are stored in own tables
+CREATE OR REPLACE TRIGGER file_number_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.file_number
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER file_number_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.file_number
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes(
+        'documentation_unit_id', 'value');
+
+CREATE OR REPLACE TRIGGER file_number_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.file_number
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_file_number_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.deviating_file_number
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_file_number_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.deviating_file_number
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes(
+        'documentation_unit_id', 'value');
+
+CREATE OR REPLACE TRIGGER deviating_file_number_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.deviating_file_number
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_date_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.deviating_date
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_date_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.deviating_date
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes(
+        'documentation_unit_id', 'value');
+
+CREATE OR REPLACE TRIGGER deviating_date_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.deviating_date
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_court_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.deviating_court
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_court_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.deviating_court
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes(
+        'documentation_unit_id', 'value');
+
+CREATE OR REPLACE TRIGGER deviating_court_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.deviating_court
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_ecli_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.deviating_ecli
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
+
+CREATE OR REPLACE TRIGGER deviating_ecli_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.deviating_ecli
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes(
+        'documentation_unit_id', 'value');
+
+CREATE OR REPLACE TRIGGER deviating_ecli_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.deviating_ecli
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('documentation_unit_id');
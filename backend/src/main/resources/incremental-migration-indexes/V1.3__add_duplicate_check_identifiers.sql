@@ -0,0 +1,320 @@
+-- Normalized identifiers of the documentation units for the duplicate check: one row per
+-- documentation unit, kind and value. Kinds:
+--   FILE_NUMBER:              file numbers
+--   DEVIATING_FILE_NUMBER:    deviating file numbers
+--   DATE:                     decision date and deviating dates
+--   COURT:                    id of the court
+--   SEARCHED_DEVIATING_COURT: id of the court found by the court search for a deviating court,
+--                             only if the search is unique (check on save)
+--   MATCHED_DEVIATING_COURT:  id of the courts with the label of a deviating court (full check)
+--   COURT_LABEL:              label of the court
+--   DEVIATING_COURT_LABEL:    deviating courts
+--   ECLI:                     ECLI and deviating ECLIs
+CREATE TABLE IF NOT EXISTS incremental_migration.duplicate_check_identifier
+(
+    documentation_unit_id UUID NOT NULL,
+    kind                  TEXT NOT NULL,
+    value                 TEXT NOT NULL,
+    PRIMARY KEY (documentation_unit_id, kind, value)
+);
+
+CREATE INDEX IF NOT EXISTS duplicate_check_identifier_kind_value_idx
+    ON incremental_migration.duplicate_check_identifier (kind, value, documentation_unit_id);
+
+-- Number of rows per file number value. File numbers as "XX" occur too often to be considered
+-- for duplicates. The check on save groups the values by UPPER(TRIM(value)), the full check
+-- uses the value as is. The triggers only append the changed counts without updating existing
+-- rows, so that concurrent saves don't lock each other on frequent values. The count of a value
+-- is the sum of its rows, the nightly duplicate check compacts the rows.
+CREATE TABLE IF NOT EXISTS incremental_migration.duplicate_check_file_number_frequency
+(
+    value TEXT    NOT NULL,
+    count INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS duplicate_check_file_number_frequency_value_idx
+    ON incremental_migration.duplicate_check_file_number_frequency (value);
+
+CREATE INDEX IF NOT EXISTS duplicate_check_file_number_frequency_normalized_value_idx
+    ON incremental_migration.duplicate_check_file_number_frequency (UPPER(TRIM(value)));
+
+CREATE OR REPLACE VIEW incremental_migration.duplicate_check_identifier_source AS
+SELECT documentation_unit_id, 'FILE_NUMBER' AS kind, UPPER(value) AS value
+FROM incremental_migration.file_number
+UNION ALL
+SELECT documentation_unit_id, 'DEVIATING_FILE_NUMBER', UPPER(value)
+FROM incremental_migration.deviating_file_number
+UNION ALL
+SELECT id, 'DATE', CAST(date AS TEXT)
+FROM incremental_migration.documentation_unit
+UNION ALL
+SELECT documentation_unit_id, 'DATE', CAST(value AS TEXT)
+FROM incremental_migration.deviating_date
+UNION ALL
+SELECT id, 'COURT', CAST(court_id AS TEXT)
+FROM incremental_migration.documentation_unit
+UNION ALL
+-- The label of the deviating court must be unique to be considered
+SELECT deviating_court.documentation_unit_id,
+       'SEARCHED_DEVIATING_COURT',
+       CAST((ARRAY_AGG(DISTINCT court.id))[1] AS TEXT)
+FROM incremental_migration.deviating_court
+         JOIN incremental_migration.court
+              ON UPPER(CONCAT(court.type, ' ', court.location))
+                  LIKE UPPER('%' || deviating_court.value || '%')
+GROUP BY deviating_court.documentation_unit_id, deviating_court.id
+HAVING COUNT(DISTINCT court.id) = 1
+UNION ALL
+SELECT deviating_court.documentation_unit_id, 'MATCHED_DEVIATING_COURT', CAST(court.id AS TEXT)
+FROM incremental_migration.deviating_court
+         JOIN incremental_migration.court
+              ON UPPER(deviating_court.value) = (
+                  CASE
+                      WHEN court.is_superior_court = true THEN UPPER(court.type)
+                      ELSE UPPER(CONCAT(court.type, ' ', court.location))
+                      END)
+UNION ALL
+-- If doc unit A has deviating court "AG Aachen" (string)
+-- and doc unit B court "AG Aachen" (object) -> should still lead to a duplicate warning.
+SELECT documentation_unit.id, 'COURT_LABEL', UPPER(CONCAT(court.type, ' ' || court.location))
+FROM incremental_migration.documentation_unit
+         JOIN incremental_migration.court ON court.id = documentation_unit.court_id
+UNION ALL
+SELECT documentation_unit_id, 'DEVIATING_COURT_LABEL', UPPER(value)
+FROM incremental_migration.deviating_court
+UNION ALL
+SELECT id, 'ECLI', UPPER(ecli)
+FROM incremental_migration.decision
+UNION ALL
+SELECT documentation_unit_id, 'ECLI', UPPER(value)
+FROM incremental_migration.deviating_ecli;
+
+
+-- Synchronize the identifiers of the documentation units with the source tables
+CREATE OR REPLACE FUNCTION incremental_migration.refresh_duplicate_check_identifiers(
+    unit_ids UUID[])
+    RETURNS VOID AS
+$$
+BEGIN
+    WITH current_identifiers AS (
+        SELECT DISTINCT documentation_unit_id, kind, value
+        FROM incremental_migration.duplicate_check_identifier_source
+        WHERE documentation_unit_id = ANY (unit_ids)
+          AND value IS NOT NULL),
+         deleted AS (
+             DELETE FROM incremental_migration.duplicate_check_identifier identifier
+                 WHERE identifier.documentation_unit_id = ANY (unit_ids)
+                     AND NOT EXISTS (SELECT 1
+                                     FROM current_identifiers
+                                     WHERE current_identifiers.documentation_unit_id =
+                                           identifier.documentation_unit_id
+                                       AND current_identifiers.kind = identifier.kind
+                                       AND current_identifiers.value = identifier.value))
+    INSERT
+    INTO incremental_migration.duplicate_check_identifier (documentation_unit_id, kind, value)
+    SELECT documentation_unit_id, kind, value
+    FROM current_identifiers
+    ON CONFLICT DO NOTHING;
+END;
+$$ LANGUAGE plpgsql;
+
+-- The triggers of the duplicate check change log refresh the identifiers of the changed
+-- documentation units once per statement, so that they are in sync with every save
+CREATE OR REPLACE FUNCTION incremental_migration.log_duplicate_check_units(unit_ids UUID[])
+    RETURNS VOID AS
+$$
+BEGIN
+    INSERT INTO incremental_migration.duplicate_check_change (documentation_unit_id)
+    SELECT DISTINCT unit_id
+    FROM unnest(unit_ids) AS unit_id
+    WHERE unit_id IS NOT NULL;
+
+    PERFORM incremental_migration.refresh_duplicate_check_identifiers(unit_ids);
+END;
+$$ LANGUAGE plpgsql;
+
+-- The identifiers of a deleted documentation unit have to be removed
+CREATE OR REPLACE TRIGGER documentation_unit_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.documentation_unit
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_changes('id');
+
+-- Appends the changed count of every value of the statement
+CREATE OR REPLACE FUNCTION incremental_migration.count_duplicate_check_file_numbers()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO incremental_migration.duplicate_check_file_number_frequency (value, count)
+        SELECT value, COUNT(*)
+        FROM new_rows
+        WHERE value IS NOT NULL
+        GROUP BY value;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO incremental_migration.duplicate_check_file_number_frequency (value, count)
+        SELECT value, -COUNT(*)
+        FROM old_rows
+        WHERE value IS NOT NULL
+        GROUP BY value;
+    ELSE
+        INSERT INTO incremental_migration.duplicate_check_file_number_frequency (value, count)
+        SELECT value, SUM(count)
+        FROM (SELECT value, 1 AS count
+              FROM new_rows
+              UNION ALL
+              SELECT value, -1
+              FROM old_rows) changed_rows
+        WHERE value IS NOT NULL
+        GROUP BY value
+        HAVING SUM(count) <> 0;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER file_number_duplicate_check_frequency_insert
+    AFTER INSERT
+    ON incremental_migration.file_number
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.count_duplicate_check_file_numbers();
+
+CREATE OR REPLACE TRIGGER file_number_duplicate_check_frequency_update
+    AFTER UPDATE
+    ON incremental_migration.file_number
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.count_duplicate_check_file_numbers();
+
+CREATE OR REPLACE TRIGGER file_number_duplicate_check_frequency_delete
+    AFTER DELETE
+    ON incremental_migration.file_number
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.count_duplicate_check_file_numbers();
+
+-- A changed court changes the court label of its documentation units and the courts matched by
+-- the deviating courts with the old or the new label. The deviating courts are matched once per
+-- statement against the labels of all changed courts.
+CREATE OR REPLACE FUNCTION incremental_migration.log_duplicate_check_court_changes()
+    RETURNS TRIGGER AS
+$$
+DECLARE
+    changed_court_ids UUID[];
+    labels            TEXT[];
+    unit_ids          UUID[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT ARRAY_AGG(UPPER(CONCAT(type, ' ', location))) INTO labels FROM new_rows;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT ARRAY_AGG(UPPER(CONCAT(type, ' ', location))) INTO labels FROM old_rows;
+    ELSE
+        SELECT ARRAY_AGG(id)
+        INTO changed_court_ids
+        FROM (SELECT id, type, location, is_superior_court
+              FROM new_rows
+              EXCEPT
+              SELECT id, type, location, is_superior_court
+              FROM old_rows) changed_courts;
+
+        SELECT ARRAY_AGG(UPPER(CONCAT(type, ' ', location)))
+        INTO labels
+        FROM (SELECT type, location
+              FROM new_rows
+              WHERE id = ANY (changed_court_ids)
+              UNION
+              SELECT type, location
+              FROM old_rows
+              WHERE id = ANY (changed_court_ids)) changed_labels;
+    END IF;
+
+    IF labels IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    SELECT ARRAY_AGG(id)
+    INTO unit_ids
+    FROM (SELECT id
+          FROM incremental_migration.documentation_unit
+          WHERE court_id = ANY (changed_court_ids)
+          UNION
+          -- The label of the search contains the label of the exact match of superior courts
+          SELECT documentation_unit_id
+          FROM incremental_migration.deviating_court
+          WHERE EXISTS (SELECT 1
+                        FROM unnest(labels) AS label
+                        WHERE label LIKE UPPER('%' || value || '%'))) changed_units;
+
+    IF unit_ids IS NOT NULL THEN
+        PERFORM incremental_migration.log_duplicate_check_units(unit_ids);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER court_duplicate_check_insert
+    AFTER INSERT
+    ON incremental_migration.court
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_court_changes();
+
+CREATE OR REPLACE TRIGGER court_duplicate_check_update
+    AFTER UPDATE
+    ON incremental_migration.court
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_court_changes();
+
+CREATE OR REPLACE TRIGGER court_duplicate_check_delete
+    AFTER DELETE
+    ON incremental_migration.court
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION incremental_migration.log_duplicate_check_court_changes();
+
+-- Initial identifiers and file number frequencies of the existing documentation units. Not part
+-- of the migration, because it reads all documentation units and would block the start of the
+-- application. Run once after the deployment outside of a transaction block:
+--   CALL incremental_migration.backfill_duplicate_check_identifiers();
+-- Every batch of documentation units is committed separately. The triggers keep the identifiers
+-- in sync in the meantime, so the procedure can be run again at any time.
+CREATE OR REPLACE PROCEDURE incremental_migration.backfill_duplicate_check_identifiers(
+    batch_size INTEGER DEFAULT 1000)
+AS
+$$
+DECLARE
+    last_unit_id UUID := '00000000-0000-0000-0000-000000000000';
+    unit_ids     UUID[];
+BEGIN
+    -- One statement, so that the appended counts of concurrent saves are either replaced or kept
+    WITH deleted AS (
+        DELETE FROM incremental_migration.duplicate_check_file_number_frequency)
+    INSERT
+    INTO incremental_migration.duplicate_check_file_number_frequency (value, count)
+    SELECT value, COUNT(*)
+    FROM incremental_migration.file_number
+    WHERE value IS NOT NULL
+    GROUP BY value;
+    COMMIT;
+
+    LOOP
+        SELECT ARRAY_AGG(id ORDER BY id)
+        INTO unit_ids
+        FROM (SELECT id
+              FROM incremental_migration.documentation_unit
+              WHERE id > last_unit_id
+              ORDER BY id
+              LIMIT batch_size) batch;
+        EXIT WHEN unit_ids IS NULL;
+
+        PERFORM incremental_migration.refresh_duplicate_check_identifiers(unit_ids);
+        last_unit_id := unit_ids[array_length(unit_ids, 1)];
+        COMMIT;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,7 @@
+-- Support the sort order by decision date (null dates last) and id of the documentation unit
+-- search and the keyset condition of the search after a cursor. The expression and the
+-- descending order have to match DatabaseDocumentationUnitRepository.SORT_DATE and the ORDER BY
+-- of the search. Built concurrently like the indexes of V1.0.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS documentation_unit_search_sort_idx
+    ON incremental_migration.documentation_unit
+        (COALESCE(date, CAST('0001-01-01' AS DATE)) DESC, id DESC);
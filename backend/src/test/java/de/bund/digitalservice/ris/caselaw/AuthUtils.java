@@ -6,7 +6,10 @@ import static org.mockito.Mockito.doReturn;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
 
 import de.bund.digitalservice.ris.caselaw.adapter.KeycloakUserService;
+import de.bund.digitalservice.ris.caselaw.domain.CoreData;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationOffice;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitAccessMetadata;
 import de.bund.digitalservice.ris.caselaw.domain.UserGroup;
 import de.bund.digitalservice.ris.caselaw.domain.UserGroupService;
 import java.util.Collections;
@@ -119,4 +122,20 @@ public class AuthUtils {
         .when(userGroupService)
         .getAllUserGroups();
   }
+
+  public static DocumentationUnitAccessMetadata buildAccessMetadata(
+      DocumentationUnit documentationUnit) {
+    CoreData coreData = documentationUnit.coreData();
+    return DocumentationUnitAccessMetadata.builder()
+        .uuid(documentationUnit.uuid())
+        .documentNumber(documentationUnit.documentNumber())
+        .documentationOffice(coreData == null ? null : coreData.documentationOffice())
+        .creatingDocumentationOffice(coreData == null ? null : coreData.creatingDocOffice())
+        .status(documentationUnit.status())
+        .procedureUserGroupId(
+            coreData == null || coreData.procedure() == null
+                ? null
+                : coreData.procedure().userGroupId())
+        .build();
+  }
 }
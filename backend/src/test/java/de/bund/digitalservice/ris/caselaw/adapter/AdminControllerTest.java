@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 
 import de.bund.digitalservice.ris.caselaw.TestConfig;
 import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
+import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.MailStatus;
 import de.bund.digitalservice.ris.caselaw.domain.MailTrackingService;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
@@ -31,6 +32,7 @@ class AdminControllerTest {
   @MockitoBean private MailTrackingService mailTrackingService;
   @MockitoBean private EnvironmentService environmentService;
   @MockitoBean LdmlExporterService ldmlExporterService;
+  @MockitoBean private DuplicateCheckService duplicateCheckService;
   @MockitoBean private ClientRegistrationRepository clientRegistrationRepository;
 
   private static final UUID TEST_UUID = UUID.fromString("88888888-4444-4444-4444-121212121212");
@@ -168,4 +170,32 @@ class AdminControllerTest {
 
     assertThat(result.getResponseBody()).isEqualTo("some-url");
   }
+
+  @Test
+  void testCheckAllDuplicates() {
+    when(duplicateCheckService.startCheckAllDuplicates()).thenReturn(true);
+
+    risWebTestClient
+        .withDefaultLogin()
+        .post()
+        .uri("/api/v1/admin/duplicate-check")
+        .exchange()
+        .expectStatus()
+        .isAccepted();
+
+    verify(duplicateCheckService).startCheckAllDuplicates();
+  }
+
+  @Test
+  void testCheckAllDuplicates_withRunningUpdate_shouldReturnConflict() {
+    when(duplicateCheckService.startCheckAllDuplicates()).thenReturn(false);
+
+    risWebTestClient
+        .withDefaultLogin()
+        .post()
+        .uri("/api/v1/admin/duplicate-check")
+        .exchange()
+        .expectStatus()
+        .isConflict();
+  }
 }
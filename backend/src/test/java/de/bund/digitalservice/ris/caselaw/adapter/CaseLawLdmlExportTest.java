@@ -28,9 +28,13 @@ import de.bund.digitalservice.ris.caselaw.domain.court.Court;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
 import de.bund.digitalservice.ris.caselaw.domain.lookuptable.documenttype.DocumentType;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.xml.parsers.DocumentBuilderFactory;
 import net.sf.saxon.TransformerFactoryImpl;
 import org.apache.commons.lang3.StringUtils;
@@ -425,4 +429,24 @@ class CaseLawLdmlExportTest {
     assertThat(StringUtils.deleteWhitespace(fileContent.get()))
         .contains(StringUtils.deleteWhitespace(expected));
   }
+
+  @Test
+  void testLdmlToString_inParallel_shouldBeEqualToTheSequentialExport() throws Exception {
+    CaseLawLdml ldml =
+        DocumentationUnitToLdmlTransformer.transformToLdml(testDocumentUnit, documentBuilderFactory)
+            .orElseThrow();
+    Optional<String> expected = exporter.ldmlToString(ldml);
+    assertThat(expected).isPresent();
+
+    List<Future<Optional<String>>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int i = 0; i < 40; i++) {
+        futures.add(executor.submit(() -> exporter.ldmlToString(ldml)));
+      }
+
+      for (Future<Optional<String>> future : futures) {
+        assertThat(future.get()).isEqualTo(expected);
+      }
+    }
+  }
 }
@@ -0,0 +1,101 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.gravity9.jsonpatch.JsonPatch;
+import com.gravity9.jsonpatch.ReplaceOperation;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitPatchRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchVersionDTO;
+import de.bund.digitalservice.ris.caselaw.config.ConverterConfig;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DatabaseDocumentationUnitPatchCompactionServiceTest {
+  private final ObjectMapper objectMapper = new ConverterConfig().objectMapper();
+  private final DatabaseDocumentationUnitPatchRepository repository =
+      mock(DatabaseDocumentationUnitPatchRepository.class);
+  private final DatabaseDocumentationUnitPatchCompactionService service =
+      new DatabaseDocumentationUnitPatchCompactionService(repository, objectMapper);
+
+  private final UUID documentationUnitId = UUID.randomUUID();
+
+  @Test
+  void testCompactPatches_shouldDeleteNotRetainedPatches() {
+    service.compactPatches();
+
+    verify(repository)
+        .deleteNotRetainedPatches(DatabasePatchMapperService.DEFAULT_RETAINED_VERSIONS, 1000);
+  }
+
+  @Test
+  void testCompactPatches_withFullBatch_shouldDeleteTheNextBatch() {
+    when(repository.deleteNotRetainedPatches(
+            DatabasePatchMapperService.DEFAULT_RETAINED_VERSIONS, 1000))
+        .thenReturn(1000, 1000, 10);
+
+    service.compactPatches();
+
+    verify(repository, times(3))
+        .deleteNotRetainedPatches(DatabasePatchMapperService.DEFAULT_RETAINED_VERSIONS, 1000);
+  }
+
+  @Test
+  void testCompactPatches_shouldMergePatchesOfTheSameVersion() throws Exception {
+    List<DocumentationUnitPatchDTO> patches =
+        List.of(
+            buildPatch(new ReplaceOperation("/coreData/appraisalBody", new TextNode("1. Senat"))),
+            buildPatch(new ReplaceOperation("/note", new TextNode("note"))));
+    when(repository.findVersionsWithMultiplePatches())
+        .thenReturn(List.of(new DocumentationUnitPatchVersionDTO(documentationUnitId, 5L)));
+    when(repository.findByDocumentationUnitIdAndDocumentationUnitVersion(documentationUnitId, 5L))
+        .thenReturn(patches);
+
+    service.compactPatches();
+
+    ArgumentCaptor<DocumentationUnitPatchDTO> captor =
+        ArgumentCaptor.forClass(DocumentationUnitPatchDTO.class);
+    verify(repository).replacePatches(eq(patches), captor.capture());
+    assertThat(captor.getValue().getDocumentationUnitId()).isEqualTo(documentationUnitId);
+    assertThat(captor.getValue().getDocumentationUnitVersion()).isEqualTo(5L);
+    JsonPatch mergedPatch = objectMapper.readValue(captor.getValue().getPatch(), JsonPatch.class);
+    assertThat(mergedPatch.getOperations())
+        .extracting("path")
+        .containsExactly("/coreData/appraisalBody", "/note");
+  }
+
+  @Test
+  void testCompactPatches_withInvalidPatch_shouldKeepThePatches() {
+    List<DocumentationUnitPatchDTO> patches =
+        List.of(
+            DocumentationUnitPatchDTO.builder().patch("invalid").build(),
+            DocumentationUnitPatchDTO.builder().patch("[]").build());
+    when(repository.findVersionsWithMultiplePatches())
+        .thenReturn(List.of(new DocumentationUnitPatchVersionDTO(documentationUnitId, 5L)));
+    when(repository.findByDocumentationUnitIdAndDocumentationUnitVersion(documentationUnitId, 5L))
+        .thenReturn(patches);
+
+    service.compactPatches();
+
+    verify(repository, never()).replacePatches(any(), any());
+  }
+
+  private DocumentationUnitPatchDTO buildPatch(ReplaceOperation operation) throws Exception {
+    return DocumentationUnitPatchDTO.builder()
+        .documentationUnitId(documentationUnitId)
+        .documentationUnitVersion(5L)
+        .patch(objectMapper.writeValueAsString(new JsonPatch(List.of(operation))))
+        .build();
+  }
+}
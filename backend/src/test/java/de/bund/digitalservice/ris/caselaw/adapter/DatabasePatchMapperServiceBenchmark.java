@@ -0,0 +1,112 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.gravity9.jsonpatch.JsonPatch;
+import com.gravity9.jsonpatch.ReplaceOperation;
+import com.gravity9.jsonpatch.diff.JsonDiff;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitPatchRepository;
+import de.bund.digitalservice.ris.caselaw.config.ConverterConfig;
+import de.bund.digitalservice.ris.caselaw.domain.ContentRelatedIndexing;
+import de.bund.digitalservice.ris.caselaw.domain.CoreData;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.LongTexts;
+import de.bund.digitalservice.ris.caselaw.domain.ShortTexts;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmark of a typical patch request (one changed core data field) on a large decision with
+ * several megabytes of long texts. Compares the patch of the touched properties with the
+ * conversion of the whole documentation unit.
+ */
+public class DatabasePatchMapperServiceBenchmark extends ManualBenchmark {
+  private static final int PARAGRAPHS = 20_000;
+
+  private ObjectMapper objectMapper;
+  private DatabasePatchMapperService service;
+  private DocumentationUnit documentationUnit;
+  private DocumentationUnit savedDocumentationUnit;
+  private JsonPatch patch;
+
+  @Setup
+  public void setUp() {
+    objectMapper = new ConverterConfig().objectMapper();
+    service =
+        new DatabasePatchMapperService(
+            objectMapper,
+            mock(DatabaseDocumentationUnitPatchRepository.class),
+            mock(DocumentationUnitPatchCache.class));
+
+    documentationUnit = buildLargeDecision();
+    patch =
+        new JsonPatch(
+            List.of(new ReplaceOperation("/coreData/appraisalBody", new TextNode("1. Senat"))));
+    savedDocumentationUnit = service.applyPatchToEntity(patch, documentationUnit);
+  }
+
+  @Benchmark
+  public JsonPatch patchTouchedProperties() {
+    DocumentationUnit patched = service.applyPatchToEntity(patch, documentationUnit);
+    return service.getDiffPatch(patched, savedDocumentationUnit);
+  }
+
+  @Benchmark
+  public JsonPatch patchWholeDocumentationUnit() throws Exception {
+    JsonNode node = objectMapper.convertValue(documentationUnit, JsonNode.class);
+    DocumentationUnit patched =
+        objectMapper.treeToValue(patch.apply(node), DocumentationUnit.class);
+    return JsonDiff.asJsonPatch(
+        objectMapper.convertValue(patched, JsonNode.class),
+        objectMapper.convertValue(savedDocumentationUnit, JsonNode.class));
+  }
+
+  private static DocumentationUnit buildLargeDecision() {
+    return DocumentationUnit.builder()
+        .uuid(UUID.randomUUID())
+        .version(42L)
+        .documentNumber("YYTestDoc0001")
+        .coreData(
+            CoreData.builder()
+                .fileNumbers(List.of("1 StR 123/24", "1 StR 124/24"))
+                .decisionDate(LocalDate.of(2024, 1, 1))
+                .appraisalBody("2. Senat")
+                .build())
+        .shortTexts(
+            ShortTexts.builder()
+                .headline("Zur Auslegung einer Norm")
+                .guidingPrinciple(paragraphs(20))
+                .build())
+        .longTexts(
+            LongTexts.builder()
+                .tenor(paragraphs(50))
+                .caseFacts(paragraphs(PARAGRAPHS / 2))
+                .decisionReasons(paragraphs(PARAGRAPHS))
+                .build())
+        .contentRelatedIndexing(
+            ContentRelatedIndexing.builder()
+                .keywords(IntStream.range(0, 50).mapToObj(i -> "Schlagwort " + i).toList())
+                .build())
+        .build();
+  }
+
+  private static String paragraphs(int count) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      builder
+          .append("<p><border-number><number>")
+          .append(i + 1)
+          .append("</number><content><p>Die Revision hat keinen Erfolg. Das Berufungsgericht hat")
+          .append(" die Klage zu Recht abgewiesen, weil ein Anspruch nicht besteht.</p>")
+          .append("</content></border-number></p>");
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,260 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.gravity9.jsonpatch.AddOperation;
+import com.gravity9.jsonpatch.JsonPatch;
+import com.gravity9.jsonpatch.RemoveOperation;
+import com.gravity9.jsonpatch.ReplaceOperation;
+import com.gravity9.jsonpatch.diff.JsonDiff;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitPatchRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchDTO;
+import de.bund.digitalservice.ris.caselaw.config.ConverterConfig;
+import de.bund.digitalservice.ris.caselaw.domain.CoreData;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.LongTexts;
+import de.bund.digitalservice.ris.caselaw.domain.RisJsonPatch;
+import de.bund.digitalservice.ris.caselaw.domain.ShortTexts;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class DatabasePatchMapperServiceTest {
+  private final ObjectMapper objectMapper = new ConverterConfig().objectMapper();
+  private final DatabaseDocumentationUnitPatchRepository repository =
+      mock(DatabaseDocumentationUnitPatchRepository.class);
+  private final DatabasePatchMapperService service =
+      new DatabasePatchMapperService(
+          objectMapper,
+          repository,
+          new DocumentationUnitPatchCache(10, 10, 60, mock(StringRedisTemplate.class)));
+
+  private final DocumentationUnit documentationUnit =
+      DocumentationUnit.builder()
+          .uuid(UUID.randomUUID())
+          .version(1L)
+          .documentNumber("YYTestDoc0001")
+          .coreData(
+              CoreData.builder()
+                  .fileNumbers(List.of("AZ 1", "AZ 2"))
+                  .appraisalBody("old appraisal body")
+                  .build())
+          .shortTexts(ShortTexts.builder().headline("headline").build())
+          .longTexts(LongTexts.builder().reasons("<p>reasons</p>").tenor("<p>tenor</p>").build())
+          .note("note")
+          .build();
+
+  @Test
+  void testApplyPatchToEntity_shouldOnlyReplaceTouchedProperties() {
+    JsonPatch patch =
+        new JsonPatch(
+            List.of(
+                new ReplaceOperation("/coreData/appraisalBody", new TextNode("new appraisal body")),
+                new AddOperation("/coreData/fileNumbers/1", new TextNode("AZ 3")),
+                new RemoveOperation("/note")));
+
+    DocumentationUnit patched = service.applyPatchToEntity(patch, documentationUnit);
+
+    assertThat(patched.coreData().appraisalBody()).isEqualTo("new appraisal body");
+    assertThat(patched.coreData().fileNumbers()).containsExactly("AZ 1", "AZ 3", "AZ 2");
+    assertThat(patched.note()).isNull();
+    assertThat(patched.longTexts()).isSameAs(documentationUnit.longTexts());
+    assertThat(patched.shortTexts()).isSameAs(documentationUnit.shortTexts());
+    assertThat(patched.uuid()).isEqualTo(documentationUnit.uuid());
+  }
+
+  @Test
+  void testApplyPatchToEntity_shouldReturnSameResultAsPatchOfWholeEntity() throws Exception {
+    JsonPatch patch =
+        new JsonPatch(
+            List.of(
+                new ReplaceOperation("/longTexts/tenor", new TextNode("<p>new tenor</p>")),
+                new ReplaceOperation("/version", objectMapper.valueToTree(2L))));
+
+    DocumentationUnit patched = service.applyPatchToEntity(patch, documentationUnit);
+
+    JsonNode wholeEntity = objectMapper.valueToTree(documentationUnit);
+    DocumentationUnit expected =
+        objectMapper.treeToValue(patch.apply(wholeEntity), DocumentationUnit.class);
+    assertThat(patched).isEqualTo(expected);
+  }
+
+  @Test
+  void testApplyPatchToEntity_withoutOperations_shouldReturnEqualEntity() {
+    DocumentationUnit patched =
+        service.applyPatchToEntity(new JsonPatch(Collections.emptyList()), documentationUnit);
+
+    assertThat(patched).isEqualTo(documentationUnit);
+  }
+
+  @Test
+  void testGetDiffPatch_shouldOnlyContainChangedProperties() {
+    DocumentationUnit updated =
+        documentationUnit.toBuilder()
+            .coreData(documentationUnit.coreData().toBuilder().appraisalBody("changed").build())
+            .build();
+
+    JsonPatch diff = service.getDiffPatch(documentationUnit, updated);
+
+    JsonPatch expected =
+        JsonDiff.asJsonPatch(
+            objectMapper.valueToTree(documentationUnit), objectMapper.valueToTree(updated));
+    assertThat(objectMapper.valueToTree(diff).toString())
+        .isEqualTo(objectMapper.valueToTree(expected).toString());
+    assertThat(diff.getOperations()).extracting("path").containsExactly("/coreData/appraisalBody");
+  }
+
+  @Test
+  void testGetDiffPatch_withEqualEntities_shouldReturnEmptyPatch() {
+    JsonPatch diff = service.getDiffPatch(documentationUnit, documentationUnit.toBuilder().build());
+
+    assertThat(diff.getOperations()).isEmpty();
+  }
+
+  @Test
+  void testHandlePatchForSamePath_withRemoveOperation_shouldAddExistingValue() {
+    JsonPatch frontendPatch = new JsonPatch(List.of(new RemoveOperation("/longTexts/reasons")));
+    JsonPatch backendPatch =
+        new JsonPatch(List.of(new ReplaceOperation("/longTexts/reasons", new TextNode("other"))));
+
+    RisJsonPatch result =
+        service.handlePatchForSamePath(
+            documentationUnit, new JsonPatch(Collections.emptyList()), frontendPatch, backendPatch);
+
+    assertThat(result.errorPaths()).containsExactly("/longTexts/reasons");
+    assertThat(result.patch().getOperations().getFirst())
+        .isInstanceOf(AddOperation.class)
+        .extracting("value")
+        .isEqualTo(new TextNode("<p>reasons</p>"));
+  }
+
+  @Test
+  void testRequiresFullReload_shouldOnlyBeTrueForVersionsOlderThanTheRetainedPatches() {
+    assertThat(service.requiresFullReload(400L, 500L)).isFalse();
+    assertThat(service.requiresFullReload(399L, 500L)).isTrue();
+    assertThat(service.requiresFullReload(null, 500L)).isFalse();
+    assertThat(service.requiresFullReload(1L, null)).isFalse();
+  }
+
+  @Test
+  void testGetFullReloadPatch_shouldRestoreTheWholeDocumentationUnit() throws Exception {
+    DocumentationUnit outdated =
+        DocumentationUnit.builder()
+            .uuid(documentationUnit.uuid())
+            .version(0L)
+            .documentNumber(documentationUnit.documentNumber())
+            .note("old note")
+            .build();
+
+    JsonPatch patch = service.getFullReloadPatch(documentationUnit);
+
+    JsonNode reloaded = patch.apply(objectMapper.valueToTree(outdated));
+    assertThat(objectMapper.treeToValue(reloaded, DocumentationUnit.class))
+        .isEqualTo(documentationUnit);
+  }
+
+  @Test
+  void testCalculatePatch_shouldReturnOperationsInVersionOrder() throws Exception {
+    UUID uuid = documentationUnit.uuid();
+    when(repository.findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(uuid, 2L))
+        .thenReturn(
+            List.of(
+                buildPatch(uuid, 3L, new ReplaceOperation("/note", new TextNode("second"))),
+                buildPatch(uuid, 2L, new ReplaceOperation("/note", new TextNode("first")))));
+
+    JsonPatch patch = service.calculatePatch(uuid, 2L, 4L);
+
+    assertThat(patch.getOperations())
+        .extracting("value")
+        .containsExactly(new TextNode("first"), new TextNode("second"));
+  }
+
+  @Test
+  void testCalculatePatch_shouldAnswerRepeatedRequestsFromTheCache() throws Exception {
+    UUID uuid = documentationUnit.uuid();
+    when(repository.findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(uuid, 2L))
+        .thenReturn(
+            List.of(buildPatch(uuid, 2L, new ReplaceOperation("/note", new TextNode("note")))));
+
+    service.calculatePatch(uuid, 2L, 3L);
+    JsonPatch patchOfNewerVersion = service.calculatePatch(uuid, 3L, 3L);
+    JsonPatch patch = service.calculatePatch(uuid, 2L, 3L);
+
+    assertThat(patchOfNewerVersion.getOperations()).isEmpty();
+    assertThat(patch.getOperations()).extracting("path").containsExactly("/note");
+    verify(repository, times(1))
+        .findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(any(), any());
+  }
+
+  @Test
+  void testCalculatePatch_withNewerCurrentVersion_shouldLoadThePatchesAgain() throws Exception {
+    UUID uuid = documentationUnit.uuid();
+    when(repository.findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(uuid, 2L))
+        .thenReturn(
+            List.of(buildPatch(uuid, 2L, new ReplaceOperation("/note", new TextNode("first")))))
+        .thenReturn(
+            List.of(
+                buildPatch(uuid, 2L, new ReplaceOperation("/note", new TextNode("first"))),
+                buildPatch(uuid, 3L, new ReplaceOperation("/note", new TextNode("second")))));
+
+    service.calculatePatch(uuid, 2L, 3L);
+    // the invalidation of the patch of version 3 got lost
+    JsonPatch patch = service.calculatePatch(uuid, 2L, 4L);
+
+    assertThat(patch.getOperations())
+        .extracting("value")
+        .containsExactly(new TextNode("first"), new TextNode("second"));
+    verify(repository, times(2))
+        .findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(uuid, 2L);
+  }
+
+  @Test
+  void testSavePatch_shouldInvalidateTheCachedPatches() throws Exception {
+    UUID uuid = documentationUnit.uuid();
+    when(repository.findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(uuid, 2L))
+        .thenReturn(
+            List.of(buildPatch(uuid, 2L, new ReplaceOperation("/note", new TextNode("first")))));
+    service.calculatePatch(uuid, 2L, 3L);
+
+    service.savePatch(
+        new JsonPatch(List.of(new ReplaceOperation("/note", new TextNode("note")))), uuid, 2L);
+    service.calculatePatch(uuid, 2L, 3L);
+
+    verify(repository, times(2))
+        .findByDocumentationUnitIdAndDocumentationUnitVersionGreaterThanEqual(uuid, 2L);
+  }
+
+  @Test
+  void testPropertyNames_shouldMatchJsonPropertyNames() {
+    JsonNode node = objectMapper.valueToTree(documentationUnit);
+
+    List<String> recordComponents =
+        Arrays.stream(DocumentationUnit.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList();
+    assertThat(node.fieldNames())
+        .toIterable()
+        .containsExactlyInAnyOrderElementsOf(recordComponents);
+  }
+
+  private DocumentationUnitPatchDTO buildPatch(UUID uuid, long version, ReplaceOperation operation)
+      throws Exception {
+    return DocumentationUnitPatchDTO.builder()
+        .documentationUnitId(uuid)
+        .documentationUnitVersion(version)
+        .patch(objectMapper.writeValueAsString(new JsonPatch(List.of(operation))))
+        .build();
+  }
+}
@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.caselaw.adapter;
 
+import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildAccessMetadata;
 import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildDSDocOffice;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -7,8 +8,10 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -33,6 +36,8 @@ import de.bund.digitalservice.ris.caselaw.domain.CoreData;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationOffice;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitDocxMetadataInitializationService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitSearchCursor;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateRelationStatus;
@@ -51,6 +56,7 @@ import de.bund.digitalservice.ris.caselaw.domain.Status;
 import de.bund.digitalservice.ris.caselaw.domain.UserGroupService;
 import de.bund.digitalservice.ris.caselaw.domain.UserService;
 import de.bund.digitalservice.ris.caselaw.domain.XmlTransformationResult;
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocxImagePart;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
@@ -60,6 +66,7 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -75,12 +82,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.DigestUtils;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = DocumentationUnitController.class)
@@ -121,12 +130,15 @@ class DocumentationUnitControllerTest {
 
     doReturn(true).when(userService).isInternal(any());
 
-    when(service.getByUuid(TEST_UUID))
-        .thenReturn(
-            DocumentationUnit.builder()
-                .coreData(CoreData.builder().documentationOffice(docOffice).build())
-                .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
-                .build());
+    DocumentationUnit documentationUnit =
+        DocumentationUnit.builder()
+            .uuid(TEST_UUID)
+            .coreData(CoreData.builder().documentationOffice(docOffice).build())
+            .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
+            .build();
+    when(service.getByUuid(TEST_UUID)).thenReturn(documentationUnit);
+    when(service.getAccessMetadataByUuid(TEST_UUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
   }
 
   @Test
@@ -212,7 +224,7 @@ class DocumentationUnitControllerTest {
         .expectStatus()
         .isOk();
 
-    verify(duplicateCheckService, times(1)).checkDuplicates(docUnit.documentNumber());
+    verify(duplicateCheckService, times(1)).enqueueDuplicateCheck(docUnit.documentNumber());
     verify(docUnitAttachmentService, times(1)).initializeCoreData(eq(docUnit), any());
 
     verify(attachmentService).attachFileToDocumentationUnit(eq(TEST_UUID), any(), any());
@@ -237,12 +249,14 @@ class DocumentationUnitControllerTest {
 
   @Test
   void testGetByDocumentnumber() throws DocumentationUnitNotExistsException {
-    when(service.getByDocumentNumber("ABCD202200001"))
-        .thenReturn(
-            DocumentationUnit.builder()
-                .coreData(CoreData.builder().documentationOffice(docOffice).build())
-                .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
-                .build());
+    DocumentationUnit documentationUnit =
+        DocumentationUnit.builder()
+            .documentNumber("ABCD202200001")
+            .coreData(CoreData.builder().documentationOffice(docOffice).build())
+            .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
+            .build();
+    when(service.getAccessMetadataByDocumentNumber("ABCD202200001"))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     risWebClient
         .withDefaultLogin()
@@ -253,9 +267,11 @@ class DocumentationUnitControllerTest {
         .isOk()
         .expectBody(DocumentationUnit.class);
 
-    // once by the AuthService and once by the controller asking the service
-    verify(service, times(1)).getByDocumentNumber("ABCD202200001");
-    verify(duplicateCheckService, times(1)).checkDuplicates("ABCD202200001");
+    // the AuthService only loads the access metadata
+    verify(service, times(1)).getAccessMetadataByDocumentNumber("ABCD202200001");
+    verify(service, never()).getByDocumentNumber("ABCD202200001");
+    // only saves request a duplicate check
+    verify(duplicateCheckService, never()).enqueueDuplicateCheck(any());
   }
 
   @Test
@@ -604,6 +620,7 @@ class DocumentationUnitControllerTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty()))
         .thenReturn(new PageImpl<>(List.of(), pageRequest, 0));
 
@@ -630,9 +647,114 @@ class DocumentationUnitControllerTest {
             eq(Optional.empty()),
             eq(Optional.empty()),
             eq(Optional.empty()),
+            eq(Optional.empty()),
             eq(Optional.empty()));
   }
 
+  @Test
+  void testSearchByDocumentationUnitListEntry_withMoreResults_shouldReturnNextCursor() {
+    PageRequest pageRequest = PageRequest.of(0, 1);
+    DocumentationUnitListItem listItem =
+        DocumentationUnitListItem.builder()
+            .uuid(TEST_UUID)
+            .decisionDate(LocalDate.of(2024, 1, 1))
+            .build();
+
+    when(service.searchByDocumentationUnitSearchInput(
+            eq(pageRequest),
+            any(OidcUser.class),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty())))
+        .thenReturn(new SliceImpl<>(List.of(listItem), pageRequest, true));
+
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/search?pg=0&sz=1")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .valueEquals("X-Next-Cursor", DocumentationUnitSearchCursor.of(listItem).encode());
+  }
+
+  @Test
+  void testSearchByDocumentationUnitListEntry_withCursor_shouldSearchAfterCursor() {
+    PageRequest pageRequest = PageRequest.of(0, 10);
+    DocumentationUnitSearchCursor cursor =
+        new DocumentationUnitSearchCursor(null, null, LocalDate.of(2024, 1, 1), TEST_UUID);
+
+    when(service.searchByDocumentationUnitSearchInput(
+            eq(pageRequest),
+            any(OidcUser.class),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.of(cursor))))
+        .thenReturn(new SliceImpl<>(List.of(), pageRequest, false));
+
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/search?sz=10&cursor=" + cursor.encode())
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .doesNotExist("X-Next-Cursor");
+
+    verify(service)
+        .searchByDocumentationUnitSearchInput(
+            eq(pageRequest),
+            any(OidcUser.class),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.empty()),
+            eq(Optional.of(cursor)));
+  }
+
+  @Test
+  void testSearchByDocumentationUnitListEntry_withInvalidCursor_shouldReturnBadRequest() {
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/search?sz=10&cursor=invalid")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    verifyNoInteractions(service);
+  }
+
   @Test
   void testGetHtml() throws DocumentationUnitNotExistsException {
     when(service.getByUuid(TEST_UUID))
@@ -652,11 +774,81 @@ class DocumentationUnitControllerTest {
         .expectStatus()
         .isOk();
 
-    // once by the AuthService and once by the controller asking the service
-    verify(service, times(2)).getByUuid(TEST_UUID);
+    // the AuthService only loads the access metadata
+    verify(service, times(1)).getByUuid(TEST_UUID);
+    verify(service, times(1)).getAccessMetadataByUuid(TEST_UUID);
     verify(docxConverterService).getConvertedObject("123");
   }
 
+  @Test
+  void testGetHtml_withImageUrls_shouldConvertWithImageUrlPrefix()
+      throws DocumentationUnitNotExistsException {
+    when(service.getByUuid(TEST_UUID))
+        .thenReturn(
+            DocumentationUnit.builder()
+                .attachments(Collections.singletonList(Attachment.builder().s3path("123").build()))
+                .coreData(CoreData.builder().documentationOffice(docOffice).build())
+                .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
+                .build());
+
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/" + TEST_UUID + "/docx/123?imageUrls=true")
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    verify(docxConverterService)
+        .getConvertedObject(
+            "123", "/api/v1/caselaw/documentunits/" + TEST_UUID + "/docx/123/images/");
+  }
+
+  @Test
+  void testGetImage_shouldReturnImageWithCacheHeaders() {
+    byte[] bytes = new byte[] {1, 2, 3};
+    String eTag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+    when(docxConverterService.getImage(
+            "123", "/api/v1/caselaw/documentunits/" + TEST_UUID + "/docx/123/images/", "rId1"))
+        .thenReturn(Optional.of(new DocxImagePart("image/png", bytes, eTag)));
+
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/" + TEST_UUID + "/docx/123/images/rId1")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentType(MediaType.IMAGE_PNG)
+        .expectHeader()
+        .valueEquals(HttpHeaders.ETAG, eTag)
+        .expectHeader()
+        .valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=86400, private");
+
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/" + TEST_UUID + "/docx/123/images/rId1")
+        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .exchange()
+        .expectStatus()
+        .isNotModified();
+  }
+
+  @Test
+  void testGetImage_withUnknownImage_shouldReturnNotFound() {
+    when(docxConverterService.getImage(any(), any(), any())).thenReturn(Optional.empty());
+
+    risWebClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/" + TEST_UUID + "/docx/123/images/rId1")
+        .exchange()
+        .expectStatus()
+        .is4xxClientError();
+  }
+
   @Test
   void testTakeoverDocumentationUnit_withSameDocOfficeAsDocUnit_shouldSucceed()
       throws DocumentationUnitNotExistsException {
@@ -677,7 +869,8 @@ class DocumentationUnitControllerTest {
             .coreData(CoreData.builder().documentationOffice(documentationOffice).build())
             .build();
 
-    when(service.getByDocumentNumber(documentNumber)).thenReturn(documentationUnit);
+    when(service.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     risWebClient
         .withDefaultLogin()
@@ -722,7 +915,8 @@ class DocumentationUnitControllerTest {
             .coreData(CoreData.builder().documentationOffice(office).build())
             .build();
 
-    when(service.getByDocumentNumber(documentNumber)).thenReturn(documentationUnit);
+    when(service.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     risWebClient
         .withDefaultLogin()
@@ -806,7 +1000,8 @@ class DocumentationUnitControllerTest {
             .coreData(CoreData.builder().documentationOffice(documentationOffice).build())
             .build();
 
-    when(service.getByDocumentNumber(docNumberOrigin)).thenReturn(documentationUnit);
+    when(service.getAccessMetadataByDocumentNumber(docNumberOrigin))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     DuplicateRelationStatusRequest body =
         DuplicateRelationStatusRequest.builder().status(DuplicateRelationStatus.IGNORED).build();
@@ -842,7 +1037,8 @@ class DocumentationUnitControllerTest {
             .coreData(CoreData.builder().documentationOffice(documentationOffice).build())
             .build();
 
-    when(service.getByDocumentNumber(docNumberOrigin)).thenReturn(documentationUnit);
+    when(service.getAccessMetadataByDocumentNumber(docNumberOrigin))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     String body =
         """
@@ -881,7 +1077,8 @@ class DocumentationUnitControllerTest {
             .coreData(CoreData.builder().documentationOffice(documentationOffice).build())
             .build();
 
-    when(service.getByDocumentNumber(docNumberOrigin)).thenReturn(documentationUnit);
+    when(service.getAccessMetadataByDocumentNumber(docNumberOrigin))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     when(duplicateCheckService.updateDuplicateStatus(any(), any(), any()))
         .thenThrow(EntityNotFoundException.class);
@@ -0,0 +1,134 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.gravity9.jsonpatch.JsonPatchOperation;
+import com.gravity9.jsonpatch.ReplaceOperation;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitPatchCache.VersionPatch;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class DocumentationUnitPatchCacheTest {
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  private final DocumentationUnitPatchCache cache =
+      new DocumentationUnitPatchCache(2, 3, 60, redisTemplate);
+
+  private final UUID documentationUnitId = UUID.randomUUID();
+
+  @Test
+  void testGet_withoutEntry_shouldReturnEmptyOptional() {
+    assertThat(cache.get(documentationUnitId, 1L, 2L)).isEmpty();
+  }
+
+  @Test
+  void testGet_shouldReturnOperationsSinceTheVersion() {
+    cache.put(
+        documentationUnitId,
+        1L,
+        List.of(buildPatch(1L, "first"), buildPatch(3L, "second")),
+        cache.startLoading());
+
+    assertThat(cache.get(documentationUnitId, 1L, 4L).orElseThrow()).hasSize(2);
+    assertThat(cache.get(documentationUnitId, 2L, 4L).orElseThrow())
+        .extracting("value")
+        .containsExactly(new TextNode("second"));
+    assertThat(cache.get(documentationUnitId, 4L, 4L).orElseThrow()).isEmpty();
+    assertThat(cache.get(documentationUnitId, 0L, 4L)).isEmpty();
+  }
+
+  @Test
+  void testGet_withPatchesNotReachingTheCurrentVersion_shouldReturnEmptyOptional() {
+    cache.put(documentationUnitId, 1L, List.of(buildPatch(1L, "first")), cache.startLoading());
+
+    assertThat(cache.get(documentationUnitId, 1L, 2L)).isPresent();
+    assertThat(cache.get(documentationUnitId, 1L, 3L)).isEmpty();
+    assertThat(cache.get(documentationUnitId, 1L, null)).isEmpty();
+  }
+
+  @Test
+  void testGet_withExpiredEntry_shouldReturnEmptyOptional() {
+    DocumentationUnitPatchCache expiringCache =
+        new DocumentationUnitPatchCache(2, 3, 0, redisTemplate);
+    expiringCache.put(
+        documentationUnitId, 1L, List.of(buildPatch(1L, "first")), expiringCache.startLoading());
+
+    assertThat(expiringCache.get(documentationUnitId, 1L, 2L)).isEmpty();
+  }
+
+  @Test
+  void testPut_shouldOnlyKeepTheLastPatches() {
+    cache.put(
+        documentationUnitId,
+        1L,
+        List.of(
+            buildPatch(1L, "1"), buildPatch(2L, "2"), buildPatch(3L, "3"), buildPatch(4L, "4")),
+        cache.startLoading());
+
+    assertThat(cache.get(documentationUnitId, 1L, 5L)).isEmpty();
+    assertThat(cache.get(documentationUnitId, 2L, 5L).orElseThrow()).hasSize(3);
+  }
+
+  @Test
+  void testPut_shouldEvictTheLeastRecentlyUsedDocumentationUnit() {
+    UUID secondId = UUID.randomUUID();
+    UUID thirdId = UUID.randomUUID();
+    List<VersionPatch> patches = List.of(buildPatch(1L, "first"));
+    cache.put(documentationUnitId, 1L, patches, cache.startLoading());
+    cache.put(secondId, 1L, patches, cache.startLoading());
+    cache.get(documentationUnitId, 1L, 2L);
+
+    cache.put(thirdId, 1L, patches, cache.startLoading());
+
+    assertThat(cache.get(documentationUnitId, 1L, 2L)).isPresent();
+    assertThat(cache.get(secondId, 1L, 2L)).isEmpty();
+    assertThat(cache.get(thirdId, 1L, 2L)).isPresent();
+  }
+
+  @Test
+  void testPut_withInvalidationWhileLoading_shouldNotCacheThePatches() {
+    long stamp = cache.startLoading();
+    cache.invalidate(documentationUnitId);
+
+    cache.put(documentationUnitId, 1L, List.of(buildPatch(1L, "outdated")), stamp);
+
+    assertThat(cache.get(documentationUnitId, 1L, 2L)).isEmpty();
+  }
+
+  @Test
+  void testInvalidate_shouldRemoveTheEntryAndPublishTheInvalidation() {
+    cache.put(documentationUnitId, 1L, List.of(buildPatch(1L, "first")), cache.startLoading());
+
+    cache.invalidate(documentationUnitId);
+
+    assertThat(cache.get(documentationUnitId, 1L, 2L)).isEmpty();
+    verify(redisTemplate)
+        .convertAndSend(
+            DocumentationUnitPatchCache.INVALIDATION_CHANNEL, documentationUnitId.toString());
+  }
+
+  @Test
+  void testOnMessage_shouldRemoveTheEntry() {
+    cache.put(documentationUnitId, 1L, List.of(buildPatch(1L, "first")), cache.startLoading());
+    Message message = mock(Message.class);
+    when(message.getBody())
+        .thenReturn(documentationUnitId.toString().getBytes(StandardCharsets.UTF_8));
+
+    cache.onMessage(message, null);
+
+    assertThat(cache.get(documentationUnitId, 1L, 2L)).isEmpty();
+  }
+
+  private static VersionPatch buildPatch(long version, String value) {
+    List<JsonPatchOperation> operations =
+        List.of(new ReplaceOperation("/note", new TextNode(value)));
+    return new VersionPatch(version, operations);
+  }
+}
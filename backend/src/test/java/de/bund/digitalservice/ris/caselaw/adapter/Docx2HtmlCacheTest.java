@@ -0,0 +1,156 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bund.digitalservice.ris.caselaw.config.ConverterConfig;
+import de.bund.digitalservice.ris.caselaw.domain.docx.Docx2Html;
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocxMetadataProperty;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class Docx2HtmlCacheTest {
+  private final ObjectMapper objectMapper = new ConverterConfig().objectMapper();
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+  @SuppressWarnings("unchecked")
+  private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+  @SuppressWarnings("unchecked")
+  private final HashOperations<String, String, String> hashOperations = mock(HashOperations.class);
+
+  private final Docx2HtmlCache cache =
+      new Docx2HtmlCache(100, 24, Optional.of(redisTemplate), objectMapper);
+
+  @BeforeEach
+  void setUp() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+  }
+
+  @Test
+  void testGet_withoutEntry_shouldReturnEmptyOptional() {
+    assertThat(cache.get("file.docx", "etag")).isEmpty();
+  }
+
+  @Test
+  void testGet_withSameETag_shouldReturnTheCachedEntry() {
+    Docx2Html docx2Html = buildDocx2Html("<p>text</p>");
+    cache.put("file.docx", "etag", docx2Html);
+
+    assertThat(cache.get("file.docx", "etag")).contains(docx2Html);
+    assertThat(cache.get("file.docx", "other-etag")).isEmpty();
+    assertThat(cache.get("file.docx", null)).isEmpty();
+  }
+
+  @Test
+  void testGet_withImageUrls_shouldReturnTheEntryConvertedWithImageUrls() {
+    Docx2Html embeddedImages = buildDocx2Html("<img src=\"data:image/png;base64, AAAA\" />");
+    Docx2Html imageUrls = buildDocx2Html("<img src=\"/images/rId1\" />");
+    cache.put("file.docx", "etag", embeddedImages);
+    cache.put("file.docx", "etag", "/images/", imageUrls);
+
+    assertThat(cache.get("file.docx", "etag")).contains(embeddedImages);
+    assertThat(cache.get("file.docx", "etag", "/images/")).contains(imageUrls);
+    assertThat(cache.get("file.docx", "etag", "/other/images/")).isEmpty();
+
+    cache.invalidate("file.docx");
+
+    assertThat(cache.get("file.docx", "etag")).isEmpty();
+    assertThat(cache.get("file.docx", "etag", "/images/")).isEmpty();
+    verify(redisTemplate).delete("docx2html:file.docx:image-urls");
+  }
+
+  @Test
+  void testPut_withImageUrls_shouldWriteTheEntryToTheRedisHashOfTheDocxFile() throws Exception {
+    Docx2Html docx2Html = buildDocx2Html("<img src=\"/images/rId1\" />");
+
+    cache.put("file.docx", "etag", "/images/", docx2Html);
+
+    ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+    verify(hashOperations)
+        .put(eq("docx2html:file.docx:image-urls"), eq("/images/"), captor.capture());
+    verify(redisTemplate).expire(eq("docx2html:file.docx:image-urls"), any(Duration.class));
+    assertThat(objectMapper.readValue(captor.getValue(), Docx2HtmlCache.CachedDocx2Html.class))
+        .isEqualTo(new Docx2HtmlCache.CachedDocx2Html("etag", docx2Html));
+  }
+
+  @Test
+  void testPut_withoutETag_shouldNotCacheTheEntry() {
+    cache.put("file.docx", null, buildDocx2Html("<p>text</p>"));
+
+    assertThat(cache.get("file.docx", null)).isEmpty();
+  }
+
+  @Test
+  void testPut_shouldEvictTheLeastRecentlyUsedEntriesAboveTheMaximumSize() {
+    // every entry has an estimated size of 38 bytes
+    cache.put("first.docx", "etag", buildDocx2Html("<p>first1</p>......"));
+    cache.put("second.docx", "etag", buildDocx2Html("<p>second</p>......"));
+    cache.get("first.docx", "etag");
+
+    cache.put("third.docx", "etag", buildDocx2Html("<p>third1</p>......"));
+
+    assertThat(cache.get("first.docx", "etag")).isPresent();
+    assertThat(cache.get("second.docx", "etag")).isEmpty();
+    assertThat(cache.get("third.docx", "etag")).isPresent();
+  }
+
+  @Test
+  void testPut_shouldWriteTheEntryToRedis() throws Exception {
+    Docx2Html docx2Html = buildDocx2Html("<p>text</p>");
+
+    cache.put("file.docx", "etag", docx2Html);
+
+    ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+    verify(valueOperations).set(eq("docx2html:file.docx"), captor.capture(), any(Duration.class));
+    assertThat(objectMapper.readValue(captor.getValue(), Docx2HtmlCache.CachedDocx2Html.class))
+        .isEqualTo(new Docx2HtmlCache.CachedDocx2Html("etag", docx2Html));
+  }
+
+  @Test
+  void testGet_withEntryInRedis_shouldReturnTheEntry() throws Exception {
+    Docx2Html docx2Html = buildDocx2Html("<p>text</p>");
+    when(valueOperations.get("docx2html:file.docx"))
+        .thenReturn(
+            objectMapper.writeValueAsString(new Docx2HtmlCache.CachedDocx2Html("etag", docx2Html)));
+
+    assertThat(cache.get("file.docx", "etag")).contains(docx2Html);
+    assertThat(cache.get("file.docx", "other-etag")).isEmpty();
+  }
+
+  @Test
+  void testGet_withFailingRedis_shouldReturnEmptyOptional() {
+    when(valueOperations.get(anyString())).thenThrow(new IllegalStateException("redis down"));
+
+    assertThat(cache.get("file.docx", "etag")).isEmpty();
+  }
+
+  @Test
+  void testInvalidate_shouldRemoveTheEntryLocallyAndInRedis() {
+    cache.put("file.docx", "etag", buildDocx2Html("<p>text</p>"));
+
+    cache.invalidate("file.docx");
+
+    assertThat(cache.get("file.docx", "etag")).isEmpty();
+    verify(redisTemplate).delete("docx2html:file.docx");
+  }
+
+  private static Docx2Html buildDocx2Html(String html) {
+    return new Docx2Html(html, List.of(), Map.of(DocxMetadataProperty.values()[0], ""));
+  }
+}
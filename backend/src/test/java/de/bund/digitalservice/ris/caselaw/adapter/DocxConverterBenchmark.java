@@ -0,0 +1,133 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import de.bund.digitalservice.ris.caselaw.adapter.converter.docx.DocumentationUnitDocxListUtils;
+import de.bund.digitalservice.ris.caselaw.adapter.converter.docx.DocxConverter;
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocumentationUnitDocx;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.wml.Jc;
+import org.docx4j.wml.JcEnumeration;
+import org.docx4j.wml.ObjectFactory;
+import org.docx4j.wml.P;
+import org.docx4j.wml.PPr;
+import org.docx4j.wml.PPrBase.PStyle;
+import org.docx4j.wml.R;
+import org.docx4j.wml.Style;
+import org.docx4j.wml.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmark of the conversion of a 300-page judgment. Separates the loading of the docx file by
+ * docx4j from the conversion of the loaded elements into html, which includes the packing of the
+ * list and the border number post-processing.
+ */
+public class DocxConverterBenchmark extends ManualBenchmark {
+  private static final int PAGES = 300;
+  private static final int BORDER_NUMBERS_PER_PAGE = 4;
+
+  private byte[] docx;
+  private WordprocessingMLPackage mlPackage;
+
+  @Setup
+  public void setUp() throws Exception {
+    docx = buildJudgment();
+    mlPackage = WordprocessingMLPackage.load(new ByteArrayInputStream(docx));
+  }
+
+  @Benchmark
+  public WordprocessingMLPackage loadDocx() throws Exception {
+    return WordprocessingMLPackage.load(new ByteArrayInputStream(docx));
+  }
+
+  @Benchmark
+  public String convertLoadedDocx() {
+    List<Style> styles =
+        mlPackage.getMainDocumentPart().getStyleDefinitionsPart().getJaxbElement().getStyle();
+    DocxConverter converter = new DocxConverter();
+    converter.setStyles(
+        styles.stream().collect(Collectors.toMap(Style::getStyleId, Function.identity())));
+    converter.setImages(Collections.emptyMap());
+    converter.setFooters(Collections.emptyList());
+    converter.setListNumberingDefinitions(Collections.emptyMap());
+
+    List<DocumentationUnitDocx> documentationUnitDocxList =
+        mlPackage.getMainDocumentPart().getContent().stream()
+            .map(element -> converter.convert(element, new ArrayList<>()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    DocumentationUnitDocxListUtils.postProcessBorderNumbers(documentationUnitDocxList);
+
+    return DocumentationUnitDocxListUtils.packList(documentationUnitDocxList).stream()
+        .map(DocumentationUnitDocx::toHtmlString)
+        .collect(Collectors.joining());
+  }
+
+  /**
+   * Judgment with roman numeral headlines per chapter and border numbers, each followed by two
+   * paragraphs of text.
+   */
+  private static byte[] buildJudgment() throws Exception {
+    WordprocessingMLPackage judgment = WordprocessingMLPackage.createPackage();
+    ObjectFactory factory = new ObjectFactory();
+    List<Object> content = judgment.getMainDocumentPart().getContent();
+    String[] chapters = {"I.", "II.", "III.", "IV.", "V.", "VI.", "VII.", "VIII.", "IX.", "X."};
+
+    int borderNumber = 1;
+    for (int page = 0; page < PAGES; page++) {
+      if (page % (PAGES / chapters.length) == 0) {
+        P headline = paragraph(factory, chapters[page / (PAGES / chapters.length)]);
+        Jc jc = factory.createJc();
+        jc.setVal(JcEnumeration.CENTER);
+        headline.getPPr().setJc(jc);
+        content.add(headline);
+      }
+
+      for (int i = 0; i < BORDER_NUMBERS_PER_PAGE; i++) {
+        P borderNumberParagraph = paragraph(factory, String.valueOf(borderNumber++));
+        PStyle style = factory.createPPrBasePStyle();
+        style.setVal("RandNummer");
+        borderNumberParagraph.getPPr().setPStyle(style);
+        content.add(borderNumberParagraph);
+
+        content.add(
+            paragraph(
+                factory,
+                "Die Revision der Klägerin hat keinen Erfolg. Das Berufungsgericht hat die Klage",
+                " zu Recht abgewiesen, weil der geltend gemachte Anspruch nicht besteht."));
+        content.add(
+            paragraph(
+                factory,
+                "Nach ständiger Rechtsprechung des Senats ist die Auslegung der Norm nicht",
+                " auf den Wortlaut beschränkt, sondern hat auch den Zweck der Regelung zu",
+                " berücksichtigen, wie er sich aus der Entstehungsgeschichte ergibt."));
+      }
+    }
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    judgment.save(outputStream);
+    return outputStream.toByteArray();
+  }
+
+  private static P paragraph(ObjectFactory factory, String... runTexts) {
+    P paragraph = factory.createP();
+    PPr pPr = factory.createPPr();
+    paragraph.setPPr(pPr);
+    for (String runText : runTexts) {
+      Text text = factory.createText();
+      text.setValue(runText);
+      text.setSpace("preserve");
+      R run = factory.createR();
+      run.getContent().add(factory.createRT(text));
+      paragraph.getContent().add(run);
+    }
+    return paragraph;
+  }
+}
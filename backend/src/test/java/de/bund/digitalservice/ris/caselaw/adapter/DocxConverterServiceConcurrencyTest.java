@@ -0,0 +1,148 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.caselaw.config.ConverterConfig;
+import de.bund.digitalservice.ris.caselaw.domain.docx.Docx2Html;
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocxImagePart;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+@ExtendWith(SpringExtension.class)
+@Import({
+  DocxConverterService.class,
+  Docx2HtmlCache.class,
+  DocxImageCache.class,
+  ConverterConfig.class
+})
+@TestPropertySource(
+    properties = {"otc.obs.bucket-name:testBucket", "docx.conversion.max-parallel-conversions:4"})
+class DocxConverterServiceConcurrencyTest {
+  private static final List<String> FIXTURES =
+      List.of("attachment.docx", "attachment_ecli.docx", "with_metadata.docx");
+
+  @Autowired DocxConverterService service;
+
+  @MockitoBean
+  @Qualifier("docxS3Client")
+  S3Client client;
+
+  private final Map<String, byte[]> files = new HashMap<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    for (String fixture : FIXTURES) {
+      try (InputStream inputStream =
+          getClass().getClassLoader().getResourceAsStream("fixtures/" + fixture)) {
+        files.put(fixture, inputStream.readAllBytes());
+      }
+    }
+
+    // without ETag the converted files aren't cached
+    when(client.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(HeadObjectResponse.builder().build());
+    when(client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation ->
+                new ResponseInputStream<>(
+                    GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(
+                        new ByteArrayInputStream(
+                            files.get(invocation.<GetObjectRequest>getArgument(0).key())))));
+  }
+
+  @Test
+  void testGetConvertedObject_inParallel_shouldBeEqualToSequentialConversions() throws Exception {
+    Map<String, Docx2Html> sequentialResults = new HashMap<>();
+    for (String fixture : FIXTURES) {
+      sequentialResults.put(fixture, service.getConvertedObject(fixture));
+    }
+
+    List<String> fileNames = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      fileNames.addAll(FIXTURES);
+    }
+
+    List<Future<Docx2Html>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (String fileName : fileNames) {
+        futures.add(executor.submit(() -> service.getConvertedObject(fileName)));
+      }
+
+      for (int i = 0; i < fileNames.size(); i++) {
+        Docx2Html expected = sequentialResults.get(fileNames.get(i));
+        Docx2Html actual = futures.get(i).get();
+        assertThat(actual.html()).isEqualTo(expected.html());
+        assertThat(actual.ecliList()).isEqualTo(expected.ecliList());
+        assertThat(actual.properties()).isEqualTo(expected.properties());
+      }
+    }
+  }
+
+  @Test
+  void testGetImage_inParallel_shouldConvertTheDocxFileOnce() throws Exception {
+    int requests = 8;
+    CountDownLatch headRequests = new CountDownLatch(requests);
+    when(client.headObject(any(HeadObjectRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              headRequests.countDown();
+              return HeadObjectResponse.builder().eTag("etag").build();
+            });
+    when(client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              // all requests checked the image cache before the conversion finishes
+              assertThat(headRequests.await(10, TimeUnit.SECONDS)).isTrue();
+              return new ResponseInputStream<>(
+                  GetObjectResponse.builder().eTag("etag").build(),
+                  AbortableInputStream.create(
+                      new ByteArrayInputStream(files.get("attachment.docx"))));
+            });
+
+    List<Future<Optional<DocxImagePart>>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+      for (int i = 0; i < requests; i++) {
+        futures.add(
+            executor.submit(() -> service.getImage("attachment.docx", "/images/", "rId1")));
+      }
+
+      for (Future<Optional<DocxImagePart>> future : futures) {
+        future.get();
+      }
+    }
+
+    verify(client, times(1)).getObject(any(GetObjectRequest.class));
+  }
+}
@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.caselaw.adapter;
 
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -9,9 +10,11 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.sun.management.ThreadMXBean;
 import de.bund.digitalservice.ris.caselaw.adapter.converter.docx.DocxConverter;
 import de.bund.digitalservice.ris.caselaw.adapter.converter.docx.DocxConverterException;
 import de.bund.digitalservice.ris.caselaw.config.ConverterConfig;
@@ -30,13 +33,24 @@ import de.bund.digitalservice.ris.caselaw.domain.docx.TableElement;
 import de.bund.digitalservice.ris.caselaw.domain.docx.TableRowElement;
 import jakarta.xml.bind.JAXBElement;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -82,15 +96,24 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.core.sync.ResponseTransformer;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 @ExtendWith(SpringExtension.class)
-@Import({DocxConverterService.class, ConverterConfig.class})
+@Import({
+  DocxConverterService.class,
+  Docx2HtmlCache.class,
+  DocxImageCache.class,
+  ConverterConfig.class
+})
 class DocxConverterServiceTest {
+  private static final byte[] EMPTY_DOCX = createEmptyDocx();
 
   @Autowired DocxConverterService service;
 
@@ -102,8 +125,6 @@ class DocxConverterServiceTest {
 
   @Mock WordprocessingMLPackage mlPackage;
 
-  @Mock ResponseBytes<GetObjectResponse> responseBytes;
-
   @MockitoBean DocxConverter converter;
 
   @Captor ArgumentCaptor<Map<String, Style>> styleMapCaptor;
@@ -145,7 +166,7 @@ class DocxConverterServiceTest {
 
   @Test
   void testGetHtml() {
-    new TestDocumentGenerator(client, responseBytes, mlPackage, converter)
+    new TestDocumentGenerator(client, mlPackage, converter)
         .addContent("1", generateText("test"))
         .addContent("2", generateBorderNumber("1"))
         .addContent("3", generateText("border number 1"))
@@ -157,7 +178,7 @@ class DocxConverterServiceTest {
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenReturn(mlPackage);
 
       Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -179,9 +200,7 @@ class DocxConverterServiceTest {
 
   @Test
   void testGetHtml_withStyleInformation() {
-    when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-        .thenReturn(responseBytes);
-    when(responseBytes.asInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {}));
+    mockS3Object(client, EMPTY_DOCX);
     MainDocumentPart mainDocumentPart = mock(MainDocumentPart.class);
     StyleDefinitionsPart styleDefinitionsPart = mock(StyleDefinitionsPart.class);
     Styles styles = mock(Styles.class);
@@ -196,7 +215,7 @@ class DocxConverterServiceTest {
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenReturn(mlPackage);
 
       Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -210,9 +229,7 @@ class DocxConverterServiceTest {
 
   @Test
   void testGetHtml_withImages() throws InvalidFormatException, IOException {
-    when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-        .thenReturn(responseBytes);
-    when(responseBytes.asInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {}));
+    mockS3Object(client, EMPTY_DOCX);
     MainDocumentPart mainDocumentPart = mock(MainDocumentPart.class);
     Parts parts = mock(Parts.class);
     HashMap<PartName, Part> partMap = new HashMap<>();
@@ -247,7 +264,7 @@ class DocxConverterServiceTest {
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenReturn(mlPackage);
 
       Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -267,9 +284,7 @@ class DocxConverterServiceTest {
 
   @Test
   void testGetHtml_withFooters() {
-    when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-        .thenReturn(responseBytes);
-    when(responseBytes.asInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {}));
+    mockS3Object(client, EMPTY_DOCX);
     MainDocumentPart mainDocumentPart = mock(MainDocumentPart.class);
     when(mlPackage.getMainDocumentPart()).thenReturn(mainDocumentPart);
 
@@ -305,7 +320,7 @@ class DocxConverterServiceTest {
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenReturn(mlPackage);
 
       Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -315,7 +330,7 @@ class DocxConverterServiceTest {
 
   @Test
   void testGetHtml_withEmptyBorderNumber() {
-    new TestDocumentGenerator(client, responseBytes, mlPackage, converter)
+    new TestDocumentGenerator(client, mlPackage, converter)
         .addContent("1", generateText("test"))
         .addContent("2", generateBorderNumber("1"))
         .addContent("3", generateBorderNumber("2"))
@@ -325,7 +340,7 @@ class DocxConverterServiceTest {
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenReturn(mlPackage);
 
       Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -406,7 +421,7 @@ class DocxConverterServiceTest {
               generateNumberingListEntry("decimal list entry 2", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -416,7 +431,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -453,7 +468,7 @@ class DocxConverterServiceTest {
           (NumberingListEntry)
               generateNumberingListEntry("list entry 2", createNumberingListEntryIndex()));
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -463,7 +478,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -488,7 +503,7 @@ class DocxConverterServiceTest {
           (NumberingListEntry)
               generateNumberingListEntry("list entry 2", createNumberingListEntryIndex()));
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -498,7 +513,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -523,7 +538,7 @@ class DocxConverterServiceTest {
           (NumberingListEntry)
               generateNumberingListEntry("list entry 2", createNumberingListEntryIndex()));
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -533,7 +548,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -558,7 +573,7 @@ class DocxConverterServiceTest {
           (NumberingListEntry)
               generateNumberingListEntry("list entry 2", createNumberingListEntryIndex()));
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -568,7 +583,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -600,7 +615,7 @@ class DocxConverterServiceTest {
           (NumberingListEntry)
               generateNumberingListEntry("bullet list entry 2", createNumberingListEntryIndex()));
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -610,7 +625,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -637,7 +652,7 @@ class DocxConverterServiceTest {
           (NumberingListEntry)
               generateNumberingListEntry("bullet list entry 1", createNumberingListEntryIndex()));
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -647,7 +662,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -695,7 +710,7 @@ class DocxConverterServiceTest {
               generateNumberingListEntry("bullet list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -705,7 +720,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -775,7 +790,7 @@ class DocxConverterServiceTest {
                   "lower roman list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -785,7 +800,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -856,7 +871,7 @@ class DocxConverterServiceTest {
                   "upper roman list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -866,7 +881,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -935,7 +950,7 @@ class DocxConverterServiceTest {
                   "lower letter list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -945,7 +960,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -1016,7 +1031,7 @@ class DocxConverterServiceTest {
                   "upper letter list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -1026,7 +1041,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -1094,7 +1109,7 @@ class DocxConverterServiceTest {
               generateNumberingListEntry("decimal list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -1104,7 +1119,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -1178,7 +1193,7 @@ class DocxConverterServiceTest {
               generateNumberingListEntry("list entry 3", createNumberingListEntryIndex()));
 
       TestDocumentGenerator generator =
-          new TestDocumentGenerator(client, responseBytes, mlPackage, converter);
+          new TestDocumentGenerator(client, mlPackage, converter);
       int index = 0;
       for (DocumentationUnitDocx entry : entries) {
         generator.addContent(String.valueOf(++index), entry);
@@ -1188,7 +1203,7 @@ class DocxConverterServiceTest {
       try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
           mockStatic(WordprocessingMLPackage.class)) {
         mockedMLPackageStatic
-            .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+            .when(() -> WordprocessingMLPackage.load(any(File.class)))
             .thenReturn(mlPackage);
 
         Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -1218,25 +1233,118 @@ class DocxConverterServiceTest {
   }
 
   @Test
-  void testGetHtml_withInputStreamIsNull() {
-    when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-        .thenReturn(responseBytes);
-    when(responseBytes.asInputStream()).thenReturn(null);
+  void testParseAsDocumentationUnitDocxList_withInputStreamIsNull() {
+    assertTrue(service.parseAsDocumentationUnitDocxList(null).isEmpty());
+  }
+
+  @Test
+  void testGetHtml_withLargeDocx_shouldStreamTheObject() throws IOException {
+    long size = 50L * 1024 * 1024;
+    Path largeDocx = createUncompressedDocx(size);
+    when(client.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(HeadObjectResponse.builder().build());
+    when(client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation ->
+                new ResponseInputStream<>(
+                    GetObjectResponse.builder().contentLength(size).build(),
+                    AbortableInputStream.create(Files.newInputStream(largeDocx))));
+    MainDocumentPart mainDocumentPart = mock(MainDocumentPart.class);
+    when(mlPackage.getMainDocumentPart()).thenReturn(mainDocumentPart);
+    when(mainDocumentPart.getContent()).thenReturn(Collections.emptyList());
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
 
-    Docx2Html docx2Html = service.getConvertedObject("test.docx");
-    assertEquals(Docx2Html.EMPTY, docx2Html);
+    try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
+        mockStatic(WordprocessingMLPackage.class)) {
+      mockedMLPackageStatic
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
+          .thenReturn(mlPackage);
+
+      long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+      service.getConvertedObject("test.docx");
+      long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+      // the 50 MB object is copied to a temporary file and not into a byte array
+      assertThat(allocated).isLessThan(size / 4);
+    } finally {
+      Files.delete(largeDocx);
+    }
+  }
+
+  @Test
+  void testGetHtml_withCachedETag_shouldNotConvertTheDocxAgain() {
+    new TestDocumentGenerator(client, mlPackage, converter)
+        .addContent("1", generateText("cached"))
+        .generate();
+    when(client.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(HeadObjectResponse.builder().eTag("etag").build());
+    when(client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation ->
+                new ResponseInputStream<>(
+                    GetObjectResponse.builder().eTag("etag").build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(EMPTY_DOCX))));
+
+    try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
+        mockStatic(WordprocessingMLPackage.class)) {
+      mockedMLPackageStatic
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
+          .thenReturn(mlPackage);
+
+      Docx2Html docx2Html = service.getConvertedObject("cached.docx");
+      Docx2Html cachedDocx2Html = service.getConvertedObject("cached.docx");
+
+      assertEquals("<p>cached</p>", docx2Html.html());
+      assertEquals(docx2Html, cachedDocx2Html);
+      mockedMLPackageStatic.verify(
+          () -> WordprocessingMLPackage.load(any(File.class)), times(1));
+      // the cached file is only checked by a head request
+      verify(client, times(2)).headObject(any(HeadObjectRequest.class));
+      verify(client, times(1)).getObject(any(GetObjectRequest.class));
+    }
+  }
+
+  @Test
+  void testGetHtml_withTooLargeUncompressedDocx_shouldThrowException() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      zipOutputStream.putNextEntry(new ZipEntry("word/document.xml"));
+      zipOutputStream.write(new byte[1024]);
+      zipOutputStream.closeEntry();
+    }
+    mockS3Object(client, outputStream.toByteArray());
+    ReflectionTestUtils.setField(service, "maxUncompressedSize", 1000L);
+
+    try {
+      assertThatThrownBy(() -> service.getConvertedObject("test.docx"))
+          .isInstanceOf(DocxConverterException.class)
+          .hasMessageContaining("Docx file is too large to convert");
+    } finally {
+      ReflectionTestUtils.setField(service, "maxUncompressedSize", 268435456L);
+    }
+  }
+
+  @Test
+  void testGetHtml_withoutZipFile_shouldThrowException() {
+    mockS3Object(client, "no zip file".getBytes(StandardCharsets.UTF_8));
+
+    try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
+        mockStatic(WordprocessingMLPackage.class)) {
+      assertThatThrownBy(() -> service.getConvertedObject("test.docx"))
+          .isInstanceOf(DocxConverterException.class)
+          .hasMessageContaining("Couldn't load docx file!");
+      mockedMLPackageStatic.verifyNoInteractions();
+    }
   }
 
   @Test
   void testGetHtml_withLoadDocxThrowsException() {
-    when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-        .thenReturn(responseBytes);
-    when(responseBytes.asInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {}));
+    mockS3Object(client, EMPTY_DOCX);
 
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenThrow(Docx4JException.class);
 
       // TODO throwable.getMessage().equals("Couldn't load docx file!"))
@@ -1247,9 +1355,7 @@ class DocxConverterServiceTest {
 
   @Test
   void testGetHtml_withProperties() {
-    when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-        .thenReturn(responseBytes);
-    when(responseBytes.asInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {}));
+    mockS3Object(client, EMPTY_DOCX);
 
     MainDocumentPart mainDocumentPart = mock(MainDocumentPart.class);
     when(mainDocumentPart.getContent()).thenReturn(Collections.emptyList());
@@ -1293,7 +1399,7 @@ class DocxConverterServiceTest {
     try (MockedStatic<WordprocessingMLPackage> mockedMLPackageStatic =
         mockStatic(WordprocessingMLPackage.class)) {
       mockedMLPackageStatic
-          .when(() -> WordprocessingMLPackage.load(any(InputStream.class)))
+          .when(() -> WordprocessingMLPackage.load(any(File.class)))
           .thenReturn(mlPackage);
 
       Docx2Html docx2Html = service.getConvertedObject("test.docx");
@@ -1336,22 +1442,94 @@ class DocxConverterServiceTest {
     return new NumberingListEntry(paragraphElement, numberingListEntryIndex);
   }
 
+  private static void mockS3Object(S3Client client, byte[] bytes) {
+    when(client.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(HeadObjectResponse.builder().build());
+    when(client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation ->
+                new ResponseInputStream<>(
+                    GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(bytes))));
+  }
+
+  private static byte[] createEmptyDocx() {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      zipOutputStream.finish();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Temporary docx file with one uncompressed entry of zeros with the given size, written without
+   * holding the content in memory
+   */
+  private static Path createUncompressedDocx(long size) throws IOException {
+    CRC32 crc = new CRC32();
+    byte[] zeros = new byte[8192];
+    for (long remaining = size; remaining > 0; remaining -= zeros.length) {
+      crc.update(zeros, 0, (int) Math.min(zeros.length, remaining));
+    }
+    ZipEntry entry = new ZipEntry("word/document.xml");
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(size);
+    entry.setCompressedSize(size);
+    entry.setCrc(crc.getValue());
+
+    Path docx = Files.createTempFile("large-docx-", ".docx");
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(docx))) {
+      zipOutputStream.putNextEntry(entry);
+      new ZeroInputStream(size).transferTo(zipOutputStream);
+      zipOutputStream.closeEntry();
+    }
+    return docx;
+  }
+
+  /** Input stream of zeros with the given length, without holding the content in memory */
+  private static class ZeroInputStream extends InputStream {
+    private long remaining;
+
+    private ZeroInputStream(long length) {
+      this.remaining = length;
+    }
+
+    @Override
+    public int read() {
+      if (remaining <= 0) {
+        return -1;
+      }
+      remaining--;
+      return 0;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      if (remaining <= 0) {
+        return -1;
+      }
+      int count = (int) Math.min(length, remaining);
+      Arrays.fill(buffer, offset, offset + count, (byte) 0);
+      remaining -= count;
+      return count;
+    }
+  }
+
   private static class TestDocumentGenerator {
 
     private final List<Object> ids = new ArrayList<>();
     private final S3Client client;
-    private final ResponseBytes<GetObjectResponse> responseBytes;
     private final WordprocessingMLPackage mlPackage;
     private final DocxConverter converter;
 
     public TestDocumentGenerator(
         S3Client client,
-        ResponseBytes<GetObjectResponse> responseBytes,
         WordprocessingMLPackage mlPackage,
         DocxConverter converter) {
 
       this.client = client;
-      this.responseBytes = responseBytes;
       this.mlPackage = mlPackage;
       this.converter = converter;
     }
@@ -1365,9 +1543,7 @@ class DocxConverterServiceTest {
     }
 
     private void generate() {
-      when(client.getObject(any(GetObjectRequest.class), any(ResponseTransformer.class)))
-          .thenReturn(responseBytes);
-      when(responseBytes.asInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {}));
+      mockS3Object(client, EMPTY_DOCX);
       MainDocumentPart mainDocumentPart = mock(MainDocumentPart.class);
       when(mlPackage.getMainDocumentPart()).thenReturn(mainDocumentPart);
       when(mainDocumentPart.getContent()).thenReturn(ids);
@@ -0,0 +1,64 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.caselaw.domain.docx.DocxImagePart;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class DocxImageCacheTest {
+  private final DocxImageCache cache = new DocxImageCache(100);
+
+  @Test
+  void testGet_withoutEntry_shouldReturnEmptyOptional() {
+    assertThat(cache.get("file.docx", "etag", "rId1")).isEmpty();
+    assertThat(cache.contains("file.docx", "etag")).isFalse();
+  }
+
+  @Test
+  void testPut_shouldCacheTheImagesForTheETag() {
+    DocxImagePart image = buildImage(10);
+    cache.put("file.docx", "etag", Map.of("rId1", image));
+
+    assertThat(cache.get("file.docx", "etag", "rId1")).contains(image);
+    assertThat(cache.get("file.docx", "etag", "rId2")).isEmpty();
+    assertThat(cache.get("file.docx", "other-etag", "rId1")).isEmpty();
+    assertThat(cache.get("file.docx", null, "rId1")).isEmpty();
+    assertThat(cache.contains("file.docx", "etag")).isTrue();
+    assertThat(cache.contains("file.docx", "other-etag")).isFalse();
+    assertThat(cache.contains("file.docx", null)).isFalse();
+  }
+
+  @Test
+  void testPut_shouldEvictTheLeastRecentlyUsedEntriesAboveTheMaximumSize() {
+    cache.put("first.docx", "etag", Map.of("rId1", buildImage(40)));
+    cache.put("second.docx", "etag", Map.of("rId1", buildImage(40)));
+    cache.get("first.docx", "etag", "rId1");
+
+    cache.put("third.docx", "etag", Map.of("rId1", buildImage(40)));
+
+    assertThat(cache.get("first.docx", "etag", "rId1")).isPresent();
+    assertThat(cache.get("second.docx", "etag", "rId1")).isEmpty();
+    assertThat(cache.get("third.docx", "etag", "rId1")).isPresent();
+  }
+
+  @Test
+  void testPut_withImagesAboveTheMaximumSize_shouldNotCacheTheImages() {
+    cache.put("file.docx", "etag", Map.of("rId1", buildImage(60), "rId2", buildImage(60)));
+
+    assertThat(cache.contains("file.docx", "etag")).isFalse();
+  }
+
+  @Test
+  void testInvalidate_shouldRemoveTheImages() {
+    cache.put("file.docx", "etag", Map.of("rId1", buildImage(10)));
+
+    cache.invalidate("file.docx");
+
+    assertThat(cache.get("file.docx", "etag", "rId1")).isEmpty();
+  }
+
+  private static DocxImagePart buildImage(int size) {
+    return new DocxImagePart("image/png", new byte[size]);
+  }
+}
@@ -0,0 +1,110 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDuplicateCheckQueueRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateCheckQueueDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+class DuplicateCheckQueueWorkerTest {
+  private final DatabaseDuplicateCheckQueueRepository queueRepository =
+      mock(DatabaseDuplicateCheckQueueRepository.class);
+  private final DuplicateRelationService duplicateRelationService =
+      mock(DuplicateRelationService.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DuplicateCheckQueueWorker worker =
+      new DuplicateCheckQueueWorker(
+          queueRepository,
+          duplicateRelationService,
+          new SyncTaskExecutor(),
+          meterRegistry,
+          2,
+          Duration.ofMinutes(5),
+          3);
+
+  @Test
+  void testDrainQueue_shouldCheckAndDeleteTheClaimedRequests() {
+    when(queueRepository.count()).thenReturn(3L);
+    when(queueRepository.claimDueRequests(2, Duration.ofMinutes(5).toMillis()))
+        .thenReturn(List.of(buildRequest("DocumentNumb1", 1L), buildRequest("DocumentNumb2", 2L)));
+
+    worker.drainQueue();
+
+    verify(duplicateRelationService).updateDuplicates("DocumentNumb1");
+    verify(duplicateRelationService).updateDuplicates("DocumentNumb2");
+    verify(queueRepository).deleteCheckedRequest("DocumentNumb1", 1L);
+    verify(queueRepository).deleteCheckedRequest("DocumentNumb2", 2L);
+    assertThat(meterRegistry.get("duplicate_check.queue.depth").gauge().value()).isEqualTo(3.0);
+    assertThat(meterRegistry.get("duplicate_check.duration").timer().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("duplicate_check.latency").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void testDrainQueue_shouldReleaseTheWorkersAfterTheChecks() {
+    when(queueRepository.claimDueRequests(2, Duration.ofMinutes(5).toMillis()))
+        .thenReturn(List.of(buildRequest("DocumentNumb1", 1L)));
+
+    worker.drainQueue();
+    worker.drainQueue();
+
+    verify(queueRepository, times(2))
+        .claimDueRequests(2, Duration.ofMinutes(5).toMillis());
+  }
+
+  @Test
+  void testDrainQueue_withFailingCheck_shouldKeepTheRequest() {
+    when(queueRepository.claimDueRequests(2, Duration.ofMinutes(5).toMillis()))
+        .thenReturn(List.of(buildRequest("DocumentNumb1", 1L, 2)));
+    doThrow(new RuntimeException("database not available"))
+        .when(duplicateRelationService)
+        .updateDuplicates("DocumentNumb1");
+
+    worker.drainQueue();
+
+    verify(queueRepository, never()).deleteCheckedRequest(anyString(), anyLong());
+    assertThat(meterRegistry.get("duplicate_check.latency").timer().count()).isZero();
+    assertThat(meterRegistry.get("duplicate_check.dropped").counter().count()).isZero();
+  }
+
+  @Test
+  void testDrainQueue_withFailingCheckInTheLastAttempt_shouldDropTheRequest() {
+    when(queueRepository.claimDueRequests(2, Duration.ofMinutes(5).toMillis()))
+        .thenReturn(List.of(buildRequest("DocumentNumb1", 1L, 3)));
+    doThrow(new RuntimeException("invalid data"))
+        .when(duplicateRelationService)
+        .updateDuplicates("DocumentNumb1");
+
+    worker.drainQueue();
+
+    verify(queueRepository).deleteCheckedRequest("DocumentNumb1", 1L);
+    assertThat(meterRegistry.get("duplicate_check.latency").timer().count()).isZero();
+    assertThat(meterRegistry.get("duplicate_check.dropped").counter().count()).isEqualTo(1.0);
+  }
+
+  private static DuplicateCheckQueueDTO buildRequest(String documentNumber, long enqueueCount) {
+    return buildRequest(documentNumber, enqueueCount, 1);
+  }
+
+  private static DuplicateCheckQueueDTO buildRequest(
+      String documentNumber, long enqueueCount, int attempts) {
+    return DuplicateCheckQueueDTO.builder()
+        .documentNumber(documentNumber)
+        .enqueueCount(enqueueCount)
+        .enqueuedAt(Instant.now())
+        .attempts(attempts)
+        .build();
+  }
+}
@@ -0,0 +1,102 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bund.digitalservice.ris.caselaw.adapter.caselawldml.CaseLawLdml;
+import de.bund.digitalservice.ris.caselaw.adapter.transformer.DocumentationUnitToLdmlTransformer;
+import de.bund.digitalservice.ris.caselaw.domain.CoreData;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.domain.LongTexts;
+import de.bund.digitalservice.ris.caselaw.domain.ShortTexts;
+import de.bund.digitalservice.ris.caselaw.domain.court.Court;
+import de.bund.digitalservice.ris.caselaw.domain.lookuptable.documenttype.DocumentType;
+import jakarta.xml.bind.JAXB;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Templates;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import net.sf.saxon.TransformerFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of 1,000 sequential LDML exports of the same documentation unit. Compares the exporter,
+ * which reuses the JAXB marshaller, the xslt transformer and the xsd validator, with new instances
+ * for every export.
+ */
+public class LdmlExporterServiceBenchmark extends ManualBenchmark {
+  private static final int EXPORTS = 1_000;
+
+  private LdmlExporterService exporter;
+  private Templates htmlToAknHtml;
+  private Schema schema;
+  private CaseLawLdml ldml;
+
+  @Setup
+  public void setUp() {
+    XmlUtilService xmlUtilService = new XmlUtilService(new TransformerFactoryImpl());
+    DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+    exporter =
+        new LdmlExporterService(
+            mock(DocumentationUnitRepository.class),
+            xmlUtilService,
+            documentBuilderFactory,
+            mock(LdmlBucket.class),
+            mock(ObjectMapper.class));
+    htmlToAknHtml = xmlUtilService.getTemplates("caselawhandover/htmlToAknHtml.xslt");
+    schema = xmlUtilService.getSchema("caselawhandover/shared/akomantoso30.xsd");
+    ldml =
+        DocumentationUnitToLdmlTransformer.transformToLdml(
+                buildDocumentationUnit(), documentBuilderFactory)
+            .orElseThrow();
+  }
+
+  @Benchmark
+  public void ldmlToString(Blackhole blackhole) {
+    for (int i = 0; i < EXPORTS; i++) {
+      blackhole.consume(exporter.ldmlToString(ldml));
+    }
+  }
+
+  @Benchmark
+  public void ldmlToStringWithNewInstances(Blackhole blackhole) throws Exception {
+    for (int i = 0; i < EXPORTS; i++) {
+      StringWriter jaxbOutput = new StringWriter();
+      JAXB.marshal(ldml, jaxbOutput);
+      String ldmlAsXmlString = XmlUtilService.xsltTransform(htmlToAknHtml, jaxbOutput.toString());
+      schema.newValidator().validate(new StreamSource(new StringReader(ldmlAsXmlString)));
+      blackhole.consume(Optional.of(ldmlAsXmlString));
+    }
+  }
+
+  private static DocumentationUnit buildDocumentationUnit() {
+    return DocumentationUnit.builder()
+        .uuid(UUID.randomUUID())
+        .coreData(
+            CoreData.builder()
+                .ecli("testecli")
+                .court(Court.builder().type("testCourtType").location("testCourtLocation").build())
+                .documentType(DocumentType.builder().label("testDocumentTypeAbbreviation").build())
+                .legalEffect("ja")
+                .fileNumbers(List.of("testFileNumber"))
+                .decisionDate(LocalDate.of(2020, 1, 1))
+                .build())
+        .documentNumber("testDocumentNumber")
+        .longTexts(
+            LongTexts.builder()
+                .caseFacts("<p>Example content 1</p>".repeat(50))
+                .decisionReasons("<p>Example <strong>content</strong> 2</p>".repeat(50))
+                .build())
+        .shortTexts(ShortTexts.builder().build())
+        .build();
+  }
+}
@@ -0,0 +1,38 @@
+package de.bund.digitalservice.ris.caselaw.adapter;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Base class of the JMH benchmarks with the common settings. The settings are inherited by the
+ * benchmark classes.
+ *
+ * <p>The benchmarks are tagged as manual and not part of the test tasks. Run {@link
+ * #runBenchmark()} of a benchmark class manually.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class ManualBenchmark {
+
+  @Test
+  @Tag("manual")
+  void runBenchmark() throws RunnerException {
+    new Runner(new OptionsBuilder().include(getClass().getSimpleName()).build()).run();
+  }
+}
@@ -65,6 +65,9 @@ class S3AttachmentServiceTest {
 
   @MockitoBean DatabaseDocumentationUnitRepository documentationUnitRepository;
 
+  @MockitoBean Docx2HtmlCache docx2HtmlCache;
+  @MockitoBean DocxImageCache docxImageCache;
+
   private DocumentationUnitDTO documentationUnitDTO;
 
   @BeforeEach
@@ -141,6 +144,10 @@ class S3AttachmentServiceTest {
     assertEquals("testBucket", deleteObjectRequestCaptor.getValue().bucket());
     assertEquals(testS3Path, deleteObjectRequestCaptor.getValue().key());
 
+    // cache interaction
+    verify(docx2HtmlCache).invalidate(testS3Path);
+    verify(docxImageCache).invalidate(testS3Path);
+
     // repo interaction
     verify(repository).deleteByS3ObjectPath(testS3Path);
   }
@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.caselaw.adapter.authorization;
 
+import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildAccessMetadata;
 import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildBGHDocOffice;
 import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildCCRisDocOffice;
 import static de.bund.digitalservice.ris.caselaw.AuthUtils.setUpDocumentationOfficeMocks;
@@ -37,6 +38,7 @@ import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -93,7 +95,8 @@ class DocumentationUnitControllerAuthTest {
       throws DocumentationUnitNotExistsException {
 
     // testGetByDocumentNumber() is also in DocumentationUnitControllerAuthIntegrationTest
-    when(service.getByDocumentNumber(any(String.class))).thenReturn(null);
+    when(service.getAccessMetadataByDocumentNumber(any(String.class)))
+        .thenReturn(Optional.empty());
 
     risWebTestClient
         .withLogin(docOffice1Group)
@@ -217,6 +220,7 @@ class DocumentationUnitControllerAuthTest {
 
     UUID nonExistentUuid = UUID.fromString("12345678-1111-2222-3333-787878787878");
     when(service.getByUuid(nonExistentUuid)).thenReturn(null);
+    when(service.getAccessMetadataByUuid(nonExistentUuid)).thenReturn(Optional.empty());
     uri = "/api/v1/caselaw/documentunits/" + nonExistentUuid;
 
     risWebTestClient
@@ -333,6 +337,8 @@ class DocumentationUnitControllerAuthTest {
             .coreData(CoreData.builder().documentationOffice(docOffice).build())
             .build();
     when(service.getByUuid(TEST_UUID)).thenReturn(docUnit);
+    when(service.getAccessMetadataByUuid(TEST_UUID))
+        .thenReturn(Optional.of(buildAccessMetadata(docUnit)));
     return docUnit;
   }
 }
@@ -189,6 +189,27 @@ class DocumentationUnitDocxListUtilsTest {
     assertThat(packedList.get(3)).isInstanceOf(BorderNumber.class);
   }
 
+  @Test
+  void testPackList_withRomanNumeralHeadline_shouldResetParentRandnummer() {
+    List<DocumentationUnitDocx> documentationUnitDocxList = new ArrayList<>();
+    documentationUnitDocxList.add(createBorderNumber(1));
+    documentationUnitDocxList.add(createParagraphWithTextElement("paragraph before headline"));
+    documentationUnitDocxList.add(createParagraphWithTextElement(" IV. "));
+    documentationUnitDocxList.add(createParagraphWithTextElement("paragraph after headline"));
+    // just so that the first Randnummer is not the final one in the document:
+    documentationUnitDocxList.add(createBorderNumber(2));
+
+    List<DocumentationUnitDocx> packedList =
+        DocumentationUnitDocxListUtils.packList(documentationUnitDocxList);
+
+    assertThat(packedList).hasSize(4);
+    BorderNumber borderNumberBlock = (BorderNumber) packedList.get(0);
+    assertThat(borderNumberBlock.getChildrenSize()).isEqualTo(1);
+    assertThat(packedList.get(1).toHtmlString()).isEqualTo("<p> IV. </p>");
+    assertThat(packedList.get(2).toHtmlString()).isEqualTo("<p>paragraph after headline</p>");
+    assertThat(packedList.get(3)).isInstanceOf(BorderNumber.class);
+  }
+
   @Test
   void
       testPackList_withTwoRandnummernAndAParagraphAndNumberingListEntries_shouldCreateCorrectHierarchy() {
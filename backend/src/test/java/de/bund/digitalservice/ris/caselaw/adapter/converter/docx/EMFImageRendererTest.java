@@ -0,0 +1,169 @@
+package de.bund.digitalservice.ris.caselaw.adapter.converter.docx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EMFImageRendererTest {
+  private static final byte[] PLACEHOLDER =
+      Base64.getDecoder().decode(RunElementConverter.UNKNOWN_IMAGE_BASE64);
+  private static final Duration RENDER_TIMEOUT = Duration.ofSeconds(10);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private byte[] emfBytes;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("test.emf")) {
+      emfBytes = inputStream.readAllBytes();
+    }
+  }
+
+  @Test
+  void testRender_shouldRenderPngWithTheDoubleSize() throws IOException {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            Runnable::run, meterRegistry, 10_000_000, 1_000_000, 10_000_000, RENDER_TIMEOUT);
+
+    byte[] png = renderer.render(emfBytes, new Dimension(100, 50)).join();
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+    assertThat(image.getWidth()).isEqualTo(200);
+    assertThat(image.getHeight()).isEqualTo(100);
+    assertThat(meterRegistry.timer("docx_conversion.emf_render.duration").count()).isEqualTo(1);
+  }
+
+  @Test
+  void testRender_withSameImage_shouldUseTheCachedPng() {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            Runnable::run, meterRegistry, 10_000_000, 1_000_000, 10_000_000, RENDER_TIMEOUT);
+
+    byte[] first = renderer.render(emfBytes, new Dimension(100, 50)).join();
+    byte[] second = renderer.render(emfBytes.clone(), new Dimension(100, 50)).join();
+
+    assertThat(second).isSameAs(first);
+    assertThat(meterRegistry.timer("docx_conversion.emf_render.duration").count()).isEqualTo(1);
+  }
+
+  @Test
+  void testRender_withFullCache_shouldEvictTheLeastRecentlyUsedPng() {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            Runnable::run, meterRegistry, 10_000_000, 1_000_000, 1, RENDER_TIMEOUT);
+
+    renderer.render(emfBytes, new Dimension(100, 50)).join();
+    renderer.render(emfBytes, new Dimension(100, 50)).join();
+
+    // the png is larger than the cache, so it's rendered again
+    assertThat(meterRegistry.timer("docx_conversion.emf_render.duration").count()).isEqualTo(2);
+  }
+
+  @Test
+  void testRender_withTooManyPixels_shouldRenderInSmallerResolution() throws IOException {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            Runnable::run, meterRegistry, 10_000_000, 10_000, 10_000_000, RENDER_TIMEOUT);
+
+    byte[] png = renderer.render(emfBytes, new Dimension(200, 200)).join();
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+    assertThat(image.getWidth()).isEqualTo(100);
+    assertThat(image.getHeight()).isEqualTo(100);
+  }
+
+  @Test
+  void testRender_withTooLargeImage_shouldReturnPlaceholder() {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            Runnable::run, meterRegistry, 10, 1_000_000, 10_000_000, RENDER_TIMEOUT);
+
+    byte[] png = renderer.render(emfBytes, new Dimension(100, 50)).join();
+
+    assertThat(png).isEqualTo(PLACEHOLDER);
+    assertThat(meterRegistry.timer("docx_conversion.emf_render.duration").count()).isZero();
+  }
+
+  @Test
+  void testRender_withInvalidImage_shouldReturnPlaceholder() {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            Runnable::run, meterRegistry, 10_000_000, 1_000_000, 10_000_000, RENDER_TIMEOUT);
+
+    byte[] png = renderer.render(new byte[] {1, 2, 3}, new Dimension(100, 50)).join();
+
+    assertThat(png).isEqualTo(PLACEHOLDER);
+  }
+
+  @Test
+  void testAwaitImages_withRenderTimeout_shouldUseThePlaceholder() {
+    // the rendering is never executed
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            task -> {}, meterRegistry, 10_000_000, 1_000_000, 10_000_000, Duration.ofMillis(10));
+    DocxConverter converter = new DocxConverter();
+    converter.setEmfImageRenderer(renderer);
+    List<byte[]> pngs = new ArrayList<>();
+
+    converter.renderEMF(emfBytes, new Dimension(100, 50), pngs::add);
+    converter.awaitImages();
+
+    assertThat(pngs).containsExactly(PLACEHOLDER);
+  }
+
+  @Test
+  void testAwaitImages_withRenderTimeout_shouldCancelTheRendering() {
+    List<Runnable> queuedTasks = new ArrayList<>();
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            queuedTasks::add,
+            meterRegistry,
+            10_000_000,
+            1_000_000,
+            10_000_000,
+            Duration.ofMillis(10));
+    DocxConverter converter = new DocxConverter();
+    converter.setEmfImageRenderer(renderer);
+
+    converter.renderEMF(emfBytes, new Dimension(100, 50), png -> {});
+    converter.awaitImages();
+
+    assertThat(queuedTasks)
+        .singleElement()
+        .isInstanceOfSatisfying(Future.class, task -> assertThat(task.isCancelled()).isTrue());
+    queuedTasks.getFirst().run();
+    assertThat(meterRegistry.timer("docx_conversion.emf_render.duration").count()).isZero();
+  }
+
+  @Test
+  void testRender_withRejectedRendering_shouldReturnPlaceholder() {
+    EMFImageRenderer renderer =
+        new EMFImageRenderer(
+            task -> {
+              throw new RejectedExecutionException("queue is full");
+            },
+            meterRegistry,
+            10_000_000,
+            1_000_000,
+            10_000_000,
+            RENDER_TIMEOUT);
+
+    byte[] png = renderer.render(emfBytes, new Dimension(100, 50)).join();
+
+    assertThat(png).isEqualTo(PLACEHOLDER);
+  }
+}
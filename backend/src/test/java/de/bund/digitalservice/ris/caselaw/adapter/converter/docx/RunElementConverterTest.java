@@ -29,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.DigestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class RunElementConverterTest {
@@ -83,6 +84,55 @@ class RunElementConverterTest {
     assertThat(imageElement.getContentType()).isEqualTo("image/png");
   }
 
+  @Test
+  void testConvert_withImageUrlPrefix_referenceImageByUrl() {
+    R rElement = new R();
+    Drawing drawing = new Drawing();
+    Inline inline = getInline();
+    drawing.getAnchorOrInline().add(inline);
+    rElement.getContent().add(new JAXBElement<>(QName.valueOf(""), Drawing.class, drawing));
+
+    ParagraphElement paragraphElement = new ParagraphElement();
+
+    DocxConverter converter = mock(DocxConverter.class);
+    Map<String, DocxImagePart> imageMap = new HashMap<>();
+    DocxImagePart imagePart = new DocxImagePart("image/png", new byte[] {1, 2, 3});
+    imageMap.put("image1", imagePart);
+    when(converter.getImages()).thenReturn(imageMap);
+    when(converter.getImageUrlPrefix()).thenReturn("/images/");
+    when(converter.extractImage("image1", imagePart)).thenReturn("/images/image1");
+
+    RunElementConverter.convert(rElement, paragraphElement, converter, new ArrayList<>());
+
+    RunElement runElement = paragraphElement.getRunElements().get(0);
+    assertThat(runElement).isInstanceOf(InlineImageElement.class);
+    InlineImageElement imageElement = (InlineImageElement) runElement;
+    assertThat(imageElement.getUrl()).isEqualTo("/images/image1");
+    assertThat(imageElement.getBase64Representation()).isNull();
+    assertThat(imageElement.toHtmlString()).startsWith("<img src=\"/images/image1\"");
+  }
+
+  @Test
+  void testConvert_withImageUrlPrefix_extractImageWithETag() {
+    R rElement = new R();
+    Drawing drawing = new Drawing();
+    Inline inline = getInline();
+    drawing.getAnchorOrInline().add(inline);
+    rElement.getContent().add(new JAXBElement<>(QName.valueOf(""), Drawing.class, drawing));
+
+    ParagraphElement paragraphElement = new ParagraphElement();
+
+    DocxConverter converter = new DocxConverter();
+    byte[] bytes = new byte[] {1, 2, 3};
+    converter.setImages(Map.of("image1", new DocxImagePart("image/png", bytes)));
+    converter.setImageUrlPrefix("/images/");
+
+    RunElementConverter.convert(rElement, paragraphElement, converter, new ArrayList<>());
+
+    assertThat(converter.getExtractedImages().get("image1").eTag())
+        .isEqualTo("\"" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+  }
+
   @Test
   void testConvert_textWithHTMLEntities_shouldEscapeHTMLEntities() {
     R run = new R();
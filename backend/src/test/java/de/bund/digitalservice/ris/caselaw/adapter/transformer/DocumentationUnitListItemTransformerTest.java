@@ -7,6 +7,7 @@ import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentTypeDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitListItemDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitSearchResultDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.FileNumberDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.SourceDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.StatusDTO;
@@ -108,4 +109,85 @@ class DocumentationUnitListItemTransformerTest {
 
     assertThat(documentationUnitListItem.note()).isNull();
   }
+
+  @Test
+  void testTransformToDomain_withSearchResult_shouldTransformAllFields() {
+    UUID id = UUID.randomUUID();
+    DocumentationUnitSearchResultDTO searchResultDTO =
+        new DocumentationUnitSearchResultDTO(
+            id,
+            "YYTestDoc0001",
+            LocalDate.parse("2021-01-01"),
+            LocalDateTime.parse("2022-01-23T18:25:14"),
+            LocalDateTime.parse("2022-01-22T18:27:18"),
+            "1. Senat",
+            "a note",
+            true,
+            false,
+            "1 BvR 1234/19",
+            "E, O",
+            CourtDTO.builder().type("LG").location("Berlin").build(),
+            DocumentTypeDTO.builder().abbreviation("Urt").build(),
+            StatusDTO.builder()
+                .createdAt(Instant.now())
+                .publicationStatus(PublicationStatus.PUBLISHED)
+                .withError(false)
+                .build(),
+            DocumentationOfficeDTO.builder().abbreviation("BGH").build(),
+            DocumentationOfficeDTO.builder().abbreviation("DS").build());
+
+    DocumentationUnitListItem documentationUnitListItem =
+        DocumentationUnitListItemTransformer.transformToDomain(searchResultDTO);
+
+    assertThat(documentationUnitListItem.uuid()).isEqualTo(id);
+    assertThat(documentationUnitListItem.documentNumber()).isEqualTo("YYTestDoc0001");
+    assertThat(documentationUnitListItem.note()).isEqualTo("a note");
+    assertThat(documentationUnitListItem.court().label()).isEqualTo("LG Berlin");
+    assertThat(documentationUnitListItem.documentType())
+        .isEqualTo(DocumentType.builder().jurisShortcut("Urt").build());
+    assertThat(documentationUnitListItem.fileNumber()).isEqualTo("1 BvR 1234/19");
+    assertThat(documentationUnitListItem.decisionDate()).isEqualTo(LocalDate.parse("2021-01-01"));
+    assertThat(documentationUnitListItem.scheduledPublicationDateTime())
+        .isEqualTo(LocalDateTime.parse("2022-01-23T18:25:14"));
+    assertThat(documentationUnitListItem.lastPublicationDateTime())
+        .isEqualTo(LocalDateTime.parse("2022-01-22T18:27:18"));
+    assertThat(documentationUnitListItem.appraisalBody()).isEqualTo("1. Senat");
+    assertThat(documentationUnitListItem.hasHeadnoteOrPrinciple()).isTrue();
+    assertThat(documentationUnitListItem.hasAttachments()).isFalse();
+    assertThat(documentationUnitListItem.documentationOffice().abbreviation()).isEqualTo("BGH");
+    assertThat(documentationUnitListItem.creatingDocumentationOffice().abbreviation())
+        .isEqualTo("DS");
+    assertThat(documentationUnitListItem.source()).isEqualTo("E, O");
+    assertThat(documentationUnitListItem.status().publicationStatus())
+        .isEqualTo(PublicationStatus.PUBLISHED);
+  }
+
+  @Test
+  void testTransformToDomain_withSearchResultWithoutSource_shouldHaveEmptySource() {
+    DocumentationUnitSearchResultDTO searchResultDTO =
+        new DocumentationUnitSearchResultDTO(
+            UUID.randomUUID(),
+            "YYTestDoc0001",
+            null,
+            null,
+            null,
+            null,
+            null,
+            false,
+            false,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    DocumentationUnitListItem documentationUnitListItem =
+        DocumentationUnitListItemTransformer.transformToDomain(searchResultDTO);
+
+    assertThat(documentationUnitListItem.source()).isEmpty();
+    assertThat(documentationUnitListItem.creatingDocumentationOffice()).isNull();
+    assertThat(documentationUnitListItem.status()).isNull();
+  }
 }
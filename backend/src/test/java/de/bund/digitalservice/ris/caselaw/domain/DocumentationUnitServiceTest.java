@@ -2,16 +2,20 @@ package de.bund.digitalservice.ris.caselaw.domain;
 
 import static de.bund.digitalservice.ris.caselaw.domain.RelatedDocumentationType.ACTIVE_CITATION;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.LongNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.gravity9.jsonpatch.AddOperation;
 import com.gravity9.jsonpatch.JsonPatch;
@@ -20,12 +24,15 @@ import com.gravity9.jsonpatch.ReplaceOperation;
 import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentationUnitStatusService;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService.DuplicateCheckStatus;
 import de.bund.digitalservice.ris.caselaw.domain.court.Court;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentNumberFormatterException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentNumberPatternException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitDeletionException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitExistsException;
 import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
+import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitPatchException;
+import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitVersionConflictException;
 import de.bund.digitalservice.ris.caselaw.domain.lookuptable.LegalPeriodical;
 import de.bund.digitalservice.ris.caselaw.domain.lookuptable.documenttype.DocumentType;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
@@ -93,7 +100,7 @@ class DocumentationUnitServiceTest {
     assertNotNull(service.generateNewDocumentationUnit(documentationOffice, Optional.empty()));
 
     verify(documentNumberService).generateDocumentNumber(documentationOffice.abbreviation());
-    verify(duplicateCheckService, times(1)).checkDuplicates("nextDocumentNumber");
+    verify(duplicateCheckService, times(1)).enqueueDuplicateCheck("nextDocumentNumber");
     verify(repository)
         .createNewDocumentationUnit(
             DocumentationUnit.builder()
@@ -258,12 +265,43 @@ class DocumentationUnitServiceTest {
                 Collections.singletonList(
                     Attachment.builder().uploadTimestamp(Instant.now()).build()))
             .build();
-    when(repository.findByUuid(documentationUnit.uuid())).thenReturn(documentationUnit);
+    when(repository.update(documentationUnit)).thenReturn(documentationUnit);
 
     var du = service.updateDocumentationUnit(documentationUnit);
     assertEquals(du, documentationUnit);
 
-    verify(repository).save(documentationUnit);
+    verify(repository).update(documentationUnit);
+    verify(repository, never()).findByUuid(documentationUnit.uuid());
+  }
+
+  @Test
+  void testUpdateDocumentationUnit_withDuplicateCheck_shouldEnqueueDuplicateCheck()
+      throws DocumentationUnitNotExistsException {
+    DocumentationUnit documentationUnit =
+        DocumentationUnit.builder().uuid(UUID.randomUUID()).documentNumber("ABCDE20220001").build();
+    when(repository.update(documentationUnit)).thenReturn(documentationUnit);
+
+    var du = service.updateDocumentationUnit(documentationUnit, DuplicateCheckStatus.ENABLED);
+
+    assertEquals(documentationUnit, du);
+    verify(duplicateCheckService).enqueueDuplicateCheck("ABCDE20220001");
+    verify(duplicateCheckService, never()).checkDuplicates(any());
+    verify(repository, never()).findByUuid(documentationUnit.uuid());
+  }
+
+  @Test
+  void testUpdateDocumentationUnit_withFailingEnqueue_shouldSaveDocumentationUnit()
+      throws DocumentationUnitNotExistsException {
+    DocumentationUnit documentationUnit =
+        DocumentationUnit.builder().uuid(UUID.randomUUID()).documentNumber("ABCDE20220001").build();
+    when(repository.update(documentationUnit)).thenReturn(documentationUnit);
+    doThrow(new RuntimeException("queue not available"))
+        .when(duplicateCheckService)
+        .enqueueDuplicateCheck("ABCDE20220001");
+
+    var du = service.updateDocumentationUnit(documentationUnit, DuplicateCheckStatus.ENABLED);
+
+    assertEquals(documentationUnit, du);
   }
 
   @Test
@@ -279,7 +317,7 @@ class DocumentationUnitServiceTest {
             .version(0L)
             .build();
     when(repository.findByUuid(documentationUnit.uuid())).thenReturn(documentationUnit);
-    when(patchMapperService.calculatePatch(any(), any())).thenReturn(new JsonPatch(List.of()));
+    when(patchMapperService.calculatePatch(any(), any(), any())).thenReturn(new JsonPatch(List.of()));
     when(patchMapperService.removePatchForSamePath(any(), any()))
         .thenReturn(new JsonPatch(List.of()));
     when(patchMapperService.handlePatchForSamePath(any(), any(), any(), any()))
@@ -299,6 +337,105 @@ class DocumentationUnitServiceTest {
     assertEquals(0L, response.documentationUnitVersion());
   }
 
+  @Test
+  void testUpdateDocumentationUnit_withOutdatedVersion_shouldReturnFullReload()
+      throws DocumentationUnitNotExistsException {
+    DocumentationUnit documentationUnit =
+        DocumentationUnit.builder()
+            .uuid(UUID.randomUUID())
+            .documentNumber("ABCDE20220001")
+            .version(500L)
+            .build();
+    JsonPatch fullReloadPatch =
+        new JsonPatch(List.of(new ReplaceOperation("/version", new LongNode(500L))));
+    when(repository.findByUuid(documentationUnit.uuid())).thenReturn(documentationUnit);
+    when(patchMapperService.requiresFullReload(1L, 500L)).thenReturn(true);
+    when(patchMapperService.getFullReloadPatch(documentationUnit)).thenReturn(fullReloadPatch);
+
+    JsonPatch patch =
+        new JsonPatch(
+            List.of(
+                new ReplaceOperation("/version", new LongNode(1L)),
+                new ReplaceOperation("/coreData/appraisalBody", new TextNode("1. Senat"))));
+    var risJsonPatch = RisJsonPatch.builder().documentationUnitVersion(1L).patch(patch).build();
+
+    var response = service.updateDocumentationUnit(documentationUnit.uuid(), risJsonPatch);
+
+    assertThat(response.documentationUnitVersion()).isEqualTo(500L);
+    assertThat(response.patch()).isEqualTo(fullReloadPatch);
+    assertThat(response.errorPaths()).containsExactly("/coreData/appraisalBody");
+    verify(patchMapperService, never()).calculatePatch(any(), any(), any());
+    verify(patchMapperService, never()).applyPatchToEntity(any(), any());
+    verify(patchMapperService, never()).savePatch(any(), any(), any());
+  }
+
+  @Test
+  void testUpdateDocumentationUnit_withVersionConflict_shouldRetryWithTheStoredVersion()
+      throws DocumentationUnitNotExistsException {
+    DocumentationUnit outdatedDocumentationUnit =
+        DocumentationUnit.builder()
+            .uuid(UUID.randomUUID())
+            .documentNumber("ABCDE20220001")
+            .version(1L)
+            .build();
+    DocumentationUnit storedDocumentationUnit =
+        outdatedDocumentationUnit.toBuilder().version(2L).build();
+    JsonPatch patch =
+        new JsonPatch(
+            List.of(new ReplaceOperation("/coreData/appraisalBody", new TextNode("1. Senat"))));
+    when(repository.findByUuid(outdatedDocumentationUnit.uuid()))
+        .thenReturn(outdatedDocumentationUnit, storedDocumentationUnit);
+    when(patchMapperService.calculatePatch(any(), any(), any())).thenReturn(new JsonPatch(List.of()));
+    when(patchMapperService.removePatchForSamePath(any(), any())).thenReturn(patch);
+    when(patchMapperService.applyPatchToEntity(any(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    when(repository.update(any(DocumentationUnit.class), eq(1L)))
+        .thenThrow(new DocumentationUnitVersionConflictException(UUID.randomUUID(), 1L));
+    when(patchMapperService.handlePatchForSamePath(any(), any(), any(), any()))
+        .thenReturn(
+            RisJsonPatch.builder()
+                .patch(new JsonPatch(List.of()))
+                .errorPaths(Collections.emptyList())
+                .build());
+    var risJsonPatch = RisJsonPatch.builder().documentationUnitVersion(1L).patch(patch).build();
+
+    var response = service.updateDocumentationUnit(outdatedDocumentationUnit.uuid(), risJsonPatch);
+
+    assertThat(response.documentationUnitVersion()).isEqualTo(3L);
+    verify(repository).update(storedDocumentationUnit.toBuilder().version(3L).build(), 2L);
+    verify(patchMapperService).calculatePatch(outdatedDocumentationUnit.uuid(), 1L, 1L);
+    verify(patchMapperService).calculatePatch(outdatedDocumentationUnit.uuid(), 1L, 2L);
+    verify(patchMapperService, times(1)).savePatch(any(), any(), any());
+  }
+
+  @Test
+  void testUpdateDocumentationUnit_withRepeatedVersionConflicts_shouldThrowException()
+      throws DocumentationUnitNotExistsException {
+    DocumentationUnit documentationUnit =
+        DocumentationUnit.builder()
+            .uuid(UUID.randomUUID())
+            .documentNumber("ABCDE20220001")
+            .version(1L)
+            .build();
+    JsonPatch patch =
+        new JsonPatch(
+            List.of(new ReplaceOperation("/coreData/appraisalBody", new TextNode("1. Senat"))));
+    when(repository.findByUuid(documentationUnit.uuid())).thenReturn(documentationUnit);
+    when(patchMapperService.calculatePatch(any(), any(), any())).thenReturn(new JsonPatch(List.of()));
+    when(patchMapperService.removePatchForSamePath(any(), any())).thenReturn(patch);
+    when(patchMapperService.applyPatchToEntity(any(), any())).thenReturn(documentationUnit);
+    when(repository.update(any(DocumentationUnit.class), any()))
+        .thenThrow(new DocumentationUnitVersionConflictException(documentationUnit.uuid(), 1L));
+    var risJsonPatch = RisJsonPatch.builder().documentationUnitVersion(1L).patch(patch).build();
+
+    UUID uuid = documentationUnit.uuid();
+    assertThatThrownBy(() -> service.updateDocumentationUnit(uuid, risJsonPatch))
+        .isInstanceOf(DocumentationUnitPatchException.class)
+        .hasCauseInstanceOf(DocumentationUnitVersionConflictException.class);
+    verify(repository, times(3)).update(any(DocumentationUnit.class), any());
+    verify(patchMapperService, never()).savePatch(any(), any(), any());
+  }
+
   @ParameterizedTest(name = "test patch with path: {0}, should trigger duplicate check")
   @MethodSource("provideDuplicateCheckPaths")
   void testPatchUpdateWithCoreData_shouldTriggerDuplicateCheck(String path)
@@ -319,7 +456,7 @@ class DocumentationUnitServiceTest {
     JsonPatch patch = new JsonPatch(List.of(addOperation));
 
     when(repository.findByUuid(documentationUnit.uuid())).thenReturn(documentationUnit);
-    when(patchMapperService.calculatePatch(any(), any())).thenReturn(new JsonPatch(List.of()));
+    when(patchMapperService.calculatePatch(any(), any(), any())).thenReturn(new JsonPatch(List.of()));
     when(patchMapperService.removePatchForSamePath(any(), any())).thenReturn(patch);
     when(patchMapperService.applyPatchToEntity(any(), any())).thenReturn(documentationUnit);
     when(patchMapperService.handlePatchForSamePath(any(), any(), any(), any()))
@@ -339,7 +476,7 @@ class DocumentationUnitServiceTest {
     service.updateDocumentationUnit(documentationUnit.uuid(), risJsonPatch);
 
     // Assert
-    verify(duplicateCheckService, times(1)).checkDuplicates("ABCDE20220001");
+    verify(duplicateCheckService, times(1)).enqueueDuplicateCheck("ABCDE20220001");
   }
 
   @ParameterizedTest(name = "test patch with path: {0}, should not trigger duplicate check")
@@ -362,7 +499,7 @@ class DocumentationUnitServiceTest {
     JsonPatch patch = new JsonPatch(List.of(addOperation));
 
     when(repository.findByUuid(documentationUnit.uuid())).thenReturn(documentationUnit);
-    when(patchMapperService.calculatePatch(any(), any())).thenReturn(new JsonPatch(List.of()));
+    when(patchMapperService.calculatePatch(any(), any(), any())).thenReturn(new JsonPatch(List.of()));
     when(patchMapperService.removePatchForSamePath(any(), any())).thenReturn(patch);
     when(patchMapperService.applyPatchToEntity(any(), any())).thenReturn(documentationUnit);
     when(patchMapperService.handlePatchForSamePath(any(), any(), any(), any()))
@@ -382,7 +519,7 @@ class DocumentationUnitServiceTest {
     service.updateDocumentationUnit(documentationUnit.uuid(), risJsonPatch);
 
     // Assert
-    verify(duplicateCheckService, never()).checkDuplicates("ABCDE20220001");
+    verify(duplicateCheckService, never()).enqueueDuplicateCheck("ABCDE20220001");
   }
 
   @Test
@@ -392,8 +529,8 @@ class DocumentationUnitServiceTest {
     DocumentationUnitListItem documentationUnitListItem =
         DocumentationUnitListItem.builder().build();
     PageRequest pageRequest = PageRequest.of(0, 10);
-    when(authService.userIsInternal()).thenReturn(user -> true);
-    when(authService.isAssignedViaProcedure()).thenReturn(user -> true);
+    when(authService.addPermissions(any(), anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
     when(repository.findByDocumentNumber(any()))
         .thenReturn(DocumentationUnit.builder().uuid(UUID.randomUUID()).build());
     when(repository.searchByDocumentationUnitSearchInput(
@@ -425,8 +562,8 @@ class DocumentationUnitServiceTest {
     DocumentationUnitListItem documentationUnitListItem =
         DocumentationUnitListItem.builder().build();
     PageRequest pageRequest = PageRequest.of(0, 10);
-    when(authService.userIsInternal()).thenReturn(user -> true);
-    when(authService.isAssignedViaProcedure()).thenReturn(user -> true);
+    when(authService.addPermissions(any(), anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
     when(repository.findByDocumentNumber(any()))
         .thenReturn(DocumentationUnit.builder().uuid(UUID.randomUUID()).build());
     when(repository.searchByDocumentationUnitSearchInput(
@@ -1,7 +1,12 @@
 package de.bund.digitalservice.ris.caselaw.domain;
 
+import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildAccessMetadata;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -15,9 +20,9 @@ import com.gravity9.jsonpatch.TestOperation;
 import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseApiKeyRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
-import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
@@ -25,6 +30,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,6 +38,8 @@ import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @ExtendWith(SpringExtension.class)
 @Import({OAuthService.class})
@@ -49,14 +57,13 @@ class OAuthServiceTest {
   @MockitoBean private OidcUser oidcUser;
 
   @Test
-  void testUserHasReadAccessByDocumentNumber_withStatusNull_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentNumber_withStatusNull_shouldReturnTrue() {
     // Arrange
     String documentNumber = "DOC12345";
     DocumentationUnit documentationUnit =
         DocumentationUnit.builder().documentNumber(documentNumber).build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     // Act
     Function<String, Boolean> result = service.userHasReadAccessByDocumentNumber();
@@ -66,8 +73,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasReadAccessByDocumentNumber_withStatusPublished_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentNumber_withStatusPublished_shouldReturnTrue() {
 
     // Arrange
     String documentNumber = "DOC12345";
@@ -76,8 +82,8 @@ class OAuthServiceTest {
             .documentNumber(documentNumber)
             .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     // Act
     Function<String, Boolean> result = service.userHasReadAccessByDocumentNumber();
@@ -87,8 +93,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasReadAccessByDocumentNumber_withSameDocOffice_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentNumber_withSameDocOffice_shouldReturnTrue() {
 
     // Arrange
     SecurityContextHolder.setContext(securityContext);
@@ -102,8 +107,8 @@ class OAuthServiceTest {
             .status(Status.builder().publicationStatus(PublicationStatus.DUPLICATED).build())
             .coreData(CoreData.builder().documentationOffice(office).build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     // Act
@@ -114,8 +119,8 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasReadAccessByDocumentNumber_withStatusPending_withSameDocOffice_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void
+      testUserHasReadAccessByDocumentNumber_withStatusPending_withSameDocOffice_shouldReturnTrue() {
 
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -131,8 +136,8 @@ class OAuthServiceTest {
                     .build())
             .coreData(CoreData.builder().documentationOffice(office).build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     Function<String, Boolean> result = service.userHasReadAccessByDocumentNumber();
@@ -141,8 +146,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasReadAccessByDocumentNumber_withOtherDocOffice_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentNumber_withOtherDocOffice_shouldReturnFalse() {
 
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -161,8 +165,8 @@ class OAuthServiceTest {
                     .documentationOffice(DocumentationOffice.builder().abbreviation("DS").build())
                     .build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     Function<String, Boolean> result = service.userHasReadAccessByDocumentNumber();
@@ -172,8 +176,7 @@ class OAuthServiceTest {
 
   @Test
   void
-      testUserHasReadAccessByDocumentNumber_withStatusPending_withCreatingDocOffice_shouldReturnTrue()
-          throws DocumentationUnitNotExistsException {
+      testUserHasReadAccessByDocumentNumber_withStatusPending_withCreatingDocOffice_shouldReturnTrue() {
 
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -193,8 +196,8 @@ class OAuthServiceTest {
                     .creatingDocOffice(DocumentationOffice.builder().abbreviation("BGH").build())
                     .build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     Function<String, Boolean> result = service.userHasReadAccessByDocumentNumber();
@@ -204,8 +207,7 @@ class OAuthServiceTest {
 
   @Test
   void
-      testUserHasReadAccessByDocumentNumber_withStatusUnpublished_withCreatingDocOffice_shouldReturnFalse()
-          throws DocumentationUnitNotExistsException {
+      testUserHasReadAccessByDocumentNumber_withStatusUnpublished_withCreatingDocOffice_shouldReturnFalse() {
 
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -221,8 +223,8 @@ class OAuthServiceTest {
                     .documentationOffice(DocumentationOffice.builder().abbreviation("DS").build())
                     .build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     Function<String, Boolean> result = service.userHasReadAccessByDocumentNumber();
@@ -231,12 +233,12 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasReadAccessByDocumentationUnitId_withSameDocOffice_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentationUnitId_withSameDocOffice_shouldReturnTrue() {
     // Arrange
     UUID testUUID = UUID.randomUUID();
     DocumentationUnit documentationUnit = DocumentationUnit.builder().uuid(testUUID).build();
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     // Act
     Function<UUID, Boolean> result = service.userHasReadAccessByDocumentationUnitId();
@@ -246,8 +248,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasReadAccessByDocumentationUnitId_withOtherDocOffice_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentationUnitId_withOtherDocOffice_shouldReturnFalse() {
     // Arrange
     UUID testUUID = UUID.randomUUID();
     SecurityContextHolder.setContext(securityContext);
@@ -266,7 +267,8 @@ class OAuthServiceTest {
             .build();
 
     when(userService.getDocumentationOffice(any())).thenReturn(office);
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
 
     // Act
     Function<UUID, Boolean> result = service.userHasReadAccessByDocumentationUnitId();
@@ -276,25 +278,10 @@ class OAuthServiceTest {
   }
 
   @Test
-  void
-      testUserHasReadAccessByDocumentationUnitId_withDocumentationUnitNotExistsException_returnsFalse()
-          throws DocumentationUnitNotExistsException {
-    UUID testUUID = UUID.randomUUID();
-
-    when(documentationUnitService.getByUuid(testUUID))
-        .thenThrow(new DocumentationUnitNotExistsException("Documentation unit not found"));
-
-    Function<UUID, Boolean> result = service.userHasReadAccessByDocumentationUnitId();
-
-    assertThat(result.apply(testUUID)).isFalse();
-  }
-
-  @Test
-  void testUserHasReadAccessByDocumentationUnitId_withNoDocumentationUnit_returnsFalse()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasReadAccessByDocumentationUnitId_withNoDocumentationUnit_returnsFalse() {
     UUID testUUID = UUID.randomUUID();
 
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(null);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID)).thenReturn(Optional.empty());
 
     Function<UUID, Boolean> result = service.userHasReadAccessByDocumentationUnitId();
 
@@ -364,11 +351,10 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasWriteAccessByDocumentationUnit_withoutDocumentationUnit_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasWriteAccessByDocumentationUnit_withoutDocumentationUnit_shouldReturnFalse() {
     // Arrange
     UUID uuid = UUID.randomUUID();
-    when(documentationUnitService.getByUuid(uuid)).thenReturn(null);
+    when(documentationUnitService.getAccessMetadataByUuid(uuid)).thenReturn(Optional.empty());
 
     // Act
     Function<UUID, Boolean> result = service.userHasWriteAccess();
@@ -378,19 +364,22 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasWriteAccessByDocumentationUnit_withPublishedStatus_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasWriteAccessByDocumentationUnit_withPublishedStatus_shouldReturnTrue() {
 
     // Arrange
     UUID uuid = UUID.randomUUID();
     DocumentationOffice documentationOffice = DocumentationOffice.builder().build();
     SecurityContextHolder.setContext(securityContext);
-    when(documentationUnitService.getByUuid(uuid))
+    when(documentationUnitService.getAccessMetadataByUuid(uuid))
         .thenReturn(
-            DocumentationUnit.builder()
-                .coreData(CoreData.builder().documentationOffice(documentationOffice).build())
-                .status(Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
-                .build());
+            Optional.of(
+                buildAccessMetadata(
+                    DocumentationUnit.builder()
+                        .coreData(
+                            CoreData.builder().documentationOffice(documentationOffice).build())
+                        .status(
+                            Status.builder().publicationStatus(PublicationStatus.PUBLISHED).build())
+                        .build())));
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.getPrincipal()).thenReturn(oidcUser);
     when(userService.getDocumentationOffice(oidcUser)).thenReturn(documentationOffice);
@@ -403,8 +392,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasWriteAccessByDocumentationUnit_withSameDocOffice_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasWriteAccessByDocumentationUnit_withSameDocOffice_shouldReturnTrue() {
 
     // Arrange
     SecurityContextHolder.setContext(securityContext);
@@ -417,7 +405,8 @@ class OAuthServiceTest {
             .uuid(testUUID)
             .coreData(CoreData.builder().documentationOffice(office).build())
             .build();
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     // Act
@@ -429,8 +418,7 @@ class OAuthServiceTest {
 
   @Test
   void
-      testUserHasWriteAccessByDocumentationUnit_withStatusPending_withSameDocOffice_shouldReturnTrue()
-          throws DocumentationUnitNotExistsException {
+      testUserHasWriteAccessByDocumentationUnit_withStatusPending_withSameDocOffice_shouldReturnTrue() {
 
     // Arrange
     SecurityContextHolder.setContext(securityContext);
@@ -447,7 +435,8 @@ class OAuthServiceTest {
                     .build())
             .coreData(CoreData.builder().documentationOffice(office).build())
             .build();
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     // Act
@@ -458,8 +447,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasWriteAccessByDocumentationUnit_withOtherDocOffice_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasWriteAccessByDocumentationUnit_withOtherDocOffice_shouldReturnFalse() {
 
     // Arrange
     SecurityContextHolder.setContext(securityContext);
@@ -479,7 +467,8 @@ class OAuthServiceTest {
                     .documentationOffice(DocumentationOffice.builder().abbreviation("DS").build())
                     .build())
             .build();
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     // Act
@@ -491,8 +480,7 @@ class OAuthServiceTest {
 
   @Test
   void
-      testUserHasWriteAccessByDocumentationUnit_withStatusPending_withCreatingDocOffice_shouldReturnTrue()
-          throws DocumentationUnitNotExistsException {
+      testUserHasWriteAccessByDocumentationUnit_withStatusPending_withCreatingDocOffice_shouldReturnTrue() {
 
     // Arrange
     SecurityContextHolder.setContext(securityContext);
@@ -513,7 +501,8 @@ class OAuthServiceTest {
                     .creatingDocOffice(DocumentationOffice.builder().abbreviation("BGH").build())
                     .build())
             .build();
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     // Act
@@ -525,8 +514,7 @@ class OAuthServiceTest {
 
   @Test
   void
-      testUserHasWriteAccessByDocumentationUnit_withStatusUnpublished_withCreatingDocOffice_shouldReturnFalse()
-          throws DocumentationUnitNotExistsException {
+      testUserHasWriteAccessByDocumentationUnit_withStatusUnpublished_withCreatingDocOffice_shouldReturnFalse() {
 
     // Arrange
     SecurityContextHolder.setContext(securityContext);
@@ -544,7 +532,8 @@ class OAuthServiceTest {
                     .creatingDocOffice(DocumentationOffice.builder().abbreviation("BGH").build())
                     .build())
             .build();
-    when(documentationUnitService.getByUuid(testUUID)).thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByUuid(testUUID))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     // Act
@@ -685,8 +674,7 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasSameDocOfficeAsDocument_withStatusPending_withSameDocOffice_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testUserHasSameDocOfficeAsDocument_withStatusPending_withSameDocOffice_shouldReturnTrue() {
 
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -702,8 +690,8 @@ class OAuthServiceTest {
                     .build())
             .coreData(CoreData.builder().documentationOffice(office).build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     Function<String, Boolean> result = service.userHasSameDocOfficeAsDocument();
@@ -712,8 +700,8 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testUserHasSameDocOfficeAsDocument__withStatusPending_withOtherDocOffice_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void
+      testUserHasSameDocOfficeAsDocument__withStatusPending_withOtherDocOffice_shouldReturnFalse() {
 
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -732,8 +720,8 @@ class OAuthServiceTest {
                     .documentationOffice(DocumentationOffice.builder().abbreviation("DS").build())
                     .build())
             .build();
-    when(documentationUnitService.getByDocumentNumber(documentNumber))
-        .thenReturn(documentationUnit);
+    when(documentationUnitService.getAccessMetadataByDocumentNumber(documentNumber))
+        .thenReturn(Optional.of(buildAccessMetadata(documentationUnit)));
     when(userService.getDocumentationOffice(any())).thenReturn(office);
 
     Function<String, Boolean> result = service.userHasSameDocOfficeAsDocument();
@@ -742,12 +730,11 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testIsAssignedViaProcedure_withoutDocumentationUnit_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void testIsAssignedViaProcedure_withoutDocumentationUnit_shouldReturnFalse() {
 
     // Arrange
     UUID uuid = UUID.randomUUID();
-    when(documentationUnitService.getByUuid(uuid)).thenReturn(null);
+    when(documentationUnitService.getAccessMetadataByUuid(uuid)).thenReturn(Optional.empty());
 
     // Act
     Function<UUID, Boolean> result = service.isAssignedViaProcedure();
@@ -757,21 +744,22 @@ class OAuthServiceTest {
   }
 
   @Test
-  void testIsAssignedViaProcedure_withAssignedProcedure_shouldReturnTrue()
-      throws DocumentationUnitNotExistsException {
+  void testIsAssignedViaProcedure_withAssignedProcedure_shouldReturnTrue() {
 
     // Arrange
     UUID documentationUnitId = UUID.randomUUID();
     UUID userGroupId = UUID.randomUUID();
     SecurityContextHolder.setContext(securityContext);
-    when(documentationUnitService.getByUuid(documentationUnitId))
+    when(documentationUnitService.getAccessMetadataByUuid(documentationUnitId))
         .thenReturn(
-            DocumentationUnit.builder()
-                .coreData(
-                    CoreData.builder()
-                        .procedure(Procedure.builder().userGroupId(userGroupId).build())
-                        .build())
-                .build());
+            Optional.of(
+                buildAccessMetadata(
+                    DocumentationUnit.builder()
+                        .coreData(
+                            CoreData.builder()
+                                .procedure(Procedure.builder().userGroupId(userGroupId).build())
+                                .build())
+                        .build())));
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.getPrincipal()).thenReturn(oidcUser);
     when(userService.getUserGroup(oidcUser))
@@ -785,21 +773,22 @@ class OAuthServiceTest {
   }
 
   @Test
-  void test_isAssignedViaProcedure_withUnAssignedProcedure_shouldReturnFalse()
-      throws DocumentationUnitNotExistsException {
+  void test_isAssignedViaProcedure_withUnAssignedProcedure_shouldReturnFalse() {
 
     // Arrange
     UUID documentationUnitId = UUID.randomUUID();
     UUID userGroupId = UUID.randomUUID();
     SecurityContextHolder.setContext(securityContext);
-    when(documentationUnitService.getByUuid(documentationUnitId))
+    when(documentationUnitService.getAccessMetadataByUuid(documentationUnitId))
         .thenReturn(
-            DocumentationUnit.builder()
-                .coreData(
-                    CoreData.builder()
-                        .procedure(Procedure.builder().userGroupId(null).build())
-                        .build())
-                .build());
+            Optional.of(
+                buildAccessMetadata(
+                    DocumentationUnit.builder()
+                        .coreData(
+                            CoreData.builder()
+                                .procedure(Procedure.builder().userGroupId(null).build())
+                                .build())
+                        .build())));
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.getPrincipal()).thenReturn(oidcUser);
     when(userService.getUserGroup(oidcUser))
@@ -932,4 +921,124 @@ class OAuthServiceTest {
     // Assert
     assertThat(result.apply(patch)).isFalse();
   }
+
+  // ** Tests for addPermissions(OidcUser, List<DocumentationUnitListItem>) **
+
+  @Test
+  void testAddPermissions_withInternalUser_shouldNotCheckProcedures() {
+    DocumentationOffice office = DocumentationOffice.builder().abbreviation("DS").build();
+    DocumentationOffice otherOffice = DocumentationOffice.builder().abbreviation("BGH").build();
+    when(userService.getDocumentationOffice(oidcUser)).thenReturn(office);
+    when(userService.isInternal(oidcUser)).thenReturn(true);
+
+    List<DocumentationUnitListItem> result =
+        service.addPermissions(
+            oidcUser,
+            List.of(
+                DocumentationUnitListItem.builder()
+                    .uuid(UUID.randomUUID())
+                    .documentationOffice(office)
+                    .build(),
+                DocumentationUnitListItem.builder()
+                    .uuid(UUID.randomUUID())
+                    .documentationOffice(otherOffice)
+                    .build()));
+
+    assertThat(result)
+        .extracting("isEditable", "isDeletable")
+        .containsExactly(tuple(true, true), tuple(false, false));
+    verify(userService, times(1)).getDocumentationOffice(oidcUser);
+    verify(documentationUnitService, never()).getIdsAssignedToUserGroup(any(), any());
+  }
+
+  @Test
+  void testAddPermissions_withExternalUser_shouldCheckProceduresOfAllItemsTogether() {
+    DocumentationOffice office = DocumentationOffice.builder().abbreviation("DS").build();
+    DocumentationOffice otherOffice = DocumentationOffice.builder().abbreviation("BGH").build();
+    UUID userGroupId = UUID.randomUUID();
+    UUID assignedId = UUID.randomUUID();
+    UUID unassignedId = UUID.randomUUID();
+    UUID otherOfficeId = UUID.randomUUID();
+    when(userService.getDocumentationOffice(oidcUser)).thenReturn(office);
+    when(userService.isInternal(oidcUser)).thenReturn(false);
+    when(userService.getUserGroup(oidcUser))
+        .thenReturn(Optional.of(UserGroup.builder().id(userGroupId).build()));
+    when(documentationUnitService.getIdsAssignedToUserGroup(
+            Set.of(assignedId, unassignedId), userGroupId))
+        .thenReturn(Set.of(assignedId));
+
+    List<DocumentationUnitListItem> result =
+        service.addPermissions(
+            oidcUser,
+            List.of(
+                DocumentationUnitListItem.builder()
+                    .uuid(assignedId)
+                    .documentationOffice(office)
+                    .build(),
+                DocumentationUnitListItem.builder()
+                    .uuid(unassignedId)
+                    .documentationOffice(office)
+                    .build(),
+                DocumentationUnitListItem.builder()
+                    .uuid(otherOfficeId)
+                    .documentationOffice(otherOffice)
+                    .build()));
+
+    assertThat(result)
+        .extracting("uuid", "isEditable", "isDeletable")
+        .containsExactly(
+            tuple(assignedId, true, false),
+            tuple(unassignedId, false, false),
+            tuple(otherOfficeId, false, false));
+    verify(documentationUnitService, times(1)).getIdsAssignedToUserGroup(any(), any());
+  }
+
+  @Test
+  void testUserHasWriteAccess_withinOneRequest_shouldLoadAccessMetadataOnce() {
+    UUID uuid = UUID.randomUUID();
+    DocumentationOffice documentationOffice = DocumentationOffice.builder().build();
+    SecurityContextHolder.setContext(securityContext);
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    when(authentication.getPrincipal()).thenReturn(oidcUser);
+    when(userService.getDocumentationOffice(oidcUser)).thenReturn(documentationOffice);
+    when(documentationUnitService.getAccessMetadataByUuid(uuid))
+        .thenReturn(
+            Optional.of(
+                DocumentationUnitAccessMetadata.builder()
+                    .uuid(uuid)
+                    .documentNumber("DOC12345")
+                    .documentationOffice(documentationOffice)
+                    .build()));
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    try {
+      assertThat(service.userHasWriteAccess().apply(uuid)).isTrue();
+      assertThat(service.userHasReadAccessByDocumentationUnitId().apply(uuid)).isTrue();
+      assertThat(service.userHasSameDocOfficeAsDocument().apply("DOC12345")).isTrue();
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+
+    verify(documentationUnitService, times(1)).getAccessMetadataByUuid(uuid);
+    verify(documentationUnitService, never()).getAccessMetadataByDocumentNumber(any());
+  }
+
+  @Test
+  void testUserHasWriteAccess_outsideOfRequest_shouldLoadAccessMetadataForEveryCheck() {
+    UUID uuid = UUID.randomUUID();
+    when(documentationUnitService.getAccessMetadataByUuid(uuid)).thenReturn(Optional.empty());
+
+    assertThat(service.userHasWriteAccess().apply(uuid)).isFalse();
+    assertThat(service.userHasWriteAccess().apply(uuid)).isFalse();
+
+    verify(documentationUnitService, times(2)).getAccessMetadataByUuid(uuid);
+  }
+
+  @Test
+  void testAddPermissions_withoutListItems_shouldNotResolveUser() {
+    assertThat(service.addPermissions(oidcUser, List.of())).isEmpty();
+
+    verify(userService, never()).getDocumentationOffice(any());
+  }
 }
@@ -0,0 +1,50 @@
+package de.bund.digitalservice.ris.caselaw.domain.docx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ParagraphElementTest {
+  @Test
+  void testGetText_withAddedRunElement_shouldResetTheText() {
+    var paragraph = new ParagraphElement();
+    paragraph.addRunElement(buildTextElement("first"));
+    assertThat(paragraph.getText()).isEqualTo("first");
+
+    paragraph.addRunElement(buildTextElement(" second"));
+
+    assertThat(paragraph.getText()).isEqualTo("first second");
+  }
+
+  @Test
+  void testGetRunElements_shouldNotBeModifiable() {
+    var paragraph = new ParagraphElement();
+    paragraph.addRunElement(buildTextElement("first"));
+    assertThat(paragraph.getText()).isEqualTo("first");
+
+    var runElements = paragraph.getRunElements();
+    var textElement = buildTextElement("second");
+
+    assertThatThrownBy(() -> runElements.add(textElement))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThat(paragraph.getText()).isEqualTo("first");
+  }
+
+  @Test
+  void testSetRunElements_withImmutableList_shouldAllowToAddRunElements() {
+    var paragraph = new ParagraphElement();
+    paragraph.setRunElements(List.of(buildTextElement("first")));
+
+    paragraph.addRunElement(buildTextElement(" second"));
+
+    assertThat(paragraph.getText()).isEqualTo("first second");
+  }
+
+  private static RunTextElement buildTextElement(String text) {
+    var textElement = new RunTextElement();
+    textElement.setText(text);
+    return textElement;
+  }
+}
@@ -30,4 +30,14 @@ class StyledElementTest {
     assertThat(concreteBlock.getStyleString())
         .isEqualTo(" style=\"text-decoration: underline line-through;\"");
   }
+
+  @Test
+  void testContainsStyle_withValue() {
+    var concreteBlock = new ParagraphElement();
+    concreteBlock.addStyle("text-align", "center");
+
+    assertThat(concreteBlock.containsStyle("text-align", "center")).isTrue();
+    assertThat(concreteBlock.containsStyle("text-align", "left")).isFalse();
+    assertThat(concreteBlock.containsStyle("color", "center")).isFalse();
+  }
 }
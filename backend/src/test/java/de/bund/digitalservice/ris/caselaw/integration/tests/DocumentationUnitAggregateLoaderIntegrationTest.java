@@ -0,0 +1,281 @@
+package de.bund.digitalservice.ris.caselaw.integration.tests;
+
+import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildDSDocOffice;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.caselaw.EntityBuilderTestUtil;
+import de.bund.digitalservice.ris.caselaw.TestConfig;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentNumberGeneratorService;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentNumberRecyclingService;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentationUnitStatusService;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentNumberPatternConfig;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitController;
+import de.bund.digitalservice.ris.caselaw.adapter.DocxConverterService;
+import de.bund.digitalservice.ris.caselaw.adapter.LdmlExporterService;
+import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.CourtDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseCourtRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DeviatingDateDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.FileNumberDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDeltaMigrationRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationUnitRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresHandoverReportRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PreviousDecisionDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.transformer.DecisionTransformer;
+import de.bund.digitalservice.ris.caselaw.config.FlywayConfig;
+import de.bund.digitalservice.ris.caselaw.config.PostgresJPAConfig;
+import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
+import de.bund.digitalservice.ris.caselaw.domain.AttachmentService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationOffice;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnit;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitDocxMetadataInitializationService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
+import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
+import de.bund.digitalservice.ris.caselaw.domain.HandoverService;
+import de.bund.digitalservice.ris.caselaw.domain.MailService;
+import de.bund.digitalservice.ris.caselaw.domain.ProcedureService;
+import de.bund.digitalservice.ris.caselaw.domain.UserService;
+import de.bund.digitalservice.ris.caselaw.domain.exception.DocumentationUnitNotExistsException;
+import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+@RISIntegrationTest(
+    imports = {
+      DocumentationUnitService.class,
+      PostgresDeltaMigrationRepositoryImpl.class,
+      DatabaseDocumentationUnitStatusService.class,
+      DatabaseDocumentNumberRecyclingService.class,
+      DatabaseDocumentNumberGeneratorService.class,
+      PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
+      PostgresHandoverReportRepositoryImpl.class,
+      PostgresJPAConfig.class,
+      FlywayConfig.class,
+      SecurityConfig.class,
+      OAuthService.class,
+      TestConfig.class,
+      DocumentNumberPatternConfig.class
+    },
+    controllers = {DocumentationUnitController.class})
+class DocumentationUnitAggregateLoaderIntegrationTest {
+  @Container
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>("postgres:14").withInitScript("init_db.sql");
+
+  @DynamicPropertySource
+  static void registerDynamicProperties(DynamicPropertyRegistry registry) {
+    registry.add("database.user", () -> postgreSQLContainer.getUsername());
+    registry.add("database.password", () -> postgreSQLContainer.getPassword());
+    registry.add("database.host", () -> postgreSQLContainer.getHost());
+    registry.add("database.port", () -> postgreSQLContainer.getFirstMappedPort());
+    registry.add("database.database", () -> postgreSQLContainer.getDatabaseName());
+  }
+
+  /**
+   * Statements for loading a complete decision: one for the root entity with its to-one
+   * associations, one for the set collections (years of dispute and duplicate relations) and one
+   * for each of the 25 list collections.
+   */
+  private static final int STATEMENTS_PER_DECISION_LOAD = 27;
+
+  @Autowired private DocumentationUnitRepository documentationUnitRepository;
+  @Autowired private DatabaseDocumentationUnitRepository repository;
+  @Autowired private DatabaseCourtRepository databaseCourtRepository;
+  @Autowired private DatabaseDocumentationOfficeRepository documentationOfficeRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  @Qualifier("jpaTransactionManager")
+  private PlatformTransactionManager transactionManager;
+
+  @MockitoBean UserService userService;
+  @MockitoBean ClientRegistrationRepository clientRegistrationRepository;
+  @MockitoBean private S3AsyncClient s3AsyncClient;
+  @MockitoBean private MailService mailService;
+  @MockitoBean DocxConverterService docxConverterService;
+  @MockitoBean AttachmentService attachmentService;
+  @MockitoBean private PatchMapperService patchMapperService;
+  @MockitoBean private HandoverService handoverService;
+  @MockitoBean private ProcedureService procedureService;
+  @MockitoBean private LdmlExporterService ldmlExporterService;
+  @MockitoBean private DuplicateCheckService duplicateCheckService;
+
+  @MockitoBean
+  private DocumentationUnitDocxMetadataInitializationService
+      documentationUnitDocxMetadataInitializationService;
+
+  private final DocumentationOffice docOffice = buildDSDocOffice();
+  private final AtomicInteger courtJurisId = new AtomicInteger(100);
+  private DocumentationOfficeDTO documentationOfficeDTO;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    documentationOfficeDTO =
+        documentationOfficeRepository.findByAbbreviation(docOffice.abbreviation());
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    statistics.setStatisticsEnabled(false);
+    repository.deleteAll();
+    databaseCourtRepository.deleteAll();
+  }
+
+  @Test
+  void testFindByUuid_statementCountDoesNotDependOnCollectionSize()
+      throws DocumentationUnitNotExistsException {
+    UUID smallUnit = createDecision("XXRE000000001", 1).getId();
+    UUID largeUnit = createDecision("XXRE000000002", 25).getId();
+
+    long statementsForSmallUnit = countStatementsForLoad(smallUnit);
+    long statementsForLargeUnit = countStatementsForLoad(largeUnit);
+
+    assertThat(statementsForSmallUnit).isEqualTo(STATEMENTS_PER_DECISION_LOAD);
+    assertThat(statementsForLargeUnit).isEqualTo(STATEMENTS_PER_DECISION_LOAD);
+  }
+
+  @Test
+  void testFindByUuid_needsLessStatementsThanLazyLoading()
+      throws DocumentationUnitNotExistsException {
+    UUID smallUnit = createDecision("XXRE000000004", 1).getId();
+    UUID largeUnit = createDecision("XXRE000000005", 25).getId();
+
+    long lazyStatementsForSmallUnit = countStatementsForLazyLoad(smallUnit);
+    long lazyStatementsForLargeUnit = countStatementsForLazyLoad(largeUnit);
+
+    // lazy loading issues one statement per collection and one per court of the previous
+    // decisions
+    assertThat(lazyStatementsForSmallUnit).isGreaterThan(STATEMENTS_PER_DECISION_LOAD);
+    assertThat(lazyStatementsForLargeUnit).isGreaterThan(lazyStatementsForSmallUnit);
+    assertThat(countStatementsForLoad(largeUnit)).isEqualTo(STATEMENTS_PER_DECISION_LOAD);
+  }
+
+  @Test
+  void testFindByDocumentNumber_loadsCompleteDecisionWithBoundedStatements()
+      throws DocumentationUnitNotExistsException {
+    createDecision("XXRE000000003", 10);
+
+    statistics.clear();
+    var documentationUnit =
+        (DocumentationUnit) documentationUnitRepository.findByDocumentNumber("XXRE000000003");
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_DECISION_LOAD);
+    assertThat(documentationUnit.coreData().fileNumbers()).hasSize(10);
+    assertThat(documentationUnit.coreData().deviatingDecisionDates()).hasSize(10);
+    assertThat(documentationUnit.previousDecisions()).hasSize(10);
+    assertThat(documentationUnit.previousDecisions())
+        .allSatisfy(previousDecision -> assertThat(previousDecision.getCourt()).isNotNull());
+  }
+
+  @Test
+  void testFindByUuid_twiceInOneTransaction_shouldLoadTheAggregateOnce() {
+    UUID unit = createDecision("XXRE000000006", 5).getId();
+
+    statistics.clear();
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              try {
+                var first = (DocumentationUnit) documentationUnitRepository.findByUuid(unit);
+                var second = (DocumentationUnit) documentationUnitRepository.findByUuid(unit);
+                assertThat(second.coreData().fileNumbers())
+                    .isEqualTo(first.coreData().fileNumbers())
+                    .hasSize(5);
+              } catch (DocumentationUnitNotExistsException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_DECISION_LOAD);
+  }
+
+  private long countStatementsForLoad(UUID uuid) throws DocumentationUnitNotExistsException {
+    statistics.clear();
+    documentationUnitRepository.findByUuid(uuid);
+    return statistics.getPrepareStatementCount();
+  }
+
+  /** Statements of the loading before the aggregate loader: find the entity and load lazily. */
+  private long countStatementsForLazyLoad(UUID uuid) {
+    statistics.clear();
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status ->
+                DecisionTransformer.transformToDomain(
+                    (DecisionDTO) repository.findById(uuid).orElseThrow()));
+    return statistics.getPrepareStatementCount();
+  }
+
+  private DecisionDTO createDecision(String documentNumber, int collectionSize) {
+    List<FileNumberDTO> fileNumbers = new ArrayList<>();
+    List<DeviatingDateDTO> deviatingDates = new ArrayList<>();
+    List<PreviousDecisionDTO> previousDecisions = new ArrayList<>();
+
+    for (int i = 0; i < collectionSize; i++) {
+      fileNumbers.add(FileNumberDTO.builder().value("AZ " + i).rank(i + 1L).build());
+      deviatingDates.add(
+          DeviatingDateDTO.builder()
+              .value(LocalDate.of(2020, 1, 1).plusDays(i))
+              .rank(i + 1L)
+              .build());
+      previousDecisions.add(
+          PreviousDecisionDTO.builder()
+              .fileNumber("previous " + i)
+              .court(createCourt())
+              .rank(i + 1)
+              .build());
+    }
+
+    return EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
+        repository,
+        DecisionDTO.builder()
+            .documentNumber(documentNumber)
+            .documentationOffice(documentationOfficeDTO)
+            .fileNumbers(fileNumbers)
+            .deviatingDates(deviatingDates)
+            .previousDecisions(previousDecisions),
+        null);
+  }
+
+  private CourtDTO createCourt() {
+    return databaseCourtRepository.save(
+        CourtDTO.builder()
+            .type("Court" + courtJurisId.get())
+            .location("Berlin")
+            .jurisId(courtJurisId.getAndIncrement())
+            .isForeignCourt(false)
+            .isSuperiorCourt(false)
+            .build());
+  }
+}
@@ -13,7 +13,9 @@ import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentationUnitStatu
 import de.bund.digitalservice.ris.caselaw.adapter.DatabaseProcedureService;
 import de.bund.digitalservice.ris.caselaw.adapter.DocumentNumberPatternConfig;
 import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitController;
+import de.bund.digitalservice.ris.caselaw.adapter.Docx2HtmlCache;
 import de.bund.digitalservice.ris.caselaw.adapter.DocxConverterService;
+import de.bund.digitalservice.ris.caselaw.adapter.DocxImageCache;
 import de.bund.digitalservice.ris.caselaw.adapter.KeycloakUserService;
 import de.bund.digitalservice.ris.caselaw.adapter.LdmlExporterService;
 import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
@@ -31,6 +33,7 @@ import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseFileNumbe
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentCategoryDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.LegalEffectDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresCourtRepositoryImpl;
@@ -55,17 +58,30 @@ import de.bund.digitalservice.ris.caselaw.domain.docx.Docx2Html;
 import de.bund.digitalservice.ris.caselaw.domain.docx.DocxMetadataProperty;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
 import javax.xml.parsers.DocumentBuilderFactory;
+import org.docx4j.dml.wordprocessingDrawing.Inline;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.openpackaging.parts.WordprocessingML.BinaryPartAbstractImage;
+import org.docx4j.wml.Drawing;
+import org.docx4j.wml.ObjectFactory;
+import org.docx4j.wml.P;
+import org.docx4j.wml.R;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
@@ -77,14 +93,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
-import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
@@ -99,6 +117,7 @@ import software.amazon.awssdk.services.s3.model.PutObjectResponse;
       DatabaseProcedureService.class,
       PostgresHandoverReportRepositoryImpl.class,
       PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
       PostgresJPAConfig.class,
       FlywayConfig.class,
       SecurityConfig.class,
@@ -107,6 +126,8 @@ import software.amazon.awssdk.services.s3.model.PutObjectResponse;
       DocumentNumberPatternConfig.class,
       S3AttachmentService.class,
       DocxConverterService.class,
+      Docx2HtmlCache.class,
+      DocxImageCache.class,
       DocxConverter.class,
       PostgresCourtRepositoryImpl.class,
       PostgresDocumentTypeRepositoryImpl.class,
@@ -485,14 +506,101 @@ class DocumentationUnitControllerDocxFilesIntegrationTest {
         .isForbidden();
   }
 
+  @Test
+  void testGetHtml_withImageUrls_shouldReduceTheResponseSizeOfAnImageHeavyFile()
+      throws Exception {
+    mockS3ClientToReturnFile(buildDocxWithImages(5));
+
+    DocumentationUnitDTO dto =
+        EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
+            repository, dsDocOffice, "1234567890123");
+    String uri = "/api/v1/caselaw/documentunits/" + dto.getId() + "/docx/imagePath";
+
+    String embeddedImagesResponse =
+        risWebTestClient
+            .withDefaultLogin()
+            .get()
+            .uri(uri)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+    String imageUrlsResponse =
+        risWebTestClient
+            .withDefaultLogin()
+            .get()
+            .uri(uri + "?imageUrls=true")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+    assertThat(embeddedImagesResponse).contains("data:image/png;base64");
+    assertThat(imageUrlsResponse).doesNotContain("base64");
+    assertThat(imageUrlsResponse.length()).isLessThan(embeddedImagesResponse.length() / 10);
+
+    Matcher matcher =
+        Pattern.compile(Pattern.quote(uri) + "/images/[\\w-]+").matcher(imageUrlsResponse);
+    assertThat(matcher.find()).isTrue();
+    risWebTestClient
+        .withDefaultLogin()
+        .get()
+        .uri(matcher.group())
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentType(MediaType.IMAGE_PNG);
+  }
+
+  private static byte[] buildDocxWithImages(int count) throws Exception {
+    WordprocessingMLPackage mlPackage = WordprocessingMLPackage.createPackage();
+    ObjectFactory factory = new ObjectFactory();
+    Random random = new Random(42);
+
+    for (int i = 0; i < count; i++) {
+      // random pixels to prevent a good compression of the png
+      BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+      for (int x = 0; x < image.getWidth(); x++) {
+        for (int y = 0; y < image.getHeight(); y++) {
+          image.setRGB(x, y, random.nextInt());
+        }
+      }
+      ByteArrayOutputStream png = new ByteArrayOutputStream();
+      ImageIO.write(image, "png", png);
+
+      Inline inline =
+          BinaryPartAbstractImage.createImagePart(mlPackage, png.toByteArray())
+              .createImageInline("image" + i, "image " + i, 2 * i, 2 * i + 1, false);
+      Drawing drawing = factory.createDrawing();
+      drawing.getAnchorOrInline().add(inline);
+      R run = factory.createR();
+      run.getContent().add(drawing);
+      P paragraph = factory.createP();
+      paragraph.getContent().add(run);
+      mlPackage.getMainDocumentPart().getContent().add(paragraph);
+    }
+
+    ByteArrayOutputStream docx = new ByteArrayOutputStream();
+    mlPackage.save(docx);
+    return docx.toByteArray();
+  }
+
   private void mockS3ClientToReturnFile(byte[] file) {
     when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
         .thenReturn(PutObjectResponse.builder().build());
 
-    when(s3Client.getObject(
-            any(GetObjectRequest.class),
-            Mockito
-                .<ResponseTransformer<GetObjectResponse, ResponseBytes<GetObjectResponse>>>any()))
-        .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), file));
+    when(s3Client.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(HeadObjectResponse.builder().build());
+    when(s3Client.getObject(any(GetObjectRequest.class)))
+        .thenAnswer(
+            invocation ->
+                new ResponseInputStream<>(
+                    GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(file))));
   }
 }
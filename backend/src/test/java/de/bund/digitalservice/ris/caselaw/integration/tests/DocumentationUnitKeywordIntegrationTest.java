@@ -19,6 +19,7 @@ import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseKeywordRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDeltaMigrationRepositoryImpl;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationUnitRepositoryImpl;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresHandoverReportRepositoryImpl;
@@ -39,8 +40,13 @@ import de.bund.digitalservice.ris.caselaw.domain.MailService;
 import de.bund.digitalservice.ris.caselaw.domain.UserService;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -63,6 +69,7 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
       DatabaseProcedureService.class,
       PostgresHandoverReportRepositoryImpl.class,
       PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
       PostgresJPAConfig.class,
       FlywayConfig.class,
       SecurityConfig.class,
@@ -92,6 +99,7 @@ class DocumentationUnitKeywordIntegrationTest {
   @Autowired private RisWebTestClient risWebTestClient;
   @Autowired private DatabaseKeywordRepository keywordRepository;
   @Autowired private DatabaseDocumentationOfficeRepository documentationOfficeRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
   @MockitoBean private UserService userService;
   @MockitoBean ClientRegistrationRepository clientRegistrationRepository;
   @MockitoBean private DocxConverterService docxConverterService;
@@ -245,6 +253,64 @@ class DocumentationUnitKeywordIntegrationTest {
     assertThat(keywordRepository.findAll()).hasSize(2);
   }
 
+  @Test
+  void testAddManyKeywordsForDocumentationUnit_shouldCreateOnlyMissingKeywords() {
+    UUID uuid = UUID.fromString("46f9ae5c-ea72-46d8-864c-ce9dd7cee4a3");
+
+    List<String> keywords = new ArrayList<>(List.of("keyword1", "keyword2"));
+    IntStream.rangeClosed(1, 30).forEach(i -> keywords.add("new  keyword " + i));
+
+    DocumentationUnit documentationUnitFromFrontend =
+        DocumentationUnit.builder()
+            .uuid(uuid)
+            .documentNumber("documentnr001")
+            .coreData(CoreData.builder().documentationOffice(docOffice).build())
+            .contentRelatedIndexing(ContentRelatedIndexing.builder().keywords(keywords).build())
+            .build();
+
+    assertThat(keywordRepository.findAll()).hasSize(2);
+
+    risWebTestClient
+        .withDefaultLogin()
+        .put()
+        .uri("/api/v1/caselaw/documentunits/" + uuid)
+        .bodyValue(documentationUnitFromFrontend)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(DocumentationUnit.class)
+        .consumeWith(
+            response ->
+                assertThat(response.getResponseBody().contentRelatedIndexing().keywords())
+                    .hasSize(32)
+                    .contains("keyword1", "new keyword 1", "new keyword 30"));
+
+    assertThat(keywordRepository.findAll()).hasSize(32);
+  }
+
+  @Test
+  void testAddKeywordsForDocumentationUnit_shouldUseSameNumberOfStatementsForOneAndManyKeywords() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    try {
+      long statementsForOneKeyword =
+          countStatementsForUpdate(statistics, List.of("keyword1", "keyword2", "one keyword"));
+
+      // reset the documentation unit to the initial keywords
+      countStatementsForUpdate(statistics, List.of("keyword1", "keyword2"));
+
+      List<String> keywords = new ArrayList<>(List.of("keyword1", "keyword2"));
+      IntStream.rangeClosed(1, 20).forEach(i -> keywords.add("many keywords " + i));
+      long statementsForManyKeywords = countStatementsForUpdate(statistics, keywords);
+
+      assertThat(statementsForManyKeywords).isEqualTo(statementsForOneKeyword);
+      assertThat(keywordRepository.findAll()).hasSize(23);
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
   @Test
   void testDeleteKeywordFromDocumentationUnit_shouldReturnListWithAllRemainingKeywords() {
     UUID uuid = UUID.fromString("46f9ae5c-ea72-46d8-864c-ce9dd7cee4a3");
@@ -276,4 +342,26 @@ class DocumentationUnitKeywordIntegrationTest {
 
     // Todo delete keywords, when no reference to any documentationunitId?
   }
+
+  private long countStatementsForUpdate(Statistics statistics, List<String> keywords) {
+    UUID uuid = UUID.fromString("46f9ae5c-ea72-46d8-864c-ce9dd7cee4a3");
+    DocumentationUnit documentationUnitFromFrontend =
+        DocumentationUnit.builder()
+            .uuid(uuid)
+            .documentNumber("documentnr001")
+            .coreData(CoreData.builder().documentationOffice(docOffice).build())
+            .contentRelatedIndexing(ContentRelatedIndexing.builder().keywords(keywords).build())
+            .build();
+
+    statistics.clear();
+    risWebTestClient
+        .withDefaultLogin()
+        .put()
+        .uri("/api/v1/caselaw/documentunits/" + uuid)
+        .bodyValue(documentationUnitFromFrontend)
+        .exchange()
+        .expectStatus()
+        .isOk();
+    return statistics.getPrepareStatementCount();
+  }
 }
@@ -0,0 +1,201 @@
+package de.bund.digitalservice.ris.caselaw.integration.tests;
+
+import static de.bund.digitalservice.ris.caselaw.AuthUtils.mockUserGroups;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.bund.digitalservice.ris.caselaw.SliceTestImpl;
+import de.bund.digitalservice.ris.caselaw.TestConfig;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentNumberGeneratorService;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentNumberRecyclingService;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentationUnitStatusService;
+import de.bund.digitalservice.ris.caselaw.adapter.DatabaseProcedureService;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentNumberPatternConfig;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitController;
+import de.bund.digitalservice.ris.caselaw.adapter.DocxConverterService;
+import de.bund.digitalservice.ris.caselaw.adapter.KeycloakUserService;
+import de.bund.digitalservice.ris.caselaw.adapter.LdmlExporterService;
+import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDeltaMigrationRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationUnitRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresHandoverReportRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.config.FlywayConfig;
+import de.bund.digitalservice.ris.caselaw.config.PostgresJPAConfig;
+import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
+import de.bund.digitalservice.ris.caselaw.domain.AttachmentService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitDocxMetadataInitializationService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitSearchCursor;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
+import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
+import de.bund.digitalservice.ris.caselaw.domain.HandoverService;
+import de.bund.digitalservice.ris.caselaw.domain.MailService;
+import de.bund.digitalservice.ris.caselaw.domain.UserGroupService;
+import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
+import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.shaded.org.apache.commons.lang3.RandomStringUtils;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+@RISIntegrationTest(
+    imports = {
+      DocumentationUnitService.class,
+      PostgresDeltaMigrationRepositoryImpl.class,
+      DatabaseDocumentationUnitStatusService.class,
+      DatabaseDocumentNumberRecyclingService.class,
+      DatabaseDocumentNumberGeneratorService.class,
+      DatabaseProcedureService.class,
+      PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
+      PostgresHandoverReportRepositoryImpl.class,
+      PostgresJPAConfig.class,
+      FlywayConfig.class,
+      SecurityConfig.class,
+      OAuthService.class,
+      TestConfig.class,
+      DocumentNumberPatternConfig.class,
+      KeycloakUserService.class
+    },
+    controllers = {DocumentationUnitController.class})
+@Tag("manual")
+@Slf4j
+class DocumentationUnitSearchBenchmarkIntegrationTest {
+  @Container
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>("postgres:14").withInitScript("init_db.sql");
+
+  @DynamicPropertySource
+  static void registerDynamicProperties(DynamicPropertyRegistry registry) {
+    registry.add("database.user", () -> postgreSQLContainer.getUsername());
+    registry.add("database.password", () -> postgreSQLContainer.getPassword());
+    registry.add("database.host", () -> postgreSQLContainer.getHost());
+    registry.add("database.port", () -> postgreSQLContainer.getFirstMappedPort());
+    registry.add("database.database", () -> postgreSQLContainer.getDatabaseName());
+  }
+
+  private static final int DOCUMENTATION_UNITS = 15_000;
+  private static final int PAGE_SIZE = 30;
+  private static final int DEEP_PAGE = 400;
+  private static final int ROUNDS = 5;
+
+  @Autowired private RisWebTestClient risWebTestClient;
+  @Autowired private DatabaseDocumentationUnitRepository repository;
+  @Autowired private DatabaseDocumentationOfficeRepository documentationOfficeRepository;
+
+  @MockitoBean S3AsyncClient s3AsyncClient;
+  @MockitoBean MailService mailService;
+  @MockitoBean DocxConverterService docxConverterService;
+  @MockitoBean ClientRegistrationRepository clientRegistrationRepository;
+  @MockitoBean AttachmentService attachmentService;
+  @MockitoBean private UserGroupService userGroupService;
+  @MockitoBean private PatchMapperService patchMapperService;
+  @MockitoBean private HandoverService handoverService;
+  @MockitoBean private LdmlExporterService ldmlExporterService;
+  @MockitoBean private DuplicateCheckService duplicateCheckService;
+
+  @MockitoBean
+  private DocumentationUnitDocxMetadataInitializationService
+      documentationUnitDocxMetadataInitializationService;
+
+  @BeforeEach
+  void setUp() {
+    mockUserGroups(userGroupService);
+
+    DocumentationOfficeDTO docOfficeDTO = documentationOfficeRepository.findByAbbreviation("DS");
+    List<DecisionDTO> decisions = new ArrayList<>();
+    for (int i = 0; i < DOCUMENTATION_UNITS; i++) {
+      decisions.add(
+          DecisionDTO.builder()
+              .documentNumber(RandomStringUtils.randomAlphabetic(13))
+              // a lot of equal dates to have the id as tiebreaker in the sort order
+              .date(i % 10 == 0 ? null : LocalDate.of(2000, 1, 1).plusDays(i % 3_000))
+              .documentationOffice(docOfficeDTO)
+              .build());
+    }
+    repository.saveAll(decisions);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    repository.deleteAll();
+  }
+
+  /**
+   * Compare the time for loading a deep page of the search result with offset pagination (page
+   * number) and keyset pagination (cursor). The numbers are only logged.
+   */
+  @Test
+  void benchmarkOffsetAgainstKeysetPagination() {
+    String lastItemBeforeDeepPage =
+        DocumentationUnitSearchCursor.of(
+                search("pg=" + (DEEP_PAGE - 1) + "&sz=" + PAGE_SIZE).getContent().getLast())
+            .encode();
+
+    long firstPage = 0;
+    long deepPageWithOffset = 0;
+    long deepPageWithCursor = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      firstPage += measure("pg=0&sz=" + PAGE_SIZE);
+      deepPageWithOffset += measure("pg=" + DEEP_PAGE + "&sz=" + PAGE_SIZE);
+      deepPageWithCursor += measure("sz=" + PAGE_SIZE + "&cursor=" + lastItemBeforeDeepPage);
+    }
+
+    log.info(
+        "Search with {} documentation units, average of {} rounds: first page {} ms, page {} with"
+            + " offset {} ms, page {} with cursor {} ms",
+        DOCUMENTATION_UNITS,
+        ROUNDS,
+        firstPage / ROUNDS,
+        DEEP_PAGE,
+        deepPageWithOffset / ROUNDS,
+        DEEP_PAGE,
+        deepPageWithCursor / ROUNDS);
+
+    assertThat(search("sz=" + PAGE_SIZE + "&cursor=" + lastItemBeforeDeepPage).getContent())
+        .extracting("uuid")
+        .containsExactlyElementsOf(
+            search("pg=" + DEEP_PAGE + "&sz=" + PAGE_SIZE).getContent().stream()
+                .map(DocumentationUnitListItem::uuid)
+                .toList());
+  }
+
+  private long measure(String parameters) {
+    long start = System.nanoTime();
+    search(parameters);
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private Slice<DocumentationUnitListItem> search(String parameters) {
+    return risWebTestClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/search?" + parameters)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(new TypeReference<SliceTestImpl<DocumentationUnitListItem>>() {})
+        .returnResult()
+        .getResponseBody();
+  }
+}
@@ -26,11 +26,13 @@ import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseUserGroup
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DeviatingFileNumberDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.FileNumberDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDeltaMigrationRepositoryImpl;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationUnitRepositoryImpl;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresHandoverReportRepositoryImpl;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.ProcedureDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.SourceDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.UserGroupDTO;
 import de.bund.digitalservice.ris.caselaw.config.FlywayConfig;
 import de.bund.digitalservice.ris.caselaw.config.PostgresJPAConfig;
@@ -38,21 +40,27 @@ import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
 import de.bund.digitalservice.ris.caselaw.domain.AttachmentService;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitDocxMetadataInitializationService;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitListItem;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitSearchCursor;
 import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
 import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.HandoverService;
 import de.bund.digitalservice.ris.caselaw.domain.MailService;
 import de.bund.digitalservice.ris.caselaw.domain.PublicationStatus;
+import de.bund.digitalservice.ris.caselaw.domain.SourceValue;
 import de.bund.digitalservice.ris.caselaw.domain.Status;
 import de.bund.digitalservice.ris.caselaw.domain.UserGroupService;
 import de.bund.digitalservice.ris.caselaw.domain.mapper.PatchMapperService;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -77,6 +85,7 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
       DatabaseDocumentNumberGeneratorService.class,
       DatabaseProcedureService.class,
       PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
       PostgresHandoverReportRepositoryImpl.class,
       PostgresJPAConfig.class,
       FlywayConfig.class,
@@ -106,6 +115,7 @@ class DocumentationUnitSearchIntegrationTest {
   @Autowired private DatabaseDocumentationOfficeRepository documentationOfficeRepository;
   @Autowired private DatabaseProcedureRepository procedureRepository;
   @Autowired private DatabaseUserGroupRepository userGroupRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
 
   @MockitoBean S3AsyncClient s3AsyncClient;
   @MockitoBean MailService mailService;
@@ -404,6 +414,118 @@ class DocumentationUnitSearchIntegrationTest {
         .consumeWith(response -> assertThat(response.getResponseBody().isLast()).isFalse());
   }
 
+  @Test
+  void testLoadMoreWithCursor_shouldReturnAllEntriesInOrder() {
+    List<LocalDate> dates =
+        Arrays.asList(
+            LocalDate.of(2022, 1, 23),
+            null,
+            LocalDate.of(2022, 1, 23),
+            null,
+            LocalDate.of(2023, 3, 15),
+            LocalDate.of(2022, 1, 23),
+            LocalDate.of(2023, 6, 7));
+
+    for (LocalDate date : dates) {
+      EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
+          repository,
+          DecisionDTO.builder()
+              .documentNumber(RandomStringUtils.randomAlphabetic(13))
+              .date(date)
+              .documentationOffice(docOfficeDTO));
+    }
+
+    List<DocumentationUnitListItem> result = loadAllWithCursor("");
+
+    assertThat(result)
+        .extracting("decisionDate")
+        .containsExactly(
+            LocalDate.of(2023, 6, 7),
+            LocalDate.of(2023, 3, 15),
+            LocalDate.of(2022, 1, 23),
+            LocalDate.of(2022, 1, 23),
+            LocalDate.of(2022, 1, 23),
+            null,
+            null);
+    assertThat(result).extracting("uuid").doesNotHaveDuplicates();
+  }
+
+  @Test
+  void testLoadMoreWithCursor_withScheduledOnly_shouldReturnAllEntriesInOrder() {
+    List<LocalDateTime> scheduledPublicationDates =
+        Arrays.asList(
+            LocalDateTime.of(2022, 1, 23, 10, 5),
+            LocalDateTime.of(2024, 1, 24, 10, 5),
+            LocalDateTime.of(2022, 7, 24, 10, 5),
+            LocalDateTime.of(2022, 1, 24, 10, 5),
+            null,
+            LocalDateTime.of(2022, 1, 23, 8, 5),
+            LocalDateTime.of(2022, 1, 23, 10, 4));
+
+    for (LocalDateTime date : scheduledPublicationDates) {
+      EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
+          repository,
+          DecisionDTO.builder()
+              .documentNumber(RandomStringUtils.randomAlphabetic(13))
+              .scheduledPublicationDateTime(date)
+              .documentationOffice(docOfficeDTO));
+    }
+
+    List<DocumentationUnitListItem> result =
+        loadAllWithCursor("&myDocOfficeOnly=true&scheduledOnly=true");
+
+    assertThat(result)
+        .extracting("scheduledPublicationDateTime")
+        .containsExactly(
+            LocalDateTime.of(2024, 1, 24, 10, 5),
+            LocalDateTime.of(2022, 7, 24, 10, 5),
+            LocalDateTime.of(2022, 1, 24, 10, 5),
+            LocalDateTime.of(2022, 1, 23, 10, 5),
+            LocalDateTime.of(2022, 1, 23, 10, 4),
+            LocalDateTime.of(2022, 1, 23, 8, 5));
+  }
+
+  @Test
+  void testSearchWithInvalidCursor_shouldReturnBadRequest() {
+    risWebTestClient
+        .withDefaultLogin()
+        .get()
+        .uri("/api/v1/caselaw/documentunits/search?sz=2&cursor=invalid")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /**
+   * Load all search results page by page like the "load more" button of the frontend, with the
+   * cursor pointing to the last loaded entry.
+   */
+  private List<DocumentationUnitListItem> loadAllWithCursor(String searchParameters) {
+    List<DocumentationUnitListItem> result = new ArrayList<>();
+    String cursorParameter = "";
+
+    while (true) {
+      Slice<DocumentationUnitListItem> page =
+          risWebTestClient
+              .withDefaultLogin()
+              .get()
+              .uri("/api/v1/caselaw/documentunits/search?sz=2" + searchParameters + cursorParameter)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(new TypeReference<SliceTestImpl<DocumentationUnitListItem>>() {})
+              .returnResult()
+              .getResponseBody();
+
+      result.addAll(page.getContent());
+      if (page.isLast() || !page.hasContent()) {
+        return result;
+      }
+      cursorParameter =
+          "&cursor=" + DocumentationUnitSearchCursor.of(page.getContent().getLast()).encode();
+    }
+  }
+
   @Test
   void testForCompleteResultListWhenSearchingForFileNumberOrDocumentNumber() {
     for (int i = 0; i < 10; i++) {
@@ -494,6 +616,119 @@ class DocumentationUnitSearchIntegrationTest {
             });
   }
 
+  @Test
+  void testSearchByFileNumber_shouldFindFileNumbersAndDeviatingFileNumbersOnce() {
+    for (int i = 0; i < 10; i++) {
+      EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
+          repository,
+          DecisionDTO.builder()
+              .documentNumber("AB123456780" + i)
+              .date(LocalDate.of(2020, 1, 1).plusDays(i))
+              .documentationOffice(docOfficeDTO)
+              // even indices get a matching fileNumber
+              .fileNumbers(
+                  List.of(
+                      FileNumberDTO.builder()
+                          .value((i % 2 == 0 ? "ab 34/" : "XY 34/") + i)
+                          .rank(0L)
+                          .build()))
+              // index 4+ get a matching deviating fileNumber
+              .deviatingFileNumbers(
+                  i < 4
+                      ? List.of()
+                      : List.of(
+                          DeviatingFileNumberDTO.builder().value("AB 35/" + i).rank(0L).build())));
+    }
+
+    List<String> documentNumbers = new ArrayList<>();
+    for (int page = 0; page < 3; page++) {
+      Slice<DocumentationUnitListItem> result =
+          risWebTestClient
+              .withDefaultLogin()
+              .get()
+              .uri("/api/v1/caselaw/documentunits/search?sz=3&fileNumber=AB&pg=" + page)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(new TypeReference<SliceTestImpl<DocumentationUnitListItem>>() {})
+              .returnResult()
+              .getResponseBody();
+
+      assertThat(result.isLast()).isEqualTo(page == 2);
+      documentNumbers.addAll(
+          result.getContent().stream().map(DocumentationUnitListItem::documentNumber).toList());
+    }
+
+    // 0, 2 by file number, 4-9 by deviating file number (4, 6, 8 by both)
+    assertThat(documentNumbers)
+        .containsExactly(
+            "AB1234567809",
+            "AB1234567808",
+            "AB1234567807",
+            "AB1234567806",
+            "AB1234567805",
+            "AB1234567804",
+            "AB1234567802",
+            "AB1234567800");
+    assertThat(loadAllWithCursor("&fileNumber=AB"))
+        .extracting("documentNumber")
+        .containsExactlyElementsOf(documentNumbers);
+  }
+
+  @Test
+  void testSearch_shouldLoadListItemsWithoutLoadingCollectionsPerRow() {
+    int documentationUnits = 10;
+    for (int i = 0; i < documentationUnits; i++) {
+      EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
+          repository,
+          DecisionDTO.builder()
+              .documentNumber("AB123456780" + i)
+              .documentationOffice(docOfficeDTO)
+              .headnote(i % 2 == 0 ? "headnote" : null)
+              .fileNumbers(
+                  List.of(
+                      FileNumberDTO.builder().value("AZ 1/" + i).rank(1L).build(),
+                      FileNumberDTO.builder().value("AZ 2/" + i).rank(2L).build()))
+              .source(
+                  List.of(
+                      SourceDTO.builder().value(SourceValue.E).rank(1).build(),
+                      SourceDTO.builder().value(SourceValue.O).rank(2).build())));
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    Slice<DocumentationUnitListItem> result =
+        risWebTestClient
+            .withDefaultLogin()
+            .get()
+            .uri("/api/v1/caselaw/documentunits/search?pg=0&sz=" + documentationUnits)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new TypeReference<SliceTestImpl<DocumentationUnitListItem>>() {})
+            .returnResult()
+            .getResponseBody();
+
+    long preparedStatements = statistics.getPrepareStatementCount();
+    statistics.setStatisticsEnabled(false);
+
+    assertThat(result.getContent())
+        .hasSize(documentationUnits)
+        .allSatisfy(
+            listItem -> {
+              assertThat(listItem.fileNumber()).startsWith("AZ 1/");
+              assertThat(listItem.source()).isEqualTo("E, O");
+              assertThat(listItem.hasAttachments()).isFalse();
+            });
+    assertThat(result.getContent())
+        .filteredOn(DocumentationUnitListItem::hasHeadnoteOrPrinciple)
+        .hasSize(documentationUnits / 2);
+    // loading the collections per row would need several statements per documentation unit
+    assertThat(preparedStatements).isLessThan(documentationUnits);
+  }
+
   @Test
   void testTrim() {
     EntityBuilderTestUtil.createAndSavePublishedDocumentationUnit(
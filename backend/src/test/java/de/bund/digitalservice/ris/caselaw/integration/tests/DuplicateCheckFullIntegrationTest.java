@@ -4,6 +4,13 @@ import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildDSDocOffice;
 import static de.bund.digitalservice.ris.caselaw.AuthUtils.mockUserGroups;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import de.bund.digitalservice.ris.caselaw.TestConfig;
 import de.bund.digitalservice.ris.caselaw.adapter.DatabaseDocumentNumberGeneratorService;
@@ -25,11 +32,11 @@ import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentN
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentTypeRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
-import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDuplicateCheckRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseFileNumberRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseRegionRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateRelationRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDeltaMigrationRepositoryImpl;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationUnitRepositoryImpl;
@@ -69,6 +76,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 import lombok.Builder;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -77,6 +86,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -103,6 +113,7 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
       DatabaseProcedureService.class,
       PostgresHandoverReportRepositoryImpl.class,
       PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
       PostgresJPAConfig.class,
       FlywayConfig.class,
       SecurityConfig.class,
@@ -141,13 +152,17 @@ class DuplicateCheckFullIntegrationTest {
   @Autowired private DatabaseDocumentationUnitRepository databaseDocumentationUnitRepository;
   @Autowired private DatabaseRegionRepository regionRepository;
   @Autowired private DatabaseDeletedDocumentationIdsRepository deletedDocumentationIdsRepository;
-  @Autowired private DatabaseDuplicateCheckRepository duplicateCheckRepository;
   @Autowired private DuplicateRelationRepository duplicateRelationRepository;
   @Autowired private AuthService authService;
   @Autowired private DocumentationUnitService documentationUnitService;
   @Autowired private DatabaseDuplicateCheckService duplicateCheckService;
 
   @MockitoBean private S3AsyncClient s3AsyncClient;
+  @MockitoBean private LockProvider lockProvider;
+
+  @MockitoBean(name = "duplicateCheckExecutor")
+  private TaskExecutor duplicateCheckExecutor;
+
   @MockitoBean private MailService mailService;
   @MockitoBean private DocxConverterService docxConverterService;
   @MockitoBean private UserGroupService userGroupService;
@@ -310,6 +325,93 @@ class DuplicateCheckFullIntegrationTest {
       assertThat(duplicate.status()).isEqualTo(DuplicateRelationStatus.PENDING);
     }
 
+    @Test
+    void startCheckAllDuplicates_shouldUpdateAllDuplicatesAndReleaseTheLock() {
+      // Arrange
+      SimpleLock lock = mock(SimpleLock.class);
+      when(lockProvider.lock(argThat(config -> config.getName().equals("duplicate-check-job"))))
+          .thenReturn(Optional.of(lock));
+      doAnswer(
+              invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+              })
+          .when(duplicateCheckExecutor)
+          .execute(any());
+
+      generateNewDocumentationUnit(
+          docOffice,
+          Optional.of(
+              CreationParameters.builder()
+                  .documentNumber("DocumentNumb1")
+                  .decisionDate(LocalDate.of(2020, 12, 1))
+                  .fileNumbers(List.of("AZ-123"))
+                  .build()));
+      generateNewDocumentationUnit(
+          docOffice,
+          Optional.of(
+              CreationParameters.builder()
+                  .documentNumber("DocumentNumb2")
+                  .decisionDate(LocalDate.of(2020, 12, 1))
+                  .fileNumbers(List.of("AZ-123"))
+                  .build()));
+
+      // Act
+      boolean started = duplicateCheckService.startCheckAllDuplicates();
+
+      // Assert
+      assertThat(started).isTrue();
+      assertThat(duplicateRelationRepository.findAll()).hasSize(1);
+      verify(lock).unlock();
+    }
+
+    @Test
+    void startCheckAllDuplicates_withLockedUpdate_shouldNotStartTheUpdate() {
+      // Arrange
+      when(lockProvider.lock(any())).thenReturn(Optional.empty());
+
+      // Act
+      boolean started = duplicateCheckService.startCheckAllDuplicates();
+
+      // Assert
+      assertThat(started).isFalse();
+      verifyNoInteractions(duplicateCheckExecutor);
+    }
+
+    @Test
+    void checkChangedDuplicates_shouldOnlyUpdateChangedDocUnits() {
+      // Arrange
+      generateNewDocumentationUnit(
+          docOffice,
+          Optional.of(
+              CreationParameters.builder()
+                  .documentNumber("DocumentNumb1")
+                  .decisionDate(LocalDate.of(2020, 12, 1))
+                  .fileNumbers(List.of("AZ-123"))
+                  .build()));
+      generateNewDocumentationUnit(
+          docOffice,
+          Optional.of(
+              CreationParameters.builder()
+                  .documentNumber("DocumentNumb2")
+                  .decisionDate(LocalDate.of(2020, 12, 1))
+                  .fileNumbers(List.of("AZ-123"))
+                  .build()));
+
+      // Act + Assert
+      duplicateCheckService.checkChangedDuplicates();
+      assertThat(duplicateRelationRepository.findAll()).hasSize(1);
+
+      // without changes since the last run, the relations are not updated
+      duplicateRelationRepository.deleteAll();
+      duplicateCheckService.checkChangedDuplicates();
+      assertThat(duplicateRelationRepository.findAll()).isEmpty();
+
+      // the full rebuild updates all relations
+      duplicateCheckService.checkAllDuplicates();
+      assertThat(duplicateRelationRepository.findAll()).hasSize(1);
+    }
+
     @Test
     void checkDuplicates_withMatchingDeviatingFileNumber_shouldCreateNewDuplicateWithPendingStatus()
         throws DocumentationUnitNotExistsException {
@@ -0,0 +1,405 @@
+package de.bund.digitalservice.ris.caselaw.integration.tests;
+
+import static de.bund.digitalservice.ris.caselaw.AuthUtils.buildDSDocOffice;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.caselaw.TestConfig;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationOfficeController;
+import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.CourtDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseCourtRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationOfficeRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDocumentationUnitRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DeviatingCourtDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationOfficeDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateRelationRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.FileNumberDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationOfficeRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.config.FlywayConfig;
+import de.bund.digitalservice.ris.caselaw.config.PostgresJPAConfig;
+import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationOfficeService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
+import de.bund.digitalservice.ris.caselaw.domain.ProcedureService;
+import de.bund.digitalservice.ris.caselaw.domain.UserService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * The triggers of the duplicate check have to keep the identifiers and the file number
+ * frequencies in sync with the source tables.
+ */
+@RISIntegrationTest(
+    imports = {
+      DocumentationOfficeService.class,
+      PostgresJPAConfig.class,
+      FlywayConfig.class,
+      PostgresDocumentationOfficeRepositoryImpl.class,
+      SecurityConfig.class,
+      OAuthService.class,
+      TestConfig.class
+    },
+    controllers = {DocumentationOfficeController.class})
+class DuplicateCheckIdentifierIntegrationTest {
+  @Container
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>("postgres:14").withInitScript("init_db.sql");
+
+  @DynamicPropertySource
+  static void registerDynamicProperties(DynamicPropertyRegistry registry) {
+    registry.add("database.user", () -> postgreSQLContainer.getUsername());
+    registry.add("database.password", () -> postgreSQLContainer.getPassword());
+    registry.add("database.host", () -> postgreSQLContainer.getHost());
+    registry.add("database.port", () -> postgreSQLContainer.getFirstMappedPort());
+    registry.add("database.database", () -> postgreSQLContainer.getDatabaseName());
+  }
+
+  @Autowired private DatabaseDocumentationUnitRepository repository;
+  @Autowired private DatabaseCourtRepository courtRepository;
+  @Autowired private DatabaseDocumentationOfficeRepository documentationOfficeRepository;
+  @Autowired private DuplicateRelationRepository duplicateRelationRepository;
+  @Autowired private DataSource dataSource;
+
+  @Autowired
+  @Qualifier("jpaTransactionManager")
+  private PlatformTransactionManager transactionManager;
+
+  @MockitoBean private UserService userService;
+  @MockitoBean private ClientRegistrationRepository clientRegistrationRepository;
+  @MockitoBean private DocumentationUnitService service;
+  @MockitoBean private ProcedureService procedureService;
+
+  private JdbcTemplate jdbcTemplate;
+  private DocumentationOfficeDTO documentationOffice;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    documentationOffice =
+        documentationOfficeRepository.findByAbbreviation(buildDSDocOffice().abbreviation());
+  }
+
+  @AfterEach
+  void cleanUp() {
+    repository.deleteAll();
+    courtRepository.deleteAll();
+  }
+
+  @Test
+  void testInsertFileNumber_shouldAddTheIdentifierAndCountTheFrequency() {
+    UUID unit1 = createDecision("DOC1", "AZ 1").getId();
+    UUID unit2 = createDecision("DOC2", "AZ 1").getId();
+
+    assertThat(identifiers(unit1, "FILE_NUMBER")).containsExactly("AZ 1");
+    assertThat(identifiers(unit2, "FILE_NUMBER")).containsExactly("AZ 1");
+    assertThat(frequency("AZ 1")).containsExactly(2);
+  }
+
+  @Test
+  void testUpdateFileNumber_shouldReplaceTheIdentifierAndMoveTheFrequency() {
+    UUID unit1 = createDecision("DOC1", "AZ 1").getId();
+    createDecision("DOC2", "AZ 1");
+
+    jdbcTemplate.update(
+        """
+        UPDATE incremental_migration.file_number
+        SET value = 'az 2'
+        WHERE documentation_unit_id = ?
+        """,
+        unit1);
+
+    assertThat(identifiers(unit1, "FILE_NUMBER")).containsExactly("AZ 2");
+    assertThat(frequency("AZ 1")).containsExactly(1);
+    assertThat(frequency("az 2")).containsExactly(1);
+  }
+
+  @Test
+  void testDeleteFileNumber_shouldRemoveTheIdentifierAndTheFrequency() {
+    UUID unit1 = createDecision("DOC1", "AZ 1").getId();
+
+    jdbcTemplate.update(
+        "DELETE FROM incremental_migration.file_number WHERE documentation_unit_id = ?", unit1);
+
+    assertThat(identifiers(unit1, "FILE_NUMBER")).isEmpty();
+    assertThat(frequency("AZ 1")).isEmpty();
+  }
+
+  @Test
+  void testDeviatingFileNumber_shouldBeSyncedWithoutFrequency() {
+    UUID unit = createDecision("DOC1", "AZ 1").getId();
+
+    insertDeviatingValue("deviating_file_number", unit, "az 2");
+    assertThat(identifiers(unit, "DEVIATING_FILE_NUMBER")).containsExactly("AZ 2");
+
+    updateDeviatingValue("deviating_file_number", unit, "az 3");
+    assertThat(identifiers(unit, "DEVIATING_FILE_NUMBER")).containsExactly("AZ 3");
+
+    deleteDeviatingValues("deviating_file_number", unit);
+    assertThat(identifiers(unit, "DEVIATING_FILE_NUMBER")).isEmpty();
+
+    assertThat(frequency("az 2")).isEmpty();
+    assertThat(frequency("az 3")).isEmpty();
+    assertThat(identifiers(unit, "FILE_NUMBER")).containsExactly("AZ 1");
+  }
+
+  @Test
+  void testDeviatingDate_shouldBeSynced() {
+    UUID unit = createDecision("DOC1", "AZ 1").getId();
+
+    jdbcTemplate.update(
+        """
+        INSERT INTO incremental_migration.deviating_date (id, documentation_unit_id, value, rank)
+        VALUES (gen_random_uuid(), ?, ?, 1)
+        """,
+        unit,
+        LocalDate.of(2020, 1, 1));
+    assertThat(identifiers(unit, "DATE")).containsExactly("2020-01-01");
+
+    jdbcTemplate.update(
+        "UPDATE incremental_migration.deviating_date SET value = ? WHERE documentation_unit_id = ?",
+        LocalDate.of(2021, 2, 2),
+        unit);
+    assertThat(identifiers(unit, "DATE")).containsExactly("2021-02-02");
+
+    deleteDeviatingValues("deviating_date", unit);
+    assertThat(identifiers(unit, "DATE")).isEmpty();
+  }
+
+  @Test
+  void testDeviatingEcli_shouldBeSynced() {
+    UUID unit = createDecision("DOC1", "AZ 1").getId();
+
+    insertDeviatingValue("deviating_ecli", unit, "ecli:1");
+    assertThat(identifiers(unit, "ECLI")).containsExactly("ECLI:1");
+
+    updateDeviatingValue("deviating_ecli", unit, "ecli:2");
+    assertThat(identifiers(unit, "ECLI")).containsExactly("ECLI:2");
+
+    deleteDeviatingValues("deviating_ecli", unit);
+    assertThat(identifiers(unit, "ECLI")).isEmpty();
+  }
+
+  @Test
+  void testDeviatingCourt_shouldBeSyncedWithTheMatchedCourts() {
+    CourtDTO court = createCourt("AG", "Aachen");
+    UUID unit = createDecision("DOC1", "AZ 1").getId();
+
+    insertDeviatingValue("deviating_court", unit, "ag aachen");
+    assertThat(identifiers(unit, "DEVIATING_COURT_LABEL")).containsExactly("AG AACHEN");
+    assertThat(identifiers(unit, "SEARCHED_DEVIATING_COURT"))
+        .containsExactly(court.getId().toString());
+    assertThat(identifiers(unit, "MATCHED_DEVIATING_COURT"))
+        .containsExactly(court.getId().toString());
+
+    updateDeviatingValue("deviating_court", unit, "AG Bonn");
+    assertThat(identifiers(unit, "DEVIATING_COURT_LABEL")).containsExactly("AG BONN");
+    assertThat(identifiers(unit, "SEARCHED_DEVIATING_COURT")).isEmpty();
+    assertThat(identifiers(unit, "MATCHED_DEVIATING_COURT")).isEmpty();
+
+    deleteDeviatingValues("deviating_court", unit);
+    assertThat(identifiers(unit, "DEVIATING_COURT_LABEL")).isEmpty();
+  }
+
+  @Test
+  void testRenameCourt_shouldRefreshTheCourtLabelAndTheMatchedDeviatingCourts() {
+    CourtDTO court = createCourt("AG", "Aachen");
+    UUID unitWithCourt =
+        repository
+            .save(
+                DecisionDTO.builder()
+                    .documentNumber("DOC1")
+                    .documentationOffice(documentationOffice)
+                    .court(court)
+                    .build())
+            .getId();
+    UUID unitWithDeviatingCourt =
+        repository
+            .save(
+                DecisionDTO.builder()
+                    .documentNumber("DOC2")
+                    .documentationOffice(documentationOffice)
+                    .deviatingCourts(
+                        List.of(DeviatingCourtDTO.builder().value("AG Bonn").rank(1L).build()))
+                    .build())
+            .getId();
+    assertThat(identifiers(unitWithCourt, "COURT_LABEL")).containsExactly("AG AACHEN");
+    assertThat(identifiers(unitWithDeviatingCourt, "MATCHED_DEVIATING_COURT")).isEmpty();
+
+    jdbcTemplate.update(
+        "UPDATE incremental_migration.court SET location = 'Bonn' WHERE id = ?", court.getId());
+
+    assertThat(identifiers(unitWithCourt, "COURT_LABEL")).containsExactly("AG BONN");
+    assertThat(identifiers(unitWithDeviatingCourt, "SEARCHED_DEVIATING_COURT"))
+        .containsExactly(court.getId().toString());
+    assertThat(identifiers(unitWithDeviatingCourt, "MATCHED_DEVIATING_COURT"))
+        .containsExactly(court.getId().toString());
+  }
+
+  @Test
+  void testDeleteDocumentationUnit_shouldRemoveTheIdentifiersAndTheFrequencies() {
+    DecisionDTO unit1 = createDecision("DOC1", "AZ 1");
+    createDecision("DOC2", "AZ 1");
+    insertDeviatingValue("deviating_ecli", unit1.getId(), "ECLI:1");
+
+    repository.deleteById(unit1.getId());
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                """
+                SELECT value
+                FROM incremental_migration.duplicate_check_identifier
+                WHERE documentation_unit_id = ?
+                """,
+                String.class,
+                unit1.getId()))
+        .isEmpty();
+    assertThat(frequency("AZ 1")).containsExactly(1);
+  }
+
+  @Test
+  void testUpdateManyRows_shouldLogEveryDocumentationUnitOnce() {
+    UUID unit1 = createDecision("DOC1", "AZ 1").getId();
+    UUID unit2 = createDecision("DOC2", "AZ 2").getId();
+    insertDeviatingValue("deviating_ecli", unit1, "ECLI:1");
+    insertDeviatingValue("deviating_ecli", unit1, "ECLI:2");
+    insertDeviatingValue("deviating_ecli", unit2, "ECLI:3");
+    jdbcTemplate.update("DELETE FROM incremental_migration.duplicate_check_change");
+
+    jdbcTemplate.update(
+        "UPDATE incremental_migration.deviating_ecli SET value = LOWER(value) || 'a'");
+    jdbcTemplate.update("UPDATE incremental_migration.deviating_ecli SET rank = rank + 1");
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT documentation_unit_id FROM incremental_migration.duplicate_check_change",
+                UUID.class))
+        .containsExactlyInAnyOrder(unit1, unit2);
+    assertThat(identifiers(unit1, "ECLI")).containsExactlyInAnyOrder("ECLI:1A", "ECLI:2A");
+    assertThat(identifiers(unit2, "ECLI")).containsExactly("ECLI:3A");
+  }
+
+  @Test
+  void testCompactFileNumberFrequencies_shouldKeepTheCounts() {
+    UUID unit1 = createDecision("DOC1", "AZ 1").getId();
+    createDecision("DOC2", "AZ 1");
+    createDecision("DOC3", "AZ 2");
+    jdbcTemplate.update(
+        "DELETE FROM incremental_migration.file_number WHERE documentation_unit_id = ?", unit1);
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(status -> duplicateRelationRepository.compactFileNumberFrequencies());
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                """
+                SELECT value
+                FROM incremental_migration.duplicate_check_file_number_frequency
+                ORDER BY value
+                """,
+                String.class))
+        .containsExactly("AZ 1", "AZ 2");
+    assertThat(frequency("AZ 1")).containsExactly(1);
+    assertThat(frequency("AZ 2")).containsExactly(1);
+  }
+
+  @Test
+  void testBackfill_shouldRestoreTheIdentifiersAndTheFrequencies() {
+    UUID unit1 = createDecision("DOC1", "AZ 1").getId();
+    UUID unit2 = createDecision("DOC2", "AZ 1").getId();
+    UUID unit3 = createDecision("DOC3", "AZ 2").getId();
+    jdbcTemplate.update("DELETE FROM incremental_migration.duplicate_check_identifier");
+    jdbcTemplate.update("DELETE FROM incremental_migration.duplicate_check_file_number_frequency");
+
+    jdbcTemplate.execute("CALL incremental_migration.backfill_duplicate_check_identifiers(2)");
+
+    assertThat(identifiers(unit1, "FILE_NUMBER")).containsExactly("AZ 1");
+    assertThat(identifiers(unit2, "FILE_NUMBER")).containsExactly("AZ 1");
+    assertThat(identifiers(unit3, "FILE_NUMBER")).containsExactly("AZ 2");
+    assertThat(identifiers(unit3, "DATE")).containsExactly("2020-12-01");
+    assertThat(frequency("AZ 1")).containsExactly(2);
+    assertThat(frequency("AZ 2")).containsExactly(1);
+  }
+
+  private DecisionDTO createDecision(String documentNumber, String fileNumber) {
+    return repository.save(
+        DecisionDTO.builder()
+            .documentNumber(documentNumber)
+            .documentationOffice(documentationOffice)
+            .date(LocalDate.of(2020, 12, 1))
+            .fileNumbers(List.of(FileNumberDTO.builder().value(fileNumber).rank(1L).build()))
+            .build());
+  }
+
+  private CourtDTO createCourt(String type, String location) {
+    return courtRepository.save(
+        CourtDTO.builder()
+            .type(type)
+            .location(location)
+            .jurisId(1)
+            .isForeignCourt(false)
+            .isSuperiorCourt(false)
+            .build());
+  }
+
+  private void insertDeviatingValue(String table, UUID unit, String value) {
+    jdbcTemplate.update(
+        "INSERT INTO incremental_migration."
+            + table
+            + " (id, documentation_unit_id, value, rank) VALUES (gen_random_uuid(), ?, ?, 1)",
+        unit,
+        value);
+  }
+
+  private void updateDeviatingValue(String table, UUID unit, String value) {
+    jdbcTemplate.update(
+        "UPDATE incremental_migration." + table + " SET value = ? WHERE documentation_unit_id = ?",
+        value,
+        unit);
+  }
+
+  private void deleteDeviatingValues(String table, UUID unit) {
+    jdbcTemplate.update(
+        "DELETE FROM incremental_migration." + table + " WHERE documentation_unit_id = ?", unit);
+  }
+
+  private List<String> identifiers(UUID unit, String kind) {
+    return jdbcTemplate.queryForList(
+        """
+        SELECT value
+        FROM incremental_migration.duplicate_check_identifier
+        WHERE documentation_unit_id = ? AND kind = ?
+        """,
+        String.class,
+        unit,
+        kind);
+  }
+
+  private List<Integer> frequency(String value) {
+    return jdbcTemplate.queryForList(
+        """
+        SELECT SUM(count)
+        FROM incremental_migration.duplicate_check_file_number_frequency
+        WHERE value = ?
+        HAVING SUM(count) <> 0
+        """,
+        Integer.class,
+        value);
+  }
+}
@@ -0,0 +1,206 @@
+package de.bund.digitalservice.ris.caselaw.integration.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.caselaw.TestConfig;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationOfficeController;
+import de.bund.digitalservice.ris.caselaw.adapter.OAuthService;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseDuplicateCheckQueueRepository;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DuplicateCheckQueueDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.PostgresDocumentationOfficeRepositoryImpl;
+import de.bund.digitalservice.ris.caselaw.config.FlywayConfig;
+import de.bund.digitalservice.ris.caselaw.config.PostgresJPAConfig;
+import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationOfficeService;
+import de.bund.digitalservice.ris.caselaw.domain.DocumentationUnitService;
+import de.bund.digitalservice.ris.caselaw.domain.ProcedureService;
+import de.bund.digitalservice.ris.caselaw.domain.UserService;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+@RISIntegrationTest(
+    imports = {
+      DocumentationOfficeService.class,
+      PostgresJPAConfig.class,
+      FlywayConfig.class,
+      PostgresDocumentationOfficeRepositoryImpl.class,
+      SecurityConfig.class,
+      OAuthService.class,
+      TestConfig.class
+    },
+    controllers = {DocumentationOfficeController.class})
+class DuplicateCheckQueueIntegrationTest {
+  private static final long CLAIM_TIMEOUT_MILLIS = 60_000;
+
+  @Container
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>("postgres:14").withInitScript("init_db.sql");
+
+  @DynamicPropertySource
+  static void registerDynamicProperties(DynamicPropertyRegistry registry) {
+    registry.add("database.user", () -> postgreSQLContainer.getUsername());
+    registry.add("database.password", () -> postgreSQLContainer.getPassword());
+    registry.add("database.host", () -> postgreSQLContainer.getHost());
+    registry.add("database.port", () -> postgreSQLContainer.getFirstMappedPort());
+    registry.add("database.database", () -> postgreSQLContainer.getDatabaseName());
+  }
+
+  @Autowired private DatabaseDuplicateCheckQueueRepository queueRepository;
+
+  @Autowired
+  @Qualifier("jpaTransactionManager")
+  private PlatformTransactionManager transactionManager;
+
+  @MockitoBean private UserService userService;
+  @MockitoBean private ClientRegistrationRepository clientRegistrationRepository;
+  @MockitoBean private DocumentationUnitService service;
+  @MockitoBean private ProcedureService procedureService;
+
+  @AfterEach
+  void cleanUp() {
+    queueRepository.deleteAll();
+  }
+
+  @Test
+  void testEnqueue_withPendingRequest_shouldKeepThePendingRequest() {
+    queueRepository.enqueue("DOC1", CLAIM_TIMEOUT_MILLIS);
+    DuplicateCheckQueueDTO pendingRequest = queueRepository.findById("DOC1").orElseThrow();
+
+    queueRepository.enqueue("DOC1", CLAIM_TIMEOUT_MILLIS);
+
+    assertThat(queueRepository.findAll())
+        .singleElement()
+        .satisfies(
+            request -> {
+              assertThat(request.getEnqueueCount()).isEqualTo(1L);
+              assertThat(request.getDueAt()).isEqualTo(pendingRequest.getDueAt());
+              assertThat(request.getClaimedUntil()).isNull();
+            });
+  }
+
+  @Test
+  void testEnqueue_withClaimedRequest_shouldKeepTheClaimUntilTheCheckIsFinished() {
+    queueRepository.enqueue("DOC1", 0);
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS)).hasSize(1);
+    assertThat(queueRepository.findById("DOC1").orElseThrow().getClaimedUntil()).isNotNull();
+
+    queueRepository.enqueue("DOC1", 0);
+
+    DuplicateCheckQueueDTO request = queueRepository.findById("DOC1").orElseThrow();
+    assertThat(request.getEnqueueCount()).isEqualTo(2L);
+    assertThat(request.getClaimedUntil()).isNotNull();
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS)).isEmpty();
+
+    queueRepository.deleteCheckedRequest("DOC1", 1L);
+
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS))
+        .extracting(DuplicateCheckQueueDTO::getDocumentNumber)
+        .containsExactly("DOC1");
+  }
+
+  @Test
+  void testClaimDueRequests_shouldOnlyClaimDueAndUnclaimedRequests() {
+    queueRepository.enqueue("DOC1", 0);
+    queueRepository.enqueue("DOC2", CLAIM_TIMEOUT_MILLIS);
+
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS))
+        .extracting(DuplicateCheckQueueDTO::getDocumentNumber)
+        .containsExactly("DOC1");
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS)).isEmpty();
+  }
+
+  @Test
+  void testClaimDueRequests_withExpiredClaim_shouldClaimTheRequestAgain() {
+    queueRepository.enqueue("DOC1", 0);
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS)).hasSize(1);
+
+    DuplicateCheckQueueDTO request = queueRepository.findById("DOC1").orElseThrow();
+    request.setClaimedUntil(Instant.now().minusSeconds(60));
+    queueRepository.save(request);
+
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS))
+        .extracting(DuplicateCheckQueueDTO::getDocumentNumber)
+        .containsExactly("DOC1");
+  }
+
+  @Test
+  void testClaimDueRequests_shouldCountTheAttempts() {
+    queueRepository.enqueue("DOC1", 0);
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS))
+        .singleElement()
+        .extracting(DuplicateCheckQueueDTO::getAttempts)
+        .isEqualTo(1);
+
+    DuplicateCheckQueueDTO request = queueRepository.findById("DOC1").orElseThrow();
+    request.setClaimedUntil(Instant.now().minusSeconds(60));
+    queueRepository.save(request);
+
+    assertThat(queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS))
+        .singleElement()
+        .extracting(DuplicateCheckQueueDTO::getAttempts)
+        .isEqualTo(2);
+  }
+
+  @Test
+  void testClaimDueRequests_withConcurrentClaimer_shouldSkipTheLockedRequests() {
+    queueRepository.enqueue("DOC1", 0);
+    queueRepository.enqueue("DOC2", 0);
+
+    List<DuplicateCheckQueueDTO> concurrentlyClaimed =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status -> {
+                  assertThat(queueRepository.claimDueRequests(1, CLAIM_TIMEOUT_MILLIS))
+                      .extracting(DuplicateCheckQueueDTO::getDocumentNumber)
+                      .containsExactly("DOC1");
+
+                  // the claim of DOC1 isn't committed yet, the second claimer must not wait for it
+                  return CompletableFuture.supplyAsync(
+                          () -> queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS))
+                      .orTimeout(10, TimeUnit.SECONDS)
+                      .join();
+                });
+
+    assertThat(concurrentlyClaimed)
+        .extracting(DuplicateCheckQueueDTO::getDocumentNumber)
+        .containsExactly("DOC2");
+    assertThat(queueRepository.findAll())
+        .allSatisfy(request -> assertThat(request.getClaimedUntil()).isNotNull());
+  }
+
+  @Test
+  void testDeleteCheckedRequest_withRequestRepeatedWhileChecking_shouldKeepTheRequest() {
+    queueRepository.enqueue("DOC1", 0);
+    DuplicateCheckQueueDTO claimedRequest =
+        queueRepository.claimDueRequests(10, CLAIM_TIMEOUT_MILLIS).getFirst();
+    queueRepository.enqueue("DOC1", 0);
+
+    queueRepository.deleteCheckedRequest("DOC1", claimedRequest.getEnqueueCount());
+
+    assertThat(queueRepository.findById("DOC1"))
+        .hasValueSatisfying(
+            request -> {
+              assertThat(request.getEnqueueCount()).isEqualTo(2L);
+              assertThat(request.getClaimedUntil()).isNull();
+              assertThat(request.getAttempts()).isZero();
+            });
+
+    queueRepository.deleteCheckedRequest("DOC1", 2L);
+
+    assertThat(queueRepository.findById("DOC1")).isEmpty();
+  }
+}
@@ -2,6 +2,8 @@ package de.bund.digitalservice.ris.caselaw.integration.tests;
 
 import static de.bund.digitalservice.ris.caselaw.AuthUtils.mockUserGroups;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +21,7 @@ import de.bund.digitalservice.ris.caselaw.adapter.DatabasePatchMapperService;
 import de.bund.digitalservice.ris.caselaw.adapter.DatabaseProcedureService;
 import de.bund.digitalservice.ris.caselaw.adapter.DocumentNumberPatternConfig;
 import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitController;
+import de.bund.digitalservice.ris.caselaw.adapter.DocumentationUnitPatchCache;
 import de.bund.digitalservice.ris.caselaw.adapter.DocxConverterService;
 import de.bund.digitalservice.ris.caselaw.adapter.KeycloakUserService;
 import de.bund.digitalservice.ris.caselaw.adapter.LdmlExporterService;
@@ -34,6 +37,7 @@ import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseRegionRep
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseRelatedDocumentationRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DatabaseUserGroupRepository;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DecisionDTO;
+import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitAggregateLoader;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.DocumentationUnitPatchDTO;
 import de.bund.digitalservice.ris.caselaw.adapter.database.jpa.FileNumberDTO;
@@ -62,22 +66,28 @@ import de.bund.digitalservice.ris.caselaw.domain.RisJsonPatch;
 import de.bund.digitalservice.ris.caselaw.domain.UserGroupService;
 import de.bund.digitalservice.ris.caselaw.domain.court.Court;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.groups.Tuple;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
@@ -95,8 +105,10 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
       DatabaseDocumentNumberRecyclingService.class,
       DatabaseDocumentationUnitStatusService.class,
       DatabasePatchMapperService.class,
+      DocumentationUnitPatchCache.class,
       DatabaseProcedureService.class,
       PostgresDocumentationUnitRepositoryImpl.class,
+      DocumentationUnitAggregateLoader.class,
       PostgresHandoverReportRepositoryImpl.class,
       PostgresJPAConfig.class,
       FlywayConfig.class,
@@ -122,7 +134,11 @@ class PatchUpdateIntegrationTest {
     registry.add("database.database", () -> postgreSQLContainer.getDatabaseName());
   }
 
+  /** Statements for loading a complete decision with the aggregate loader */
+  private static final int STATEMENTS_PER_DECISION_LOAD = 27;
+
   @Autowired private RisWebTestClient risWebTestClient;
+  @Autowired private EntityManagerFactory entityManagerFactory;
   @Autowired private DatabaseDocumentationUnitRepository repository;
   @Autowired private DatabaseDocumentationUnitPatchRepository patchRepository;
   @Autowired private DatabaseCourtRepository courtRepository;
@@ -144,6 +160,8 @@ class PatchUpdateIntegrationTest {
   @MockitoBean private UserGroupService userGroupService;
   @MockitoBean private LdmlExporterService ldmlExporterService;
   @MockitoBean private DuplicateCheckService duplicateCheckService;
+  @MockitoBean private StringRedisTemplate redisTemplate;
+  @MockitoSpyBean private DatabasePatchMapperService patchMapperService;
 
   private UUID court1Id;
   private UUID court2Id;
@@ -241,6 +259,82 @@ class PatchUpdateIntegrationTest {
     TestTransaction.end();
   }
 
+  @Test
+  @Transactional
+  void testPartialUpdateByUuid_withFailingPatchSave_shouldRollbackTheUpdate() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    DocumentationUnit documentationUnit = generateEmptyDocumentationUnit();
+    doThrow(new IllegalStateException("patch couldn't be saved"))
+        .when(patchMapperService)
+        .savePatch(any(), any(), any());
+
+    List<JsonPatchOperation> operations =
+        List.of(new AddOperation("/coreData/ecli", new TextNode("ecliUser1")));
+    RisJsonPatch patch = new RisJsonPatch(0L, new JsonPatch(operations), Collections.emptyList());
+
+    risWebTestClient
+        .withDefaultLogin()
+        .patch()
+        .uri("/api/v1/caselaw/documentunits/" + documentationUnit.uuid())
+        .bodyValue(patch)
+        .exchange()
+        .expectStatus()
+        .is5xxServerError();
+
+    TestTransaction.start();
+    DocumentationUnitDTO documentationUnitDTO =
+        repository.findById(documentationUnit.uuid()).orElseThrow();
+    assertThat(documentationUnitDTO.getEcli()).isNull();
+    assertThat(documentationUnitDTO.getVersion()).isZero();
+    assertThat(patchRepository.findAll()).isEmpty();
+    TestTransaction.end();
+  }
+
+  @Test
+  @Transactional
+  void testPartialUpdateByUuid_shouldLoadTheDocumentationUnitOnce() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    DocumentationUnit documentationUnit = generateEmptyDocumentationUnit();
+    List<JsonPatchOperation> operations =
+        List.of(new AddOperation("/coreData/ecli", new TextNode("ecliUser1")));
+    RisJsonPatch patch = new RisJsonPatch(0L, new JsonPatch(operations), Collections.emptyList());
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    try {
+      risWebTestClient
+          .withDefaultLogin()
+          .patch()
+          .uri("/api/v1/caselaw/documentunits/" + documentationUnit.uuid())
+          .bodyValue(patch)
+          .exchange()
+          .expectStatus()
+          .is2xxSuccessful();
+
+      long fileNumberFetches =
+          Arrays.stream(statistics.getQueries())
+              .filter(query -> query.contains("LEFT JOIN FETCH d.fileNumbers"))
+              .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+              .sum();
+      assertThat(fileNumberFetches).isEqualTo(1);
+      // a second load of the aggregate alone would need as many statements again
+      assertThat(statistics.getPrepareStatementCount())
+          .isLessThan(2L * STATEMENTS_PER_DECISION_LOAD);
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+
+    TestTransaction.start();
+    assertThat(repository.findById(documentationUnit.uuid()).orElseThrow().getEcli())
+        .isEqualTo("ecliUser1");
+    TestTransaction.end();
+  }
+
   @Nested
   class SingleValueAdd {
     @Test
@@ -7,6 +7,7 @@ import de.bund.digitalservice.ris.caselaw.adapter.LdmlExporterService;
 import de.bund.digitalservice.ris.caselaw.config.FlywayConfig;
 import de.bund.digitalservice.ris.caselaw.config.PostgresJPAConfig;
 import de.bund.digitalservice.ris.caselaw.config.SecurityConfig;
+import de.bund.digitalservice.ris.caselaw.domain.DuplicateCheckService;
 import de.bund.digitalservice.ris.caselaw.domain.MailTrackingService;
 import de.bund.digitalservice.ris.caselaw.webtestclient.RisWebTestClient;
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,7 @@ class SecurityIntegrationTest {
   @MockitoBean MailTrackingService mailTrackingService;
   @MockitoBean EnvironmentService environmentService;
   @MockitoBean LdmlExporterService ldmlExporterService;
+  @MockitoBean DuplicateCheckService duplicateCheckService;
 
   @Test
   void shouldHaveEnabledCSPHeader() {
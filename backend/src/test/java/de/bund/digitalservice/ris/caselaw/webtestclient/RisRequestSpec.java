@@ -6,6 +6,7 @@ import jakarta.servlet.http.Cookie;
 import java.net.URI;
 import java.util.Objects;
 import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.OidcLoginRequestPostProcessor;
@@ -26,6 +27,7 @@ public class RisRequestSpec {
   private String json;
   private byte[] bodyAsBytes;
   private MediaType mediaType;
+  private final HttpHeaders headers = new HttpHeaders();
 
   public RisRequestSpec(
       MockMvc mockMvc,
@@ -95,6 +97,11 @@ public class RisRequestSpec {
     return this;
   }
 
+  public RisRequestSpec header(String name, String value) {
+    this.headers.add(name, value);
+    return this;
+  }
+
   public RisResponseSpec exchange() {
     MockHttpServletRequestBuilder request = null;
 
@@ -115,6 +122,7 @@ public class RisRequestSpec {
     }
 
     request.header("X-XSRF-TOKEN", csrfCookie.getValue()).cookie(csrfCookie);
+    request.headers(headers);
     //    request.with(csrf());
 
     if (login != null) {
@@ -23,6 +23,15 @@ public class RisStatusAssertions {
     return responseSpec;
   }
 
+  public RisResponseSpec isNotModified() {
+    try {
+      resultActions.andExpect(status().isNotModified());
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return responseSpec;
+  }
+
   public RisResponseSpec is4xxClientError() {
     try {
       resultActions.andExpect(status().is4xxClientError());
@@ -85,4 +94,22 @@ public class RisStatusAssertions {
     }
     return responseSpec;
   }
+
+  public RisResponseSpec isAccepted() {
+    try {
+      resultActions.andExpect(status().isAccepted());
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return responseSpec;
+  }
+
+  public RisResponseSpec isConflict() {
+    try {
+      resultActions.andExpect(status().isConflict());
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return responseSpec;
+  }
 }